@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.carbon.identity.scim2.common.utils.AttributeMapper;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants;
+import org.wso2.charon3.core.exceptions.BadRequestException;
+import org.wso2.charon3.core.exceptions.CharonException;
+import org.wso2.charon3.core.exceptions.InternalErrorException;
+import org.wso2.charon3.core.exceptions.NotFoundException;
+import org.wso2.charon3.core.objects.AbstractSCIMObject;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping between the SCIM attributes of an enterprise user and the SCIM user object, which is done for
+ * every user of a /Users response and for every user create and update request. The SCIM user object is constructed
+ * from claim sets of increasing size, and from claim sets holding only the attributes of a single level, i.e. simple
+ * attributes such as userName, sub attributes such as name.givenName and the sub attributes of the manager attribute
+ * of the enterprise extension. The claims map is read back from a constructed SCIM user object.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttributeMapperBenchmark {
+
+    /**
+     * Claim set made of the first claims of the enterprise user catalogue.
+     */
+    @State(Scope.Benchmark)
+    public static class ClaimSetState {
+
+        @Param({"30", "50", "80"})
+        private int numberOfClaims;
+
+        private Map<String, String> attributes;
+        private AbstractSCIMObject scimUser;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, CharonException, InternalErrorException, BadRequestException,
+                NotFoundException {
+
+            EnterpriseUserClaims.buildEnterpriseSchemaExtension();
+            attributes = EnterpriseUserClaims.getSCIMAttributes(EnterpriseUserClaims.getClaims(numberOfClaims));
+            scimUser = (AbstractSCIMObject) AttributeMapper.constructSCIMObjectFromAttributes(attributes,
+                    SCIMCommonConstants.USER);
+        }
+    }
+
+    /**
+     * Claim set made of the claims of the enterprise user catalogue whose attributes are of a single level. The
+     * claim sets of the levels differ in size, hence the levels are compared by the time per attribute.
+     */
+    @State(Scope.Benchmark)
+    public static class AttributeLevelState {
+
+        @Param({"1", "2", "3"})
+        private int attributeLevel;
+
+        private Map<String, String> attributes;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, CharonException, InternalErrorException {
+
+            EnterpriseUserClaims.buildEnterpriseSchemaExtension();
+            attributes = EnterpriseUserClaims.getSCIMAttributes(
+                    EnterpriseUserClaims.getClaimsOfLevel(attributeLevel));
+        }
+    }
+
+    @Benchmark
+    public void constructSCIMObjectFromAttributes(ClaimSetState state, Blackhole blackhole)
+            throws CharonException, NotFoundException, BadRequestException {
+
+        blackhole.consume(AttributeMapper.constructSCIMObjectFromAttributes(state.attributes,
+                SCIMCommonConstants.USER));
+    }
+
+    @Benchmark
+    public void constructSCIMObjectFromAttributesOfLevel(AttributeLevelState state, Blackhole blackhole)
+            throws CharonException, NotFoundException, BadRequestException {
+
+        blackhole.consume(AttributeMapper.constructSCIMObjectFromAttributes(state.attributes,
+                SCIMCommonConstants.USER));
+    }
+
+    @Benchmark
+    public void getClaimsMap(ClaimSetState state, Blackhole blackhole) throws CharonException {
+
+        blackhole.consume(AttributeMapper.getClaimsMap(state.scimUser));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.benchmark;
+
+import org.mockito.MockedStatic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMClaimMappingCache;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMClaimMappingSnapshot;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
+import org.wso2.carbon.user.core.UserStoreException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures the conversion of the claims of an enterprise user between the local and the SCIM claim dialects, which
+ * is done for every user of a /Users response and for every user create and update request. The local claims are
+ * converted with the SCIM to local claim mappings given by the caller, as done when listing users, and with the
+ * claim mapping snapshot of the tenant, which also serves the conversion of SCIM claims to the local dialect.
+ *
+ * The tenant lookups and the claim mapping cache are replaced with static mocks serving a prebuilt snapshot of the
+ * claim mappings of every claim in the enterprise user catalogue. Static mocks are bound to the thread that created
+ * them, hence the benchmark runs on a single thread, which is the one running the trial setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class ClaimDialectConversionBenchmark {
+
+    @Param({"30", "50", "80"})
+    private int numberOfClaims;
+
+    private Map<String, String> localClaims;
+    private Map<String, String> scimClaims;
+    private Map<String, String> scimToLocalMappings;
+    private MockedStatic<IdentityTenantUtil> identityTenantUtil;
+    private MockedStatic<SCIMClaimMappingCache> scimClaimMappingCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        if (System.getProperty(CarbonBaseConstants.CARBON_HOME) == null) {
+            System.setProperty(CarbonBaseConstants.CARBON_HOME, System.getProperty("java.io.tmpdir"));
+        }
+        List<EnterpriseUserClaims.Claim> claims = EnterpriseUserClaims.getClaims(numberOfClaims);
+        localClaims = EnterpriseUserClaims.getLocalClaims(claims);
+        scimClaims = EnterpriseUserClaims.getSCIMAttributes(claims);
+        scimToLocalMappings = EnterpriseUserClaims.getSCIMToLocalMappings();
+
+        SCIMClaimMappingSnapshot claimMappingSnapshot = SCIMClaimMappingSnapshot.build(scimToLocalMappings);
+        SCIMClaimMappingCache claimMappingCache = mock(SCIMClaimMappingCache.class, withSettings().stubOnly());
+        when(claimMappingCache.getClaimMappingSnapshotByTenant(anyInt())).thenReturn(claimMappingSnapshot);
+        identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+        scimClaimMappingCache = mockStatic(SCIMClaimMappingCache.class);
+        scimClaimMappingCache.when(SCIMClaimMappingCache::getInstance).thenReturn(claimMappingCache);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        scimClaimMappingCache.close();
+        identityTenantUtil.close();
+    }
+
+    @Benchmark
+    public void convertLocalToSCIMDialectWithMappings(Blackhole blackhole) throws UserStoreException {
+
+        blackhole.consume(SCIMCommonUtils.convertLocalToSCIMDialect(localClaims, scimToLocalMappings));
+    }
+
+    @Benchmark
+    public void convertLocalToSCIMDialectWithSnapshot(Blackhole blackhole) throws UserStoreException {
+
+        blackhole.consume(SCIMCommonUtils.convertLocalToSCIMDialect(localClaims, null));
+    }
+
+    @Benchmark
+    public void convertSCIMtoLocalDialect(Blackhole blackhole) throws UserStoreException {
+
+        blackhole.consume(SCIMCommonUtils.convertSCIMtoLocalDialect(scimClaims));
+    }
+}
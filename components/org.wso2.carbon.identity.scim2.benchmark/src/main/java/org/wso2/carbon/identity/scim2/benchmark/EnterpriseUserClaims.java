@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.benchmark;
+
+import org.wso2.charon3.core.config.SCIMUserSchemaExtensionBuilder;
+import org.wso2.charon3.core.exceptions.CharonException;
+import org.wso2.charon3.core.exceptions.InternalErrorException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Claims of a realistic enterprise user, given as the SCIM attribute, the local claim mapped to it and a sample value.
+ * The claims are ordered the way they are commonly populated, so that the first claims of the catalogue form the
+ * claim set of a user with fewer claims: the core and enterprise profile attributes first, followed by the identity
+ * management attributes of the enterprise extension.
+ */
+final class EnterpriseUserClaims {
+
+    private static final String CORE = "urn:ietf:params:scim:schemas:core:2.0:";
+    private static final String USER = CORE + "User:";
+    private static final String ENTERPRISE = "urn:ietf:params:scim:schemas:extension:enterprise:2.0:User:";
+    private static final String LOCAL = "http://wso2.org/claims/";
+    private static final String IDENTITY = LOCAL + "identity/";
+    private static final String SCHEMA_EXTENSION_CONFIG = "scim2-schema-extension.config";
+
+    private static final List<Claim> CLAIMS = Collections.unmodifiableList(Arrays.asList(
+            new Claim(1, CORE + "id", LOCAL + "userid", "8e6a9f5c-1b7d-4c1e-9d2a-3f0b6c2e4a11"),
+            new Claim(1, USER + "userName", LOCAL + "username", "alex.morgan"),
+            new Claim(2, USER + "name.givenName", LOCAL + "givenname", "Alex"),
+            new Claim(2, USER + "name.familyName", LOCAL + "lastname", "Morgan"),
+            new Claim(2, USER + "emails.work", LOCAL + "emails.work", "alex.morgan@example.com"),
+            new Claim(1, USER + "displayName", LOCAL + "displayName", "Alex Morgan"),
+            new Claim(2, USER + "phoneNumbers.mobile", LOCAL + "mobile", "+14155550101"),
+            new Claim(2, CORE + "meta.created", LOCAL + "created", "2024-03-14T09:26:53.214Z"),
+            new Claim(2, CORE + "meta.lastModified", LOCAL + "modified", "2025-11-02T17:45:12.870Z"),
+            new Claim(2, CORE + "meta.resourceType", LOCAL + "resourceType", "User"),
+            new Claim(2, CORE + "meta.location", LOCAL + "location",
+                    "https://localhost:9443/scim2/Users/8e6a9f5c-1b7d-4c1e-9d2a-3f0b6c2e4a11"),
+            new Claim(2, ENTERPRISE + "employeeNumber", LOCAL + "employeeNumber", "E-104233"),
+            new Claim(2, ENTERPRISE + "department", LOCAL + "department", "Platform Engineering"),
+            new Claim(2, ENTERPRISE + "organization", LOCAL + "organization", "Example Corp"),
+            new Claim(2, ENTERPRISE + "costCenter", LOCAL + "costCenter", "CC-4410"),
+            new Claim(2, ENTERPRISE + "division", LOCAL + "division", "Technology"),
+            new Claim(3, ENTERPRISE + "manager.value", LOCAL + "managerId", "2c1f7d0e-5a3b-4e8f-b6d9-71a0c4e5f302"),
+            new Claim(3, ENTERPRISE + "manager.displayName", LOCAL + "managerName", "Jordan Lee"),
+            new Claim(1, USER + "title", LOCAL + "title", "Senior Software Engineer"),
+            new Claim(1, CORE + "externalId", LOCAL + "externalid", "00u1a2b3c4d5e6f7g8h9"),
+            new Claim(1, USER + "active", LOCAL + "active", "true"),
+            new Claim(2, ENTERPRISE + "accountLocked", IDENTITY + "accountLocked", "false"),
+            new Claim(2, ENTERPRISE + "accountDisabled", IDENTITY + "accountDisabled", "false"),
+            new Claim(2, ENTERPRISE + "emailVerified", IDENTITY + "emailVerified", "true"),
+            new Claim(2, ENTERPRISE + "lastLoginTime", IDENTITY + "lastLoginTime", "1762105512870"),
+            new Claim(2, ENTERPRISE + "lastPasswordUpdateTime", IDENTITY + "lastPasswordUpdateTime",
+                    "1757328310044"),
+            new Claim(2, ENTERPRISE + "failedLoginAttempts", IDENTITY + "failedLoginAttempts", "0"),
+            new Claim(1, USER + "locale", LOCAL + "local", "en-US"),
+            new Claim(1, USER + "preferredLanguage", LOCAL + "preferredLanguage", "en"),
+            new Claim(1, USER + "timezone", LOCAL + "timeZone", "America/Los_Angeles"),
+            new Claim(1, USER + "nickName", LOCAL + "nickname", "Alex"),
+            new Claim(1, USER + "userType", LOCAL + "userType", "Employee"),
+            new Claim(1, USER + "profileUrl", LOCAL + "url", "https://people.example.com/alex.morgan"),
+            new Claim(2, USER + "name.middleName", LOCAL + "middleName", "Jamie"),
+            new Claim(2, USER + "name.formatted", LOCAL + "fullname", "Mx. Alex Jamie Morgan"),
+            new Claim(2, USER + "name.honorificPrefix", LOCAL + "honorificPrefix", "Mx."),
+            new Claim(2, USER + "name.honorificSuffix", LOCAL + "honorificSuffix", "PhD"),
+            new Claim(2, USER + "emails.home", LOCAL + "emails.home", "alex.morgan@mail.example.org"),
+            new Claim(2, USER + "phoneNumbers.work", LOCAL + "phoneNumbers.work", "+14155550199"),
+            new Claim(2, USER + "phoneNumbers.home", LOCAL + "phoneNumbers.home", "+14155550142"),
+            new Claim(2, USER + "addresses.work", LOCAL + "addresses.work",
+                    "100 Market Street, San Francisco, CA 94105, USA"),
+            new Claim(2, USER + "addresses.home", LOCAL + "addresses.home",
+                    "2500 Oak Avenue, Oakland, CA 94611, USA"),
+            new Claim(2, USER + "photos.photo", LOCAL + "photourl", "https://people.example.com/alex.morgan.jpg"),
+            new Claim(2, ENTERPRISE + "country", LOCAL + "country", "United States"),
+            new Claim(2, ENTERPRISE + "dateOfBirth", LOCAL + "dob", "1988-06-21"),
+            new Claim(2, ENTERPRISE + "phoneVerified", IDENTITY + "phoneVerified", "true"),
+            new Claim(2, ENTERPRISE + "preferredChannel", IDENTITY + "preferredChannel", "EMAIL"),
+            new Claim(2, ENTERPRISE + "askPassword", IDENTITY + "askPassword", "false"),
+            new Claim(2, ENTERPRISE + "verifyEmail", IDENTITY + "verifyEmail", "false"),
+            new Claim(2, ENTERPRISE + "forcePasswordReset", IDENTITY + "adminForcedPasswordReset", "false"),
+            new Claim(2, ENTERPRISE + "accountState", IDENTITY + "accountState", "UNLOCKED"),
+            new Claim(2, ENTERPRISE + "lockedReason", IDENTITY + "lockedReason", "MAX_ATTEMPTS_EXCEEDED"),
+            new Claim(2, ENTERPRISE + "unlockTime", IDENTITY + "unlockTime", "0"),
+            new Claim(2, ENTERPRISE + "failedLoginLockoutCount", IDENTITY + "failedLoginLockoutCount", "0"),
+            new Claim(2, ENTERPRISE + "failedLoginAttemptsBeforeSuccess",
+                    IDENTITY + "failedLoginAttemptsBeforeSuccess", "1"),
+            new Claim(2, ENTERPRISE + "failedPasswordRecoveryAttempts", IDENTITY + "failedPasswordRecoveryAttempts",
+                    "0"),
+            new Claim(2, ENTERPRISE + "failedEmailOTPAttempts", IDENTITY + "failedEmailOTPAttempts", "0"),
+            new Claim(2, ENTERPRISE + "failedSMSOTPAttempts", IDENTITY + "failedSMSOTPAttempts", "0"),
+            new Claim(2, ENTERPRISE + "failedTOTPAttempts", IDENTITY + "failedTOTPAttempts", "0"),
+            new Claim(2, ENTERPRISE + "failedBackupCodeAttempts", IDENTITY + "failedBackupCodeAttempts", "0"),
+            new Claim(2, ENTERPRISE + "emailOTPDisabled", IDENTITY + "emailotp_disabled", "false"),
+            new Claim(2, ENTERPRISE + "smsOTPDisabled", IDENTITY + "smsotp_disabled", "true"),
+            new Claim(2, ENTERPRISE + "totpEnabled", IDENTITY + "totpEnabled", "true"),
+            new Claim(2, ENTERPRISE + "backupCodeEnabled", IDENTITY + "backupCodeEnabled", "true"),
+            new Claim(2, ENTERPRISE + "enabledAuthenticators", IDENTITY + "enabledAuthenticators",
+                    "totp,backup-code-authenticator"),
+            new Claim(2, ENTERPRISE + "preferredMFAOption", IDENTITY + "preferredMFAOption", "totp"),
+            new Claim(2, ENTERPRISE + "isLiteUser", IDENTITY + "isLiteUser", "false"),
+            new Claim(2, ENTERPRISE + "isReadOnlyUser", IDENTITY + "isReadOnlyUser", "false"),
+            new Claim(2, ENTERPRISE + "lastLogonTime", IDENTITY + "lastLogonTime", "1762105512870"),
+            new Claim(2, ENTERPRISE + "pendingMobileNumber", IDENTITY + "mobileNumber.pendingValue",
+                    "+14155550177"),
+            new Claim(2, ENTERPRISE + "verifyMobile", IDENTITY + "verifyMobile", "false"),
+            new Claim(2, ENTERPRISE + "userSourceId", IDENTITY + "userSourceId", "ldap-corp-east"),
+            new Claim(2, ENTERPRISE + "managedOrg", IDENTITY + "managedOrg", "10084a8d-113f-4211-a0d5-efe36b082211"),
+            new Claim(2, ENTERPRISE + "tenantAdminAskPassword", IDENTITY + "tenantAdminAskPassword", "false"),
+            new Claim(2, USER + "emails.other", LOCAL + "emails.other", "amorgan@alumni.example.edu"),
+            new Claim(2, USER + "phoneNumbers.fax", LOCAL + "phoneNumbers.fax", "+14155550160"),
+            new Claim(2, USER + "phoneNumbers.pager", LOCAL + "phoneNumbers.pager", "+14155550161"),
+            new Claim(2, USER + "photos.thumbnail", LOCAL + "thumbnail",
+                    "https://people.example.com/alex.morgan-thumb.jpg"),
+            new Claim(2, USER + "ims.skype", LOCAL + "im", "alex.morgan.example"),
+            new Claim(2, USER + "roles.default", LOCAL + "role", "Internal/everyone")));
+
+    private EnterpriseUserClaims() {
+
+    }
+
+    /**
+     * Claim of the catalogue.
+     */
+    static final class Claim {
+
+        private final int level;
+        private final String scimAttributeUri;
+        private final String localClaimUri;
+        private final String value;
+
+        private Claim(int level, String scimAttributeUri, String localClaimUri, String value) {
+
+            this.level = level;
+            this.scimAttributeUri = scimAttributeUri;
+            this.localClaimUri = localClaimUri;
+            this.value = value;
+        }
+
+        /**
+         * @return Level of the SCIM attribute as resolved by the attribute mapper, e.g. 1 for userName, 2 for
+         * name.givenName and 3 for the manager.value attribute of the enterprise extension.
+         */
+        int getLevel() {
+
+            return level;
+        }
+
+        String getSCIMAttributeUri() {
+
+            return scimAttributeUri;
+        }
+
+        String getLocalClaimUri() {
+
+            return localClaimUri;
+        }
+
+        String getValue() {
+
+            return value;
+        }
+    }
+
+    /**
+     * Get the first claims of the catalogue.
+     *
+     * @param numberOfClaims Number of claims, at most 80.
+     * @return Claims.
+     */
+    static List<Claim> getClaims(int numberOfClaims) {
+
+        if (numberOfClaims > CLAIMS.size()) {
+            throw new IllegalArgumentException("The catalogue has only " + CLAIMS.size() + " claims.");
+        }
+        return CLAIMS.subList(0, numberOfClaims);
+    }
+
+    /**
+     * Get the claims of the catalogue whose SCIM attributes are of the given level.
+     *
+     * @param level Attribute level.
+     * @return Claims.
+     */
+    static List<Claim> getClaimsOfLevel(int level) {
+
+        List<Claim> claims = new ArrayList<>();
+        for (Claim claim : CLAIMS) {
+            if (claim.getLevel() == level) {
+                claims.add(claim);
+            }
+        }
+        return claims;
+    }
+
+    /**
+     * Get the SCIM attribute values of the given claims.
+     *
+     * @param claims Claims.
+     * @return Values keyed by the SCIM attribute URI.
+     */
+    static Map<String, String> getSCIMAttributes(List<Claim> claims) {
+
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (Claim claim : claims) {
+            attributes.put(claim.getSCIMAttributeUri(), claim.getValue());
+        }
+        return attributes;
+    }
+
+    /**
+     * Get the local claim values of the given claims.
+     *
+     * @param claims Claims.
+     * @return Values keyed by the local claim URI.
+     */
+    static Map<String, String> getLocalClaims(List<Claim> claims) {
+
+        Map<String, String> localClaims = new LinkedHashMap<>();
+        for (Claim claim : claims) {
+            localClaims.put(claim.getLocalClaimUri(), claim.getValue());
+        }
+        return localClaims;
+    }
+
+    /**
+     * Get the SCIM to local claim mappings of every claim in the catalogue, which stand for the claim mappings of
+     * the tenant regardless of how many claims a user has.
+     *
+     * @return Local claim URIs keyed by the SCIM attribute URI.
+     */
+    static Map<String, String> getSCIMToLocalMappings() {
+
+        Map<String, String> mappings = new LinkedHashMap<>();
+        for (Claim claim : CLAIMS) {
+            mappings.put(claim.getSCIMAttributeUri(), claim.getLocalClaimUri());
+        }
+        return mappings;
+    }
+
+    /**
+     * Build the enterprise user schema extension from the configuration shipped with the SCIM 2.0 feature, as done
+     * when the component is activated.
+     *
+     * @throws IOException             If the configuration could not be copied to a file.
+     * @throws CharonException         If the configuration could not be read.
+     * @throws InternalErrorException  If the schema extension could not be built from the configuration.
+     */
+    static void buildEnterpriseSchemaExtension() throws IOException, CharonException, InternalErrorException {
+
+        File configFile = File.createTempFile("scim2-schema-extension", ".config");
+        configFile.deleteOnExit();
+        try (InputStream config = EnterpriseUserClaims.class.getClassLoader()
+                .getResourceAsStream(SCHEMA_EXTENSION_CONFIG)) {
+            if (config == null) {
+                throw new IOException(SCHEMA_EXTENSION_CONFIG + " is not available in the classpath.");
+            }
+            Files.copy(config, configFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        SCIMUserSchemaExtensionBuilder.getInstance().buildUserSchemaExtension(configFile.getAbsolutePath());
+    }
+}
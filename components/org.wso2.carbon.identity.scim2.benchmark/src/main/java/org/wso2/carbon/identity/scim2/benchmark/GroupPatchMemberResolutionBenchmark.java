@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.carbon.identity.scim2.common.group.GroupMemberResolver;
+import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.UserStoreException;
+import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
+import org.wso2.carbon.user.core.common.User;
+import org.wso2.carbon.user.core.constants.UserCoreClaimConstants;
+import org.wso2.carbon.user.core.model.UniqueIDUserClaimSearchEntry;
+import org.wso2.carbon.user.core.util.UserCoreUtil;
+import org.wso2.charon3.core.schema.SCIMConstants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures the resolution of the member delta of a group PATCH request against a user store where every call costs a
+ * simulated round trip. The per member resolution reads the username of each member ID and then the user ID of each
+ * username, as done before the members were resolved in bulk, while the batched resolution reads all the member IDs
+ * with a single claim search and matches the usernames against the result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupPatchMemberResolutionBenchmark {
+
+    private static final String PRIMARY_DOMAIN = UserCoreConstants.PRIMARY_DEFAULT_DOMAIN_NAME;
+
+    @Param({"100", "1000", "5000"})
+    private int memberDelta;
+
+    @Param({"50"})
+    private long roundTripMicros;
+
+    private AbstractUserStoreManager userStoreManager;
+    private List<String> memberIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws UserStoreException {
+
+        Map<String, User> usersById = new HashMap<>();
+        Map<String, String> userIdsByUsername = new HashMap<>();
+        memberIds = new ArrayList<>(memberDelta);
+        for (int i = 0; i < memberDelta; i++) {
+            User user = new User();
+            user.setUserID(UUID.randomUUID().toString());
+            user.setUsername("user" + i);
+            user.setUserStoreDomain(PRIMARY_DOMAIN);
+            usersById.put(user.getUserID(), user);
+            userIdsByUsername.put(user.getUsername(), user.getUserID());
+            memberIds.add(user.getUserID());
+        }
+
+        // Invocations are not recorded since the same mock serves every iteration of the benchmark.
+        userStoreManager = mock(AbstractUserStoreManager.class, withSettings().stubOnly());
+        when(userStoreManager.getSecondaryUserStoreManager(anyString())).thenReturn(userStoreManager);
+        when(userStoreManager.getUsersClaimValuesWithID(anyList(), anyList(), isNull())).thenAnswer(invocation -> {
+            roundTrip();
+            List<String> userIds = invocation.getArgument(0);
+            List<UniqueIDUserClaimSearchEntry> searchEntries = new ArrayList<>(userIds.size());
+            for (String userId : userIds) {
+                UniqueIDUserClaimSearchEntry searchEntry = new UniqueIDUserClaimSearchEntry();
+                searchEntry.setUser(copyOf(usersById.get(userId)));
+                searchEntry.setClaims(Collections.singletonMap(UserCoreClaimConstants.USERNAME_CLAIM_URI,
+                        usersById.get(userId).getUsername()));
+                searchEntries.add(searchEntry);
+            }
+            return searchEntries;
+        });
+        when(userStoreManager.getUserListWithID(eq(SCIMConstants.CommonSchemaConstants.ID_URI), anyString(),
+                isNull())).thenAnswer(invocation -> {
+                    roundTrip();
+                    return Collections.singletonList(copyOf(usersById.get(invocation.<String>getArgument(1))));
+                });
+        when(userStoreManager.getUserIDFromProperties(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            roundTrip();
+            return userIdsByUsername.get(invocation.<String>getArgument(1));
+        });
+    }
+
+    @Benchmark
+    public void perMemberResolution(Blackhole blackhole) throws UserStoreException {
+
+        Set<String> usernames = new HashSet<>();
+        for (String memberId : memberIds) {
+            List<User> users = userStoreManager.getUserListWithID(SCIMConstants.CommonSchemaConstants.ID_URI,
+                    memberId, null);
+            usernames.add(UserCoreUtil.addDomainToName(users.get(0).getUsername(), PRIMARY_DOMAIN));
+        }
+        Set<String> resolvedMemberIds = new HashSet<>();
+        for (String username : usernames) {
+            AbstractUserStoreManager secondaryUserStoreManager = (AbstractUserStoreManager) userStoreManager
+                    .getSecondaryUserStoreManager(UserCoreUtil.extractDomainFromName(username));
+            resolvedMemberIds.add(secondaryUserStoreManager.getUserIDFromProperties(
+                    UserCoreClaimConstants.USERNAME_CLAIM_URI, UserCoreUtil.removeDomainFromName(username),
+                    UserCoreConstants.DEFAULT_PROFILE));
+        }
+        blackhole.consume(resolvedMemberIds);
+    }
+
+    @Benchmark
+    public void batchedResolution(Blackhole blackhole) throws UserStoreException {
+
+        GroupMemberResolver memberResolver = new GroupMemberResolver(userStoreManager);
+        Map<String, User> membersById = memberResolver.resolveUsersById(memberIds);
+        Set<String> usernames = new HashSet<>();
+        for (User member : membersById.values()) {
+            usernames.add(UserCoreUtil.addDomainToName(member.getUsername(), PRIMARY_DOMAIN));
+        }
+        blackhole.consume(memberResolver.resolveUserIdsByUsername(usernames,
+                UserCoreClaimConstants.USERNAME_CLAIM_URI, membersById.values()));
+    }
+
+    private void roundTrip() {
+
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+
+    private static User copyOf(User user) {
+
+        User copy = new User();
+        copy.setUserID(user.getUserID());
+        copy.setUsername(user.getUsername());
+        copy.setUserStoreDomain(user.getUserStoreDomain());
+        return copy;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.carbon.identity.scim2.common.impl.SCIMUserManager;
+import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
+import org.wso2.carbon.user.core.common.User;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures the pagination of the users matched by a /Users listing or filter request, with and without the removal
+ * of duplicate users across user stores. The users are given in the set the user store search returns for the
+ * configuration, i.e. a set sorted by the fully qualified username when the duplicates are removed and an insertion
+ * ordered set otherwise, and a page in the middle of the result is requested.
+ *
+ * The pagination is private to the user manager, hence it is invoked reflectively. The cost of the reflective call
+ * is constant and small compared to the pagination of the measured result sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginateUsersBenchmark {
+
+    @Param({"1000", "10000"})
+    private int numberOfUsers;
+
+    @Param({"true", "false"})
+    private boolean removeDuplicateUsers;
+
+    @Param({"100"})
+    private int limit;
+
+    private SCIMUserManager scimUserManager;
+    private Method paginateUsers;
+    private Set<User> users;
+    private int offset;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+
+        scimUserManager = new SCIMUserManager(mock(AbstractUserStoreManager.class, withSettings().stubOnly()), null,
+                "carbon.super");
+        Field removeDuplicateUsersInUsersResponseEnabled =
+                SCIMUserManager.class.getDeclaredField("removeDuplicateUsersInUsersResponseEnabled");
+        removeDuplicateUsersInUsersResponseEnabled.setAccessible(true);
+        removeDuplicateUsersInUsersResponseEnabled.setBoolean(scimUserManager, removeDuplicateUsers);
+        paginateUsers = SCIMUserManager.class.getDeclaredMethod("paginateUsers", Set.class, int.class, int.class);
+        paginateUsers.setAccessible(true);
+
+        if (removeDuplicateUsers) {
+            users = new TreeSet<>(Comparator.comparing(User::getFullQualifiedUsername));
+        } else {
+            users = new LinkedHashSet<>();
+        }
+        for (int i = 0; i < numberOfUsers; i++) {
+            User user = new User();
+            user.setUserID(UUID.randomUUID().toString());
+            user.setUsername("user" + i);
+            user.setUserStoreDomain(i % 2 == 0 ? UserCoreConstants.PRIMARY_DEFAULT_DOMAIN_NAME : "SECONDARY");
+            users.add(user);
+        }
+        // The offset is one based.
+        offset = numberOfUsers / 2 + 1;
+    }
+
+    @Benchmark
+    public void paginateUsers(Blackhole blackhole) throws IllegalAccessException, InvocationTargetException {
+
+        blackhole.consume(paginateUsers.invoke(scimUserManager, users, limit, offset));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
+import org.wso2.carbon.identity.scim2.common.utils.UserClaimSearchEntryIndex;
+import org.wso2.carbon.user.core.UserStoreException;
+import org.wso2.carbon.user.core.common.User;
+import org.wso2.carbon.user.core.model.UniqueIDUserClaimSearchEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the join of the users of a listing page with the claim search entries returned by the user store, followed
+ * by the local to SCIM dialect conversion, as done when building the /Users list response. The indexed join is
+ * expected to grow linearly with the page size while the nested scan grows quadratically.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserListJoinBenchmark {
+
+    private static final int NUMBER_OF_CLAIMS = 20;
+    private static final String LOCAL_CLAIM_PREFIX = "http://wso2.org/claims/claim";
+    private static final String SCIM_CLAIM_PREFIX = "urn:ietf:params:scim:schemas:core:2.0:User:attribute";
+
+    @Param({"100", "500", "1000", "2000", "5000"})
+    private int pageSize;
+
+    private List<User> users;
+    private List<UniqueIDUserClaimSearchEntry> searchEntries;
+    private Map<String, String> scimToLocalClaimsMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        scimToLocalClaimsMap = new HashMap<>();
+        for (int i = 0; i < NUMBER_OF_CLAIMS; i++) {
+            scimToLocalClaimsMap.put(SCIM_CLAIM_PREFIX + i, LOCAL_CLAIM_PREFIX + i);
+        }
+
+        users = new ArrayList<>(pageSize);
+        searchEntries = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            User user = new User();
+            user.setUserID(UUID.randomUUID().toString());
+            user.setUsername("user" + i);
+            user.setUserStoreDomain("PRIMARY");
+            users.add(user);
+
+            Map<String, String> claims = new HashMap<>();
+            for (int j = 0; j < NUMBER_OF_CLAIMS; j++) {
+                claims.put(LOCAL_CLAIM_PREFIX + j, "value" + i + "-" + j);
+            }
+            UniqueIDUserClaimSearchEntry searchEntry = new UniqueIDUserClaimSearchEntry();
+            searchEntry.setUser(user);
+            searchEntry.setClaims(claims);
+            searchEntries.add(searchEntry);
+        }
+        // User stores do not guarantee that the search entries are in the order of the requested users.
+        Collections.shuffle(searchEntries, new Random(42));
+    }
+
+    @Benchmark
+    public void indexedJoin(Blackhole blackhole) throws UserStoreException {
+
+        Map<String, UniqueIDUserClaimSearchEntry> searchEntriesByUserId =
+                UserClaimSearchEntryIndex.indexByUserId(searchEntries);
+        for (User user : users) {
+            Map<String, String> userClaimValues = new HashMap<>();
+            UniqueIDUserClaimSearchEntry searchEntry = searchEntriesByUserId.get(user.getUserID());
+            if (searchEntry != null) {
+                userClaimValues = searchEntry.getClaims();
+            }
+            blackhole.consume(SCIMCommonUtils.convertLocalToSCIMDialect(userClaimValues, scimToLocalClaimsMap));
+        }
+    }
+
+    @Benchmark
+    public void nestedScanJoin(Blackhole blackhole) throws UserStoreException {
+
+        for (User user : users) {
+            Map<String, String> userClaimValues = new HashMap<>();
+            for (UniqueIDUserClaimSearchEntry entry : searchEntries) {
+                if (entry.getUser() != null && entry.getUser().getUserID() != null
+                        && entry.getUser().getUserID().equals(user.getUserID())) {
+                    userClaimValues = entry.getClaims();
+                }
+            }
+            blackhole.consume(SCIMCommonUtils.convertLocalToSCIMDialect(userClaimValues, scimToLocalClaimsMap));
+        }
+    }
+}
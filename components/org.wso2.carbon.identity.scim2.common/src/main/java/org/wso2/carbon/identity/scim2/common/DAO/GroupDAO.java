@@ -25,17 +25,25 @@ import org.wso2.carbon.CarbonConstants;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.scim2.common.exceptions.IdentitySCIMException;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
 import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.charon3.core.schema.SCIMConstants;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -46,6 +54,8 @@ import java.util.Set;
 public class GroupDAO {
 
     private static final Log log = LogFactory.getLog(GroupDAO.class);
+    private static final int MAX_ROLE_NAMES_PER_QUERY = 100;
+    private static final String EXECUTE_METHOD_PREFIX = "execute";
 
     /**
      * This method is deprecated.
@@ -65,7 +75,7 @@ public class GroupDAO {
 
         try {
             //retrieve groups from the DB
-            prepStmt = connection.prepareStatement(SQLQueries.LIST_SCIM_GROUPS_SQL);
+            prepStmt = prepareStatement(connection, SQLQueries.LIST_SCIM_GROUPS_SQL);
             prepStmt.setString(1, SCIMConstants.CommonSchemaConstants.ID_URI);
             resultSet = prepStmt.executeQuery();
             while (resultSet.next()) {
@@ -95,7 +105,7 @@ public class GroupDAO {
         Set<String> groups = new HashSet<>();
 
         try (Connection connection = IdentityDatabaseUtil.getDBConnection();
-             PreparedStatement prepStmt = connection.prepareStatement(SQLQueries.LIST_SCIM_GROUPS_BY_TENANT_ID_SQL);) {
+             PreparedStatement prepStmt = prepareStatement(connection, SQLQueries.LIST_SCIM_GROUPS_BY_TENANT_ID_SQL);) {
             prepStmt.setInt(1, tenantId);
             prepStmt.setString(2, SCIMConstants.CommonSchemaConstants.ID_URI);
             try (ResultSet resultSet = prepStmt.executeQuery();) {
@@ -122,7 +132,7 @@ public class GroupDAO {
         boolean isExistingGroup = false;
 
         try {
-            prepStmt = connection.prepareStatement(SQLQueries.CHECK_EXISTING_ATTRIBUTE_SQL);
+            prepStmt = prepareStatement(connection, SQLQueries.CHECK_EXISTING_ATTRIBUTE_SQL);
             prepStmt.setInt(1, tenantId);
             prepStmt.setString(2, SCIMCommonUtils.getGroupNameWithDomain(groupName));
 
@@ -142,68 +152,100 @@ public class GroupDAO {
         return isExistingGroup;
     }
 
-    private boolean isExistingAttribute(String attributeName, String groupName, int tenantId)
-            throws IdentitySCIMException {
-        Connection connection = IdentityDatabaseUtil.getDBConnection();
-        PreparedStatement prepStmt = null;
-        ResultSet rSet = null;
-        boolean isExistingAttribute = false;
-
-        try {
-            prepStmt = connection.prepareStatement(SQLQueries.CHECK_EXISTING_ATTRIBUTE_SQL);
-            prepStmt.setInt(1, tenantId);
-            prepStmt.setString(2, SCIMCommonUtils.getGroupNameWithDomain(groupName));
-            prepStmt.setString(3, attributeName);
-
-            rSet = prepStmt.executeQuery();
-            if (rSet.next()) {
-                isExistingAttribute = true;
+    /**
+     * Read the names of the SCIM attributes already stored for the given groups using the given connection.
+     * The groups are looked up in chunks of {@value #MAX_ROLE_NAMES_PER_QUERY} names per query.
+     *
+     * @param connection Connection of the transaction the attributes are written in.
+     * @param tenantId   Tenant id.
+     * @param roleNames  Group names qualified with the user store domain.
+     * @return Attribute names keyed by the group name. Groups without attributes are mapped to an empty set.
+     * @throws SQLException Error when reading from the persistence store.
+     */
+    private Map<String, Set<String>> getExistingAttributeNames(Connection connection, int tenantId,
+                                                               Collection<String> roleNames) throws SQLException {
+
+        // Role names are case insensitive in the user core, hence the stored names are matched ignoring the case.
+        Map<String, Set<String>> attributeNamesByLowerCaseName = new HashMap<>();
+        Set<String> distinctRoleNames = new LinkedHashSet<>();
+        for (String roleName : roleNames) {
+            if (roleName != null && attributeNamesByLowerCaseName.putIfAbsent(roleName.toLowerCase(Locale.ENGLISH),
+                    new HashSet<>()) == null) {
+                distinctRoleNames.add(roleName);
             }
-            connection.commit();
-        } catch (SQLException e) {
-            throw new IdentitySCIMException("Error when reading the group attribute information from " +
-                    "the persistence store.", e);
-        } finally {
-            IdentityDatabaseUtil.closeAllConnections(connection, rSet, prepStmt);
         }
-        return isExistingAttribute;
+        List<String> roleNamesToRead = new ArrayList<>(distinctRoleNames);
+        for (int from = 0; from < roleNamesToRead.size(); from += MAX_ROLE_NAMES_PER_QUERY) {
+            List<String> chunk = roleNamesToRead.subList(from,
+                    Math.min(from + MAX_ROLE_NAMES_PER_QUERY, roleNamesToRead.size()));
+            String placeholders = StringUtils.repeat("?", ", ", chunk.size());
+            try (PreparedStatement prepStmt = prepareStatement(connection,
+                    SQLQueries.LIST_ATTRIBUTE_NAMES_OF_GROUPS_SQL.replace(SQLQueries.ROLE_NAMES_PLACEHOLDER,
+                            placeholders))) {
+                prepStmt.setInt(1, tenantId);
+                for (int i = 0; i < chunk.size(); i++) {
+                    prepStmt.setString(i + 2, chunk.get(i));
+                }
+                try (ResultSet rSet = prepStmt.executeQuery()) {
+                    while (rSet.next()) {
+                        String storedRoleName = rSet.getString(1);
+                        Set<String> names = storedRoleName == null ? null :
+                                attributeNamesByLowerCaseName.get(storedRoleName.toLowerCase(Locale.ENGLISH));
+                        if (names != null) {
+                            names.add(rSet.getString(2));
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<String, Set<String>> attributeNames = new HashMap<>();
+        for (String roleName : roleNames) {
+            attributeNames.put(roleName, roleName == null ? new HashSet<>() :
+                    attributeNamesByLowerCaseName.get(roleName.toLowerCase(Locale.ENGLISH)));
+        }
+        return attributeNames;
     }
 
     public void addSCIMGroupAttributes(int tenantId, String roleName, Map<String, String> attributes)
             throws IdentitySCIMException {
+
         Connection connection = IdentityDatabaseUtil.getDBConnection();
         PreparedStatement prepStmt = null;
+        try {
+            // Specifically checking SCIM 2.0 ID attribute to avoid conflict with SCIM 1.1
+            String roleNameWithDomain = SCIMCommonUtils.getGroupNameWithDomain(roleName);
+            Set<String> existingAttributeNames = getExistingAttributeNames(connection, tenantId,
+                    Collections.singleton(roleNameWithDomain)).get(roleNameWithDomain);
+            if (existingAttributeNames.contains(SCIMConstants.CommonSchemaConstants.ID_URI)) {
+                throw new IdentitySCIMException("Error when adding SCIM Attributes for the group: "
+                        + roleName + " A Group with the same name already exists.");
+            }
 
-        if (!isExistingGroup(SCIMCommonUtils.getGroupNameWithDomain(roleName), tenantId)) {
-            try {
-                prepStmt = connection.prepareStatement(SQLQueries.ADD_ATTRIBUTES_SQL);
-                prepStmt.setInt(1, tenantId);
-                prepStmt.setString(2, roleName);
-
-                for (Map.Entry<String, String> entry : attributes.entrySet()) {
-                    if (!isExistingAttribute(entry.getKey(),
-                            SCIMCommonUtils.getGroupNameWithDomain(roleName), tenantId)) {
-                        prepStmt.setString(3, entry.getKey());
-                        prepStmt.setString(4, entry.getValue());
-                        prepStmt.addBatch();
-
-                    } else {
-                        throw new IdentitySCIMException("Error when adding SCIM Attribute: "
-                                + entry.getKey()
-                                + " An attribute with the same name already exists.");
-                    }
+            prepStmt = prepareStatement(connection, SQLQueries.ADD_ATTRIBUTES_SQL);
+            prepStmt.setInt(1, tenantId);
+            prepStmt.setString(2, roleName);
+            for (Map.Entry<String, String> entry : attributes.entrySet()) {
+                if (existingAttributeNames.contains(entry.getKey())) {
+                    throw new IdentitySCIMException("Error when adding SCIM Attribute: "
+                            + entry.getKey()
+                            + " An attribute with the same name already exists.");
                 }
-                prepStmt.executeBatch();
-                connection.commit();
-            } catch (SQLException e) {
-                throw new IdentitySCIMException("Error when adding SCIM attributes for the group: "
-                        + roleName, e);
-            } finally {
-                IdentityDatabaseUtil.closeAllConnections(connection, null, prepStmt);
+                prepStmt.setString(3, entry.getKey());
+                prepStmt.setString(4, entry.getValue());
+                prepStmt.addBatch();
             }
-        } else {
-            throw new IdentitySCIMException("Error when adding SCIM Attributes for the group: "
-                    + roleName + " A Group with the same name already exists.");
+            prepStmt.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentitySCIMException("Error when adding SCIM attributes for the group: "
+                    + roleName, e);
+        } catch (IdentitySCIMException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw e;
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, prepStmt);
         }
     }
 
@@ -211,7 +253,7 @@ public class GroupDAO {
                                         Map<String, String> attributes) throws IdentitySCIMException {
 
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
-             PreparedStatement prepStmt = connection.prepareStatement(SQLQueries.ADD_ATTRIBUTES_WITH_AUDIENCE_SQL)) {
+             PreparedStatement prepStmt = prepareStatement(connection, SQLQueries.ADD_ATTRIBUTES_WITH_AUDIENCE_SQL)) {
             prepStmt.setInt(1, tenantId);
             prepStmt.setString(2, roleName);
             prepStmt.setInt(3, roleAudienceRefId);
@@ -236,7 +278,7 @@ public class GroupDAO {
             throws IdentitySCIMException {
 
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
-             PreparedStatement prepStmt = connection.prepareStatement(
+             PreparedStatement prepStmt = prepareStatement(connection,
                      SQLQueries.CHECK_EXISTING_ATTRIBUTE_WITH_AUDIENCE_SQL)) {
             prepStmt.setInt(1, tenantId);
             prepStmt.setString(2, roleName);
@@ -265,27 +307,41 @@ public class GroupDAO {
                                                                 Map<String, Map<String, String>> attributesList)
             throws IdentitySCIMException {
 
-        try (Connection connection = IdentityDatabaseUtil.getDBConnection(); PreparedStatement prepStmt =
-                connection.prepareStatement(SQLQueries.ADD_ATTRIBUTES_SQL)) {
+        Connection connection = IdentityDatabaseUtil.getDBConnection();
+        PreparedStatement prepStmt = null;
+        try {
+            Map<String, String> roleNamesWithDomain = new HashMap<>();
+            for (String roleName : attributesList.keySet()) {
+                roleNamesWithDomain.put(roleName, SCIMCommonUtils.getGroupNameWithDomain(roleName));
+            }
+            Map<String, Set<String>> existingAttributeNames = getExistingAttributeNames(connection, tenantId,
+                    roleNamesWithDomain.values());
+
+            prepStmt = prepareStatement(connection, SQLQueries.ADD_ATTRIBUTES_SQL);
             prepStmt.setInt(1, tenantId);
             for (Map.Entry<String, Map<String, String>> entry : attributesList.entrySet()) {
+                Set<String> attributeNamesOfRole = existingAttributeNames.get(roleNamesWithDomain.get(entry.getKey()));
                 prepStmt.setString(2, entry.getKey());
                 for (Map.Entry<String, String> attributes : entry.getValue().entrySet()) {
-                    if (!isExistingAttribute(attributes.getKey(),
-                            SCIMCommonUtils.getGroupNameWithDomain(entry.getKey()), tenantId)) {
-                        prepStmt.setString(3, attributes.getKey());
-                        prepStmt.setString(4, attributes.getValue());
-                        prepStmt.addBatch();
-                    } else {
+                    if (attributeNamesOfRole.contains(attributes.getKey())) {
                         throw new IdentitySCIMException("Error when adding SCIM Attribute: " + entry.getKey() +
                                 ". An attribute with the same name already exists.");
                     }
+                    prepStmt.setString(3, attributes.getKey());
+                    prepStmt.setString(4, attributes.getValue());
+                    prepStmt.addBatch();
                 }
             }
             prepStmt.executeBatch();
             connection.commit();
         } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
             throw new IdentitySCIMException("Error when adding SCIM attributes for hybrid groups.", e);
+        } catch (IdentitySCIMException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw e;
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, prepStmt);
         }
     }
 
@@ -294,41 +350,41 @@ public class GroupDAO {
 
         Connection connection = IdentityDatabaseUtil.getDBConnection();
         PreparedStatement prepStmt = null;
+        try {
+            String roleNameWithDomain = SCIMCommonUtils.getGroupNameWithDomain(roleName);
+            Set<String> existingAttributeNames = getExistingAttributeNames(connection, tenantId,
+                    Collections.singleton(roleNameWithDomain)).get(roleNameWithDomain);
+            if (!existingAttributeNames.contains(SCIMConstants.CommonSchemaConstants.ID_URI)) {
+                throw new IdentitySCIMException("Error when updating SCIM Attributes for the group: "
+                        + roleName + " A Group with the same name doesn't exists.");
+            }
 
-        if (isExistingGroup(SCIMCommonUtils.getGroupNameWithDomain(roleName), tenantId)) {
-            try {
-                prepStmt = connection.prepareStatement(SQLQueries.UPDATE_ATTRIBUTES_SQL);
-
-                prepStmt.setInt(2, tenantId);
-                prepStmt.setString(3, roleName);
-
-                for (Map.Entry<String, String> entry : attributes.entrySet()) {
-                    if (isExistingAttribute(entry.getKey(),
-                            SCIMCommonUtils.getGroupNameWithDomain(roleName), tenantId)) {
-                        prepStmt.setString(4, entry.getKey());
-                        prepStmt.setString(1, entry.getValue());
-                        prepStmt.addBatch();
-
-                    } else {
-                        throw new IdentitySCIMException("Error when adding SCIM Attribute: "
-                                + entry.getKey()
-                                + " An attribute with the same name doesn't exists.");
-                    }
-                }
-                int[] return_count = prepStmt.executeBatch();
-                if (log.isDebugEnabled()) {
-                    log.debug("No. of records updated for updating SCIM Group : " + return_count.length);
+            prepStmt = prepareStatement(connection, SQLQueries.UPDATE_ATTRIBUTES_SQL);
+            prepStmt.setInt(2, tenantId);
+            prepStmt.setString(3, roleName);
+            for (Map.Entry<String, String> entry : attributes.entrySet()) {
+                if (!existingAttributeNames.contains(entry.getKey())) {
+                    throw new IdentitySCIMException("Error when adding SCIM Attribute: "
+                            + entry.getKey()
+                            + " An attribute with the same name doesn't exists.");
                 }
-                connection.commit();
-
-            } catch (SQLException e) {
-                throw new IdentitySCIMException("Error updating the SCIM Group Attributes.", e);
-            } finally {
-                IdentityDatabaseUtil.closeAllConnections(connection, null, prepStmt);
+                prepStmt.setString(4, entry.getKey());
+                prepStmt.setString(1, entry.getValue());
+                prepStmt.addBatch();
             }
-        } else {
-            throw new IdentitySCIMException("Error when updating SCIM Attributes for the group: "
-                    + roleName + " A Group with the same name doesn't exists.");
+            int[] return_count = prepStmt.executeBatch();
+            if (log.isDebugEnabled()) {
+                log.debug("No. of records updated for updating SCIM Group : " + return_count.length);
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentitySCIMException("Error updating the SCIM Group Attributes.", e);
+        } catch (IdentitySCIMException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw e;
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, prepStmt);
         }
     }
 
@@ -337,7 +393,7 @@ public class GroupDAO {
         PreparedStatement prepStmt = null;
 
         try {
-            prepStmt = connection.prepareStatement(SQLQueries.DELETE_GROUP_SQL);
+            prepStmt = prepareStatement(connection, SQLQueries.DELETE_GROUP_SQL);
             prepStmt.setInt(1, tenantId);
             prepStmt.setString(2, SCIMCommonUtils.getGroupNameWithDomain(roleName));
 
@@ -360,7 +416,7 @@ public class GroupDAO {
         Map<String, String> attributes = new HashMap<>();
 
         try {
-            prepStmt = connection.prepareStatement(SQLQueries.GET_ATTRIBUTES_SQL);
+            prepStmt = prepareStatement(connection, SQLQueries.GET_ATTRIBUTES_SQL);
             prepStmt.setInt(1, tenantId);
             prepStmt.setString(2, SCIMCommonUtils.getGroupNameWithDomain(roleName));
 
@@ -393,7 +449,7 @@ public class GroupDAO {
 
         String groupId = null;
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(true);
-             PreparedStatement prepStmt = connection.prepareStatement(SQLQueries.GET_GROUP_ID_BY_NAME_SQL)) {
+             PreparedStatement prepStmt = prepareStatement(connection, SQLQueries.GET_GROUP_ID_BY_NAME_SQL)) {
             prepStmt.setInt(1, tenantId);
             prepStmt.setString(2, SCIMCommonUtils.getGroupNameWithDomain(groupName));
             prepStmt.setString(3, SCIMConstants.CommonSchemaConstants.ID_URI);
@@ -421,7 +477,7 @@ public class GroupDAO {
         String roleName = null;
 
         try {
-            prepStmt = connection.prepareStatement(SQLQueries.GET_GROUP_NAME_BY_ID_SQL);
+            prepStmt = prepareStatement(connection, SQLQueries.GET_GROUP_NAME_BY_ID_SQL);
             prepStmt.setInt(1, tenantId);
             prepStmt.setString(2, id);
             prepStmt.setString(3, SCIMConstants.CommonSchemaConstants.ID_URI);
@@ -450,7 +506,7 @@ public class GroupDAO {
 
         if (isExistingGroup(SCIMCommonUtils.getGroupNameWithDomain(oldRoleName), tenantId)) {
             try {
-                prepStmt = connection.prepareStatement(SQLQueries.UPDATE_GROUP_NAME_SQL);
+                prepStmt = prepareStatement(connection, SQLQueries.UPDATE_GROUP_NAME_SQL);
 
                 prepStmt.setString(1, SCIMCommonUtils.getGroupNameWithDomain(newRoleName));
                 prepStmt.setInt(2, tenantId);
@@ -489,8 +545,8 @@ public class GroupDAO {
 
         List<String> roleList = new ArrayList<>();
         try (Connection connection = IdentityDatabaseUtil.getDBConnection()) {
-            try (PreparedStatement prepStmt = connection
-                    .prepareStatement(SQLQueries.LIST_SCIM_GROUPS_SQL_BY_ATT_AND_ATT_VALUE)) {
+            try (PreparedStatement prepStmt = prepareStatement(connection,
+                    SQLQueries.LIST_SCIM_GROUPS_SQL_BY_ATT_AND_ATT_VALUE)) {
 
                 prepStmt.setInt(1, tenantId);
                 prepStmt.setString(2, searchAttributeName);
@@ -543,7 +599,7 @@ public class GroupDAO {
             sqlQuery = SQLQueries.LIST_SCIM_GROUPS_SQL_BY_ATT_AND_ATT_VALUE;
         }
         try (Connection connection = IdentityDatabaseUtil.getDBConnection()) {
-            try (PreparedStatement prepStmt = connection.prepareStatement(sqlQuery)) {
+            try (PreparedStatement prepStmt = prepareStatement(connection, sqlQuery)) {
                 prepStmt.setInt(1, tenantId);
                 prepStmt.setString(2, searchAttributeName);
                 prepStmt.setString(3, searchAttributeValue);
@@ -570,6 +626,64 @@ public class GroupDAO {
         return roleList.toArray(new String[0]);
     }
 
+    /**
+     * List the SCIM attributes of the groups created from SCIM that match an attribute filter and search regex. The
+     * attributes of all the matching groups are read with a single query.
+     *
+     * @param searchAttributeName  Search attribute name.
+     * @param searchAttributeValue Search attribute value.
+     * @param tenantId             Tenant ID.
+     * @param domainName           Domain that needs to be filtered.
+     * @return SCIM attributes of the matching groups keyed by the group name, in the order returned by the
+     * persistence store.
+     * @throws IdentitySCIMException IdentitySCIMException when reading the SCIM Group information.
+     */
+    public Map<String, Map<String, String>> getSCIMGroupAttributesList(String searchAttributeName,
+                                                                       String searchAttributeValue, Integer tenantId,
+                                                                       String domainName)
+            throws IdentitySCIMException {
+
+        Map<String, Map<String, String>> groupAttributes = new LinkedHashMap<>();
+        String sqlQuery;
+
+        // Resolve sql query for filtering.
+        if (StringUtils.isNotEmpty(domainName)) {
+            // if the domain is given, domain needs to be searched in ROLE_NAME column as well.
+            sqlQuery = SQLQueries.LIST_SCIM_GROUP_ATTRIBUTES_SQL_BY_ATT_AND_ATT_VALUE_AND_ROLE_NAME;
+        } else {
+            sqlQuery = SQLQueries.LIST_SCIM_GROUP_ATTRIBUTES_SQL_BY_ATT_AND_ATT_VALUE;
+        }
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            try (PreparedStatement prepStmt = prepareStatement(connection, sqlQuery)) {
+                prepStmt.setInt(1, tenantId);
+                prepStmt.setInt(2, tenantId);
+                prepStmt.setString(3, searchAttributeName);
+                prepStmt.setString(4, searchAttributeValue);
+
+                // Append SQL_FILTERING_DELIMITER to ROLE_NAME param to filter in a given domain.
+                if (StringUtils.isNotEmpty(domainName)) {
+                    prepStmt.setString(5, domainName.toUpperCase() + "%");
+                }
+                try (ResultSet rSet = prepStmt.executeQuery()) {
+                    while (rSet.next()) {
+                        String roleName = rSet.getString(1);
+                        String attributeName = rSet.getString(2);
+                        if (StringUtils.isNotEmpty(roleName) && StringUtils.isNotEmpty(attributeName)) {
+                            // Remove the primary domain name from roleNames.
+                            groupAttributes.computeIfAbsent(removePrimaryDomainName(roleName), k -> new HashMap<>())
+                                    .put(attributeName, rSet.getString(3));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.error("Error when executing the SQL : " + sqlQuery);
+            throw new IdentitySCIMException("Error when reading the SCIM Group information from the persistence store.",
+                    e);
+        }
+        return groupAttributes;
+    }
+
     /**
      * Remove the primary domain name from the display names of groups in the primary user store to maintain
      * consistency.
@@ -577,6 +691,31 @@ public class GroupDAO {
      * @param roleName Role names with Domain
      * @return Role names.
      */
+    /**
+     * Prepare a statement of the DAO. The returned statement counts a DB query each time it is executed, hence all
+     * the queries of the DAO are counted here rather than where they are executed.
+     *
+     * @param connection DB connection.
+     * @param sqlQuery   SQL query of the statement.
+     * @return Prepared statement.
+     * @throws SQLException If the statement could not be prepared.
+     */
+    private PreparedStatement prepareStatement(Connection connection, String sqlQuery) throws SQLException {
+
+        PreparedStatement prepStmt = connection.prepareStatement(sqlQuery);
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().startsWith(EXECUTE_METHOD_PREFIX)) {
+                        SCIMMetrics.increment(SCIMMetrics.DB_QUERIES);
+                    }
+                    try {
+                        return method.invoke(prepStmt, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
     private String removePrimaryDomainName(String roleName) {
 
         // If a domain is embedded, then the length would equal to 2. The first element of the array will be the
@@ -50,11 +50,25 @@ public class SQLQueries {
     public static final String CHECK_EXISTING_ATTRIBUTE_SQL =
             "SELECT TENANT_ID, ROLE_NAME, ATTR_NAME FROM IDN_SCIM_GROUP WHERE IDN_SCIM_GROUP.TENANT_ID=? AND " +
                     "IDN_SCIM_GROUP.ROLE_NAME=? AND IDN_SCIM_GROUP.ATTR_NAME=?";
+    public static final String ROLE_NAMES_PLACEHOLDER = "_ROLE_NAMES_";
+    public static final String LIST_ATTRIBUTE_NAMES_OF_GROUPS_SQL =
+            "SELECT ROLE_NAME, ATTR_NAME FROM IDN_SCIM_GROUP WHERE IDN_SCIM_GROUP.TENANT_ID=? AND " +
+                    "IDN_SCIM_GROUP.ROLE_NAME IN (" + ROLE_NAMES_PLACEHOLDER + ")";
     public static final String LIST_SCIM_GROUPS_SQL_BY_ATT_AND_ATT_VALUE =
             "SELECT ROLE_NAME FROM IDN_SCIM_GROUP WHERE IDN_SCIM_GROUP.TENANT_ID=? AND " +
                     "IDN_SCIM_GROUP.ATTR_NAME=? AND ATTR_VALUE LIKE ?";
     public static final String LIST_SCIM_GROUPS_SQL_BY_ATT_AND_ATT_VALUE_AND_ROLE_NAME =
             "SELECT ROLE_NAME FROM IDN_SCIM_GROUP WHERE IDN_SCIM_GROUP.TENANT_ID=? AND "
                     + "IDN_SCIM_GROUP.ATTR_NAME=? AND ATTR_VALUE LIKE ? AND IDN_SCIM_GROUP.ROLE_NAME LIKE ?";
+    public static final String LIST_SCIM_GROUP_ATTRIBUTES_SQL_BY_ATT_AND_ATT_VALUE =
+            "SELECT ROLE_NAME, ATTR_NAME, ATTR_VALUE FROM IDN_SCIM_GROUP WHERE IDN_SCIM_GROUP.TENANT_ID=? AND " +
+                    "IDN_SCIM_GROUP.ROLE_NAME IN (SELECT FILTERED_GROUP.ROLE_NAME FROM IDN_SCIM_GROUP FILTERED_GROUP " +
+                    "WHERE FILTERED_GROUP.TENANT_ID=? AND FILTERED_GROUP.ATTR_NAME=? AND " +
+                    "FILTERED_GROUP.ATTR_VALUE LIKE ?)";
+    public static final String LIST_SCIM_GROUP_ATTRIBUTES_SQL_BY_ATT_AND_ATT_VALUE_AND_ROLE_NAME =
+            "SELECT ROLE_NAME, ATTR_NAME, ATTR_VALUE FROM IDN_SCIM_GROUP WHERE IDN_SCIM_GROUP.TENANT_ID=? AND " +
+                    "IDN_SCIM_GROUP.ROLE_NAME IN (SELECT FILTERED_GROUP.ROLE_NAME FROM IDN_SCIM_GROUP FILTERED_GROUP " +
+                    "WHERE FILTERED_GROUP.TENANT_ID=? AND FILTERED_GROUP.ATTR_NAME=? AND " +
+                    "FILTERED_GROUP.ATTR_VALUE LIKE ? AND FILTERED_GROUP.ROLE_NAME LIKE ?)";
     private SQLQueries(){}
 }
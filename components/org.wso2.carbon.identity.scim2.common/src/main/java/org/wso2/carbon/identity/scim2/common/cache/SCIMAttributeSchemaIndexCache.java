@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.common.cache.BaseCache;
+import org.wso2.carbon.identity.scim2.common.utils.AttributeSchemaIndex;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This stores the attribute schema index of the user schema against tenants.
+ *
+ * An index is built from the schema read before it is added, hence an index whose build started before the entry of
+ * the tenant was cleared would put the outdated schema back into the cache. The cache keeps a generation which is
+ * advanced with every clear of this node, and an index is only added if no clear happened since its build started.
+ */
+public class SCIMAttributeSchemaIndexCache extends BaseCache<SCIMAttributeSchemaIndexCacheKey,
+        SCIMAttributeSchemaIndexCacheEntry> {
+
+    private static final String SCIM_ATTRIBUTE_SCHEMA_INDEX_CACHE = "SCIMAttributeSchemaIndexCache";
+    private static final Log log = LogFactory.getLog(SCIMAttributeSchemaIndexCache.class);
+
+    private static volatile SCIMAttributeSchemaIndexCache instance;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private SCIMAttributeSchemaIndexCache() {
+
+        super(SCIM_ATTRIBUTE_SCHEMA_INDEX_CACHE);
+    }
+
+    public static SCIMAttributeSchemaIndexCache getInstance() {
+
+        if (instance == null) {
+            synchronized (SCIMAttributeSchemaIndexCache.class) {
+                if (instance == null) {
+                    instance = new SCIMAttributeSchemaIndexCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the current generation of the cache. The generation should be read before building an index which is
+     * added with {@link #addAttributeSchemaIndex(int, AttributeSchemaIndex, long)}.
+     *
+     * @return Generation of the cache.
+     */
+    public long getGeneration() {
+
+        return this.generation.get();
+    }
+
+    /**
+     * Add attribute schema index to cache against tenantId, unless the cache was cleared after the given generation.
+     *
+     * @param tenantId             TenantId.
+     * @param attributeSchemaIndex Attribute schema index.
+     * @param generation           Generation of the cache read before building the index.
+     */
+    public synchronized void addAttributeSchemaIndex(int tenantId, AttributeSchemaIndex attributeSchemaIndex,
+                                                     long generation) {
+
+        if (this.generation.get() != generation) {
+            if (log.isDebugEnabled()) {
+                log.debug("SCIMAttributeSchemaIndexCache was cleared while the index was built. Hence not adding " +
+                        "the index of the tenant: " + tenantId);
+            }
+            return;
+        }
+        SCIMAttributeSchemaIndexCacheKey cacheKey = new SCIMAttributeSchemaIndexCacheKey(tenantId);
+        SCIMAttributeSchemaIndexCacheEntry cacheEntry = new SCIMAttributeSchemaIndexCacheEntry(attributeSchemaIndex);
+        super.addToCache(cacheKey, cacheEntry);
+        if (log.isDebugEnabled()) {
+            log.debug("Successfully added the attribute schema index into SCIMAttributeSchemaIndexCache for the " +
+                    "tenant: " + tenantId);
+        }
+    }
+
+    /**
+     * Get attribute schema index by tenantId.
+     *
+     * @param tenantId TenantId.
+     * @return Attribute schema index or null if the index is not cached.
+     */
+    public AttributeSchemaIndex getAttributeSchemaIndexByTenant(int tenantId) {
+
+        SCIMAttributeSchemaIndexCacheKey cacheKey = new SCIMAttributeSchemaIndexCacheKey(tenantId);
+        SCIMAttributeSchemaIndexCacheEntry cacheEntry = super.getValueFromCache(cacheKey);
+        SCIMMetrics.recordCacheAccess(SCIM_ATTRIBUTE_SCHEMA_INDEX_CACHE, cacheEntry != null);
+        if (cacheEntry != null) {
+            return cacheEntry.getAttributeSchemaIndex();
+        } else {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache entry is null for tenantId: " + tenantId);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Clear attribute schema index by tenantId.
+     *
+     * @param tenantId TenantId.
+     */
+    public synchronized void clearAttributeSchemaIndexByTenant(int tenantId) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Clearing SCIMAttributeSchemaIndexCache entry by the tenant with id: " + tenantId);
+        }
+        generation.incrementAndGet();
+        super.clearCacheEntry(new SCIMAttributeSchemaIndexCacheKey(tenantId));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.common.cache.BaseCache;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMClaimMappingSnapshot;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
+
+/**
+ * This stores the SCIM to local claim mapping snapshot against tenants.
+ */
+public class SCIMClaimMappingCache extends BaseCache<SCIMClaimMappingCacheKey, SCIMClaimMappingCacheEntry> {
+
+    private static final String SCIM_CLAIM_MAPPING_CACHE = "SCIMClaimMappingCache";
+    private static final Log log = LogFactory.getLog(SCIMClaimMappingCache.class);
+
+    private static volatile SCIMClaimMappingCache instance;
+
+    private SCIMClaimMappingCache() {
+
+        super(SCIM_CLAIM_MAPPING_CACHE);
+    }
+
+    public static SCIMClaimMappingCache getInstance() {
+
+        if (instance == null) {
+            synchronized (SCIMClaimMappingCache.class) {
+                if (instance == null) {
+                    instance = new SCIMClaimMappingCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Add claim mapping snapshot to cache against tenantId.
+     *
+     * @param tenantId             TenantId.
+     * @param claimMappingSnapshot SCIM to local claim mapping snapshot.
+     */
+    public void addClaimMappingSnapshot(int tenantId, SCIMClaimMappingSnapshot claimMappingSnapshot) {
+
+        SCIMClaimMappingCacheKey cacheKey = new SCIMClaimMappingCacheKey(tenantId);
+        SCIMClaimMappingCacheEntry cacheEntry = new SCIMClaimMappingCacheEntry(claimMappingSnapshot);
+        super.addToCache(cacheKey, cacheEntry);
+        if (log.isDebugEnabled()) {
+            log.debug("Successfully added SCIM claim mappings of version: " + claimMappingSnapshot.getVersion() +
+                    " into SCIMClaimMappingCache for the tenant: " + tenantId);
+        }
+    }
+
+    /**
+     * Get claim mapping snapshot by tenantId.
+     *
+     * @param tenantId TenantId.
+     * @return SCIM to local claim mapping snapshot.
+     */
+    public SCIMClaimMappingSnapshot getClaimMappingSnapshotByTenant(int tenantId) {
+
+        SCIMClaimMappingCacheKey cacheKey = new SCIMClaimMappingCacheKey(tenantId);
+        SCIMClaimMappingCacheEntry cacheEntry = super.getValueFromCache(cacheKey);
+        SCIMMetrics.recordCacheAccess(SCIM_CLAIM_MAPPING_CACHE, cacheEntry != null);
+        if (cacheEntry != null) {
+            return cacheEntry.getClaimMappingSnapshot();
+        } else {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache entry is null for tenantId: " + tenantId);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Clear claim mapping snapshot by tenantId.
+     *
+     * @param tenantId TenantId.
+     */
+    public void clearClaimMappingSnapshotByTenant(int tenantId) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Clearing SCIMClaimMappingCache entry by the tenant with id: " + tenantId);
+        }
+        SCIMClaimMappingCacheKey cacheKey = new SCIMClaimMappingCacheKey(tenantId);
+        super.clearCacheEntry(cacheKey);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import org.wso2.carbon.identity.scim2.common.utils.SCIMClaimMappingSnapshot;
+
+import java.io.Serializable;
+
+/**
+ * This stores the SCIM to local claim mapping snapshot of a tenant.
+ */
+public class SCIMClaimMappingCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = -2870213552097342316L;
+
+    private final SCIMClaimMappingSnapshot claimMappingSnapshot;
+
+    public SCIMClaimMappingCacheEntry(SCIMClaimMappingSnapshot claimMappingSnapshot) {
+
+        this.claimMappingSnapshot = claimMappingSnapshot;
+    }
+
+    public SCIMClaimMappingSnapshot getClaimMappingSnapshot() {
+
+        return claimMappingSnapshot;
+    }
+}
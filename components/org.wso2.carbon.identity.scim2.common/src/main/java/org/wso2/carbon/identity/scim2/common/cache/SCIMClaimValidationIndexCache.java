@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.common.cache.BaseCache;
+import org.wso2.carbon.identity.scim2.common.utils.ClaimValidationIndex;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This stores the claim validation index of the local claims against tenants.
+ *
+ * An index is added only if the cache was not cleared after the local claims it is built from were read, so that a
+ * build racing with a local claim update does not put the outdated rules back into the cache.
+ */
+public class SCIMClaimValidationIndexCache extends BaseCache<SCIMClaimValidationIndexCacheKey,
+        SCIMClaimValidationIndexCacheEntry> {
+
+    private static final String SCIM_CLAIM_VALIDATION_INDEX_CACHE = "SCIMClaimValidationIndexCache";
+    private static final Log log = LogFactory.getLog(SCIMClaimValidationIndexCache.class);
+
+    private static volatile SCIMClaimValidationIndexCache instance;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private SCIMClaimValidationIndexCache() {
+
+        super(SCIM_CLAIM_VALIDATION_INDEX_CACHE);
+    }
+
+    public static SCIMClaimValidationIndexCache getInstance() {
+
+        if (instance == null) {
+            synchronized (SCIMClaimValidationIndexCache.class) {
+                if (instance == null) {
+                    instance = new SCIMClaimValidationIndexCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the current generation of the cache. The generation should be read before building an index which is
+     * added with {@link #addClaimValidationIndex(int, ClaimValidationIndex, long)}.
+     *
+     * @return Generation of the cache.
+     */
+    public long getGeneration() {
+
+        return this.generation.get();
+    }
+
+    /**
+     * Add claim validation index to cache against tenantId, unless the cache was cleared after the given generation.
+     *
+     * @param tenantId             TenantId.
+     * @param claimValidationIndex Claim validation index.
+     * @param generation           Generation of the cache read before reading the local claims of the index.
+     */
+    public synchronized void addClaimValidationIndex(int tenantId, ClaimValidationIndex claimValidationIndex,
+                                                     long generation) {
+
+        if (this.generation.get() != generation) {
+            if (log.isDebugEnabled()) {
+                log.debug("SCIMClaimValidationIndexCache was cleared while the index was built. Hence not adding " +
+                        "the index of the tenant: " + tenantId);
+            }
+            return;
+        }
+        SCIMClaimValidationIndexCacheKey cacheKey = new SCIMClaimValidationIndexCacheKey(tenantId);
+        SCIMClaimValidationIndexCacheEntry cacheEntry = new SCIMClaimValidationIndexCacheEntry(claimValidationIndex);
+        super.addToCache(cacheKey, cacheEntry);
+        if (log.isDebugEnabled()) {
+            log.debug("Successfully added the claim validation index into SCIMClaimValidationIndexCache for the " +
+                    "tenant: " + tenantId);
+        }
+    }
+
+    /**
+     * Get claim validation index by tenantId.
+     *
+     * @param tenantId TenantId.
+     * @return Claim validation index or null if the index is not cached.
+     */
+    public ClaimValidationIndex getClaimValidationIndexByTenant(int tenantId) {
+
+        SCIMClaimValidationIndexCacheKey cacheKey = new SCIMClaimValidationIndexCacheKey(tenantId);
+        SCIMClaimValidationIndexCacheEntry cacheEntry = super.getValueFromCache(cacheKey);
+        SCIMMetrics.recordCacheAccess(SCIM_CLAIM_VALIDATION_INDEX_CACHE, cacheEntry != null);
+        if (cacheEntry != null) {
+            return cacheEntry.getClaimValidationIndex();
+        } else {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache entry is null for tenantId: " + tenantId);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Clear claim validation index by tenantId.
+     *
+     * @param tenantId TenantId.
+     */
+    public synchronized void clearClaimValidationIndexByTenant(int tenantId) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Clearing SCIMClaimValidationIndexCache entry by the tenant with id: " + tenantId);
+        }
+        generation.incrementAndGet();
+        super.clearCacheEntry(new SCIMClaimValidationIndexCacheKey(tenantId));
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import org.wso2.carbon.identity.scim2.common.utils.ClaimValidationIndex;
+
+import java.io.Serializable;
+
+/**
+ * This stores the claim validation index of the local claims of a tenant.
+ */
+public class SCIMClaimValidationIndexCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = -2260593327853214630L;
+
+    private final ClaimValidationIndex claimValidationIndex;
+
+    public SCIMClaimValidationIndexCacheEntry(ClaimValidationIndex claimValidationIndex) {
+
+        this.claimValidationIndex = claimValidationIndex;
+    }
+
+    public ClaimValidationIndex getClaimValidationIndex() {
+
+        return claimValidationIndex;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import java.io.Serializable;
+
+/**
+ * SCIM claim validation index cache key. This contains tenant Id as the key.
+ */
+public class SCIMClaimValidationIndexCacheKey implements Serializable {
+
+    private static final long serialVersionUID = 5817046193025870436L;
+
+    private final int tenantId;
+
+    public SCIMClaimValidationIndexCacheKey(int tenantId) {
+
+        this.tenantId = tenantId;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof SCIMClaimValidationIndexCacheKey)) {
+            return false;
+        }
+
+        SCIMClaimValidationIndexCacheKey that = (SCIMClaimValidationIndexCacheKey) o;
+        return tenantId == that.tenantId;
+    }
+
+    @Override
+    public int hashCode() {
+        return tenantId;
+    }
+
+}
@@ -21,6 +21,7 @@ package org.wso2.carbon.identity.scim2.common.cache;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.application.common.cache.BaseCache;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
 import org.wso2.charon3.core.schema.AttributeSchema;
 
 /**
@@ -79,6 +80,7 @@ public class SCIMCustomAttributeSchemaCache extends BaseCache<SCIMCustomAttribut
 
         SCIMCustomAttributeSchemaCacheKey cacheKey = new SCIMCustomAttributeSchemaCacheKey(tenantId);
         SCIMCustomAttributeSchemaCacheEntry cacheEntry = super.getValueFromCache(cacheKey);
+        SCIMMetrics.recordCacheAccess(SCIM_CUSTOM_SCHEMA_CACHE, cacheEntry != null);
         if (cacheEntry != null) {
             return cacheEntry.getSCIMCustomAttributeSchema();
         } else {
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.common.cache.BaseCache;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
+
+/**
+ * This stores the number of users matching a filter in a user store domain against the tenant, the domain and the
+ * normalized filter.
+ *
+ * A count carries the time it expires at, as the time to live of a count is expected to be much shorter than the
+ * expiry of the cache. An expired count is treated as a cache miss and is removed from the cache.
+ */
+public class SCIMFilteredUserCountCache extends BaseCache<SCIMFilteredUserCountCacheKey,
+        SCIMFilteredUserCountCacheEntry> {
+
+    private static final String SCIM_FILTERED_USER_COUNT_CACHE = "SCIMFilteredUserCountCache";
+    private static final Log log = LogFactory.getLog(SCIMFilteredUserCountCache.class);
+
+    private static volatile SCIMFilteredUserCountCache instance;
+
+    private SCIMFilteredUserCountCache() {
+
+        super(SCIM_FILTERED_USER_COUNT_CACHE);
+    }
+
+    public static SCIMFilteredUserCountCache getInstance() {
+
+        if (instance == null) {
+            synchronized (SCIMFilteredUserCountCache.class) {
+                if (instance == null) {
+                    instance = new SCIMFilteredUserCountCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Add the number of users matching a filter in a domain to the cache.
+     *
+     * @param tenantId   TenantId.
+     * @param domainName User store domain name.
+     * @param filter     Normalized filter.
+     * @param count      Number of users matching the filter.
+     * @param expiresAt  Time in milliseconds since the epoch the count expires at.
+     */
+    public void addFilteredUserCount(int tenantId, String domainName, String filter, int count, long expiresAt) {
+
+        SCIMFilteredUserCountCacheKey cacheKey = new SCIMFilteredUserCountCacheKey(tenantId, domainName, filter);
+        super.addToCache(cacheKey, new SCIMFilteredUserCountCacheEntry(count, expiresAt));
+        if (log.isDebugEnabled()) {
+            log.debug("Successfully added the filtered user count into SCIMFilteredUserCountCache for the domain: " +
+                    domainName + " of the tenant: " + tenantId);
+        }
+    }
+
+    /**
+     * Get the number of users matching a filter in a domain.
+     *
+     * @param tenantId   TenantId.
+     * @param domainName User store domain name.
+     * @param filter     Normalized filter.
+     * @return Number of users matching the filter or null if the count is not cached or has expired.
+     */
+    public Integer getFilteredUserCount(int tenantId, String domainName, String filter) {
+
+        SCIMFilteredUserCountCacheKey cacheKey = new SCIMFilteredUserCountCacheKey(tenantId, domainName, filter);
+        SCIMFilteredUserCountCacheEntry cacheEntry = super.getValueFromCache(cacheKey);
+        if (cacheEntry != null && cacheEntry.getExpiresAt() <= System.currentTimeMillis()) {
+            if (log.isDebugEnabled()) {
+                log.debug("Filtered user count has expired for the domain: " + domainName + " of the tenant: " +
+                        tenantId);
+            }
+            super.clearCacheEntry(cacheKey);
+            cacheEntry = null;
+        }
+        SCIMMetrics.recordCacheAccess(SCIM_FILTERED_USER_COUNT_CACHE, cacheEntry != null);
+        return cacheEntry != null ? cacheEntry.getCount() : null;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import java.io.Serializable;
+
+/**
+ * This stores the number of users matching a filter in a user store domain with the time the count expires at.
+ */
+public class SCIMFilteredUserCountCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = 6152938470164235513L;
+
+    private final int count;
+    private final long expiresAt;
+
+    public SCIMFilteredUserCountCacheEntry(int count, long expiresAt) {
+
+        this.count = count;
+        this.expiresAt = expiresAt;
+    }
+
+    public int getCount() {
+
+        return count;
+    }
+
+    public long getExpiresAt() {
+
+        return expiresAt;
+    }
+}
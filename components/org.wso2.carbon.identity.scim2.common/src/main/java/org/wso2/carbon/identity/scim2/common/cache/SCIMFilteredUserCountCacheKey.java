@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * SCIM filtered user count cache key. This contains the tenant id, the user store domain and the normalized filter
+ * as the key.
+ */
+public class SCIMFilteredUserCountCacheKey implements Serializable {
+
+    private static final long serialVersionUID = -3948267160429158374L;
+
+    private final int tenantId;
+    private final String domainName;
+    private final String filter;
+
+    public SCIMFilteredUserCountCacheKey(int tenantId, String domainName, String filter) {
+
+        this.tenantId = tenantId;
+        this.domainName = domainName;
+        this.filter = filter;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    public String getDomainName() {
+
+        return domainName;
+    }
+
+    public String getFilter() {
+
+        return filter;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof SCIMFilteredUserCountCacheKey)) {
+            return false;
+        }
+
+        SCIMFilteredUserCountCacheKey that = (SCIMFilteredUserCountCacheKey) o;
+        return tenantId == that.tenantId && Objects.equals(domainName, that.domainName) &&
+                Objects.equals(filter, that.filter);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tenantId, domainName, filter);
+    }
+
+}
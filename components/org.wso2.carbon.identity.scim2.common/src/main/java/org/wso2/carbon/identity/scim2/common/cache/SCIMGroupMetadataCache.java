@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.common.cache.BaseCache;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
+import org.wso2.charon3.core.schema.SCIMConstants;
+
+import java.util.Map;
+
+/**
+ * This stores the SCIM meta attributes of groups against the group name and the group id, so that the
+ * IDN_SCIM_GROUP table is not read for the same groups on every request. The number of groups cached is bounded by
+ * the capacity configured for the cache.
+ */
+public class SCIMGroupMetadataCache extends BaseCache<SCIMGroupMetadataCacheKey, SCIMGroupMetadataCacheEntry> {
+
+    private static final String SCIM_GROUP_METADATA_CACHE = "SCIMGroupMetadataCache";
+    private static final Log log = LogFactory.getLog(SCIMGroupMetadataCache.class);
+
+    private static volatile SCIMGroupMetadataCache instance;
+
+    private SCIMGroupMetadataCache() {
+
+        super(SCIM_GROUP_METADATA_CACHE);
+    }
+
+    public static SCIMGroupMetadataCache getInstance() {
+
+        if (instance == null) {
+            synchronized (SCIMGroupMetadataCache.class) {
+                if (instance == null) {
+                    instance = new SCIMGroupMetadataCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Add the SCIM meta attributes of a group to cache against the group name and the group id.
+     *
+     * @param tenantId   TenantId.
+     * @param groupName  Domain qualified group name.
+     * @param attributes SCIM meta attributes of the group.
+     */
+    public void addGroupMetadata(int tenantId, String groupName, Map<String, String> attributes) {
+
+        SCIMGroupMetadataCacheEntry cacheEntry = new SCIMGroupMetadataCacheEntry(groupName, attributes);
+        super.addToCache(SCIMGroupMetadataCacheKey.byGroupName(tenantId, groupName), cacheEntry);
+        String groupId = attributes.get(SCIMConstants.CommonSchemaConstants.ID_URI);
+        if (StringUtils.isNotBlank(groupId)) {
+            super.addToCache(SCIMGroupMetadataCacheKey.byGroupId(tenantId, groupId), cacheEntry);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Successfully added the meta attributes of the group: " + groupName +
+                    " into SCIMGroupMetadataCache for the tenant: " + tenantId);
+        }
+    }
+
+    /**
+     * Get the SCIM meta attributes of a group by the group name.
+     *
+     * @param tenantId  TenantId.
+     * @param groupName Domain qualified group name.
+     * @return SCIM meta attributes of the group, or null if the group is not cached.
+     */
+    public Map<String, String> getGroupAttributesByName(int tenantId, String groupName) {
+
+        SCIMGroupMetadataCacheEntry cacheEntry =
+                super.getValueFromCache(SCIMGroupMetadataCacheKey.byGroupName(tenantId, groupName));
+        SCIMMetrics.recordCacheAccess(SCIM_GROUP_METADATA_CACHE, cacheEntry != null);
+        if (cacheEntry == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache entry is null for the group: " + groupName + " in the tenant: " + tenantId);
+            }
+            return null;
+        }
+        return cacheEntry.getAttributes();
+    }
+
+    /**
+     * Get the name of a group by the group id.
+     *
+     * @param tenantId TenantId.
+     * @param groupId  Group id.
+     * @return Domain qualified group name, or null if the group is not cached.
+     */
+    public String getGroupNameById(int tenantId, String groupId) {
+
+        SCIMGroupMetadataCacheEntry cacheEntry =
+                super.getValueFromCache(SCIMGroupMetadataCacheKey.byGroupId(tenantId, groupId));
+        SCIMMetrics.recordCacheAccess(SCIM_GROUP_METADATA_CACHE, cacheEntry != null);
+        if (cacheEntry == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache entry is null for the group id: " + groupId + " in the tenant: " + tenantId);
+            }
+            return null;
+        }
+        return cacheEntry.getGroupName();
+    }
+
+    /**
+     * Clear the cached meta attributes of a group.
+     *
+     * @param tenantId  TenantId.
+     * @param groupName Domain qualified group name.
+     * @param groupId   Group id, if known. The id of the cached group is cleared as well.
+     */
+    public void clearGroupMetadata(int tenantId, String groupName, String groupId) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Clearing SCIMGroupMetadataCache entry of the group: " + groupName + " in the tenant: " +
+                    tenantId);
+        }
+        SCIMGroupMetadataCacheKey cacheKey = SCIMGroupMetadataCacheKey.byGroupName(tenantId, groupName);
+        SCIMGroupMetadataCacheEntry cacheEntry = super.getValueFromCache(cacheKey);
+        super.clearCacheEntry(cacheKey);
+        if (cacheEntry != null) {
+            String cachedGroupId = cacheEntry.getAttributes().get(SCIMConstants.CommonSchemaConstants.ID_URI);
+            if (StringUtils.isNotBlank(cachedGroupId) && !cachedGroupId.equals(groupId)) {
+                super.clearCacheEntry(SCIMGroupMetadataCacheKey.byGroupId(tenantId, cachedGroupId));
+            }
+        }
+        if (StringUtils.isNotBlank(groupId)) {
+            super.clearCacheEntry(SCIMGroupMetadataCacheKey.byGroupId(tenantId, groupId));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This stores the domain qualified name and the SCIM meta attributes (id, created, lastModified and location) of a
+ * group.
+ */
+public class SCIMGroupMetadataCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = 5183305962440972418L;
+
+    private final String groupName;
+    private final HashMap<String, String> attributes;
+
+    public SCIMGroupMetadataCacheEntry(String groupName, Map<String, String> attributes) {
+
+        this.groupName = groupName;
+        this.attributes = new HashMap<>(attributes);
+    }
+
+    public String getGroupName() {
+
+        return groupName;
+    }
+
+    public Map<String, String> getAttributes() {
+
+        return Collections.unmodifiableMap(attributes);
+    }
+}
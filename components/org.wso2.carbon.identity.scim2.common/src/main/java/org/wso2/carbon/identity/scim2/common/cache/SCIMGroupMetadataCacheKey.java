@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import java.io.Serializable;
+
+/**
+ * SCIM group metadata cache key. A group is cached against its name as well as against its id, hence the key
+ * contains the tenant Id, whether the key is an id and the name or the id of the group.
+ */
+public class SCIMGroupMetadataCacheKey implements Serializable {
+
+    private static final long serialVersionUID = -3619250871445613904L;
+
+    private final int tenantId;
+    private final boolean groupIdKey;
+    private final String value;
+
+    private SCIMGroupMetadataCacheKey(int tenantId, boolean groupIdKey, String value) {
+
+        this.tenantId = tenantId;
+        this.groupIdKey = groupIdKey;
+        this.value = value;
+    }
+
+    /**
+     * Create a key for the given domain qualified group name.
+     *
+     * @param tenantId  TenantId.
+     * @param groupName Domain qualified group name.
+     * @return Cache key.
+     */
+    public static SCIMGroupMetadataCacheKey byGroupName(int tenantId, String groupName) {
+
+        return new SCIMGroupMetadataCacheKey(tenantId, false, groupName);
+    }
+
+    /**
+     * Create a key for the given group id.
+     *
+     * @param tenantId TenantId.
+     * @param groupId  Group id.
+     * @return Cache key.
+     */
+    public static SCIMGroupMetadataCacheKey byGroupId(int tenantId, String groupId) {
+
+        return new SCIMGroupMetadataCacheKey(tenantId, true, groupId);
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof SCIMGroupMetadataCacheKey)) {
+            return false;
+        }
+
+        SCIMGroupMetadataCacheKey that = (SCIMGroupMetadataCacheKey) o;
+        return tenantId == that.tenantId && groupIdKey == that.groupIdKey && value.equals(that.value);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int result = tenantId;
+        result = 31 * result + (groupIdKey ? 1 : 0);
+        result = 31 * result + value.hashCode();
+        return result;
+    }
+}
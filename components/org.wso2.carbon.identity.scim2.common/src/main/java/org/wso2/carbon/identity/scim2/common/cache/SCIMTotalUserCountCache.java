@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.common.cache.BaseCache;
+
+/**
+ * This stores the number of users of a user store domain against the tenant and the domain.
+ *
+ * A count carries the time it was loaded at, as the time to live of a count is expected to be much shorter than the
+ * expiry of the cache, and a count is refreshed ahead of its expiry.
+ */
+public class SCIMTotalUserCountCache extends BaseCache<SCIMTotalUserCountCacheKey, SCIMTotalUserCountCacheEntry> {
+
+    private static final String SCIM_TOTAL_USER_COUNT_CACHE = "SCIMTotalUserCountCache";
+    private static final Log log = LogFactory.getLog(SCIMTotalUserCountCache.class);
+
+    private static volatile SCIMTotalUserCountCache instance;
+
+    private SCIMTotalUserCountCache() {
+
+        super(SCIM_TOTAL_USER_COUNT_CACHE);
+    }
+
+    public static SCIMTotalUserCountCache getInstance() {
+
+        if (instance == null) {
+            synchronized (SCIMTotalUserCountCache.class) {
+                if (instance == null) {
+                    instance = new SCIMTotalUserCountCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Add the number of users of a domain to the cache.
+     *
+     * @param tenantId   TenantId.
+     * @param domainName User store domain name.
+     * @param count      Number of users of the domain.
+     * @param loadedAt   Time in milliseconds since the epoch the count was loaded at.
+     */
+    public void addTotalUserCount(int tenantId, String domainName, long count, long loadedAt) {
+
+        SCIMTotalUserCountCacheKey cacheKey = new SCIMTotalUserCountCacheKey(tenantId, domainName);
+        super.addToCache(cacheKey, new SCIMTotalUserCountCacheEntry(count, loadedAt));
+        if (log.isDebugEnabled()) {
+            log.debug("Successfully added the total user count into SCIMTotalUserCountCache for the domain: " +
+                    domainName + " of the tenant: " + tenantId);
+        }
+    }
+
+    /**
+     * Get the number of users of a domain.
+     *
+     * @param tenantId   TenantId.
+     * @param domainName User store domain name.
+     * @return Cached count with the time it was loaded at, or null if the count is not cached.
+     */
+    public SCIMTotalUserCountCacheEntry getTotalUserCount(int tenantId, String domainName) {
+
+        return super.getValueFromCache(new SCIMTotalUserCountCacheKey(tenantId, domainName));
+    }
+
+    /**
+     * Clear the counts of all the domains of a tenant.
+     *
+     * @param tenantId TenantId.
+     */
+    public void clearTotalUserCounts(int tenantId) {
+
+        super.clear(tenantId);
+        if (log.isDebugEnabled()) {
+            log.debug("Cleared the total user counts of the tenant: " + tenantId);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.common.cache.BaseCache;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
+import org.wso2.charon3.core.attributes.Attribute;
+
+import java.util.List;
+
+/**
+ * This stores the built SCIM2 user schema attributes against tenants and the claim dialect of the schema.
+ */
+public class SCIMUserSchemaCache extends BaseCache<SCIMUserSchemaCacheKey, SCIMUserSchemaCacheEntry> {
+
+    private static final String SCIM_USER_SCHEMA_CACHE = "SCIMUserSchemaCache";
+    private static final Log log = LogFactory.getLog(SCIMUserSchemaCache.class);
+
+    private static volatile SCIMUserSchemaCache instance;
+
+    private SCIMUserSchemaCache() {
+
+        super(SCIM_USER_SCHEMA_CACHE);
+    }
+
+    public static SCIMUserSchemaCache getInstance() {
+
+        if (instance == null) {
+            synchronized (SCIMUserSchemaCache.class) {
+                if (instance == null) {
+                    instance = new SCIMUserSchemaCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Add the schema attributes to cache against tenantId and claim dialect. The attributes are shared with the
+     * readers of the cache from then on, hence they must not be modified after they are cached.
+     *
+     * @param tenantId         TenantId.
+     * @param claimDialect     Claim dialect of the schema.
+     * @param schemaAttributes Schema attributes.
+     * @return Unmodifiable list of the cached schema attributes.
+     */
+    public List<Attribute> addSchemaAttributes(int tenantId, String claimDialect, List<Attribute> schemaAttributes) {
+
+        SCIMUserSchemaCacheKey cacheKey = new SCIMUserSchemaCacheKey(tenantId, claimDialect);
+        SCIMUserSchemaCacheEntry cacheEntry = new SCIMUserSchemaCacheEntry(schemaAttributes);
+        super.addToCache(cacheKey, cacheEntry);
+        if (log.isDebugEnabled()) {
+            log.debug("Successfully added schema attributes of the dialect: " + claimDialect +
+                    " into SCIMUserSchemaCache for the tenant: " + tenantId);
+        }
+        return cacheEntry.getSchemaAttributes();
+    }
+
+    /**
+     * Get schema attributes by tenantId and claim dialect.
+     *
+     * @param tenantId     TenantId.
+     * @param claimDialect Claim dialect of the schema.
+     * @return Unmodifiable list of the cached schema attributes, or null if the schema is not cached. Callers which
+     * need to change the attributes must copy them first.
+     */
+    public List<Attribute> getSchemaAttributes(int tenantId, String claimDialect) {
+
+        SCIMUserSchemaCacheKey cacheKey = new SCIMUserSchemaCacheKey(tenantId, claimDialect);
+        SCIMUserSchemaCacheEntry cacheEntry = super.getValueFromCache(cacheKey);
+        SCIMMetrics.recordCacheAccess(SCIM_USER_SCHEMA_CACHE, cacheEntry != null);
+        if (cacheEntry != null) {
+            return cacheEntry.getSchemaAttributes();
+        } else {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache entry is null for tenantId: " + tenantId + " and dialect: " + claimDialect);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Clear schema attributes of the given claim dialects by tenantId.
+     *
+     * @param tenantId      TenantId.
+     * @param claimDialects Claim dialects of the schemas.
+     */
+    public void clearSchemaAttributesByTenant(int tenantId, List<String> claimDialects) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Clearing SCIMUserSchemaCache entries by the tenant with id: " + tenantId);
+        }
+        for (String claimDialect : claimDialects) {
+            super.clearCacheEntry(new SCIMUserSchemaCacheKey(tenantId, claimDialect));
+        }
+    }
+}
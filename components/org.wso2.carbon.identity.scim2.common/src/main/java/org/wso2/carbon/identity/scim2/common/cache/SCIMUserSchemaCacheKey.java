@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import java.io.Serializable;
+
+/**
+ * SCIM user schema cache key. This contains the tenant Id and the claim dialect of the schema as the key.
+ */
+public class SCIMUserSchemaCacheKey implements Serializable {
+
+    private static final long serialVersionUID = -5027760417738127290L;
+
+    private final int tenantId;
+    private final String claimDialect;
+
+    public SCIMUserSchemaCacheKey(int tenantId, String claimDialect) {
+
+        this.tenantId = tenantId;
+        this.claimDialect = claimDialect;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    public String getClaimDialect() {
+
+        return claimDialect;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof SCIMUserSchemaCacheKey)) {
+            return false;
+        }
+
+        SCIMUserSchemaCacheKey that = (SCIMUserSchemaCacheKey) o;
+        return tenantId == that.tenantId && claimDialect.equals(that.claimDialect);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return 31 * tenantId + claimDialect.hashCode();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.extenstion;
+
+/**
+ * This extension point can be used to collect the metrics of the SCIM operations, such as the latency of the
+ * endpoints and the number of user store calls, DB queries and cache accesses of the requests, into a metrics
+ * backend. Only one registry is used at a time and no metrics are collected when no registry is registered.
+ */
+public interface SCIMMetricsRegistry {
+
+    /**
+     * Increment a counter of a tenant.
+     *
+     * @param name         Name of the counter.
+     * @param tenantDomain Tenant domain the counted operation belongs to.
+     * @param count        Amount to increment the counter by.
+     */
+    void incrementCounter(String name, String tenantDomain, long count);
+
+    /**
+     * Record a duration of a latency histogram of a tenant.
+     *
+     * @param name          Name of the histogram.
+     * @param tenantDomain  Tenant domain the timed operation belongs to.
+     * @param durationNanos Duration in nanoseconds.
+     */
+    void recordDuration(String name, String tenantDomain, long durationNanos);
+
+    /**
+     * Record a value of a distribution of a tenant, such as the number of user store calls of a request.
+     *
+     * @param name         Name of the distribution.
+     * @param tenantDomain Tenant domain the value belongs to.
+     * @param value        Value.
+     */
+    void recordValue(String name, String tenantDomain, long value);
+}
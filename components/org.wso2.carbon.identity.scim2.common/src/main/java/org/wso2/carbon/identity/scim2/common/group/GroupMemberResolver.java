@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.group;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.CarbonConstants;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
+import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.UserStoreException;
+import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
+import org.wso2.carbon.user.core.common.User;
+import org.wso2.carbon.user.core.constants.UserCoreClaimConstants;
+import org.wso2.carbon.user.core.model.UniqueIDUserClaimSearchEntry;
+import org.wso2.carbon.user.core.util.UserCoreUtil;
+import org.wso2.charon3.core.schema.SCIMConstants;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the members of a group update against the user store in bulk. The users of the member IDs in the request
+ * are read with a single claim search, and the usernames of the update are matched against them so that the user
+ * store is queried per member only for the members that could not be matched.
+ */
+public class GroupMemberResolver {
+
+    private static final Log log = LogFactory.getLog(GroupMemberResolver.class);
+
+    private final AbstractUserStoreManager userStoreManager;
+
+    public GroupMemberResolver(AbstractUserStoreManager userStoreManager) {
+
+        this.userStoreManager = userStoreManager;
+    }
+
+    /**
+     * Resolve the users of the given user IDs. IDs that are not returned by the claim search are looked up one by
+     * one, and IDs that do not belong to a user are not present in the returned map.
+     *
+     * @param userIds User IDs.
+     * @return Users keyed by the user ID.
+     * @throws UserStoreException If an error occurred while reading the users from the user store.
+     */
+    public Map<String, User> resolveUsersById(Collection<String> userIds) throws UserStoreException {
+
+        Set<String> distinctUserIds = new LinkedHashSet<>();
+        for (String userId : userIds) {
+            if (StringUtils.isNotBlank(userId)) {
+                distinctUserIds.add(userId);
+            }
+        }
+        Map<String, User> usersById = new HashMap<>();
+        if (distinctUserIds.isEmpty()) {
+            return usersById;
+        }
+
+        List<UniqueIDUserClaimSearchEntry> searchEntries = SCIMMetrics.countUserStoreCall(userStoreManager)
+                .getUsersClaimValuesWithID(new ArrayList<>(distinctUserIds),
+                        Collections.singletonList(UserCoreClaimConstants.USERNAME_CLAIM_URI), null);
+        if (searchEntries != null) {
+            for (UniqueIDUserClaimSearchEntry searchEntry : searchEntries) {
+                User user = searchEntry.getUser();
+                if (user == null || !distinctUserIds.contains(user.getUserID())) {
+                    continue;
+                }
+                if (StringUtils.isBlank(user.getUsername()) && searchEntry.getClaims() != null) {
+                    user.setUsername(searchEntry.getClaims().get(UserCoreClaimConstants.USERNAME_CLAIM_URI));
+                }
+                if (StringUtils.isNotBlank(user.getUsername())) {
+                    usersById.put(user.getUserID(), user);
+                }
+            }
+        }
+
+        for (String userId : distinctUserIds) {
+            if (usersById.containsKey(userId)) {
+                continue;
+            }
+            List<User> users = SCIMMetrics.countUserStoreCall(userStoreManager)
+                    .getUserListWithID(SCIMConstants.CommonSchemaConstants.ID_URI, userId, null);
+            if (CollectionUtils.isNotEmpty(users)) {
+                usersById.put(userId, users.get(0));
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Resolved " + usersById.size() + " users out of " + distinctUserIds.size() + " member IDs.");
+        }
+        return usersById;
+    }
+
+    /**
+     * Resolve the user IDs of the given usernames. A username that matches one of the known users is resolved
+     * without a user store call when the usernames are searched by the username claim. The remaining usernames are
+     * searched by the given claim in the user store of their domain. Usernames that do not belong to a user are not
+     * present in the returned map.
+     *
+     * @param usernames        Usernames, qualified with the user store domain if they are not in the primary domain.
+     * @param usernameClaimUri Claim used to search the usernames in the user store.
+     * @param knownUsers       Users that are already resolved for the same update.
+     * @return User IDs keyed by the given usernames.
+     * @throws UserStoreException If an error occurred while searching the users in the user store.
+     */
+    public Map<String, String> resolveUserIdsByUsername(Collection<String> usernames, String usernameClaimUri,
+                                                        Collection<User> knownUsers) throws UserStoreException {
+
+        Map<String, String> knownUserIds = new HashMap<>();
+        if (UserCoreClaimConstants.USERNAME_CLAIM_URI.equals(usernameClaimUri) && knownUsers != null) {
+            for (User user : knownUsers) {
+                if (StringUtils.isNotBlank(user.getUserStoreDomain()) && StringUtils.isNotBlank(user.getUsername())) {
+                    knownUserIds.put(getUsernameKey(user.getUserStoreDomain(), user.getUsername()), user.getUserID());
+                }
+            }
+        }
+
+        Map<String, String> userIdsByUsername = new HashMap<>();
+        Map<String, List<String>> unresolvedUsernamesByDomain = new LinkedHashMap<>();
+        for (String username : usernames) {
+            String domain = UserCoreUtil.extractDomainFromName(username);
+            String userId = knownUserIds.get(getUsernameKey(domain, UserCoreUtil.removeDomainFromName(username)));
+            if (userId != null) {
+                userIdsByUsername.put(username, userId);
+            } else {
+                unresolvedUsernamesByDomain.computeIfAbsent(domain, k -> new ArrayList<>()).add(username);
+            }
+        }
+
+        for (Map.Entry<String, List<String>> unresolvedUsernames : unresolvedUsernamesByDomain.entrySet()) {
+            UserStoreManager secondaryUserStoreManager =
+                    userStoreManager.getSecondaryUserStoreManager(unresolvedUsernames.getKey());
+            if (secondaryUserStoreManager == null) {
+                continue;
+            }
+            for (String username : unresolvedUsernames.getValue()) {
+                String userId = SCIMMetrics.countUserStoreCall((AbstractUserStoreManager) secondaryUserStoreManager)
+                        .getUserIDFromProperties(usernameClaimUri, UserCoreUtil.removeDomainFromName(username),
+                                UserCoreConstants.DEFAULT_PROFILE);
+                if (StringUtils.isNotEmpty(userId)) {
+                    userIdsByUsername.put(username, userId);
+                }
+            }
+        }
+        return userIdsByUsername;
+    }
+
+    /**
+     * Resolve the value of a claim for the given users with a single claim search.
+     *
+     * @param users    Users.
+     * @param claimUri Claim URI.
+     * @return Non blank claim values keyed by the user ID. Users without a value are not present in the returned map.
+     * @throws UserStoreException If an error occurred while reading the claims from the user store.
+     */
+    public Map<String, String> resolveClaimValuesOfUsers(List<User> users, String claimUri)
+            throws UserStoreException {
+
+        List<String> userIds = new ArrayList<>(users.size());
+        for (User user : users) {
+            if (StringUtils.isNotBlank(user.getUserID())) {
+                userIds.add(user.getUserID());
+            }
+        }
+        Map<String, String> claimValues = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return claimValues;
+        }
+        List<UniqueIDUserClaimSearchEntry> searchEntries = SCIMMetrics.countUserStoreCall(userStoreManager)
+                .getUsersClaimValuesWithID(userIds, Collections.singletonList(claimUri), null);
+        if (searchEntries != null) {
+            for (UniqueIDUserClaimSearchEntry searchEntry : searchEntries) {
+                if (searchEntry.getUser() == null || searchEntry.getClaims() == null) {
+                    continue;
+                }
+                String claimValue = searchEntry.getClaims().get(claimUri);
+                if (StringUtils.isNotBlank(claimValue)) {
+                    claimValues.put(searchEntry.getUser().getUserID(), claimValue);
+                }
+            }
+        }
+        return claimValues;
+    }
+
+    private static String getUsernameKey(String domain, String username) {
+
+        return domain.toUpperCase(Locale.ENGLISH) + CarbonConstants.DOMAIN_SEPARATOR + username;
+    }
+}
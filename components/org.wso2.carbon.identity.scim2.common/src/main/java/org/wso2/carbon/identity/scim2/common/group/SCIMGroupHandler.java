@@ -27,6 +27,7 @@ import org.wso2.carbon.identity.role.v2.mgt.core.RoleConstants;
 import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementException;
 import org.wso2.carbon.identity.role.v2.mgt.core.util.RoleManagementUtils;
 import org.wso2.carbon.identity.scim2.common.DAO.GroupDAO;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMGroupMetadataCache;
 import org.wso2.carbon.identity.scim2.common.exceptions.IdentitySCIMException;
 import org.wso2.carbon.identity.scim2.common.internal.SCIMCommonComponentHolder;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
@@ -82,6 +83,7 @@ public class SCIMGroupHandler {
         attributes.put(SCIMConstants.CommonSchemaConstants.LOCATION_URI, SCIMCommonUtils.getSCIMGroupURL(id));
         GroupDAO groupDAO = new GroupDAO();
         groupDAO.addSCIMGroupAttributes(tenantId, groupName, attributes);
+        clearGroupMetadataCache(groupName, null);
     }
 
     /**
@@ -180,6 +182,7 @@ public class SCIMGroupHandler {
             attributes.put(SCIMConstants.CommonSchemaConstants.LOCATION_URI, group.getLocation());
             GroupDAO groupDAO = new GroupDAO();
             groupDAO.addSCIMGroupAttributes(tenantId, group.getDisplayName(), attributes);
+            clearGroupMetadataCache(group.getDisplayName(), null);
         } catch (CharonException e) {
             throw new IdentitySCIMException("Error getting group name from SCIM Group.", e);
         }
@@ -193,8 +196,18 @@ public class SCIMGroupHandler {
      */
     public String getGroupName(String id) throws IdentitySCIMException {
 
+        if (SCIMCommonUtils.isGroupMetadataCacheEnabled()) {
+            String cachedRoleName = SCIMGroupMetadataCache.getInstance().getGroupNameById(tenantId, id);
+            if (cachedRoleName != null) {
+                return cachedRoleName;
+            }
+        }
         GroupDAO groupDAO = new GroupDAO();
         String roleName = groupDAO.getGroupNameById(tenantId, id);
+        if (roleName != null && isGroupMetadataCacheable(roleName)) {
+            // Cache the group against both the name and the id, as the group is usually read by the name next.
+            getGroupAttributes(roleName);
+        }
         if (roleName == null) {
             if (logger.isDebugEnabled()) {
                 logger.debug("Role doesn't exist with id: " + id);
@@ -224,8 +237,7 @@ public class SCIMGroupHandler {
     public Group getGroupWithAttributes(Group group, String groupName)
             throws IdentitySCIMException, CharonException, BadRequestException {
 
-        GroupDAO groupDAO = new GroupDAO();
-        Map<String, String> attributes = groupDAO.getSCIMGroupAttributes(tenantId, groupName);
+        Map<String, String> attributes = getGroupAttributes(groupName);
 
         if (attributes.isEmpty()) {
             if (logger.isDebugEnabled()) {
@@ -248,6 +260,70 @@ public class SCIMGroupHandler {
         return group;
     }
 
+    /**
+     * Get the SCIM meta attributes of the given group from the identity table. When the group metadata cache is
+     * enabled, the attributes of groups other than hybrid roles are served from the cache.
+     *
+     * @param groupName Domain qualified group name.
+     * @return SCIM meta attributes of the group. Empty if the group is not a SCIM group.
+     * @throws IdentitySCIMException If an error occurred while reading the attributes.
+     */
+    public Map<String, String> getGroupAttributes(String groupName) throws IdentitySCIMException {
+
+        if (!isGroupMetadataCacheable(groupName)) {
+            return new GroupDAO().getSCIMGroupAttributes(tenantId, groupName);
+        }
+        SCIMGroupMetadataCache groupMetadataCache = SCIMGroupMetadataCache.getInstance();
+        Map<String, String> attributes = groupMetadataCache.getGroupAttributesByName(tenantId, groupName);
+        if (attributes != null) {
+            return new HashMap<>(attributes);
+        }
+        attributes = new GroupDAO().getSCIMGroupAttributes(tenantId, groupName);
+        if (!attributes.isEmpty()) {
+            groupMetadataCache.addGroupMetadata(tenantId, groupName, attributes);
+        }
+        return attributes;
+    }
+
+    /**
+     * Get the id of the given group from the identity table, or from the group metadata cache when it is enabled.
+     *
+     * @param groupName Domain qualified group name.
+     * @return Id of the group. Null if the group is not a SCIM group.
+     * @throws IdentitySCIMException If an error occurred while reading the id.
+     */
+    public String getGroupIdByName(String groupName) throws IdentitySCIMException {
+
+        if (!isGroupMetadataCacheable(groupName)) {
+            return new GroupDAO().getGroupIdByName(tenantId, groupName);
+        }
+        return getGroupAttributes(groupName).get(SCIMConstants.CommonSchemaConstants.ID_URI);
+    }
+
+    /**
+     * Clear the cached SCIM meta attributes of the given group. This should be called whenever the group is added,
+     * deleted or renamed in the identity table.
+     *
+     * @param groupName Domain qualified group name.
+     * @param groupId   Id of the group, if known.
+     */
+    public void clearGroupMetadataCache(String groupName, String groupId) {
+
+        if (isGroupMetadataCacheable(groupName)) {
+            SCIMGroupMetadataCache.getInstance().clearGroupMetadata(tenantId, groupName, groupId);
+        }
+    }
+
+    /**
+     * Hybrid roles are also managed by the role management service, which updates the identity table without going
+     * through the user operation listeners. Hence, only the groups are cached.
+     */
+    private static boolean isGroupMetadataCacheable(String groupName) {
+
+        return SCIMCommonUtils.isGroupMetadataCacheEnabled() && StringUtils.isNotBlank(groupName) &&
+                !SCIMCommonUtils.isHybridRole(groupName);
+    }
+
     /**
      * Check whether attributes related to the given group name and tenant Id exist in the identity table.
      *
@@ -269,7 +345,10 @@ public class SCIMGroupHandler {
     public void deleteGroupAttributes(String groupName) throws IdentitySCIMException {
         GroupDAO groupDAO = new GroupDAO();
         if (groupDAO.isExistingGroup(groupName, this.tenantId)) {
+            String groupId = isGroupMetadataCacheable(groupName) ? groupDAO.getGroupIdByName(tenantId, groupName) :
+                    null;
             groupDAO.removeSCIMGroup(tenantId, groupName);
+            clearGroupMetadataCache(groupName, groupId);
         } else {
             if (logger.isDebugEnabled()) {
                 logger.debug("Information for the group: " + groupName +
@@ -282,7 +361,11 @@ public class SCIMGroupHandler {
             throws IdentitySCIMException {
         GroupDAO groupDAO = new GroupDAO();
         if (groupDAO.isExistingGroup(oldRoleName, this.tenantId)) {
+            String groupId = isGroupMetadataCacheable(oldRoleName) ?
+                    groupDAO.getGroupIdByName(tenantId, oldRoleName) : null;
             groupDAO.updateRoleName(this.tenantId, oldRoleName, newRoleName);
+            clearGroupMetadataCache(oldRoleName, groupId);
+            clearGroupMetadataCache(newRoleName, null);
         } else {
             throw new IdentitySCIMException("Non-existent group: " + oldRoleName +
                     " is trying to be updated.");
@@ -26,15 +26,24 @@ import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.scim2.common.cache.SCIMCustomAttributeSchemaCache;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMUserSchemaCache;
+import org.wso2.carbon.identity.scim2.common.utils.AttributeMapper;
+import org.wso2.carbon.identity.scim2.common.utils.ClaimValidationIndex;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
+import org.wso2.charon3.core.config.SCIMUserSchemaExtensionBuilder;
+import org.wso2.charon3.core.schema.AttributeSchema;
+
+import java.util.Arrays;
 
 import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils.getCustomSchemaURI;
 
 /**
- * This handles the claim metadata operation related events and it will clear the SCIMCustomAttributeSchema
- * cache when the event is triggered. This depends on the local claim update, external claim on custom schema
- * related operations and deleting of the custom schema. When these relevant events are fired the cache will be
- * cleared based on the tenant and the cache will be rebuilt with the next SCIM api request.
+ * This handles the claim metadata operation related events and it will clear the SCIM to local claim mapping,
+ * SCIM user schema, claim validation and SCIMCustomAttributeSchema caches when the event is triggered. This depends
+ * on the local claim update, external claim on custom schema related operations and deleting of the custom schema.
+ * When these relevant events are fired the cache will be cleared based on the tenant and the cache will be rebuilt
+ * with the next SCIM api request.
  */
 public class SCIMClaimOperationEventHandler extends AbstractEventHandler {
 
@@ -57,6 +66,20 @@ public class SCIMClaimOperationEventHandler extends AbstractEventHandler {
                     "Id: " + tenantId);
         }
 
+        String claimDialectUri =
+                (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.CLAIM_DIALECT_URI);
+        String oldClaimDialectUri =
+                (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.OLD_CLAIM_DIALECT_URI);
+        if (isSCIMClaimMappingDialect(claimDialectUri) ||
+                (StringUtils.isNotBlank(oldClaimDialectUri) && isSCIMClaimMappingDialect(oldClaimDialectUri))) {
+            SCIMCommonUtils.clearSCIMtoLocalMappings(tenantId);
+            SCIMUserSchemaCache.getInstance().clearSchemaAttributesByTenant(tenantId,
+                    Arrays.asList(SCIMCommonConstants.SCIM_CORE_CLAIM_DIALECT,
+                            SCIMCommonConstants.SCIM_USER_CLAIM_DIALECT,
+                            SCIMCommonConstants.SCIM_ENTERPRISE_USER_CLAIM_DIALECT, getCustomSchemaURI()));
+            ClaimValidationIndex.clear(tenantId);
+        }
+
         if (!SCIMCommonUtils.isCustomSchemaEnabled()) {
             if (log.isDebugEnabled()) {
                 log.debug("SCIM2 Custom user schema has disabled in server level.");
@@ -64,8 +87,6 @@ public class SCIMClaimOperationEventHandler extends AbstractEventHandler {
             return;
         }
 
-        String claimDialectUri =
-                (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.CLAIM_DIALECT_URI);
         if (!getCustomSchemaURI().equalsIgnoreCase(claimDialectUri) &&
                 !WSO2_CARBON_DIALECT.equalsIgnoreCase(claimDialectUri)) {
             if (log.isDebugEnabled()) {
@@ -77,8 +98,6 @@ public class SCIMClaimOperationEventHandler extends AbstractEventHandler {
             return;
         }
         // If claim dialect rename happens, then we need to check whether the custom schema has renamed to another name.
-        String oldClaimDialectUri =
-                (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.OLD_CLAIM_DIALECT_URI);
         if (StringUtils.isNotBlank(oldClaimDialectUri) && !oldClaimDialectUri.equalsIgnoreCase(getCustomSchemaURI())) {
             if (log.isDebugEnabled()) {
                 log.debug("Needs to clear the cache only if the SCIM2 custom schema has changed");
@@ -87,6 +106,27 @@ public class SCIMClaimOperationEventHandler extends AbstractEventHandler {
         }
 
         SCIMCustomAttributeSchemaCache.getInstance().clearSCIMCustomAttributeSchemaByTenant(tenantId);
+        AttributeMapper.clearAttributeSchemaIndex(tenantId);
+    }
+
+    /**
+     * Checks whether the given claim dialect contributes to the SCIM to local claim mappings and the user schemas. Events without a
+     * dialect are treated as relevant since they can be local claim operations.
+     *
+     * @param claimDialectUri Claim dialect URI of the event.
+     * @return True if the SCIM to local claim mappings and the user schemas need to be rebuilt.
+     */
+    private boolean isSCIMClaimMappingDialect(String claimDialectUri) {
+
+        if (StringUtils.isBlank(claimDialectUri)) {
+            return true;
+        }
+        AttributeSchema extensionSchema = SCIMUserSchemaExtensionBuilder.getInstance().getExtensionSchema();
+        return WSO2_CARBON_DIALECT.equalsIgnoreCase(claimDialectUri) ||
+                SCIMCommonConstants.SCIM_CORE_CLAIM_DIALECT.equalsIgnoreCase(claimDialectUri) ||
+                SCIMCommonConstants.SCIM_USER_CLAIM_DIALECT.equalsIgnoreCase(claimDialectUri) ||
+                (extensionSchema != null && extensionSchema.getURI().equalsIgnoreCase(claimDialectUri)) ||
+                getCustomSchemaURI().equalsIgnoreCase(claimDialectUri);
     }
 
     @Override
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.impl;
+
+import org.wso2.carbon.identity.scim2.common.utils.CallerContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Processes the items of a listing page in chunks. When the page is large enough and an executor is available, the
+ * page is split into one chunk more than the number of threads of the executor, the first chunk is processed in the
+ * caller thread and the rest in the executor with the context of the caller, i.e. the tenant, user, organization
+ * and the identity thread local properties of the request.
+ */
+final class ChunkedPageProcessor {
+
+    private final ExecutorService executorService;
+    private final int parallelism;
+    private final int parallelThreshold;
+
+    /**
+     * Processing of a chunk of the page.
+     *
+     * @param <T> Type of the result of a chunk.
+     * @param <E> Type of the error of a chunk.
+     */
+    interface ChunkTask<T, E extends Exception> {
+
+        T process(int from, int to) throws E;
+    }
+
+    /**
+     * Builds the error thrown when the processing of a chunk failed with an unexpected error or was interrupted.
+     *
+     * @param <E> Type of the error.
+     */
+    interface ErrorBuilder<E extends Exception> {
+
+        E build(String message, Throwable cause);
+    }
+
+    /**
+     * @param executorService   Executor used to process the chunks in parallel. If null, the page is processed in
+     *                          the caller thread.
+     * @param parallelism       Number of threads of the executor.
+     * @param parallelThreshold Minimum number of items for the page to be processed in parallel.
+     */
+    ChunkedPageProcessor(ExecutorService executorService, int parallelism, int parallelThreshold) {
+
+        this.executorService = executorService;
+        this.parallelism = Math.max(1, parallelism);
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Process a page of the given number of items.
+     *
+     * @param numberOfItems Number of items of the page.
+     * @param chunkTask     Processing of a chunk, given the start (inclusive) and the end (exclusive) of the chunk.
+     * @param errorType     Type of the error of a chunk, which is rethrown as is.
+     * @param errorBuilder  Builds the error thrown when a chunk failed with any other error or was interrupted.
+     * @param <T>           Type of the result of a chunk.
+     * @param <E>           Type of the error of a chunk.
+     * @return Results of the chunks, in the order of the chunks.
+     * @throws E If the processing of a chunk failed or was interrupted.
+     */
+    <T, E extends Exception> List<T> process(int numberOfItems, ChunkTask<T, E> chunkTask, Class<E> errorType,
+                                             ErrorBuilder<E> errorBuilder) throws E {
+
+        if (executorService == null || numberOfItems < parallelThreshold) {
+            return Collections.singletonList(chunkTask.process(0, numberOfItems));
+        }
+
+        int chunkSize = (numberOfItems + parallelism) / (parallelism + 1);
+        CallerContext callerContext = CallerContext.capture();
+        List<Future<T>> futures = new ArrayList<>();
+        for (int from = chunkSize; from < numberOfItems; from += chunkSize) {
+            int chunkStart = from;
+            int chunkEnd = Math.min(from + chunkSize, numberOfItems);
+            Callable<T> task = () -> chunkTask.process(chunkStart, chunkEnd);
+            futures.add(executorService.submit(callerContext.wrap(task)));
+        }
+
+        List<T> results = new ArrayList<>(futures.size() + 1);
+        try {
+            results.add(chunkTask.process(0, Math.min(chunkSize, numberOfItems)));
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw errorBuilder.build("Interrupted while processing the page.", e);
+        } catch (ExecutionException e) {
+            if (errorType.isInstance(e.getCause())) {
+                throw errorType.cast(e.getCause());
+            }
+            throw errorBuilder.build("Error while processing the page.", e.getCause());
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.impl;
+
+import org.wso2.carbon.identity.scim2.common.cache.SCIMFilteredUserCountCache;
+import org.wso2.charon3.core.exceptions.BadRequestException;
+import org.wso2.charon3.core.exceptions.CharonException;
+import org.wso2.charon3.core.utils.codeutils.ExpressionNode;
+import org.wso2.charon3.core.utils.codeutils.Node;
+import org.wso2.charon3.core.utils.codeutils.OperationNode;
+
+import java.util.Locale;
+
+/**
+ * Short lived cache of the number of users matching a filter in a user store domain. It lets a client page through
+ * the results of the same filter without the matching users being counted for every page. The counts are kept in
+ * {@link SCIMFilteredUserCountCache}, keyed by the tenant, the domain and the normalized filter, hence the same
+ * filter written with a different attribute name case or a different order of the AND operands shares the count. As
+ * users added, deleted or updated within the time to live of a count are not reflected in it, the time to live is
+ * expected to be in the order of seconds.
+ */
+final class FilteredUserCountCache {
+
+    /**
+     * Count of the users matching a filter in a single domain.
+     */
+    interface FilteredUserCount {
+
+        int count() throws CharonException, BadRequestException;
+    }
+
+    private FilteredUserCountCache() {
+
+    }
+
+    /**
+     * Get the number of users matching the filter in the domain. The count is computed with the given function if it
+     * is not cached or the cached count has expired.
+     *
+     * @param tenantId          Tenant id.
+     * @param domainName        User store domain name.
+     * @param node              Filter.
+     * @param timeToLive        Time to live of a count in milliseconds. If not positive, the count is not cached.
+     * @param filteredUserCount Function computing the count.
+     * @return Number of users matching the filter.
+     * @throws CharonException     If an error occurred while counting the users.
+     * @throws BadRequestException If the filter is invalid for the domain.
+     */
+    static int getCount(int tenantId, String domainName, Node node, long timeToLive,
+                        FilteredUserCount filteredUserCount) throws CharonException, BadRequestException {
+
+        if (timeToLive <= 0) {
+            return filteredUserCount.count();
+        }
+        String normalizedDomainName = domainName.toUpperCase(Locale.ENGLISH);
+        String filter = normalize(node);
+        SCIMFilteredUserCountCache cache = SCIMFilteredUserCountCache.getInstance();
+        Integer cachedCount = cache.getFilteredUserCount(tenantId, normalizedDomainName, filter);
+        if (cachedCount != null) {
+            return cachedCount;
+        }
+        int count = filteredUserCount.count();
+        cache.addFilteredUserCount(tenantId, normalizedDomainName, filter, count,
+                System.currentTimeMillis() + timeToLive);
+        return count;
+    }
+
+    /**
+     * Build the normalized form of a filter. Attribute names and operators are case-insensitive in SCIM, and the
+     * operands of an AND operation are ordered so that the order they are written in does not matter.
+     *
+     * @param node Filter.
+     * @return Normalized filter.
+     */
+    static String normalize(Node node) {
+
+        if (node instanceof ExpressionNode) {
+            ExpressionNode expressionNode = (ExpressionNode) node;
+            return expressionNode.getAttributeValue().toLowerCase(Locale.ENGLISH) + " " +
+                    expressionNode.getOperation().toLowerCase(Locale.ENGLISH) + " " + expressionNode.getValue();
+        }
+        if (node instanceof OperationNode) {
+            String operation = ((OperationNode) node).getOperation().toLowerCase(Locale.ENGLISH);
+            // A unary operation such as NOT has a single operand.
+            if (node.getLeftNode() == null || node.getRightNode() == null) {
+                Node operand = node.getLeftNode() != null ? node.getLeftNode() : node.getRightNode();
+                return "(" + operation + " " + normalize(operand) + ")";
+            }
+            String left = normalize(node.getLeftNode());
+            String right = normalize(node.getRightNode());
+            return left.compareTo(right) <= 0 ? "(" + left + " " + operation + " " + right + ")" :
+                    "(" + right + " " + operation + " " + left + ")";
+        }
+        return String.valueOf(node);
+    }
+}
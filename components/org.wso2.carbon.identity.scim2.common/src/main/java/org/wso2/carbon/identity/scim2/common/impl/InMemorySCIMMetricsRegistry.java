@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.impl;
+
+import org.wso2.carbon.identity.scim2.common.extenstion.SCIMMetricsRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory implementation of SCIMMetricsRegistry. Counters and distributions are kept per metric name and tenant,
+ * and distributions are bucketed by powers of two, hence the percentiles are upper bounds that are accurate within a
+ * factor of two. Meant for tests and for troubleshooting a single node, not as a metrics backend.
+ */
+public class InMemorySCIMMetricsRegistry implements SCIMMetricsRegistry {
+
+    private static final String KEY_SEPARATOR = "|";
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public void incrementCounter(String name, String tenantDomain, long count) {
+
+        counters.computeIfAbsent(getKey(name, tenantDomain), k -> new LongAdder()).add(count);
+    }
+
+    @Override
+    public void recordDuration(String name, String tenantDomain, long durationNanos) {
+
+        recordValue(name, tenantDomain, durationNanos);
+    }
+
+    @Override
+    public void recordValue(String name, String tenantDomain, long value) {
+
+        histograms.computeIfAbsent(getKey(name, tenantDomain), k -> new Histogram()).record(value);
+    }
+
+    /**
+     * Get the value of a counter of a tenant.
+     *
+     * @param name         Name of the counter.
+     * @param tenantDomain Tenant domain.
+     * @return Value of the counter, 0 if nothing was counted.
+     */
+    public long getCounter(String name, String tenantDomain) {
+
+        LongAdder counter = counters.get(getKey(name, tenantDomain));
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Get a snapshot of a distribution of a tenant.
+     *
+     * @param name         Name of the distribution.
+     * @param tenantDomain Tenant domain.
+     * @return Snapshot of the distribution, an empty snapshot if nothing was recorded.
+     */
+    public Distribution getDistribution(String name, String tenantDomain) {
+
+        Histogram histogram = histograms.get(getKey(name, tenantDomain));
+        return histogram == null ? new Histogram().snapshot() : histogram.snapshot();
+    }
+
+    /**
+     * Remove all the recorded metrics.
+     */
+    public void clear() {
+
+        counters.clear();
+        histograms.clear();
+    }
+
+    private static String getKey(String name, String tenantDomain) {
+
+        return name + KEY_SEPARATOR + tenantDomain;
+    }
+
+    /**
+     * Snapshot of a distribution.
+     */
+    public static final class Distribution {
+
+        private final long count;
+        private final long sum;
+        private final long max;
+        private final long[] buckets;
+
+        private Distribution(long count, long sum, long max, long[] buckets) {
+
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+            this.buckets = buckets;
+        }
+
+        public long getCount() {
+
+            return count;
+        }
+
+        public long getSum() {
+
+            return sum;
+        }
+
+        public long getMax() {
+
+            return max;
+        }
+
+        public double getMean() {
+
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Get an upper bound of a percentile of the distribution.
+         *
+         * @param percentile Percentile between 0 and 100.
+         * @return Upper bound of the bucket of the percentile, capped at the maximum recorded value.
+         */
+        public long getPercentile(double percentile) {
+
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(max, Histogram.getUpperBound(i));
+                }
+            }
+            return max;
+        }
+    }
+
+    /**
+     * Histogram with a bucket per power of two. Bucket i holds the values in [2^(i-1), 2^i), and bucket 0 holds the
+     * value 0.
+     */
+    private static final class Histogram {
+
+        private static final int BUCKETS = Long.SIZE;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        void record(long value) {
+
+            long nonNegativeValue = Math.max(0, value);
+            buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(nonNegativeValue));
+            count.increment();
+            sum.add(nonNegativeValue);
+            max.accumulate(nonNegativeValue);
+        }
+
+        Distribution snapshot() {
+
+            long[] bucketCounts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                bucketCounts[i] = buckets.get(i);
+                total += bucketCounts[i];
+            }
+            return new Distribution(total, sum.sum(), max.get(), bucketCounts);
+        }
+
+        static long getUpperBound(int bucket) {
+
+            return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+        }
+    }
+}
@@ -0,0 +1,466 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.impl;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.wso2.carbon.identity.scim2.common.internal.SCIMCommonComponentHolder;
+import org.wso2.carbon.identity.scim2.common.utils.CallerContext;
+import org.wso2.charon3.core.exceptions.CharonException;
+import org.wso2.charon3.core.protocol.ResponseCodeConstants;
+import org.wso2.charon3.core.protocol.SCIMResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Processes the operations of a bulk request concurrently. The operations are partitioned into groups of dependent
+ * operations, where an operation depends on another if it references the bulkId of the other operation, or both
+ * operations target the same resource, or one of them references the resource targeted by the other. Each group is
+ * processed as a bulk request of its own in the given executor, so the operations of a group keep the bulkId
+ * resolution of the bulk request processor, while independent groups run concurrently. The results of the
+ * groups are matched back to their operations and put in the order of the operations of the bulk request. A request
+ * with failOnErrors is processed sequentially, as the operations after the error limit is reached must not be
+ * processed.
+ */
+public class ParallelBulkRequestProcessor {
+
+    private static final Log log = LogFactory.getLog(ParallelBulkRequestProcessor.class);
+
+    private static final String OPERATIONS = "Operations";
+    private static final String FAIL_ON_ERRORS = "failOnErrors";
+    private static final String BULK_ID = "bulkId";
+    private static final String BULK_ID_REFERENCE_PREFIX = "bulkId:";
+    private static final String PATH = "path";
+    private static final String DATA = "data";
+    private static final String METHOD = "method";
+    private static final String LOCATION = "location";
+    private static final String USERS = "Users";
+    private static final String GROUPS = "Groups";
+
+    private final ExecutorService executorService;
+    private final int maxOperations;
+
+    /**
+     * Bulk request processor that processes a bulk request in the calling thread.
+     */
+    public interface BulkRequestHandler {
+
+        SCIMResponse process(String bulkRequest) throws CharonException;
+    }
+
+    /**
+     * @param maxOperations Maximum number of operations of a bulk request. Requests with more operations are handed
+     *                      over to the bulk request handler as they are, to be rejected by it.
+     */
+    public ParallelBulkRequestProcessor(int maxOperations) {
+
+        this(SCIMCommonComponentHolder.getBulkExecutorService(), maxOperations);
+    }
+
+    ParallelBulkRequestProcessor(ExecutorService executorService, int maxOperations) {
+
+        this.executorService = executorService;
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Process a bulk request. The request is handed over to the handler as it is if there is no executor, the
+     * request cannot be parsed, it has failOnErrors, or its operations cannot be partitioned into more than one group.
+     *
+     * @param bulkRequest Bulk request payload.
+     * @param handler     Handler processing a bulk request in the calling thread.
+     * @return Bulk response with the results of the operations in the order of the operations of the request.
+     * @throws CharonException If the processing of the request was interrupted or failed.
+     */
+    public SCIMResponse process(String bulkRequest, BulkRequestHandler handler) throws CharonException {
+
+        if (executorService == null) {
+            return handler.process(bulkRequest);
+        }
+        JSONObject request;
+        JSONArray operations;
+        try {
+            request = new JSONObject(bulkRequest);
+            operations = request.getJSONArray(OPERATIONS);
+        } catch (JSONException e) {
+            // Let the bulk request processor report the invalid request.
+            return handler.process(bulkRequest);
+        }
+        if (operations.length() < 2 || operations.length() > maxOperations) {
+            return handler.process(bulkRequest);
+        }
+        // Operations of other groups may already be running when an error is counted, hence the error limit can
+        // only be honoured by processing the operations one after the other.
+        if (request.optInt(FAIL_ON_ERRORS, 0) > 0) {
+            return handler.process(bulkRequest);
+        }
+        List<List<Integer>> groups = partition(operations);
+        if (groups.size() < 2) {
+            return handler.process(bulkRequest);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Processing " + operations.length() + " bulk operations in " + groups.size() +
+                    " independent groups.");
+        }
+
+        CallerContext callerContext = CallerContext.capture();
+        List<Future<SCIMResponse>> futures = new ArrayList<>(groups.size());
+        for (List<Integer> group : groups) {
+            String groupRequest = buildGroupRequest(request, operations, group);
+            futures.add(executorService.submit(callerContext.wrap(() -> handler.process(groupRequest))));
+        }
+        return gather(futures, groups, operations);
+    }
+
+    /**
+     * Partition the operations of a bulk request into groups of dependent operations.
+     *
+     * @param operations Operations of the bulk request.
+     * @return Indexes of the operations of each group, ordered by the first operation of the group.
+     */
+    static List<List<Integer>> partition(JSONArray operations) {
+
+        int numberOfOperations = operations.length();
+        int[] parents = new int[numberOfOperations];
+        Map<String, Integer> operationsByBulkId = new HashMap<>();
+        Map<String, Integer> operationsByResourceId = new HashMap<>();
+        for (int i = 0; i < numberOfOperations; i++) {
+            parents[i] = i;
+            JSONObject operation = operations.optJSONObject(i);
+            if (operation == null) {
+                continue;
+            }
+            String bulkId = operation.optString(BULK_ID, null);
+            if (StringUtils.isNotEmpty(bulkId)) {
+                Integer other = operationsByBulkId.putIfAbsent(bulkId, i);
+                if (other != null) {
+                    union(parents, other, i);
+                }
+            }
+            String resourceId = getResourceId(operation.optString(PATH, null));
+            if (resourceId != null) {
+                Integer other = operationsByResourceId.putIfAbsent(resourceId, i);
+                if (other != null) {
+                    union(parents, other, i);
+                }
+            }
+        }
+
+        for (int i = 0; i < numberOfOperations; i++) {
+            JSONObject operation = operations.optJSONObject(i);
+            if (operation == null) {
+                continue;
+            }
+            List<String> references = new ArrayList<>();
+            String resourceId = getResourceId(operation.optString(PATH, null));
+            if (resourceId != null) {
+                references.add(resourceId);
+            }
+            collectStringValues(operation.opt(DATA), references);
+            for (String reference : references) {
+                Integer other = reference.startsWith(BULK_ID_REFERENCE_PREFIX) ?
+                        operationsByBulkId.get(reference.substring(BULK_ID_REFERENCE_PREFIX.length())) :
+                        operationsByResourceId.get(reference);
+                if (other != null) {
+                    union(parents, other, i);
+                }
+            }
+        }
+
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < numberOfOperations; i++) {
+            groups.computeIfAbsent(find(parents, i), k -> new ArrayList<>()).add(i);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Get the ID of the resource targeted by an operation path such as /Users/{id}.
+     *
+     * @param path Operation path.
+     * @return Resource ID, or null if the path does not target a single resource.
+     */
+    private static String getResourceId(String path) {
+
+        if (StringUtils.isEmpty(path)) {
+            return null;
+        }
+        String[] segments = StringUtils.split(path, '/');
+        return segments.length > 1 ? segments[1] : null;
+    }
+
+    private static void collectStringValues(Object value, List<String> values) {
+
+        if (value instanceof JSONObject) {
+            JSONObject jsonObject = (JSONObject) value;
+            Iterator<String> keys = jsonObject.keys();
+            while (keys.hasNext()) {
+                collectStringValues(jsonObject.opt(keys.next()), values);
+            }
+        } else if (value instanceof JSONArray) {
+            JSONArray jsonArray = (JSONArray) value;
+            for (int i = 0; i < jsonArray.length(); i++) {
+                collectStringValues(jsonArray.opt(i), values);
+            }
+        } else if (value instanceof String) {
+            values.add((String) value);
+        }
+    }
+
+    private static int find(int[] parents, int index) {
+
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+
+    private static void union(int[] parents, int first, int second) {
+
+        int firstRoot = find(parents, first);
+        int secondRoot = find(parents, second);
+        // Keep the earliest operation as the root so that groups are ordered by their first operation.
+        if (firstRoot < secondRoot) {
+            parents[secondRoot] = firstRoot;
+        } else if (secondRoot < firstRoot) {
+            parents[firstRoot] = secondRoot;
+        }
+    }
+
+    private static String buildGroupRequest(JSONObject request, JSONArray operations, List<Integer> group) {
+
+        JSONObject groupRequest = new JSONObject();
+        Iterator<String> keys = request.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (!OPERATIONS.equals(key)) {
+                groupRequest.put(key, request.get(key));
+            }
+        }
+        JSONArray groupOperations = new JSONArray();
+        for (int index : group) {
+            groupOperations.put(operations.get(index));
+        }
+        groupRequest.put(OPERATIONS, groupOperations);
+        return groupRequest.toString();
+    }
+
+    /**
+     * Match the results of a group to the operations of the group. The bulk request processor processes the user
+     * operations first, then the group operations and then the role operations, each in the order of the request, and
+     * a result carries the bulkId of its operation, and the location of the resource if the operation succeeded. A
+     * result is matched by its bulkId, or else by its method and location. The rest of the results are matched by
+     * their method, in the order the bulk request processor processes the operations.
+     *
+     * @param operations   Operations of the bulk request.
+     * @param group        Indexes of the operations of the group.
+     * @param groupResults Results of the operations of the group.
+     * @return Index of the operation of each result.
+     * @throws CharonException If a result cannot be matched to an operation, or an operation has no result.
+     */
+    static int[] matchOperationResults(JSONArray operations, List<Integer> group, JSONArray groupResults)
+            throws CharonException {
+
+        List<Integer> unmatchedOperations = new ArrayList<>(group);
+        unmatchedOperations.sort(Comparator.comparingInt(index ->
+                getProcessingOrder(getOperation(operations, index))));
+        int[] operationIndexes = new int[groupResults.length()];
+        List<Integer> unmatchedResults = new ArrayList<>();
+        for (int i = 0; i < groupResults.length(); i++) {
+            JSONObject result = groupResults.optJSONObject(i);
+            if (result == null) {
+                throw new CharonException("Invalid result of a bulk operation: " + groupResults.opt(i));
+            }
+            String bulkId = result.optString(BULK_ID, null);
+            String location = result.optString(LOCATION, null);
+            Integer operationIndex = null;
+            for (Integer index : unmatchedOperations) {
+                JSONObject operation = getOperation(operations, index);
+                if (StringUtils.isNotEmpty(bulkId) ? bulkId.equals(operation.optString(BULK_ID, null)) :
+                        isSameMethod(result, operation) && isLocationOfPath(location, operation.optString(PATH))) {
+                    operationIndex = index;
+                    break;
+                }
+            }
+            if (operationIndex == null) {
+                unmatchedResults.add(i);
+            } else {
+                operationIndexes[i] = operationIndex;
+                unmatchedOperations.remove(operationIndex);
+            }
+        }
+
+        for (int i : unmatchedResults) {
+            JSONObject result = groupResults.getJSONObject(i);
+            String location = result.optString(LOCATION, null);
+            Integer operationIndex = null;
+            for (Integer index : unmatchedOperations) {
+                JSONObject operation = getOperation(operations, index);
+                if (isSameMethod(result, operation) && StringUtils.isEmpty(operation.optString(BULK_ID, null)) &&
+                        (StringUtils.isEmpty(location) || StringUtils.equals(getResourceType(location, true),
+                                getResourceType(operation.optString(PATH), false)))) {
+                    operationIndex = index;
+                    break;
+                }
+            }
+            if (operationIndex == null) {
+                throw new CharonException("Cannot match the result of a bulk operation to an operation of the " +
+                        "request: " + result);
+            }
+            operationIndexes[i] = operationIndex;
+            unmatchedOperations.remove(operationIndex);
+        }
+        if (!unmatchedOperations.isEmpty()) {
+            throw new CharonException("The bulk response has no result for " + unmatchedOperations.size() +
+                    " of the bulk operations.");
+        }
+        return operationIndexes;
+    }
+
+    private static JSONObject getOperation(JSONArray operations, int index) {
+
+        JSONObject operation = operations.optJSONObject(index);
+        return operation != null ? operation : new JSONObject();
+    }
+
+    private static int getProcessingOrder(JSONObject operation) {
+
+        String resourceType = getResourceType(operation.optString(PATH), false);
+        if (USERS.equals(resourceType)) {
+            return 0;
+        }
+        if (GROUPS.equals(resourceType)) {
+            return 1;
+        }
+        return 2;
+    }
+
+    private static boolean isSameMethod(JSONObject result, JSONObject operation) {
+
+        return StringUtils.equalsIgnoreCase(result.optString(METHOD), operation.optString(METHOD));
+    }
+
+    /**
+     * Whether the given location is the location of the resource targeted by the given operation path.
+     *
+     * @param location Location of a resource, such as https://localhost:9443/scim2/Users/{id}.
+     * @param path     Operation path, such as /Users/{id}.
+     * @return True if the path targets a single resource and the location is the location of that resource.
+     */
+    private static boolean isLocationOfPath(String location, String path) {
+
+        return StringUtils.isNotEmpty(location) && getResourceId(path) != null && location.endsWith(path);
+    }
+
+    /**
+     * Get the resource type of a location or an operation path.
+     *
+     * @param uri        Location or operation path.
+     * @param isLocation Whether the URI is the location of a resource, which ends with the ID of the resource.
+     * @return Resource type, or null if the URI does not have one.
+     */
+    private static String getResourceType(String uri, boolean isLocation) {
+
+        String[] segments = StringUtils.split(uri, '/');
+        if (segments == null) {
+            return null;
+        }
+        int index = isLocation ? segments.length - 2 : 0;
+        return index >= 0 && index < segments.length ? segments[index] : null;
+    }
+
+    private static JSONArray getOperationResults(SCIMResponse response) {
+
+        try {
+            JSONArray operationResults = new JSONObject(response.getResponseMessage()).optJSONArray(OPERATIONS);
+            return operationResults != null ? operationResults : new JSONArray();
+        } catch (JSONException e) {
+            return new JSONArray();
+        }
+    }
+
+    private SCIMResponse gather(List<Future<SCIMResponse>> futures, List<List<Integer>> groups,
+                                JSONArray operations) throws CharonException {
+
+        SCIMResponse firstResponse = null;
+        JSONObject bulkResponse = null;
+        Object[] operationResults = new Object[operations.length()];
+        try {
+            for (int groupIndex = 0; groupIndex < futures.size(); groupIndex++) {
+                SCIMResponse groupResponse = futures.get(groupIndex).get();
+                if (groupResponse.getResponseStatus() != ResponseCodeConstants.CODE_OK) {
+                    // A group rejected as a whole fails the bulk request, as the bulk request processor would.
+                    return groupResponse;
+                }
+                if (firstResponse == null) {
+                    firstResponse = groupResponse;
+                    bulkResponse = new JSONObject(groupResponse.getResponseMessage());
+                }
+                // The bulk request processor does not keep the order of the operations of a group, hence each
+                // result is matched back to its operation and put at the index of the operation in the bulk request.
+                List<Integer> group = groups.get(groupIndex);
+                JSONArray groupResults = getOperationResults(groupResponse);
+                int[] operationIndexes = matchOperationResults(operations, group, groupResults);
+                for (int i = 0; i < groupResults.length(); i++) {
+                    operationResults[operationIndexes[i]] = groupResults.get(i);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CharonException("Interrupted while processing the bulk request.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CharonException) {
+                throw (CharonException) e.getCause();
+            }
+            throw new CharonException("Error while processing the bulk request.", e.getCause());
+        } catch (JSONException e) {
+            throw new CharonException("Error while building the bulk response.", e);
+        } finally {
+            for (Future<SCIMResponse> future : futures) {
+                future.cancel(false);
+            }
+        }
+        if (firstResponse == null) {
+            throw new CharonException("None of the bulk operations were processed.");
+        }
+        JSONArray orderedOperationResults = new JSONArray();
+        for (Object operationResult : operationResults) {
+            if (operationResult != null) {
+                orderedOperationResults.put(operationResult);
+            }
+        }
+        bulkResponse.put(OPERATIONS, orderedOperationResults);
+        return new SCIMResponse(firstResponse.getResponseStatus(), bulkResponse.toString(),
+                firstResponse.getHeaderParamMap());
+    }
+}
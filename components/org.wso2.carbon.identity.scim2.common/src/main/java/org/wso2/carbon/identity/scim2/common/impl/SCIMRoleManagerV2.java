@@ -43,6 +43,7 @@ import org.wso2.carbon.identity.role.v2.mgt.core.util.UserIDResolver;
 import org.wso2.carbon.identity.scim2.common.internal.SCIMCommonComponentHolder;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
 import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
 import org.wso2.carbon.user.api.UserStoreException;
 import org.wso2.carbon.user.core.UserCoreConstants;
@@ -110,6 +111,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
         this.roleManagementService = roleManagementService;
         this.tenantDomain = tenantDomain;
         // Get the read only system roles set.
+        SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
         this.systemRoles = roleManagementService.getSystemRoles();
     }
 
@@ -122,6 +124,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
                         ResponseCodeConstants.INVALID_VALUE);
             }
             // Check if the role already exists.
+            SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
             if (roleManagementService.isExistingRole(role.getId(), tenantDomain)) {
                 String error = "Role with id: " + role.getId() + " already exists in the tenantDomain: "
                         + tenantDomain;
@@ -160,10 +163,12 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
             List<String> localGroupIds = groupIds.stream()
                     .filter(groupId -> !validIdpGroupIds.contains(groupId))
                     .collect(Collectors.toList());
+            SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
             RoleBasicInfo roleBasicInfo =
                     roleManagementService.addRole(role.getDisplayName(), role.getUsers(), localGroupIds,
                             permissionList, audienceType, role.getAudienceValue(), tenantDomain);
             if (isNotEmpty(idpGroupList)) {
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 roleManagementService.updateIdpGroupListOfRole(roleBasicInfo.getId(), idpGroupList, new ArrayList<>(),
                         tenantDomain);
             }
@@ -200,8 +205,10 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
         try {
             Role role;
             if (isUsersAttributeRequired(requiredAttributes)) {
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 role = roleManagementService.getRole(roleID, tenantDomain);
             } else {
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 role = roleManagementService.getRoleWithoutUsers(roleID, tenantDomain);
             }
             RoleV2 scimRole = new RoleV2();
@@ -317,6 +324,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
                 throw new BadRequestException("Role deletion is not allowed for organizations.",
                         ResponseCodeConstants.INVALID_VALUE);
             }
+            SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
             roleManagementService.deleteRole(roleID, tenantDomain);
         } catch (IdentityRoleManagementException e) {
             if (StringUtils.equals(ROLE_NOT_FOUND.getCode(), e.getErrorCode())) {
@@ -476,6 +484,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
         }
         List<Role> roles;
         try {
+            SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
             roles = roleManagementService.getRoles(searchFilter, count, startIndex, sortBy, sortOrder, tenantDomain,
                     requiredAttributes);
         } catch (IdentityRoleManagementException e) {
@@ -542,9 +551,11 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
         List<RoleV2> rolesList = new ArrayList<>();
         int rolesCount;
         try {
+            SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
             List<Role> roles = roleManagementService.getRoles(count, startIndex, sortBy, sortOrder, tenantDomain,
                     requiredAttributes);
             List<RoleV2> scimRoles = getScimRolesList(roles, requiredAttributes);
+            SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
             rolesCount = roleManagementService.getRolesCount(tenantDomain);
             // Set total number of results to 0th index.
             if (rolesCount == 0) {
@@ -701,6 +712,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
                     throw new BadRequestException("Role name update is not allowed for organizations.",
                             ResponseCodeConstants.INVALID_VALUE);
                 }
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 roleManagementService.updateRoleName(oldRole.getId(), newRoleDisplayName, tenantDomain);
             } catch (IdentityRoleManagementException e) {
                 if (StringUtils.equals(ROLE_NOT_FOUND.getCode(), e.getErrorCode())) {
@@ -721,6 +733,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
 
         String currentRoleName;
         try {
+            SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
             currentRoleName = roleManagementService.getRoleNameByRoleId(roleId, tenantDomain);
             if (isInternalRole(currentRoleName)) {
                 currentRoleName = addInternalDomain(currentRoleName);
@@ -763,6 +776,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
         // Update the role with added users and deleted users.
         if (isNotEmpty(newUserIDList) || isNotEmpty(deletedUserIDList)) {
             try {
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 roleManagementService.updateUserListOfRole(oldRole.getId(), new ArrayList<>(newUserIDList),
                         new ArrayList<>(deletedUserIDList), tenantDomain);
             } catch (IdentityRoleManagementException e) {
@@ -792,6 +806,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
         // Update the role with added users and deleted users.
         if (isNotEmpty(newGroupIDList) || isNotEmpty(deleteGroupIDList)) {
             try {
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 roleManagementService.updateGroupListOfRole(oldRole.getId(), new ArrayList<>(newGroupIDList),
                         new ArrayList<>(deleteGroupIDList), tenantDomain);
             } catch (IdentityRoleManagementException e) {
@@ -835,6 +850,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
                 List<Permission> removedPermissions = deletePermissionValuesList.stream()
                         .map(Permission::new)
                         .collect(Collectors.toList());
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 roleManagementService.updatePermissionListOfRole(oldRole.getId(), addedPermissions, removedPermissions,
                         tenantDomain);
             } catch (IdentityRoleManagementException e) {
@@ -885,6 +901,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
 
         if (!StringUtils.equals(oldRoleDisplayName, newRoleDisplayName)) {
             try {
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 roleManagementService.updateRoleName(roleId, newRoleDisplayName, tenantDomain);
             } catch (IdentityRoleManagementException e) {
                 if ((ROLE_NOT_FOUND.getCode()).equals(e.getErrorCode())) {
@@ -908,6 +925,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
             Set<String> deletedPermissions = new HashSet<>();
             Set<String> replacedPermissions = new HashSet<>();
 
+            SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
             List<Permission> permissionListOfRole = roleManagementService.getPermissionListOfRole(roleId, tenantDomain);
 
             for (PatchOperation permissionOperation : permissionOperations) {
@@ -991,6 +1009,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
             Set<String> deletedIdpGroupIds = new HashSet<>();
             Set<String> replaceIdpGroupIds = new HashSet<>();
 
+            SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
             List<GroupBasicInfo> groupListOfRole = roleManagementService.getGroupListOfRole(roleId, tenantDomain);
             for (PatchOperation groupOperation : groupOperations) {
                 if (groupOperation.getValues() instanceof Map) {
@@ -1023,6 +1042,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
             
             Set<String> groupIdListOfRole =
                     groupListOfRole.stream().map(GroupBasicInfo::getId).collect(Collectors.toSet());
+            SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
             List<IdpGroup> idpGroupListOfRole = roleManagementService.getIdpGroupListOfRole(roleId, tenantDomain);
             Set<String> idpGroupIdListOfRole =
                     idpGroupListOfRole.stream().map(IdpGroup::getGroupId).collect(Collectors.toSet());
@@ -1101,6 +1121,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
                     .map(Permission::new)
                     .collect(Collectors.toList());
             try {
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 roleManagementService.updatePermissionListOfRole(roleId, addedPermissionsList, removedPermissionsList,
                         tenantDomain);
             } catch (IdentityRoleManagementException e) {
@@ -1121,6 +1142,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
         // Update the role with added groups and deleted groups.
         if (isNotEmpty(newGroupIDList) || isNotEmpty(deleteGroupIDList)) {
             try {
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 roleManagementService.updateGroupListOfRole(roleId, new ArrayList<>(newGroupIDList),
                         new ArrayList<>(deleteGroupIDList), tenantDomain);
             } catch (IdentityRoleManagementException e) {
@@ -1139,6 +1161,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
         // Update the role with added groups and deleted groups.
         if (isNotEmpty(newGroupIDList) || isNotEmpty(deleteGroupIDList)) {
             try {
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 roleManagementService.updateIdpGroupListOfRole(roleId, newGroupIDList, deleteGroupIDList, tenantDomain);
             } catch (IdentityRoleManagementException e) {
                 if (RoleConstants.Error.INVALID_REQUEST.getCode().equals(e.getErrorCode())) {
@@ -1163,6 +1186,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
 
         if (isNotEmpty(newUserIDList) || isNotEmpty(deletedUserIDList)) {
             try {
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 roleManagementService.updateUserListOfRole(roleId, new ArrayList<>(newUserIDList),
                         new ArrayList<>(deletedUserIDList), tenantDomain);
             } catch (IdentityRoleManagementException e) {
@@ -1287,6 +1311,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
                     (AbstractUserStoreManager) PrivilegedCarbonContext.getThreadLocalCarbonContext().getUserRealm()
                             .getUserStoreManager();
             if (StringUtils.isEmpty(memberObject.get(SCIMConstants.RoleSchemaConstants.DISPLAY))) {
+                SCIMMetrics.increment(SCIMMetrics.USER_STORE_CALLS);
                 List<org.wso2.carbon.user.core.common.User> userListWithID =
                         userStoreManager.getUserListWithID(SCIMConstants.CommonSchemaConstants.ID_URI,
                                 memberObject.get(SCIMConstants.CommonSchemaConstants.VALUE), null);
@@ -1308,6 +1333,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
 
             String userID = memberObject.get(SCIMConstants.RoleSchemaConstants.VALUE);
             if (StringUtils.isEmpty(userID)) {
+                SCIMMetrics.increment(SCIMMetrics.USER_STORE_CALLS);
                 userID = userStoreManager.getUserIDFromUserName(
                         memberObject.get(SCIMConstants.RoleSchemaConstants.DISPLAY));
                 if (StringUtils.isEmpty(userID)) {
@@ -1318,6 +1344,7 @@ public class SCIMRoleManagerV2 implements RoleV2Manager {
 
             List<String> roleList;
             try {
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 roleList = roleManagementService.getRoleIdListOfUser(userID, tenantDomain);
             } catch (IdentityRoleManagementException e) {
                 throw new CharonException("Error occurred while retrieving the role list of user.");
@@ -29,6 +29,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpStatus;
 import org.wso2.carbon.CarbonConstants;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
@@ -51,14 +52,20 @@ import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagemen
 import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
 import org.wso2.carbon.identity.scim2.common.DAO.GroupDAO;
 import org.wso2.carbon.identity.scim2.common.cache.SCIMCustomAttributeSchemaCache;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMUserSchemaCache;
 import org.wso2.carbon.identity.scim2.common.exceptions.IdentitySCIMException;
 import org.wso2.carbon.identity.scim2.common.extenstion.SCIMUserStoreErrorResolver;
 import org.wso2.carbon.identity.scim2.common.extenstion.SCIMUserStoreException;
+import org.wso2.carbon.identity.scim2.common.group.GroupMemberResolver;
 import org.wso2.carbon.identity.scim2.common.group.SCIMGroupHandler;
 import org.wso2.carbon.identity.scim2.common.internal.SCIMCommonComponentHolder;
 import org.wso2.carbon.identity.scim2.common.utils.AttributeMapper;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
+import org.wso2.carbon.identity.scim2.common.utils.TotalUserCountCache;
+import org.wso2.carbon.identity.scim2.common.utils.UserListingCursor;
+import org.wso2.carbon.identity.scim2.common.utils.UserClaimSearchEntryIndex;
 import org.wso2.carbon.user.api.ClaimMapping;
 import org.wso2.carbon.user.api.UserStoreException;
 import org.wso2.carbon.user.core.PaginatedUserStoreManager;
@@ -120,11 +127,13 @@ import java.util.AbstractMap;
 import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -169,6 +178,7 @@ public class SCIMUserManager implements UserManager {
     private String tenantDomain;
     private ClaimMetadataManagementService claimMetadataManagementService;
     private String primaryIdentifierClaim;
+    private UserStoreDomainTopology userStoreDomainTopology;
     private static final int MAX_ITEM_LIMIT_UNLIMITED = -1;
     private static final String ENABLE_PAGINATED_USER_STORE = "SCIM.EnablePaginatedUserStore";
     private static final String SERVICE_PROVIDER = "serviceProvider";
@@ -270,16 +280,16 @@ public class SCIMUserManager implements UserManager {
             // If we have the user id, we can check the user from it instead of username.
             boolean isExistingUser = false;
             if (StringUtils.isNotEmpty(user.getId())) {
-                isExistingUser = carbonUM.isExistingUserWithID(user.getId());
+                isExistingUser = userStore().isExistingUserWithID(user.getId());
             } else {
                 if (isLoginIdentifiersEnabled() && StringUtils.isNotBlank(getPrimaryLoginIdentifierClaim())) {
-                    String[] existingUserList = carbonUM.getUserList(getPrimaryLoginIdentifierClaim(),
+                    String[] existingUserList = userStore().getUserList(getPrimaryLoginIdentifierClaim(),
                             UserCoreUtil.removeDomainFromName(user.getUserName()), null);
                     if (ArrayUtils.isNotEmpty(existingUserList)) {
                         isExistingUser = true;
                     }
                 } else {
-                    isExistingUser = carbonUM.isExistingUser(user.getUserName());
+                    isExistingUser = userStore().isExistingUser(user.getUserName());
                 }
             }
 
@@ -304,7 +314,7 @@ public class SCIMUserManager implements UserManager {
                     if (claimsInLocalDialect.containsKey(primaryLoginIdentifier)) {
                         if (claimsInLocalDialect.get(primaryLoginIdentifier)
                                 .equals(UserCoreUtil.removeDomainFromName(user.getUserName()))) {
-                            coreUser = carbonUM.addUserWithID(immutableUserIdentifier,
+                            coreUser = userStore().addUserWithID(immutableUserIdentifier,
                                     user.getPassword(), null, claimsInLocalDialect, null);
                         } else {
                             throw new BadRequestException(
@@ -314,18 +324,18 @@ public class SCIMUserManager implements UserManager {
                     } else {
                         claimsInLocalDialect.put(getPrimaryLoginIdentifierClaim(),
                                 UserCoreUtil.removeDomainFromName(user.getUserName()));
-                        coreUser = carbonUM.addUserWithID(immutableUserIdentifier,
+                        coreUser = userStore().addUserWithID(immutableUserIdentifier,
                                 user.getPassword(), null, claimsInLocalDialect, null);
                     }
                 }
             } else {
                 // Create the user in the user core.
-                coreUser = carbonUM.addUserWithID(user.getUserName(),
+                coreUser = userStore().addUserWithID(user.getUserName(),
                         user.getPassword(), null, claimsInLocalDialect, null);
             }
 
             if (coreUser == null) {
-                coreUser = carbonUM.getUser(null, user.getUserName());
+                coreUser = userStore().getUser(null, user.getUserName());
                 // TODO: If a user is added when a workflow engagement related to add user event exists, the created
                 //  user does not have an ID. Until fixed properly, we use this property to identify whether a workflow
                 //  engagement exists. Please check issue : https://github.com/wso2/product-is/issues/10442
@@ -479,7 +489,7 @@ public class SCIMUserManager implements UserManager {
                     .CommonSchemaConstants.ID_URI);
             org.wso2.carbon.user.core.common.User coreUser = null;
             if (StringUtils.isNotBlank(userIdLocalClaim)) {
-                coreUser = carbonUM.getUserWithID(userId, null, UserCoreConstants.DEFAULT_PROFILE);
+                coreUser = userStore().getUserWithID(userId, null, UserCoreConstants.DEFAULT_PROFILE);
             }
 
             if (coreUser == null) {
@@ -513,6 +523,40 @@ public class SCIMUserManager implements UserManager {
         return scimUser;
     }
 
+    /**
+     * Get the last modified time of a user by reading only the local claim mapped to meta.lastModified in the SCIM
+     * claim mappings of the tenant. This is used to answer conditional requests without building the SCIM user.
+     *
+     * @param userId ID of the user.
+     * @return Last modified time of the user as stored in the user store, or null if the user could not be found,
+     * SCIM is not enabled for the user store of the user or the user does not have a last modified time.
+     */
+    public String getUserLastModified(String userId) {
+
+        try {
+            String lastModifiedLocalClaim = SCIMCommonUtils.getSCIMtoLocalMappings()
+                    .get(SCIMConstants.CommonSchemaConstants.LAST_MODIFIED_URI);
+            if (StringUtils.isBlank(lastModifiedLocalClaim)) {
+                return null;
+            }
+            org.wso2.carbon.user.core.common.User coreUser = userStore().getUserWithID(userId,
+                    new String[]{lastModifiedLocalClaim}, UserCoreConstants.DEFAULT_PROFILE);
+            if (coreUser == null || coreUser.getAttributes() == null) {
+                return null;
+            }
+            String userStoreDomainName = coreUser.getUserStoreDomain();
+            if (StringUtils.isNotBlank(userStoreDomainName) && !isSCIMEnabled(userStoreDomainName)) {
+                return null;
+            }
+            return coreUser.getAttributes().get(lastModifiedLocalClaim);
+        } catch (UserStoreException | BadRequestException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while reading the last modified time of user: " + userId, e);
+            }
+            return null;
+        }
+    }
+
     @Override
     public void deleteUser(String userId) throws NotFoundException, CharonException, BadRequestException {
 
@@ -531,7 +575,7 @@ public class SCIMUserManager implements UserManager {
                     .CommonSchemaConstants.ID_URI);
 
             if (StringUtils.isNotBlank(userIdLocalClaim)) {
-                coreUser = carbonUM.getUserWithID(userId, null, UserCoreConstants.DEFAULT_PROFILE);
+                coreUser = userStore().getUserWithID(userId, null, UserCoreConstants.DEFAULT_PROFILE);
             }
 
             String userStoreDomainFromSP = null;
@@ -560,7 +604,7 @@ public class SCIMUserManager implements UserManager {
                             " user store: " + userStoreDomainName + ". SCIM is not enabled for user store: " +
                             userStoreDomainName);
                 }
-                carbonUM.deleteUserWithID(coreUser.getUserID());
+                userStore().deleteUserWithID(coreUser.getUserID());
                 if (log.isDebugEnabled()) {
                     log.debug("User: " + userName + " is deleted through SCIM.");
                 }
@@ -624,6 +668,12 @@ public class SCIMUserManager implements UserManager {
             throw new NotImplementedException("Sorting is not supported");
         } else if (count != null && count == 0) {
             return new UsersGetResponse(0, Collections.emptyList());
+        } else if (getUserListingCursor() != null) {
+            if (rootNode != null) {
+                throw new BadRequestException("Cursor based pagination is not supported with filtering.",
+                        ResponseCodeConstants.INVALID_VALUE);
+            }
+            return listUsersWithCursor(requiredAttributes, getUserListingCursor(), count, domainName);
         } else if (rootNode != null) {
             return filterUsers(rootNode, requiredAttributes, startIndex, count, sortBy, sortOrder, domainName);
         } else {
@@ -631,6 +681,108 @@ public class SCIMUserManager implements UserManager {
         }
     }
 
+    /**
+     * Get the user listing cursor of the request, set by the users endpoint when cursor based pagination is requested.
+     *
+     * @return Cursor of the request. An empty cursor requests the first page. Null if cursor based pagination is not
+     * requested.
+     */
+    private String getUserListingCursor() {
+
+        Object cursor = IdentityUtil.threadLocalProperties.get()
+                .get(SCIMCommonConstants.USER_LISTING_CURSOR_THREAD_LOCAL_PROPERTY);
+        return cursor == null ? null : cursor.toString();
+    }
+
+    /**
+     * List users from the position of the given cursor. The cursor holds the domain and the index in that domain to
+     * continue from, and the total number of users counted for the first page. The users of the previous domains are
+     * not read again and the users are not counted again for each page. The user stores only support offset based
+     * paging, hence the page is read from the user store with the index in the domain as the offset. The cursor of
+     * the next page is set to the thread local properties if there can be more users after the listed page.
+     *
+     * @param requiredAttributes Required attributes for the response.
+     * @param cursor             Cursor of the request. An empty cursor lists the first page.
+     * @param limit              Counting value.
+     * @param domainName         Name of the user store, if the listing is limited to a single user store.
+     * @return User list with detailed attributes.
+     * @throws CharonException     Error while listing users.
+     * @throws BadRequestException If the cursor is invalid.
+     */
+    private UsersGetResponse listUsersWithCursor(Map<String, Boolean> requiredAttributes, String cursor,
+                                                 Integer limit, String domainName)
+            throws CharonException, BadRequestException {
+
+        if (!isPaginatedUserStoreAvailable()) {
+            throw new CharonException("Pagination is not supported.");
+        }
+        String[] userStoreDomainNames = StringUtils.isNotEmpty(domainName) ? new String[]{domainName} :
+                getDomainNames();
+        int domainIndex = 0;
+        int offset = 1;
+        long totalUsers;
+        if (StringUtils.isNotEmpty(cursor)) {
+            UserListingCursor position = UserListingCursor.decode(cursor);
+            domainIndex = -1;
+            for (int i = 0; i < userStoreDomainNames.length; i++) {
+                if (userStoreDomainNames[i].equalsIgnoreCase(position.getDomainName())) {
+                    domainIndex = i;
+                    break;
+                }
+            }
+            if (domainIndex < 0) {
+                throw new BadRequestException("Invalid cursor: " + cursor, ResponseCodeConstants.INVALID_VALUE);
+            }
+            offset = position.getOffset();
+            totalUsers = position.getTotalResults();
+        } else {
+            totalUsers = StringUtils.isNotEmpty(domainName) ? getTotalUsers(domainName) :
+                    getTotalUsersFromAllUserStores();
+        }
+        int remainingLimit = (limit == null || limit <= 0) ? getMaxLimit(domainName) : limit;
+
+        Set<org.wso2.carbon.user.core.common.User> coreUsers;
+        if (removeDuplicateUsersInUsersResponseEnabled) {
+            coreUsers = new TreeSet<>(Comparator
+                    .comparing(org.wso2.carbon.user.core.common.User::getFullQualifiedUsername));
+        } else {
+            coreUsers = new LinkedHashSet<>();
+        }
+        // Operator SW set with USERNAME and empty string to get all users.
+        ExpressionCondition condition = new ExpressionCondition(ExpressionOperation.SW.toString(),
+                ExpressionAttribute.USERNAME.toString(), "");
+        UserListingCursor nextCursor = null;
+        for (int i = domainIndex; i < userStoreDomainNames.length; i++) {
+            Set<org.wso2.carbon.user.core.common.User> usersOfDomain;
+            try {
+                usersOfDomain = filterUsernames(condition, offset, remainingLimit, null, null,
+                        userStoreDomainNames[i]);
+            } catch (CharonException e) {
+                log.error("Error occurred while getting the users list for domain: " + userStoreDomainNames[i], e);
+                offset = 1;
+                continue;
+            }
+            coreUsers.addAll(usersOfDomain);
+            remainingLimit -= usersOfDomain.size();
+            if (remainingLimit <= 0) {
+                nextCursor = new UserListingCursor(userStoreDomainNames[i], offset + usersOfDomain.size(),
+                        totalUsers);
+                break;
+            }
+            offset = 1;
+        }
+        if (nextCursor != null) {
+            IdentityUtil.threadLocalProperties.get().put(
+                    SCIMCommonConstants.USER_LISTING_NEXT_CURSOR_THREAD_LOCAL_PROPERTY, nextCursor.encode());
+        }
+
+        List<User> scimUsers = new ArrayList<>();
+        if (!coreUsers.isEmpty()) {
+            scimUsers = getUserDetails(coreUsers, requiredAttributes);
+        }
+        return getDetailedUsers(scimUsers, totalUsers == 0 ? scimUsers.size() : Math.toIntExact(totalUsers));
+    }
+
     @Override
     public UsersGetResponse listUsersWithPost(SearchRequest searchRequest, Map<String, Boolean> requiredAttributes)
             throws CharonException, NotImplementedException, BadRequestException {
@@ -745,6 +897,18 @@ public class SCIMUserManager implements UserManager {
         String[] userStoreDomainNames = getDomainNames();
         boolean canCountTotalUserCount = canCountTotalUserCount(userStoreDomainNames);
         if (canCountTotalUserCount) {
+            if (isParallelDomainSearchApplicable(userStoreDomainNames)) {
+                try {
+                    for (Long totalUsersOfDomain : getUserStoreDomainScatterGather()
+                            .search(userStoreDomainNames, this::getTotalUsers, false).values()) {
+                        totalUsers += totalUsersOfDomain;
+                    }
+                } catch (BadRequestException e) {
+                    // Counting the users does not depend on the request.
+                    throw new CharonException("Error while getting the total user count.", e);
+                }
+                return totalUsers;
+            }
             for (String userStoreDomainName : userStoreDomainNames) {
                 totalUsers += getTotalUsers(userStoreDomainName);
             }
@@ -752,6 +916,24 @@ public class SCIMUserManager implements UserManager {
         return totalUsers;
     }
 
+    /**
+     * Checks whether the user store domains can be searched concurrently.
+     *
+     * @param userStoreDomainNames Domain names to be searched.
+     * @return True if the parallel domain search is enabled and there is more than one domain.
+     */
+    private boolean isParallelDomainSearchApplicable(String[] userStoreDomainNames) {
+
+        return userStoreDomainNames.length > 1 && SCIMCommonUtils.isParallelUserStoreDomainSearchEnabled() &&
+                SCIMCommonComponentHolder.getDomainSearchExecutorService() != null;
+    }
+
+    private UserStoreDomainScatterGather getUserStoreDomainScatterGather() {
+
+        return new UserStoreDomainScatterGather(SCIMCommonComponentHolder.getDomainSearchExecutorService(),
+                SCIMCommonUtils.getUserStoreDomainSearchTimeout());
+    }
+
     private boolean canCountTotalUserCount(String[] userStoreDomainNames) {
 
         for (String userStoreDomainName : userStoreDomainNames) {
@@ -764,6 +946,10 @@ public class SCIMUserManager implements UserManager {
 
     private boolean isJDBCUSerStore(String userStoreDomainName) {
 
+        UserStoreDomainTopology.Domain domain = getUserStoreDomain(userStoreDomainName);
+        if (domain != null) {
+            return domain.isJDBC();
+        }
         AbstractUserStoreManager secondaryUserStoreManager = (AbstractUserStoreManager) carbonUM
                 .getSecondaryUserStoreManager(userStoreDomainName);
         return secondaryUserStoreManager instanceof JDBCUserStoreManager;
@@ -771,6 +957,16 @@ public class SCIMUserManager implements UserManager {
 
     private long getTotalUsers(String domainName) throws CharonException {
 
+        int countCacheTTL = SCIMCommonUtils.getTotalUserCountCacheTTL();
+        if (countCacheTTL <= 0 || StringUtils.isBlank(domainName) || !isJDBCUSerStore(domainName)) {
+            return countTotalUsers(domainName);
+        }
+        return TotalUserCountCache.getCount(IdentityTenantUtil.getTenantId(tenantDomain), domainName, countCacheTTL,
+                SCIMCommonComponentHolder.getTotalUserCountRefreshExecutorService(), () -> countTotalUsers(domainName));
+    }
+
+    private long countTotalUsers(String domainName) throws CharonException {
+
         long totalUsers = 0;
         AbstractUserStoreManager secondaryUserStoreManager = null;
         if (StringUtils.isNotBlank(domainName)) {
@@ -779,7 +975,8 @@ public class SCIMUserManager implements UserManager {
         }
         try {
             if (secondaryUserStoreManager instanceof JDBCUserStoreManager) {
-                totalUsers = secondaryUserStoreManager.countUsersWithClaims(USERNAME_CLAIM, "*");
+                totalUsers = SCIMMetrics.countUserStoreCall(secondaryUserStoreManager)
+                        .countUsersWithClaims(USERNAME_CLAIM, "*");
             }
         } catch (org.wso2.carbon.user.core.UserStoreException e) {
             throw resolveError(e, "Error while getting total user count in domain: " + domainName);
@@ -798,9 +995,11 @@ public class SCIMUserManager implements UserManager {
         try {
             if (secondaryUserStoreManager instanceof JDBCUserStoreManager) {
                 if (node != null && node.getOperation() != null && SCIMCommonConstants.EQ.equals(node.getOperation())) {
-                    totalUsers = secondaryUserStoreManager.countUsersWithClaims(node.getValue(), node.getOperation());
+                    totalUsers = SCIMMetrics.countUserStoreCall(secondaryUserStoreManager)
+                            .countUsersWithClaims(node.getValue(), node.getOperation());
                 } else {
-                    totalUsers = secondaryUserStoreManager.countUsersWithClaims(USERNAME_CLAIM, SCIMCommonConstants.ANY);
+                    totalUsers = SCIMMetrics.countUserStoreCall(secondaryUserStoreManager)
+                            .countUsersWithClaims(USERNAME_CLAIM, SCIMCommonConstants.ANY);
                 }
             }
         } catch (org.wso2.carbon.user.core.UserStoreException e) {
@@ -878,7 +1077,7 @@ public class SCIMUserManager implements UserManager {
                 } else {
                     users = new LinkedHashSet<>();
                 }
-                users.addAll(carbonUM.getUserListWithID(userIdLocalClaim, claimValue, null));
+                users.addAll(userStore().getUserListWithID(userIdLocalClaim, claimValue, null));
             }
             return users;
         } catch (UserStoreClientException e) {
@@ -963,7 +1162,7 @@ public class SCIMUserManager implements UserManager {
                 } else {
                     users = new LinkedHashSet<>();
                 }
-                users.addAll(carbonUM.getUserListWithID(userIdLocalClaim, SCIMCommonConstants.ANY, null));
+                users.addAll(userStore().getUserListWithID(userIdLocalClaim, SCIMCommonConstants.ANY, null));
             }
             return users;
         } catch (UserStoreException e) {
@@ -1063,11 +1262,10 @@ public class SCIMUserManager implements UserManager {
             // Check if username of the updating user existing in the userstore.
             try {
                 String userStoreDomainFromSP = getUserStoreDomainFromSP();
-                SCIMResourceTypeSchema schema = SCIMResourceSchemaManager.getInstance().getUserResourceSchema();
-                User oldUser = this.getUser(user.getId(), ResourceManagerUtil.getAllAttributeURIs(schema));
+                String oldUserName = getUserNameOfExistingUser(user.getId());
                 if (userStoreDomainFromSP != null && !userStoreDomainFromSP
-                        .equalsIgnoreCase(IdentityUtil.extractDomainFromName(oldUser.getUserName()))) {
-                    throw new CharonException("User : " + maskIfRequired(oldUser.getUserName()) + " is not belong to " +
+                        .equalsIgnoreCase(IdentityUtil.extractDomainFromName(oldUserName))) {
+                    throw new CharonException("User : " + maskIfRequired(oldUserName) + " is not belong to " +
                             "user store " + userStoreDomainFromSP + ". Hence user updating fail.");
                 }
                 if (getUserStoreDomainFromSP() != null &&
@@ -1077,8 +1275,8 @@ public class SCIMUserManager implements UserManager {
                                     getUserStoreDomainFromSP()));
                 }
                 String username = user.getUsername();
-                String oldUsername = oldUser.getUsername();
-                if (!IdentityUtil.isUserStoreInUsernameCaseSensitive(oldUser.getUsername())) {
+                String oldUsername = oldUserName;
+                if (!IdentityUtil.isUserStoreInUsernameCaseSensitive(oldUserName)) {
                     username = username.toLowerCase();
                     oldUsername = oldUsername.toLowerCase();
                 }
@@ -1089,7 +1287,7 @@ public class SCIMUserManager implements UserManager {
                     if (!StringUtils.equals(username, oldUsername)) {
                         if (log.isDebugEnabled()) {
                             log.debug("Failing the request as attempting to modify username. Old username: "
-                                    + oldUser.getUserName() + ", new username: " + user.getUserName());
+                                    + oldUserName + ", new username: " + user.getUserName());
                         }
 
                         throw new BadRequestException("Attribute userName cannot be modified.",
@@ -1102,9 +1300,9 @@ public class SCIMUserManager implements UserManager {
 
             boolean isExistingUser;
             if (StringUtils.isNotEmpty(user.getId())) {
-                isExistingUser = carbonUM.isExistingUserWithID(user.getId());
+                isExistingUser = userStore().isExistingUserWithID(user.getId());
             } else {
-                isExistingUser = carbonUM.isExistingUser(user.getUserName());
+                isExistingUser = userStore().isExistingUser(user.getUserName());
             }
 
             if (!isExistingUser) {
@@ -1148,7 +1346,8 @@ public class SCIMUserManager implements UserManager {
             }
 
             // Get existing user claims.
-            Map<String, String> oldClaimList = carbonUM.getUserClaimValuesWithID(user.getId(),
+            SCIMMetrics.increment(SCIMMetrics.CLAIMS_FETCHED, requiredClaimsInLocalDialect.size());
+            Map<String, String> oldClaimList = userStore().getUserClaimValuesWithID(user.getId(),
                     requiredClaimsInLocalDialect.toArray(new String[0]), null);
 
             oldClaimList.remove(LOCATION_CLAIM);
@@ -1165,7 +1364,7 @@ public class SCIMUserManager implements UserManager {
 
             // If password is updated, set it separately.
             if (user.getPassword() != null) {
-                carbonUM.updateCredentialByAdminWithID(user.getId(), user.getPassword());
+                userStore().updateCredentialByAdminWithID(user.getId(), user.getPassword());
                 publishEvent(user, IdentityEventConstants.Event.POST_UPDATE_CREDENTIAL_BY_SCIM, false);
             }
 
@@ -1251,13 +1450,12 @@ public class SCIMUserManager implements UserManager {
             // Check if username of the updating user existing in the userstore.
             try {
                 String userStoreDomainFromSP = getUserStoreDomainFromSP();
-                SCIMResourceTypeSchema schema = SCIMResourceSchemaManager.getInstance().getUserResourceSchema();
-                User oldUser = this.getUser(user.getId(), ResourceManagerUtil.getAllAttributeURIs(schema));
+                String oldUserName = getUserNameOfExistingUser(user.getId());
                 if (userStoreDomainFromSP != null) {
                     if (!userStoreDomainFromSP
-                            .equalsIgnoreCase(IdentityUtil.extractDomainFromName(oldUser.getUserName()))) {
+                            .equalsIgnoreCase(IdentityUtil.extractDomainFromName(oldUserName))) {
                         String errorMessage = String.format("User : %s does not belong to userstore %s. Hence user " +
-                                "updating failed.", maskIfRequired(oldUser.getUserName()), userStoreDomainFromSP);
+                                "updating failed.", maskIfRequired(oldUserName), userStoreDomainFromSP);
                         throw new CharonException(errorMessage);
                     }
                     if (!UserCoreConstants.PRIMARY_DEFAULT_DOMAIN_NAME.equalsIgnoreCase(userStoreDomainFromSP)) {
@@ -1271,10 +1469,10 @@ public class SCIMUserManager implements UserManager {
                 could be modifiable. */
                 if (!(isLoginIdentifiersEnabled() && StringUtils.isNotBlank(getPrimaryLoginIdentifierClaim()))) {
                     // This is handled here as the IS is still not capable of updating the username via SCIM.
-                    if (!StringUtils.equals(user.getUserName(), oldUser.getUserName())) {
+                    if (!StringUtils.equals(user.getUserName(), oldUserName)) {
                         if (log.isDebugEnabled()) {
                             log.debug("Failing the request as attempting to modify username. Old username: "
-                                    + oldUser.getUserName() + ", new username: " + user.getUserName());
+                                    + oldUserName + ", new username: " + user.getUserName());
                         }
                         throw new BadRequestException("Attribute userName cannot be modified.",
                                 ResponseCodeConstants.MUTABILITY);
@@ -1331,7 +1529,8 @@ public class SCIMUserManager implements UserManager {
             }
 
             // Get existing user claims.
-            Map<String, String> oldClaimList = carbonUM.getUserClaimValuesWithID(user.getId(),
+            SCIMMetrics.increment(SCIMMetrics.CLAIMS_FETCHED, requiredClaimsInLocalDialect.size());
+            Map<String, String> oldClaimList = userStore().getUserClaimValuesWithID(user.getId(),
                     requiredClaimsInLocalDialect.toArray(new String[0]), null);
 
             oldClaimList.remove(LOCATION_CLAIM);
@@ -1349,7 +1548,7 @@ public class SCIMUserManager implements UserManager {
 
             // If password is updated, set it separately.
             if (user.getPassword() != null) {
-                carbonUM.updateCredentialByAdminWithID(user.getId(), user.getPassword());
+                userStore().updateCredentialByAdminWithID(user.getId(), user.getPassword());
                 publishEvent(user, IdentityEventConstants.Event.POST_UPDATE_CREDENTIAL_BY_SCIM, true);
             }
 
@@ -1379,6 +1578,57 @@ public class SCIMUserManager implements UserManager {
         }
     }
 
+    /**
+     * Get the SCIM username of the user being updated. The user is read only to validate the user store and the
+     * username of the update, hence when enabled, only the username is resolved instead of reading the complete
+     * user with its groups and roles. The existing claims of the user are read separately for the update.
+     *
+     * @param userId ID of the user.
+     * @return SCIM username of the user.
+     * @throws CharonException If the user does not exist or could not be read.
+     */
+    private String getUserNameOfExistingUser(String userId) throws CharonException {
+
+        if (!SCIMCommonUtils.isUsernameOnlyReadOnUserUpdateEnabled()) {
+            SCIMResourceTypeSchema schema = SCIMResourceSchemaManager.getInstance().getUserResourceSchema();
+            User oldUser = this.getUser(userId, ResourceManagerUtil.getAllAttributeURIs(schema));
+            if (oldUser == null) {
+                throw new CharonException("User with SCIM id: " + userId + " does not exist in the system.");
+            }
+            return oldUser.getUserName();
+        }
+
+        try {
+            org.wso2.carbon.user.core.common.User coreUser =
+                    userStore().getUserWithID(userId, null, UserCoreConstants.DEFAULT_PROFILE);
+            if (coreUser == null) {
+                throw new CharonException("User with SCIM id: " + userId + " does not exist in the system.");
+            }
+            String userStoreDomainName = coreUser.getUserStoreDomain();
+            if (StringUtils.isNotBlank(userStoreDomainName) && !isSCIMEnabled(userStoreDomainName)) {
+                throw new CharonException("Cannot get user through SCIM to user store. SCIM is not enabled for " +
+                        "user store: " + userStoreDomainName);
+            }
+
+            // Resolve the username the same way as it is set to the SCIM user in getSCIMUser.
+            String userName;
+            if (isLoginIdentifiersEnabled() && StringUtils.isNotBlank(getPrimaryLoginIdentifierClaim())) {
+                String primaryLoginIdentifierClaim = getPrimaryLoginIdentifierClaim();
+                SCIMMetrics.increment(SCIMMetrics.CLAIMS_FETCHED);
+                userName = userStore().getUserClaimValuesWithID(userId, new String[]{primaryLoginIdentifierClaim},
+                        null).get(primaryLoginIdentifierClaim);
+            } else {
+                userName = coreUser.getDomainQualifiedUsername();
+            }
+            if (mandateDomainForUsernamesAndGroupNamesInResponse()) {
+                userName = prependDomain(userName);
+            }
+            return userName;
+        } catch (UserStoreException e) {
+            throw resolveError(e, "Error in getting user information from Carbon User Store for user: " + userId);
+        }
+    }
+
     /**
      * Method to handle limit equals NULL in a request.
      *
@@ -1535,6 +1785,10 @@ public class SCIMUserManager implements UserManager {
      */
     private boolean isAllConfiguredUserStoresJDBC() {
 
+        UserStoreDomainTopology topology = getUserStoreDomainTopology();
+        if (topology != null) {
+            return topology.isAllJDBC();
+        }
         String[] userStoreDomainNames = getDomainNames();
         return canCountTotalUserCount(userStoreDomainNames);
     }
@@ -1811,7 +2065,7 @@ public class SCIMUserManager implements UserManager {
         int count = 0;
         if (groupNames != null) {
             for (String groupName : groupNames) {
-                count += carbonUM.getUserCountForGroup(groupName);
+                count += userStore().getUserCountForGroup(groupName);
             }
         }
         return count;
@@ -1839,6 +2093,10 @@ public class SCIMUserManager implements UserManager {
 
         // Filter users when the domain is not set in the request. Then filter through multiple domains.
         String[] userStoreDomainNames = getDomainNames();
+        if (limit > 0 && isParallelDomainSearchApplicable(userStoreDomainNames)) {
+            return filterUsersFromMultipleDomainsInParallel(node, offset, limit, sortBy, sortOrder,
+                    conditionForListingUsers, userStoreDomainNames);
+        }
         Set<org.wso2.carbon.user.core.common.User> filteredUsernames;
         if (removeDuplicateUsersInUsersResponseEnabled) {
             filteredUsernames = new TreeSet<>(Comparator
@@ -1897,6 +2155,77 @@ public class SCIMUserManager implements UserManager {
         return filteredUsernames;
     }
 
+    /**
+     * Filter users across the given domains concurrently. Each domain is searched from the beginning up to the end
+     * of the requested page, and the page is cut from the results of the domains taken in the given order. This gives
+     * the same users as filtering the domains one after the other while carrying the offset and the limit over to the
+     * next domain.
+     *
+     * @param node                     Node of the single attribute filter.
+     * @param offset                   Start index value.
+     * @param limit                    Count value.
+     * @param sortBy                   SortBy.
+     * @param sortOrder                Sort order.
+     * @param conditionForListingUsers Condition for listing users. For filtering this value should be set to NULL.
+     * @param userStoreDomainNames     Domains to be filtered, in the order of the results.
+     * @return Users of the requested page.
+     */
+    private Set<org.wso2.carbon.user.core.common.User> filterUsersFromMultipleDomainsInParallel(
+            Node node, int offset, int limit, String sortBy, String sortOrder, Condition conditionForListingUsers,
+            String[] userStoreDomainNames) throws CharonException, BadRequestException {
+
+        Map<String, Condition> conditions = new HashMap<>();
+        for (String userStoreDomainName : userStoreDomainNames) {
+            // Check for a user listing scenario. (For filtering this value will be set to NULL)
+            if (conditionForListingUsers == null) {
+                if (isLoginIdentifiersEnabled() && SCIMConstants.UserSchemaConstants.USER_NAME_URI
+                        .equals(((ExpressionNode) node).getAttributeValue())) {
+                    try {
+                        ((ExpressionNode) node).setAttributeValue(getScimUriForPrimaryLoginIdentifier(node));
+                    } catch (org.wso2.carbon.user.core.UserStoreException e) {
+                        throw new CharonException("Error in retrieving scim to local mappings.", e);
+                    }
+                }
+                // Create filter condition for each domain for single attribute filter.
+                conditions.put(userStoreDomainName, createConditionForSingleAttributeFilter(userStoreDomainName,
+                        node));
+            } else {
+                conditions.put(userStoreDomainName, conditionForListingUsers);
+            }
+        }
+
+        int usersToSkip = Math.max(offset, 1) - 1;
+        int searchLimit = (int) Math.min((long) usersToSkip + limit, Integer.MAX_VALUE);
+        Map<String, Set<org.wso2.carbon.user.core.common.User>> usersOfDomains =
+                getUserStoreDomainScatterGather().search(userStoreDomainNames,
+                        domainName -> filterUsernames(conditions.get(domainName), 1, searchLimit, sortBy, sortOrder,
+                                domainName), true);
+
+        Set<org.wso2.carbon.user.core.common.User> filteredUsernames;
+        if (removeDuplicateUsersInUsersResponseEnabled) {
+            filteredUsernames = new TreeSet<>(Comparator
+                    .comparing(org.wso2.carbon.user.core.common.User::getFullQualifiedUsername));
+        } else {
+            filteredUsernames = new LinkedHashSet<>();
+        }
+        int remainingLimit = limit;
+        for (Set<org.wso2.carbon.user.core.common.User> usersOfDomain : usersOfDomains.values()) {
+            if (usersToSkip >= usersOfDomain.size()) {
+                usersToSkip -= usersOfDomain.size();
+                continue;
+            }
+            List<org.wso2.carbon.user.core.common.User> pageOfDomain = new ArrayList<>(usersOfDomain)
+                    .subList(usersToSkip, Math.min(usersOfDomain.size(), usersToSkip + remainingLimit));
+            usersToSkip = 0;
+            remainingLimit -= pageOfDomain.size();
+            filteredUsernames.addAll(pageOfDomain);
+            if (remainingLimit == 0) {
+                break;
+            }
+        }
+        return filteredUsernames;
+    }
+
     /**
      * Method to update the count(limit) when iterating a filter across all domains.
      *
@@ -1976,11 +2305,11 @@ public class SCIMUserManager implements UserManager {
             if (removeDuplicateUsersInUsersResponseEnabled) {
                 users = new TreeSet<>(
                         Comparator.comparing(org.wso2.carbon.user.core.common.User::getFullQualifiedUsername));
-                users.addAll(carbonUM.getUserListWithID(condition, domainName, UserCoreConstants.DEFAULT_PROFILE, limit,
-                        offset, sortBy, sortOrder));
+                users.addAll(userStore().getUserListWithID(condition, domainName, UserCoreConstants.DEFAULT_PROFILE,
+                        limit, offset, sortBy, sortOrder));
             } else {
                 List<org.wso2.carbon.user.core.common.User> usersList =
-                        carbonUM.getUserListWithID(condition, domainName, UserCoreConstants.DEFAULT_PROFILE, limit,
+                        userStore().getUserListWithID(condition, domainName, UserCoreConstants.DEFAULT_PROFILE, limit,
                                 offset, sortBy, sortOrder);
                 users = new LinkedHashSet<>(usersList);
             }
@@ -2042,6 +2371,10 @@ public class SCIMUserManager implements UserManager {
      */
     private String[] getDomainNames() {
 
+        UserStoreDomainTopology topology = getUserStoreDomainTopology();
+        if (topology != null) {
+            return topology.getDomainNames();
+        }
         String domainName;
         ArrayList<String> domainsOfUserStores = new ArrayList<>();
         UserStoreManager secondaryUserStore = carbonUM.getSecondaryUserStoreManager();
@@ -2065,6 +2398,35 @@ public class SCIMUserManager implements UserManager {
         return domainsOfUserStores.toArray(new String[0]);
     }
 
+    /**
+     * Get the view of the user store domains of the tenant, if it is enabled. The view is resolved once per user
+     * manager, which serves a single request.
+     *
+     * @return View of the user store domains, or null if it is not enabled.
+     */
+    private UserStoreDomainTopology getUserStoreDomainTopology() {
+
+        if (!SCIMCommonUtils.isUserStoreDomainTopologyCacheEnabled()) {
+            return null;
+        }
+        if (userStoreDomainTopology == null) {
+            userStoreDomainTopology = UserStoreDomainTopology.build(carbonUM);
+        }
+        return userStoreDomainTopology;
+    }
+
+    /**
+     * Get a user store domain from the view of the user store domains of the tenant.
+     *
+     * @param domainName Domain name.
+     * @return User store domain, or null if the view is not enabled or the domain is not in it.
+     */
+    private UserStoreDomainTopology.Domain getUserStoreDomain(String domainName) {
+
+        UserStoreDomainTopology topology = getUserStoreDomainTopology();
+        return topology != null ? topology.getDomain(domainName) : null;
+    }
+
     /**
      * Method to filter users if the user store is not an instance of PaginatedUserStoreManager and
      * ENABLE_PAGINATED_USER_STORE is not enabled.
@@ -2160,6 +2522,12 @@ public class SCIMUserManager implements UserManager {
         List<User> filteredUserDetails;
         int maxLimit = getMaxLimitForTotalResults(domainName);
 
+        if (SCIMCommonUtils.isSinglePassMultiAttributeFilteringEnabled() && (isJDBCUSerStore(domainName) ||
+                isAllConfiguredUserStoresJDBC() || SCIMCommonUtils.isConsiderTotalRecordsForTotalResultOfLDAPEnabled())) {
+            return getMultiAttributeFilteredUsersInSinglePass(node, requiredAttributes, offset, limit, sortBy,
+                    sortOrder, domainName, maxLimit);
+        }
+
         int totalResults = 0;
         PaginatedUserResponse paginatedUserResult;
 
@@ -2200,6 +2568,91 @@ public class SCIMUserManager implements UserManager {
     }
 
 
+    /**
+     * Retrieve the users matching a multi-attribute filter by counting the matching users of each domain once. The
+     * counts give the total results and locate the domains holding the requested page, hence a domain is queried for
+     * users only if the page overlaps with its matching users, and the domains before the offset are not re-scanned
+     * to find the offset within the next domain.
+     *
+     * @param node               Filter condition tree.
+     * @param requiredAttributes Required attributes.
+     * @param offset             Starting index of the count.
+     * @param limit              Number of required results (count).
+     * @param sortBy             SortBy.
+     * @param sortOrder          Sort order.
+     * @param domainName         Domain that the filter should perform. If empty, all available domains are filtered.
+     * @param maxLimit           The maximum number of users to be counted and retrieved.
+     * @return Users of the page with the total number of users matching the filter.
+     * @throws CharonException     Error while filtering the users.
+     * @throws BadRequestException Domain miss match in domain parameter and attribute value.
+     */
+    private UsersGetResponse getMultiAttributeFilteredUsersInSinglePass(Node node,
+                                                                        Map<String, Boolean> requiredAttributes,
+                                                                        int offset, int limit, String sortBy,
+                                                                        String sortOrder, String domainName,
+                                                                        int maxLimit)
+            throws CharonException, BadRequestException {
+
+        List<String> domainNames = new ArrayList<>();
+        if (StringUtils.isNotEmpty(domainName)) {
+            domainNames.add(domainName);
+        } else {
+            AbstractUserStoreManager tempCarbonUM = carbonUM;
+            while (tempCarbonUM != null) {
+                domainNames.add(tempCarbonUM.getRealmConfiguration().getUserStoreProperty(
+                        UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME));
+                tempCarbonUM = (AbstractUserStoreManager) tempCarbonUM.getSecondaryUserStoreManager();
+            }
+        }
+
+        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        int countCacheTTL = SCIMCommonUtils.getFilteredUserCountCacheTTL();
+        Map<String, Integer> filteredUserCounts = new LinkedHashMap<>();
+        int totalResults = 0;
+        for (String domain : domainNames) {
+            int filteredUserCount = FilteredUserCountCache.getCount(tenantId, domain, node,
+                    countCacheTTL, () -> getMultiAttributeFilteredUsersCountFromSingleDomain(node, 1, domain,
+                            maxLimit));
+            filteredUserCounts.put(domain, filteredUserCount);
+            totalResults += filteredUserCount;
+        }
+
+        boolean paginationRequested = limit > 0;
+        int remaining = paginationRequested ? limit : maxLimit;
+        int start = Math.max(offset, 1);
+        List<org.wso2.carbon.user.core.common.User> users = new ArrayList<>();
+        for (Map.Entry<String, Integer> filteredUserCount : filteredUserCounts.entrySet()) {
+            if (remaining <= 0) {
+                break;
+            }
+            int count = filteredUserCount.getValue();
+            // A count that reached the max limit may be capped, hence the domain is skipped only for exact counts.
+            if (start > count && count < maxLimit) {
+                start -= count;
+                continue;
+            }
+            if (count == 0) {
+                continue;
+            }
+            List<org.wso2.carbon.user.core.common.User> domainUsers = getFilteredUsersFromMultiAttributeFiltering(
+                    node, start, remaining, sortBy, sortOrder, filteredUserCount.getKey(), paginationRequested)
+                    .getFilteredUsers();
+            if (domainUsers.isEmpty()) {
+                start = Math.max(start - count, 1);
+                continue;
+            }
+            users.addAll(domainUsers);
+            remaining -= domainUsers.size();
+            start = 1;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Retrieved %d users out of %d users matching the multi attribute filter from "
+                    + "%d domains.", users.size(), totalResults, domainNames.size()));
+        }
+        return getDetailedUsers(getFilteredUserDetails(new LinkedHashSet<>(users), requiredAttributes),
+                totalResults);
+    }
+
     private PaginatedUserResponse getMultiAttributeFilteredUsersWithMaxLimit(Node node, int offset,
                                            String sortBy, String sortOrder, String domainName, int maxLimit, boolean paginationRequested)
             throws CharonException, BadRequestException {
@@ -2262,6 +2715,10 @@ public class SCIMUserManager implements UserManager {
                 log.debug("Primary user store DomainName picked as " + domainName);
             }
         }
+        UserStoreDomainTopology.Domain domain = getUserStoreDomain(domainName);
+        if (domain != null) {
+            return domain.getMaxUserList();
+        }
         if (carbonUM.getSecondaryUserStoreManager(domainName).getRealmConfiguration()
                 .getUserStoreProperty(UserCoreConstants.RealmConfig.PROPERTY_MAX_USER_LIST) != null) {
             givenMax = Integer.parseInt(carbonUM.getSecondaryUserStoreManager(domainName).getRealmConfiguration()
@@ -2478,7 +2935,7 @@ public class SCIMUserManager implements UserManager {
             if (paginationRequested) {
                 checkForPaginationSupport(condition);
             }
-            PaginatedUserResponse paginatedUserResult = carbonUM.getPaginatedUserListWithID(condition, domainName,
+            PaginatedUserResponse paginatedUserResult = userStore().getPaginatedUserListWithID(condition, domainName,
                     UserCoreConstants.DEFAULT_PROFILE, limit, offset, sortBy, sortOrder);
 
             // Remove duplicates.
@@ -2691,7 +3148,7 @@ public class SCIMUserManager implements UserManager {
                 requiredClaimsInLocalDialect = new ArrayList<>();
             }
 
-            org.wso2.carbon.user.core.common.User coreUser = carbonUM.getUser(userId, null);
+            org.wso2.carbon.user.core.common.User coreUser = userStore().getUser(userId, null);
 
             // We assume (since id is unique per user) only one user exists for a given id.
             scimUser = this.getSCIMUser(coreUser, requiredClaimsInLocalDialect, scimToLocalClaimsMap, null);
@@ -2774,7 +3231,7 @@ public class SCIMUserManager implements UserManager {
             }
             group.setDisplayName(roleNameWithDomain);
             // Check if the group already exists.
-            if (carbonUM.isExistingRole(group.getDisplayName(), false)) {
+            if (userStore().isExistingRole(group.getDisplayName(), false)) {
                 String error = "Group with name: " + group.getDisplayName() + " already exists in the system.";
                 throw new ConflictException(error);
             }
@@ -2793,7 +3250,7 @@ public class SCIMUserManager implements UserManager {
                             .CommonSchemaConstants.ID_URI);
                     org.wso2.carbon.user.core.common.User coreUser = null;
                     if (StringUtils.isNotBlank(userIdLocalClaim)) {
-                        coreUser = carbonUM.getUserWithID((String) userId, null, UserCoreConstants.DEFAULT_PROFILE);
+                        coreUser = userStore().getUserWithID((String) userId, null, UserCoreConstants.DEFAULT_PROFILE);
                     }
                     if (coreUser == null) {
                         String error = "User: " + userId + " doesn't exist in the user store. " +
@@ -2826,7 +3283,7 @@ public class SCIMUserManager implements UserManager {
             }
             // From SCIM we only need to generate the role name. Other attributes are handled by the user core.
             org.wso2.carbon.user.core.common.Group createdGroup =
-                    carbonUM.addGroup(roleNameWithDomain, members, null);
+                    userStore().addGroup(roleNameWithDomain, members, null);
             group = buildGroup(createdGroup);
             if (log.isDebugEnabled()) {
                 log.debug("Group: " + group.getDisplayName() + " is created through SCIM.");
@@ -2885,6 +3342,35 @@ public class SCIMUserManager implements UserManager {
         }
     }
 
+    /**
+     * Get the last modified time of a group by reading only the group from the user core, without its members and
+     * roles. This is used to answer conditional requests without building the SCIM group.
+     *
+     * @param groupId ID of the group.
+     * @return Last modified time of the group as stored, or null if the group could not be found, SCIM is not
+     * enabled for the user store of the group or the group does not have a last modified time.
+     */
+    public String getGroupLastModified(String groupId) {
+
+        try {
+            org.wso2.carbon.user.core.common.Group retrievedGroup = userStore().getGroup(groupId, null);
+            if (retrievedGroup == null || StringUtils.isBlank(retrievedGroup.getGroupName())) {
+                return null;
+            }
+            String userStoreDomainName = retrievedGroup.getUserStoreDomain();
+            if (!isInternalOrApplicationGroup(userStoreDomainName) && StringUtils.isNotBlank(userStoreDomainName) &&
+                    !isSCIMEnabled(userStoreDomainName)) {
+                return null;
+            }
+            return retrievedGroup.getLastModifiedDate();
+        } catch (UserStoreException | BadRequestException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while reading the last modified time of group: " + groupId, e);
+            }
+            return null;
+        }
+    }
+
     private boolean isGroupsAttributeRequired(Map<String, Boolean> requiredAttributes) {
 
         if (MapUtils.isEmpty(requiredAttributes)) {
@@ -2898,6 +3384,19 @@ public class SCIMUserManager implements UserManager {
         return false;
     }
 
+    private boolean isRolesAttributeRequired(Map<String, Boolean> requiredAttributes) {
+
+        if (MapUtils.isEmpty(requiredAttributes)) {
+            return true;
+        }
+        for (String attribute : requiredAttributes.keySet()) {
+            if (attribute.startsWith(SCIMConstants.UserSchemaConstants.ROLES_URI)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Group getGroupWithoutMembers(String groupName)
             throws IdentitySCIMException, UserStoreException, BadRequestException, CharonException {
 
@@ -2963,7 +3462,7 @@ public class SCIMUserManager implements UserManager {
             SCIMCommonUtils.setThreadLocalIsManagedThroughSCIMEP(true);
 
             // Get group name by id.
-            String groupName = carbonUM.getGroupNameByGroupId(groupId);
+            String groupName = userStore().getGroupNameByGroupId(groupId);
             if (groupName != null) {
                 String userStoreDomainFromSP;
                 try {
@@ -2983,8 +3482,8 @@ public class SCIMUserManager implements UserManager {
                             userStoreDomainName + ". SCIM is not enabled for user store: " + userStoreDomainName);
                 }
                 // Delete group in carbon UM.
-                carbonUM.deleteGroup(groupId);
-                carbonUM.removeGroupRoleMappingByGroupName(groupName);
+                userStore().deleteGroup(groupId);
+                userStore().removeGroupRoleMappingByGroupName(groupName);
                 // We do not update Identity_SCIM DB here since it is updated in SCIMUserOperationListener's methods.
                 if (log.isDebugEnabled()) {
                     log.debug("Group: " + groupName + " is deleted through SCIM.");
@@ -3009,7 +3508,7 @@ public class SCIMUserManager implements UserManager {
         startIndex = (startIndex < 1 ? 1 : startIndex);
         if (sortBy != null || sortOrder != null) {
             throw new NotImplementedException("Sorting is not supported");
-        } else if (startIndex != 1 && count >= 0) {
+        } else if (startIndex != 1 && count >= 0 && !isGroupListingPaginationSupported(rootNode)) {
             throw new NotImplementedException("Pagination is not supported");
         } else if (rootNode != null) {
             return filterGroups(rootNode, startIndex, count, sortBy, sortOrder, domainName, requiredAttributes);
@@ -3027,7 +3526,7 @@ public class SCIMUserManager implements UserManager {
         startIndex = handleStartIndexEqualsNULL(startIndex);
         if (sortBy != null || sortOrder != null) {
             throw new NotImplementedException("Sorting is not supported");
-        } else if (startIndex != 1 && count != null) {
+        } else if (startIndex != 1 && count != null && !isGroupListingPaginationSupported(rootNode)) {
             throw new NotImplementedException("Pagination is not supported");
         } else if (rootNode != null) {
             return filterGroups(rootNode, startIndex, count, sortBy, sortOrder, domainName, requiredAttributes);
@@ -3054,7 +3553,19 @@ public class SCIMUserManager implements UserManager {
     }
 
     /**
-     * List all the groups.
+     * Pagination is supported only when listing groups without a filter, and only if it is enabled in the identity.xml.
+     *
+     * @param rootNode Filter node in the request.
+     * @return Whether the startIndex and count of the request can be applied.
+     */
+    private boolean isGroupListingPaginationSupported(Node rootNode) {
+
+        return rootNode == null && SCIMCommonUtils.isGroupListingPaginationEnabled();
+    }
+
+    /**
+     * List all the groups. If group listing pagination is enabled, the group names are sorted and only the groups
+     * inside the requested page are built.
      *
      * @param startIndex         Start index in the request.
      * @param count              Limit in the request.
@@ -3080,6 +3591,20 @@ public class SCIMUserManager implements UserManager {
                 groupNames = getRoleNamesForGroupsEndpoint(domainName);
             }
 
+            if (SCIMCommonUtils.isGroupListingPaginationEnabled()) {
+                List<String> listableGroupNames = getListableGroupNames(groupNames);
+                Collections.sort(listableGroupNames);
+                for (String groupName : getGroupNamesOfPage(listableGroupNames, startIndex, count)) {
+                    Group group = getGroupForListing(groupName, requiredAttributes);
+                    if (group.getId() != null) {
+                        groupList.add(group);
+                    }
+                }
+                groupsResponse.setTotalGroups(listableGroupNames.size());
+                groupsResponse.setGroups(groupList);
+                return groupsResponse;
+            }
+
             for (String groupName : groupNames) {
                 String userStoreDomainName = IdentityUtil.extractDomainFromName(groupName);
                 if (isInternalOrApplicationGroup(userStoreDomainName) || isSCIMEnabled(userStoreDomainName)) {
@@ -3087,12 +3612,7 @@ public class SCIMUserManager implements UserManager {
                         log.debug(String.format("SCIM is enabled for the user-store domain: %s. Including group with " +
                                 "name: %s in the response.", userStoreDomainName, groupName));
                     }
-                    Group group;
-                    if (!isMemberAttributeRequired(requiredAttributes)) {
-                        group = getGroupWithoutMembers(groupName);
-                    } else {
-                        group = getGroupWithName(groupName);
-                    }
+                    Group group = getGroupForListing(groupName, requiredAttributes);
                     if (group.getId() != null) {
                         groupList.add(group);
                     }
@@ -3135,6 +3655,104 @@ public class SCIMUserManager implements UserManager {
         return groupsResponse;
     }
 
+    private Group getGroupForListing(String groupName, Map<String, Boolean> requiredAttributes)
+            throws CharonException, UserStoreException, IdentitySCIMException, BadRequestException {
+
+        if (!isMemberAttributeRequired(requiredAttributes)) {
+            return getGroupWithoutMembers(groupName);
+        }
+        return getGroupWithName(groupName);
+    }
+
+    /**
+     * Get the group names that can be listed, so that the total count only includes the groups that are included in
+     * the pages. A group can be listed if it belongs to a hybrid role domain or to a user store where SCIM is
+     * enabled. Groups of user stores without group id support have an id only if they have SCIM attributes, hence
+     * such groups without SCIM attributes are excluded as they are not included in the response. The SCIM enabled
+     * state and the group id support are evaluated once per user store domain.
+     *
+     * @param groupNames Group names qualified with the user store domain.
+     * @return Group names that can be included in the response.
+     * @throws BadRequestException   If a group belongs to an unknown user store.
+     * @throws IdentitySCIMException If an error occurred while reading the groups with SCIM attributes.
+     */
+    private List<String> getListableGroupNames(Set<String> groupNames) throws BadRequestException,
+            IdentitySCIMException {
+
+        Map<String, Boolean> scimEnabledDomains = new HashMap<>();
+        Map<String, Boolean> groupIdEnabledDomains = new HashMap<>();
+        Set<String> scimGroupNames = null;
+        List<String> listableGroupNames = new ArrayList<>();
+        for (String groupName : groupNames) {
+            String userStoreDomainName = IdentityUtil.extractDomainFromName(groupName);
+            boolean isHybridGroup = isInternalOrApplicationGroup(userStoreDomainName);
+            Boolean isSCIMEnabled = scimEnabledDomains.get(userStoreDomainName);
+            if (isSCIMEnabled == null) {
+                isSCIMEnabled = isHybridGroup || isSCIMEnabled(userStoreDomainName);
+                scimEnabledDomains.put(userStoreDomainName, isSCIMEnabled);
+            }
+            if (!isSCIMEnabled) {
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format("SCIM is disabled for the user-store domain: %s. Hence group with name: " +
+                            "%s is excluded in the response.", userStoreDomainName, groupName));
+                }
+                continue;
+            }
+            if (!isHybridGroup && !groupIdEnabledDomains.computeIfAbsent(userStoreDomainName,
+                    this::isUniqueGroupIdEnabled)) {
+                if (scimGroupNames == null) {
+                    scimGroupNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+                    scimGroupNames.addAll(new SCIMGroupHandler(carbonUM.getTenantId()).listSCIMRoles());
+                }
+                if (!scimGroupNames.contains(groupName)) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Group with name: " + groupName + " does not have SCIM attributes. Hence it is " +
+                                "excluded in the response.");
+                    }
+                    continue;
+                }
+            }
+            listableGroupNames.add(groupName);
+        }
+        return listableGroupNames;
+    }
+
+    /**
+     * Checks whether the user store of the given domain provides the ids of the groups.
+     *
+     * @param userStoreName User store domain name.
+     * @return True if the user store supports group ids.
+     */
+    private boolean isUniqueGroupIdEnabled(String userStoreName) {
+
+        UserStoreDomainTopology.Domain domain = getUserStoreDomain(userStoreName);
+        if (domain != null) {
+            return domain.isUniqueGroupIdEnabled();
+        }
+        UserStoreManager userStoreManager = carbonUM.getSecondaryUserStoreManager(userStoreName);
+        return userStoreManager instanceof AbstractUserStoreManager &&
+                ((AbstractUserStoreManager) userStoreManager).isUniqueGroupIdEnabled();
+    }
+
+    /**
+     * Get the group names inside the requested page.
+     *
+     * @param groupNames Sorted group names.
+     * @param startIndex Start index in the request, starting from 1.
+     * @param count      Limit in the request. All the groups from the start index are returned if not specified.
+     * @return Group names of the page.
+     */
+    private List<String> getGroupNamesOfPage(List<String> groupNames, int startIndex, Integer count) {
+
+        int fromIndex = Math.min(Math.max(startIndex, 1) - 1, groupNames.size());
+        int toIndex = groupNames.size();
+        if (count != null) {
+            // A negative count should be interpreted as 0 according to the SCIM2 specification.
+            toIndex = (int) Math.min((long) fromIndex + Math.max(count, 0), groupNames.size());
+        }
+        return groupNames.subList(fromIndex, toIndex);
+    }
+
     /**
      * Get role names according to the given domain. If the domain is not specified, roles of all the user
      * stores will be returned.
@@ -3149,7 +3767,7 @@ public class SCIMUserManager implements UserManager {
 
         SCIMGroupHandler groupHandler = new SCIMGroupHandler(carbonUM.getTenantId());
         if (StringUtils.isEmpty(domainName)) {
-            Set<String> roleNames = new HashSet<>(Arrays.asList(carbonUM.getRoleNames()));
+            Set<String> roleNames = new HashSet<>(Arrays.asList(userStore().getRoleNames()));
             Set<String> scimRoles = groupHandler.listSCIMRoles();
             List<String> scimDisabledHybridRoles = getSCIMDisabledHybridRoleList(roleNames, scimRoles);
             if (!scimDisabledHybridRoles.isEmpty()) {
@@ -3170,7 +3788,7 @@ public class SCIMUserManager implements UserManager {
                 roleList = filterHybridRoles(domainName, searchValue);
             } else {
                 // Retrieve roles using the above attribute value.
-                roleList = Arrays.asList(((AbstractUserStoreManager) carbonUM)
+                roleList = Arrays.asList(userStore()
                         .getRoleNames(searchValue, MAX_ITEM_LIMIT_UNLIMITED, true, true, true));
             }
             Set<String> roleNames = new HashSet<>(roleList);
@@ -3199,7 +3817,7 @@ public class SCIMUserManager implements UserManager {
             throws UserStoreException, IdentitySCIMException {
 
         if (StringUtils.isEmpty(domainName)) {
-            Set<String> groupsList = new HashSet<>(Arrays.asList(carbonUM.getRoleNames()));
+            Set<String> groupsList = new HashSet<>(Arrays.asList(userStore().getRoleNames()));
             // Remove roles.
             groupsList.removeIf(SCIMCommonUtils::isHybridRole);
             return groupsList;
@@ -3208,7 +3826,7 @@ public class SCIMUserManager implements UserManager {
             String searchValue = domainName + CarbonConstants.DOMAIN_SEPARATOR + SCIMCommonConstants.ANY;
             // Retrieve roles using the above attribute value.
             List<String> roleList = Arrays
-                    .asList(carbonUM.getRoleNames(searchValue, MAX_ITEM_LIMIT_UNLIMITED, true, true, true));
+                    .asList(userStore().getRoleNames(searchValue, MAX_ITEM_LIMIT_UNLIMITED, true, true, true));
             return new HashSet<>(roleList);
         }
     }
@@ -3289,7 +3907,7 @@ public class SCIMUserManager implements UserManager {
 
             if (groupsList != null) {
                 for (String groupName : groupsList) {
-                    if (groupName != null && carbonUM.isExistingRole(groupName, false)) {
+                    if (groupName != null && userStore().isExistingRole(groupName, false)) {
                         // Skip internal roles.
                         if (CarbonConstants.REGISTRY_ANONNYMOUS_ROLE_NAME.equals(groupName) || UserCoreUtil
                                 .isEveryoneRole(groupName, carbonUM.getRealmConfiguration())) {
@@ -3528,17 +4146,22 @@ public class SCIMUserManager implements UserManager {
             Set<Object> newlyAddedMemberIds = new HashSet<>();
             Set<Object> deletedMemberIds = new HashSet<>();
 
+            // Resolve the users of all the member IDs in the request at once instead of once per member.
+            GroupMemberResolver memberResolver = new GroupMemberResolver(carbonUM);
+            Map<String, org.wso2.carbon.user.core.common.User> membersById =
+                    memberResolver.resolveUsersById(getMemberIds(memberOperations));
+
             for (PatchOperation memberOperation : memberOperations) {
                 if (memberOperation.getValues() instanceof Map) {
                     Map<String, String> memberObject = (Map<String, String>) memberOperation.getValues();
                     prepareAddedRemovedMemberLists(addedMembers, deletedMembers, newlyAddedMemberIds,
-                            deletedMemberIds, memberOperation, memberObject);
+                            deletedMemberIds, memberOperation, memberObject, membersById);
                 } else if (memberOperation.getValues() instanceof List) {
                     List<Map<String, String>> memberOperationValues =
                             (List<Map<String, String>>) memberOperation.getValues();
                     for (Map<String, String> memberObject : memberOperationValues) {
                         prepareAddedRemovedMemberLists(addedMembers, deletedMembers, newlyAddedMemberIds,
-                                deletedMemberIds, memberOperation, memberObject);
+                                deletedMemberIds, memberOperation, memberObject, membersById);
                     }
                 }
             }
@@ -3575,16 +4198,18 @@ public class SCIMUserManager implements UserManager {
 
             // Check for deleted members.
             Set<String> deletedMemberIdsFromUserstore =
-                    getMemberValuesFromUserstore(deletedMembers, userStoreDomainForGroup, newGroupName);
+                    getMemberValuesFromUserstore(deletedMembers, userStoreDomainForGroup, newGroupName,
+                            memberResolver, membersById.values());
 
             // Check for added members.
             Set<String> addedMemberIdsFromUserstore =
-                    getMemberValuesFromUserstore(addedMembers, userStoreDomainForGroup, newGroupName);
+                    getMemberValuesFromUserstore(addedMembers, userStoreDomainForGroup, newGroupName,
+                            memberResolver, membersById.values());
 
             // Validate the memberIds sent in the update request against the Ids retrieved from the user store.
             if (isNotEmpty(addedMembers)) {
                 validateUserIds(addedMemberIdsFromUserstore, newlyAddedMemberIds);
-                filterExistingGroupMembers(groupId, addedMemberIdsFromUserstore);
+                filterExistingGroupMembers(newGroupName, addedMemberIdsFromUserstore);
             }
 
             if (isNotEmpty(deletedMemberIds)) {
@@ -3602,13 +4227,13 @@ public class SCIMUserManager implements UserManager {
             Update the group with added members and deleted members.
             */
             if (isNotEmpty(addedMembers) || isNotEmpty(deletedMembers)) {
-                carbonUM.updateUserListOfRoleWithID(newGroupName,
+                userStore().updateUserListOfRoleWithID(newGroupName,
                         deletedMemberIdsFromUserstore.toArray(new String[0]),
                         addedMemberIdsFromUserstore.toArray(new String[0]));
             }
 
             // Update the group name in UM_HYBRID_GROUP_ROLE table.
-            carbonUM.updateGroupName(currentGroupName, newGroupName);
+            userStore().updateGroupName(currentGroupName, newGroupName);
         } catch (UserStoreException e) {
             if (e instanceof org.wso2.carbon.user.core.UserStoreException && (StringUtils
                     .equals(UserCoreErrorConstants.ErrorMessages.ERROR_CODE_DUPLICATE_WHILE_WRITING_TO_DATABASE
@@ -3636,31 +4261,56 @@ public class SCIMUserManager implements UserManager {
 
     /**
      * Check whether the users in the set are already existing in the group and remove existing users from the set.
+     * Only the IDs of the existing members are read, instead of building the whole group with its members.
      *
-     * @param groupId                       Group Id.
+     * @param groupName                     Group name.
      * @param addedMemberIdsFromUserstore   Set of user ids.
      */
-    private void filterExistingGroupMembers(String groupId, Set<String> addedMemberIdsFromUserstore) throws
-            CharonException, UserStoreException, IdentitySCIMException, BadRequestException {
+    private void filterExistingGroupMembers(String groupName, Set<String> addedMemberIdsFromUserstore) throws
+            UserStoreException {
 
-        Group group = getGroupWithIdWithMemberUsernameOnly(groupId);
-        if (group != null) {
-            addedMemberIdsFromUserstore.removeIf(member -> group.getMembers() != null &&
-                    group.getMembers().contains(member));
+        List<org.wso2.carbon.user.core.common.User> existingMembers = userStore().getUserListOfRoleWithID(groupName);
+        if (isNotEmpty(existingMembers)) {
+            Set<String> existingMemberIds = new HashSet<>();
+            for (org.wso2.carbon.user.core.common.User existingMember : existingMembers) {
+                existingMemberIds.add(existingMember.getUserID());
+            }
+            addedMemberIdsFromUserstore.removeIf(existingMemberIds::contains);
         }
     }
 
+    /**
+     * Get the member IDs of all the member operations of a group patch request.
+     *
+     * @param memberOperations Member patch operations.
+     * @return Member IDs.
+     */
+    private Set<String> getMemberIds(List<PatchOperation> memberOperations) {
+
+        Set<String> memberIds = new HashSet<>();
+        for (PatchOperation memberOperation : memberOperations) {
+            if (memberOperation.getValues() instanceof Map) {
+                memberIds.add(((Map<String, String>) memberOperation.getValues())
+                        .get(SCIMConstants.GroupSchemaConstants.VALUE));
+            } else if (memberOperation.getValues() instanceof List) {
+                for (Map<String, String> memberObject : (List<Map<String, String>>) memberOperation.getValues()) {
+                    memberIds.add(memberObject.get(SCIMConstants.GroupSchemaConstants.VALUE));
+                }
+            }
+        }
+        return memberIds;
+    }
+
     private void prepareAddedRemovedMemberLists(Set<String> addedMembers, Set<String> removedMembers,
                                                 Set<Object> newlyAddedMemberIds, Set<Object> deletedMemberIds,
-                                                PatchOperation memberOperation, Map<String, String> memberObject)
-            throws UserStoreException {
+                                                PatchOperation memberOperation, Map<String, String> memberObject,
+                                                Map<String, org.wso2.carbon.user.core.common.User> membersById) {
 
         if (StringUtils.isEmpty(memberObject.get(SCIMConstants.GroupSchemaConstants.DISPLAY))) {
-            List<org.wso2.carbon.user.core.common.User> userListWithID =
-                    carbonUM.getUserListWithID(SCIMConstants.CommonSchemaConstants.ID_URI,
-                            memberObject.get(SCIMConstants.GroupSchemaConstants.VALUE), null);
-            if (isNotEmpty(userListWithID)) {
-                memberObject.put(SCIMConstants.GroupSchemaConstants.DISPLAY, userListWithID.get(0).getUsername());
+            org.wso2.carbon.user.core.common.User member =
+                    membersById.get(memberObject.get(SCIMConstants.GroupSchemaConstants.VALUE));
+            if (member != null) {
+                memberObject.put(SCIMConstants.GroupSchemaConstants.DISPLAY, member.getUsername());
                 memberOperation.setValues(memberObject);
             }
         }
@@ -3709,7 +4359,7 @@ public class SCIMUserManager implements UserManager {
 
         if (!StringUtils.equals(oldGroupName, newGroupName)) {
             // Update group name in carbon UM.
-            carbonUM.renameGroup(groupId, newGroupName);
+            userStore().renameGroup(groupId, newGroupName);
         }
     }
 
@@ -3780,13 +4430,16 @@ public class SCIMUserManager implements UserManager {
 
         // Check for deleted members
         Set<String> deletedMembers = getDeletedMemberUsernames(membersInOldGroup, membersInUpdatedGroup);
+        GroupMemberResolver memberResolver = new GroupMemberResolver(carbonUM);
         Set<String> deletedMemberIdsFromUserstore =
-                getMemberValuesFromUserstore(deletedMembers, userStoreDomainForGroup, oldGroup.getDisplayName());
+                getMemberValuesFromUserstore(deletedMembers, userStoreDomainForGroup, oldGroup.getDisplayName(),
+                        memberResolver, Collections.emptyList());
 
         // Check for added members
         Set<String> addedMembers = getAddedMemberUsernames(membersInOldGroup, membersInUpdatedGroup);
         Set<String> addedMemberIdsFromUserstore =
-                getMemberValuesFromUserstore(addedMembers, userStoreDomainForGroup, oldGroup.getDisplayName());
+                getMemberValuesFromUserstore(addedMembers, userStoreDomainForGroup, oldGroup.getDisplayName(),
+                        memberResolver, Collections.emptyList());
 
         // Find out added userIds from the updated group.
         Set<Object> newlyAddedMemberIds = getNewlyAddedMemberIds(oldGroup, newGroup);
@@ -3804,12 +4457,12 @@ public class SCIMUserManager implements UserManager {
         boolean updated = false;
         if (isGroupDisplayNameChanged(oldGroupDisplayName, newGroupDisplayName)) {
             // Update group name in carbon UM
-            carbonUM.renameGroup(oldGroup.getId(), newGroupDisplayName);
+            userStore().renameGroup(oldGroup.getId(), newGroupDisplayName);
             updated = true;
         }
         // Update the group with added members and deleted members.
         if (isNotEmpty(addedMembers) || isNotEmpty(deletedMembers)) {
-            carbonUM.updateUserListOfRoleWithID(newGroupDisplayName,
+            userStore().updateUserListOfRoleWithID(newGroupDisplayName,
                     deletedMemberIdsFromUserstore.toArray(new String[0]),
                     addedMemberIdsFromUserstore.toArray(new String[0]));
             updated = true;
@@ -3843,10 +4496,10 @@ public class SCIMUserManager implements UserManager {
     }
 
     private Set<String> getMemberValuesFromUserstore(Set<String> memberUsernames, String userStoreDomainOfGroup,
-                                                     String displayName) throws IdentitySCIMException,
-            org.wso2.carbon.user.core.UserStoreException, BadRequestException {
+                                                     String displayName, GroupMemberResolver memberResolver,
+                                                     Collection<org.wso2.carbon.user.core.common.User> knownMembers)
+            throws IdentitySCIMException, org.wso2.carbon.user.core.UserStoreException, BadRequestException {
 
-        Set<String> memberUserIds = new HashSet<>();
         for (String userName : memberUsernames) {
             // Compare user store domain of group and user store domain of user name, if there is a mismatch do not
             // update the group.
@@ -3856,22 +4509,21 @@ public class SCIMUserManager implements UserManager {
                 throw new IdentitySCIMException(
                         String.format("%s doesn't belongs to user store: %s", userName, userStoreDomainOfGroup));
             }
+        }
 
-            String usernameClaimUri = UserCoreClaimConstants.USERNAME_CLAIM_URI;
+        String usernameClaimUri = UserCoreClaimConstants.USERNAME_CLAIM_URI;
 
-            // If primary login identifier claim is enabled, search for that claim in the user store.
-            if (isLoginIdentifiersEnabled() && StringUtils.isNotBlank(getPrimaryLoginIdentifierClaim())) {
-                usernameClaimUri = getPrimaryLoginIdentifierClaim();
-            }
+        // If primary login identifier claim is enabled, search for that claim in the user store.
+        if (isLoginIdentifiersEnabled() && StringUtils.isNotBlank(getPrimaryLoginIdentifierClaim())) {
+            usernameClaimUri = getPrimaryLoginIdentifierClaim();
+        }
 
-            UserStoreManager userStoreManager = carbonUM.getSecondaryUserStoreManager(userStoreDomainOfUser);
-            // Check if the user ids & associated user name sent in updated (new) group exist in the user store.
-            String userId = null;
-            if (userStoreManager != null) {
-                userId = ((AbstractUserStoreManager) userStoreManager)
-                        .getUserIDFromProperties(usernameClaimUri, UserCoreUtil.removeDomainFromName(userName),
-                                UserCoreConstants.DEFAULT_PROFILE);
-            }
+        // Check if the user ids & associated user name sent in updated (new) group exist in the user store.
+        Map<String, String> userIdsByUsername =
+                memberResolver.resolveUserIdsByUsername(memberUsernames, usernameClaimUri, knownMembers);
+        Set<String> memberUserIds = new HashSet<>();
+        for (String userName : memberUsernames) {
+            String userId = userIdsByUsername.get(userName);
             if (StringUtils.isEmpty(userId)) {
                 String error = "User: " + userName + " doesn't exist in the user store. Hence can not update the " +
                         "group: " + displayName;
@@ -3936,7 +4588,7 @@ public class SCIMUserManager implements UserManager {
     private org.wso2.carbon.user.core.common.User getUserFromUsername(String username)
             throws org.wso2.carbon.user.core.UserStoreException {
 
-        List<org.wso2.carbon.user.core.common.User> coreUsers = carbonUM.getUserListWithID(
+        List<org.wso2.carbon.user.core.common.User> coreUsers = userStore().getUserListWithID(
                 UserCoreClaimConstants.USERNAME_CLAIM_URI, username, UserCoreConstants.DEFAULT_PROFILE);
 
         if (!coreUsers.isEmpty()) {
@@ -4037,6 +4689,10 @@ public class SCIMUserManager implements UserManager {
      */
     private boolean isSCIMEnabled(String userStoreName) throws BadRequestException {
 
+        UserStoreDomainTopology.Domain domain = getUserStoreDomain(userStoreName);
+        if (domain != null) {
+            return domain.isSCIMEnabled();
+        }
         UserStoreManager userStoreManager = carbonUM.getSecondaryUserStoreManager(userStoreName);
         if (userStoreManager == null) {
             throw new BadRequestException("Invalid user store name.");
@@ -4073,7 +4729,8 @@ public class SCIMUserManager implements UserManager {
         try {
             // TODO: If we can get the updated user claim values from the add user method, we don't need to do
             //  this call. Please check the status of the issue: https://github.com/wso2/product-is/issues/7160
-            userClaimValues = carbonUM.getUserClaimValuesWithID(coreUser.getUserID(),
+            SCIMMetrics.increment(SCIMMetrics.CLAIMS_FETCHED, claimURIList.size());
+            userClaimValues = userStore().getUserClaimValuesWithID(coreUser.getUserID(),
                     claimURIList.toArray(new String[0]), null);
 
             Map<String, String> attributes = SCIMCommonUtils.convertLocalToSCIMDialect(userClaimValues,
@@ -4107,13 +4764,14 @@ public class SCIMUserManager implements UserManager {
                         UserSchemaConstants.GROUP_URI));
             } else {
                 // Set groups.
-                groupsList = new ArrayList<>(carbonUM.getRoleListOfUserWithID(coreUser.getUserID()));
+                groupsList = new ArrayList<>(userStore().getRoleListOfUserWithID(coreUser.getUserID()));
                 if (carbonUM.isRoleAndGroupSeparationEnabled()) {
                     // Remove roles, if the role and group separation feature is enabled.
                     groupsList.removeIf(SCIMCommonUtils::isHybridRole);
 
                     // Set roles.
-                    rolesList = carbonUM.getHybridRoleListOfUser(coreUser.getUsername(), coreUser.getUserStoreDomain());
+                    rolesList = userStore().getHybridRoleListOfUser(coreUser.getUsername(),
+                            coreUser.getUserStoreDomain());
                 }
             }
 
@@ -4169,7 +4827,7 @@ public class SCIMUserManager implements UserManager {
                 Group groupObject = groupMetaAttributesCache.get(groupName);
                 if (groupObject == null && !groupMetaAttributesCache.containsKey(groupName)) {
                     org.wso2.carbon.user.core.common.Group userGroup =
-                            carbonUM.getGroupByGroupName(UserCoreUtil.addDomainToName(groupName,
+                            userStore().getGroupByGroupName(UserCoreUtil.addDomainToName(groupName,
                                     userStoreDomainName), null);
                     groupObject = buildGroup(userGroup);
                     groupMetaAttributesCache.put(groupName, groupObject);
@@ -4234,7 +4892,8 @@ public class SCIMUserManager implements UserManager {
         Map<String, List<String>> usersRoles = new HashMap<>();
 
         try {
-            searchEntries = carbonUM.getUsersClaimValuesWithID(users
+            SCIMMetrics.increment(SCIMMetrics.CLAIMS_FETCHED, (long) claimURIList.size() * users.size());
+            searchEntries = userStore().getUsersClaimValuesWithID(users
                     .stream()
                     .map(org.wso2.carbon.user.core.common.User::getUserID)
                     .collect(Collectors.toList()), claimURIList, null);
@@ -4246,7 +4905,7 @@ public class SCIMUserManager implements UserManager {
                         return new AbstractMap.SimpleEntry<>(userID, groupsList);
                     }).collect(Collectors.toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
                 } else {
-                    usersRoles = carbonUM.getRoleListOfUsersWithID(users
+                    usersRoles = userStore().getRoleListOfUsersWithID(users
                             .stream()
                             .map(org.wso2.carbon.user.core.common.User::getUserID)
                             .collect(Collectors.toList()));
@@ -4257,7 +4916,10 @@ public class SCIMUserManager implements UserManager {
             throw resolveError(e, errorMsg);
         }
 
-        Map<String, Group> groupMetaAttributesCache = new HashMap<>();
+        Map<String, UniqueIDUserClaimSearchEntry> searchEntriesByUserId =
+                UserClaimSearchEntryIndex.indexByUserId(searchEntries);
+        List<org.wso2.carbon.user.core.common.User> scimEnabledUsers = new ArrayList<>();
+        List<Map<String, String>> attributesOfUsers = new ArrayList<>();
 
         for (org.wso2.carbon.user.core.common.User user : users) {
             String userStoreDomainName = user.getUserStoreDomain();
@@ -4266,13 +4928,10 @@ public class SCIMUserManager implements UserManager {
                     log.debug("SCIM is enabled for the user-store domain : " + userStoreDomainName + ". " +
                             "Including user : " + user.getUsername() + " in the response.");
                 }
-                User scimUser;
                 Map<String, String> userClaimValues = new HashMap<>();
-                for (UniqueIDUserClaimSearchEntry entry : searchEntries) {
-                    if (entry.getUser() != null && StringUtils.isNotBlank(entry.getUser().getUserID())
-                            && entry.getUser().getUserID().equals(user.getUserID())) {
-                        userClaimValues = entry.getClaims();
-                    }
+                UniqueIDUserClaimSearchEntry searchEntry = searchEntriesByUserId.get(user.getUserID());
+                if (searchEntry != null) {
+                    userClaimValues = searchEntry.getClaims();
                 }
                 Map<String, String> attributes;
                 try {
@@ -4282,129 +4941,155 @@ public class SCIMUserManager implements UserManager {
                             + maskIfRequired(user.getUsername()));
                 }
 
-                try {
-                    if (!attributes.containsKey(SCIMConstants.CommonSchemaConstants.ID_URI)) {
-                        if (log.isDebugEnabled()) {
-                            log.debug(String.format("Skipping adding user %s with id %s as attribute %s is not " +
-                                            "available.", user.getFullQualifiedUsername(), user.getUserID(),
-                                    SCIMConstants.CommonSchemaConstants.ID_URI));
-                        }
-                        continue;
-                    }
-                    //skip simple type addresses claim because it is complex with sub types in the schema
-                    if (attributes.containsKey(SCIMConstants.UserSchemaConstants.ADDRESSES_URI)) {
-                        attributes.remove(SCIMConstants.UserSchemaConstants.ADDRESSES_URI);
-                    }
-
-                    if (IdentityUtil.isGroupsVsRolesSeparationImprovementsEnabled()) {
-                        filterAttributes(attributes, Arrays.asList(SCIMConstants.UserSchemaConstants.ROLES_URI,
-                                SCIMConstants.UserSchemaConstants.GROUP_URI));
+                if (!attributes.containsKey(SCIMConstants.CommonSchemaConstants.ID_URI)) {
+                    if (log.isDebugEnabled()) {
+                        log.debug(String.format("Skipping adding user %s with id %s as attribute %s is not " +
+                                        "available.", user.getFullQualifiedUsername(), user.getUserID(),
+                                SCIMConstants.CommonSchemaConstants.ID_URI));
                     }
+                    continue;
+                }
+                //skip simple type addresses claim because it is complex with sub types in the schema
+                if (attributes.containsKey(SCIMConstants.UserSchemaConstants.ADDRESSES_URI)) {
+                    attributes.remove(SCIMConstants.UserSchemaConstants.ADDRESSES_URI);
+                }
 
-                    // Location URI is not available for users who created from the mgt console also location URI is not
-                    // tenant aware, so need to update the location URI according to the tenant.
-                    String locationURI = SCIMCommonUtils
-                            .getSCIMUserURL(attributes.get(SCIMConstants.CommonSchemaConstants.ID_URI));
-                    attributes.put(SCIMConstants.CommonSchemaConstants.LOCATION_URI, locationURI);
+                if (IdentityUtil.isGroupsVsRolesSeparationImprovementsEnabled()) {
+                    filterAttributes(attributes, Arrays.asList(SCIMConstants.UserSchemaConstants.ROLES_URI,
+                            SCIMConstants.UserSchemaConstants.GROUP_URI));
+                }
 
-                    if (!attributes.containsKey(SCIMConstants.CommonSchemaConstants.RESOURCE_TYPE_URI)) {
-                        attributes.put(SCIMConstants.CommonSchemaConstants.RESOURCE_TYPE_URI, SCIMConstants.USER);
-                    }
+                // Location URI is not available for users who created from the mgt console also location URI is not
+                // tenant aware, so need to update the location URI according to the tenant.
+                String locationURI = SCIMCommonUtils
+                        .getSCIMUserURL(attributes.get(SCIMConstants.CommonSchemaConstants.ID_URI));
+                attributes.put(SCIMConstants.CommonSchemaConstants.LOCATION_URI, locationURI);
 
-                    // Add username with domain name
-                    if (mandateDomainForUsernamesAndGroupNamesInResponse()) {
-                        setUserNameWithDomain(userClaimValues, attributes, user);
-                    } else {
-                        if (isLoginIdentifiersEnabled() && StringUtils.isNotBlank(getPrimaryLoginIdentifierClaim())) {
-                            String primaryLoginIdentifier = userClaimValues.get(getPrimaryLoginIdentifierClaim());
-                            if (StringUtils.isNotBlank(primaryLoginIdentifier)) {
-                                attributes.put(SCIMConstants.UserSchemaConstants.USER_NAME_URI,
-                                        primaryLoginIdentifier);
-                            } else {
-                                attributes.put(SCIMConstants.UserSchemaConstants.USER_NAME_URI,
-                                        user.getDomainQualifiedUsername());
-                            }
+                if (!attributes.containsKey(SCIMConstants.CommonSchemaConstants.RESOURCE_TYPE_URI)) {
+                    attributes.put(SCIMConstants.CommonSchemaConstants.RESOURCE_TYPE_URI, SCIMConstants.USER);
+                }
 
+                // Add username with domain name
+                if (mandateDomainForUsernamesAndGroupNamesInResponse()) {
+                    setUserNameWithDomain(userClaimValues, attributes, user);
+                } else {
+                    if (isLoginIdentifiersEnabled() && StringUtils.isNotBlank(getPrimaryLoginIdentifierClaim())) {
+                        String primaryLoginIdentifier = userClaimValues.get(getPrimaryLoginIdentifierClaim());
+                        if (StringUtils.isNotBlank(primaryLoginIdentifier)) {
+                            attributes.put(SCIMConstants.UserSchemaConstants.USER_NAME_URI,
+                                    primaryLoginIdentifier);
                         } else {
                             attributes.put(SCIMConstants.UserSchemaConstants.USER_NAME_URI,
                                     user.getDomainQualifiedUsername());
                         }
+
+                    } else {
+                        attributes.put(SCIMConstants.UserSchemaConstants.USER_NAME_URI,
+                                user.getDomainQualifiedUsername());
                     }
+                }
+                scimEnabledUsers.add(user);
+                attributesOfUsers.add(attributes);
+            } else {
+                if (log.isDebugEnabled()) {
+                    log.debug("SCIM is disabled for the user-store domain : " + userStoreDomainName + ". " +
+                            "Hence user : " + user.getUsername() + " in this domain is excluded in the response.");
+                }
+            }
+        }
 
-                    //construct the SCIM Object from the attributes
-                    scimUser = (User) AttributeMapper.constructSCIMObjectFromAttributes(this, attributes, 1);
+        //construct the SCIM Objects from the attributes
+        List<User> builtSCIMUsers = constructSCIMUsers(scimEnabledUsers, attributesOfUsers);
 
-                    if (isGroupsAttributeRequired(requiredAttributes)) {
+        // Resolve the roles of the whole page at once, and only if the roles are part of the response.
+        boolean isRolesAttributeRequired = isRolesAttributeRequired(requiredAttributes);
+        Map<String, List<RoleBasicInfo>> roleV2ListOfUsers = new HashMap<>();
+        Map<String, List<String>> hybridRolesOfUsers = new HashMap<>();
+        try {
+            if (isRolesAttributeRequired && !CarbonConstants.ENABLE_LEGACY_AUTHZ_RUNTIME &&
+                    (IdentityUtil.isGroupsVsRolesSeparationImprovementsEnabled() ||
+                            carbonUM.isRoleAndGroupSeparationEnabled())) {
+                roleV2ListOfUsers = getRoleV2ListOfUsers(scimEnabledUsers);
+            } else if (isRolesAttributeRequired && !IdentityUtil.isGroupsVsRolesSeparationImprovementsEnabled() &&
+                    carbonUM.isRoleAndGroupSeparationEnabled()) {
+                hybridRolesOfUsers = getUserRolesResolver().getHybridRolesOfUsers(scimEnabledUsers, carbonUM);
+            }
+        } catch (org.wso2.carbon.user.core.UserStoreException e) {
+            throw resolveError(e, "Error in getting the roles of the users.");
+        }
 
-                        // Get groups of user and add it as groups attribute.
-                        List<String> roleList = usersRoles.get(user.getUserID());
-                        List<String> groupsList = new ArrayList<>();
-                        if (isNotEmpty(roleList)) {
-                            groupsList = new ArrayList<>(roleList);
-                        } else {
-                            if (log.isDebugEnabled()) {
-                                log.debug(String.format("Roles not found for user %s with id %s .",
-                                        user.getFullQualifiedUsername(), user.getUserID()));
-                            }
-                        }
+        Map<String, Group> groupMetaAttributesCache = new HashMap<>();
+        for (int i = 0; i < scimEnabledUsers.size(); i++) {
+            org.wso2.carbon.user.core.common.User user = scimEnabledUsers.get(i);
+            String userStoreDomainName = user.getUserStoreDomain();
+            User scimUser = builtSCIMUsers.get(i);
+            try {
+                if (isGroupsAttributeRequired(requiredAttributes)) {
 
-                        if (!IdentityUtil.isGroupsVsRolesSeparationImprovementsEnabled()) {
-                            if (carbonUM.isRoleAndGroupSeparationEnabled()) {
-                                // Remove roles, if the role and group separation feature is enabled.
-                                groupsList.removeIf(SCIMCommonUtils::isHybridRole);
-                            }
+                    // Get groups of user and add it as groups attribute.
+                    List<String> roleList = usersRoles.get(user.getUserID());
+                    List<String> groupsList = new ArrayList<>();
+                    if (isNotEmpty(roleList)) {
+                        groupsList = new ArrayList<>(roleList);
+                    } else {
+                        if (log.isDebugEnabled()) {
+                            log.debug(String.format("Roles not found for user %s with id %s .",
+                                    user.getFullQualifiedUsername(), user.getUserID()));
                         }
+                    }
 
-                        for (String group : groupsList) {
-                            if (UserCoreUtil.isEveryoneRole(group, carbonUM.getRealmConfiguration())
-                                    || CarbonConstants.REGISTRY_ANONNYMOUS_ROLE_NAME.equalsIgnoreCase(group)) {
-                                // Carbon specific roles do not possess SCIM info, hence skipping them.
-                                continue;
-                            }
-
-                            Group groupObject = groupMetaAttributesCache.get(group);
-                            if (groupObject == null && !groupMetaAttributesCache.containsKey(group)) {
-                                org.wso2.carbon.user.core.common.Group userGroup =
-                                        carbonUM.getGroupByGroupName(UserCoreUtil.addDomainToName(group,
-                                                userStoreDomainName), null);
-                                groupObject = buildGroup(userGroup);
-                                groupMetaAttributesCache.put(group, groupObject);
-                            }
-                            if (groupObject != null && isFilteringEnhancementsEnabled()) {
-                                groupObject.setDisplayName(prependDomain(group));
-                            }
-                            if (groupObject != null) { // Can be null for non SCIM groups.
-                                scimUser.setGroup(null, groupObject);
-                            }
+                    if (!IdentityUtil.isGroupsVsRolesSeparationImprovementsEnabled()) {
+                        if (carbonUM.isRoleAndGroupSeparationEnabled()) {
+                            // Remove roles, if the role and group separation feature is enabled.
+                            groupsList.removeIf(SCIMCommonUtils::isHybridRole);
                         }
                     }
 
-                    // Set the roles attribute if the the role and group separation feature is enabled.
-                    if (IdentityUtil.isGroupsVsRolesSeparationImprovementsEnabled()) {
-                        List<String> rolesList = getRoles(searchEntries, user);
-                        setRolesOfUser(rolesList, groupMetaAttributesCache, user, scimUser);
-                    } else if (carbonUM.isRoleAndGroupSeparationEnabled()) {
-                        List<String> rolesList = carbonUM.getHybridRoleListOfUser(user.getUsername(),
-                                user.getUserStoreDomain());
-                        setRolesOfUser(rolesList, groupMetaAttributesCache, user, scimUser);
-                    }
+                    for (String group : groupsList) {
+                        if (UserCoreUtil.isEveryoneRole(group, carbonUM.getRealmConfiguration())
+                                || CarbonConstants.REGISTRY_ANONNYMOUS_ROLE_NAME.equalsIgnoreCase(group)) {
+                            // Carbon specific roles do not possess SCIM info, hence skipping them.
+                            continue;
+                        }
 
-                } catch (UserStoreException e) {
-                    throw resolveError(e, "Error in getting user information for user: " +
-                            maskIfRequired(user.getUsername()));
-                } catch (CharonException | NotFoundException | IdentitySCIMException | BadRequestException e) {
-                    throw new CharonException("Error in getting user information for user: " +
-                            maskIfRequired(user.getUsername()), e);
+                        Group groupObject = groupMetaAttributesCache.get(group);
+                        if (groupObject == null && !groupMetaAttributesCache.containsKey(group)) {
+                            org.wso2.carbon.user.core.common.Group userGroup =
+                                    userStore().getGroupByGroupName(UserCoreUtil.addDomainToName(group,
+                                            userStoreDomainName), null);
+                            groupObject = buildGroup(userGroup);
+                            groupMetaAttributesCache.put(group, groupObject);
+                        }
+                        if (groupObject != null && isFilteringEnhancementsEnabled()) {
+                            groupObject.setDisplayName(prependDomain(group));
+                        }
+                        if (groupObject != null) { // Can be null for non SCIM groups.
+                            scimUser.setGroup(null, groupObject);
+                        }
+                    }
                 }
 
-                if (scimUser != null) {
-                    scimUsers.add(scimUser);
-                }
-            } else {
-                if (log.isDebugEnabled()) {
-                    log.debug("SCIM is disabled for the user-store domain : " + userStoreDomainName + ". " +
-                            "Hence user : " + user.getUsername() + " in this domain is excluded in the response.");
+                // Set the roles attribute if the the role and group separation feature is enabled.
+                if (isRolesAttributeRequired && IdentityUtil.isGroupsVsRolesSeparationImprovementsEnabled()) {
+                    List<String> rolesList = getRoles(searchEntriesByUserId, user);
+                    setRolesOfUser(rolesList, roleV2ListOfUsers.get(user.getUserID()), groupMetaAttributesCache,
+                            user, scimUser);
+                } else if (isRolesAttributeRequired && carbonUM.isRoleAndGroupSeparationEnabled()) {
+                    List<String> rolesList = hybridRolesOfUsers.get(user.getUserID());
+                    setRolesOfUser(rolesList != null ? rolesList : new ArrayList<>(),
+                            roleV2ListOfUsers.get(user.getUserID()), groupMetaAttributesCache, user, scimUser);
                 }
+
+            } catch (UserStoreException e) {
+                throw resolveError(e, "Error in getting user information for user: " +
+                        maskIfRequired(user.getUsername()));
+            } catch (CharonException | IdentitySCIMException | BadRequestException e) {
+                throw new CharonException("Error in getting user information for user: " +
+                        maskIfRequired(user.getUsername()), e);
+            }
+
+            if (scimUser != null) {
+                scimUsers.add(scimUser);
             }
         }
         if (removeDuplicateUsersInUsersResponseEnabled) {
@@ -4417,6 +5102,45 @@ public class SCIMUserManager implements UserManager {
         return scimUserSet;
     }
 
+    /**
+     * Construct the SCIM user objects from the given attributes of the users. If the page is large enough and a user
+     * build executor is available, the page is split into chunks which are built in parallel. The order of the
+     * returned users is the same as the order of the given attributes.
+     *
+     * @param users             Users to be built.
+     * @param attributesOfUsers SCIM attributes of each user, in the same order as the users.
+     * @return List of SCIM users.
+     * @throws CharonException If an error occurred while building a SCIM user.
+     */
+    private List<User> constructSCIMUsers(List<org.wso2.carbon.user.core.common.User> users,
+                                          List<Map<String, String>> attributesOfUsers) throws CharonException {
+
+        List<User> scimUsers = new ArrayList<>(attributesOfUsers.size());
+        for (List<User> scimUsersOfChunk : getChunkedPageProcessor().process(attributesOfUsers.size(),
+                (from, to) -> constructSCIMUsers(users, attributesOfUsers, from, to), CharonException.class,
+                CharonException::new)) {
+            scimUsers.addAll(scimUsersOfChunk);
+        }
+        return scimUsers;
+    }
+
+    private List<User> constructSCIMUsers(List<org.wso2.carbon.user.core.common.User> users,
+                                          List<Map<String, String>> attributesOfUsers, int from, int to)
+            throws CharonException {
+
+        List<User> scimUsers = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            try {
+                scimUsers.add((User) AttributeMapper.constructSCIMObjectFromAttributes(this,
+                        attributesOfUsers.get(i), 1));
+            } catch (CharonException | NotFoundException | BadRequestException e) {
+                throw new CharonException("Error in getting user information for user: " +
+                        maskIfRequired(users.get(i).getUsername()), e);
+            }
+        }
+        return scimUsers;
+    }
+
     private void setRolesOfUser(List<String> rolesOfUser, Map<String, Group> groupMetaAttributesCache,
                                  org.wso2.carbon.user.core.common.User user,
                                 User scimUser) throws org.wso2.carbon.user.core.UserStoreException, CharonException,
@@ -4449,18 +5173,10 @@ public class SCIMUserManager implements UserManager {
             }
         } else {
             try {
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 List<RoleBasicInfo> roles = SCIMCommonComponentHolder.getRoleManagementServiceV2()
                         .getRoleListOfUser(user.getUserID(), tenantDomain);
-                for (RoleBasicInfo roleBasicInfo : roles) {
-                    RoleV2 role = new RoleV2();
-                    role.setDisplayName(roleBasicInfo.getName());
-                    role.setId(roleBasicInfo.getId());
-                    String location = SCIMCommonUtils.getSCIMRoleV2URL(roleBasicInfo.getId());
-                    role.setLocation(location);
-                    role.setAudience(roleBasicInfo.getAudienceId(), roleBasicInfo.getAudienceName(),
-                            roleBasicInfo.getAudience());
-                    scimUser.setRoleV2(role);
-                }
+                setRoleV2ListOfUser(roles, scimUser);
             } catch (IdentityRoleManagementException e) {
                 if (log.isDebugEnabled()) {
                     log.debug("Failed to retrieve roles for user : " + user.getUserID(), e);
@@ -4469,6 +5185,80 @@ public class SCIMUserManager implements UserManager {
         }
     }
 
+    /**
+     * Set the roles of a user of a listing page. The roles of all the users of the page are resolved beforehand, hence
+     * no role lookup is done per user.
+     *
+     * @param rolesOfUser              Hybrid roles of the user, used with the legacy authorization runtime.
+     * @param roleV2ListOfUser         Roles of the user from the role management service. Null if the roles of the
+     *                                 user could not be retrieved.
+     * @param groupMetaAttributesCache Group meta attributes resolved for the page.
+     * @param scimUser                 SCIM user.
+     */
+    private void setRolesOfUser(List<String> rolesOfUser, List<RoleBasicInfo> roleV2ListOfUser,
+                                Map<String, Group> groupMetaAttributesCache, org.wso2.carbon.user.core.common.User user,
+                                User scimUser) throws org.wso2.carbon.user.core.UserStoreException, CharonException,
+            IdentitySCIMException, BadRequestException {
+
+        if (CarbonConstants.ENABLE_LEGACY_AUTHZ_RUNTIME) {
+            setRolesOfUser(rolesOfUser, groupMetaAttributesCache, user, scimUser);
+        } else if (roleV2ListOfUser != null) {
+            setRoleV2ListOfUser(roleV2ListOfUser, scimUser);
+        }
+    }
+
+    private void setRoleV2ListOfUser(List<RoleBasicInfo> roles, User scimUser) throws CharonException,
+            BadRequestException {
+
+        for (RoleBasicInfo roleBasicInfo : roles) {
+            RoleV2 role = new RoleV2();
+            role.setDisplayName(roleBasicInfo.getName());
+            role.setId(roleBasicInfo.getId());
+            String location = SCIMCommonUtils.getSCIMRoleV2URL(roleBasicInfo.getId());
+            role.setLocation(location);
+            role.setAudience(roleBasicInfo.getAudienceId(), roleBasicInfo.getAudienceName(),
+                    roleBasicInfo.getAudience());
+            scimUser.setRoleV2(role);
+        }
+    }
+
+    /**
+     * Resolve the roles of the users of a listing page with the role management service.
+     *
+     * @param users Users of the page.
+     * @return Roles keyed by the user ID.
+     */
+    private Map<String, List<RoleBasicInfo>> getRoleV2ListOfUsers(List<org.wso2.carbon.user.core.common.User> users)
+            throws org.wso2.carbon.user.core.UserStoreException {
+
+        return getUserRolesResolver().getRolesOfUsers(users, SCIMCommonComponentHolder.getRoleManagementServiceV2(),
+                tenantDomain);
+    }
+
+    private UserRolesResolver getUserRolesResolver() {
+
+        return new UserRolesResolver(getChunkedPageProcessor());
+    }
+
+    private ChunkedPageProcessor getChunkedPageProcessor() {
+
+        return new ChunkedPageProcessor(SCIMCommonComponentHolder.getUserBuildExecutorService(),
+                SCIMCommonUtils.getSCIMUserBuildThreadPoolSize(), SCIMCommonUtils.getSCIMUserBuildParallelThreshold());
+    }
+
+    /**
+     * Get the user store manager to invoke a user store operation on. Every user store operation of the user manager
+     * is invoked on the returned user store manager, so that the call is counted where it is actually made. Reading
+     * the configuration of the user store manager, e.g. its realm configuration or secondary user store managers,
+     * does not reach the user store and is done on carbonUM directly.
+     *
+     * @return User store manager of the user manager.
+     */
+    private AbstractUserStoreManager userStore() {
+
+        return SCIMMetrics.countUserStoreCall(carbonUM);
+    }
+
     /**
      * Get group with only meta attributes.
      *
@@ -4555,7 +5345,7 @@ public class SCIMUserManager implements UserManager {
 
         // Requested attributes are handled from Charon. Therefore we can retrieve the group with meta.
         org.wso2.carbon.user.core.common.Group retrievedGroup =
-                carbonUM.getGroup(groupId, null);
+                userStore().getGroup(groupId, null);
         // Validate the group group retrieved from the user core.
         if (retrievedGroup == null || StringUtils.isBlank(retrievedGroup.getGroupName())) {
             if (log.isDebugEnabled()) {
@@ -4592,7 +5382,7 @@ public class SCIMUserManager implements UserManager {
         }
         // Requested attributes are handled from Charon. Therefore we can retrieve the group with meta.
         org.wso2.carbon.user.core.common.Group retrievedGroup =
-                carbonUM.getGroupByGroupName(groupName, null);
+                userStore().getGroupByGroupName(groupName, null);
         if (retrievedGroup == null) {
             throw new org.wso2.carbon.user.core.UserStoreException("No group found with the name: " + groupName);
         }
@@ -4618,40 +5408,57 @@ public class SCIMUserManager implements UserManager {
             CharonException, BadRequestException {
 
         String groupName = group.getDisplayName();
-        List<org.wso2.carbon.user.core.common.User> coreUsers = carbonUM.getUserListOfRoleWithID(groupName);
+        List<org.wso2.carbon.user.core.common.User> coreUsers = userStore().getUserListOfRoleWithID(groupName);
 
         // Get the ids of the users and set them in the group with id + display name.
         if (coreUsers != null && coreUsers.size() != 0) {
-            for (org.wso2.carbon.user.core.common.User coreUser : coreUsers) {
-                String userId = coreUser.getUserID();
-                String userName;
-                String primaryLoginIdentifier;
-                if (isLoginIdentifiersEnabled() && StringUtils.isNotBlank(getPrimaryLoginIdentifierClaim()) &&
-                        StringUtils.isNotBlank(primaryLoginIdentifier = carbonUM.getUserClaimValue(
-                                coreUser.getUsername(), getPrimaryLoginIdentifierClaim(), null))) {
-                    userName = getDomainQualifiedUsername(primaryLoginIdentifier, coreUser);
-                } else {
-                    userName = coreUser.getDomainQualifiedUsername();
+            String primaryLoginIdentifierClaim = isLoginIdentifiersEnabled() ? getPrimaryLoginIdentifierClaim() : null;
+            GroupMemberResolver memberResolver = new GroupMemberResolver(carbonUM);
+            int batchSize = Math.max(1, SCIMCommonUtils.getGroupMemberClaimBatchSize());
+            /*
+             * Members are added batch by batch, so that the primary login identifiers of only one batch are held at
+             * a time and are read with a single user store call per batch.
+             */
+            for (int from = 0; from < coreUsers.size(); from += batchSize) {
+                List<org.wso2.carbon.user.core.common.User> batch =
+                        coreUsers.subList(from, Math.min(from + batchSize, coreUsers.size()));
+                Map<String, String> primaryLoginIdentifiers = Collections.emptyMap();
+                if (StringUtils.isNotBlank(primaryLoginIdentifierClaim)) {
+                    primaryLoginIdentifiers = memberResolver.resolveClaimValuesOfUsers(batch,
+                            primaryLoginIdentifierClaim);
                 }
-                if (mandateDomainForUsernamesAndGroupNamesInResponse()) {
-                    if (isLoginIdentifiersEnabled() && StringUtils.isNotBlank(getPrimaryLoginIdentifierClaim()) &&
-                            StringUtils.isNotBlank(primaryLoginIdentifier = carbonUM.getUserClaimValue(
-                                    coreUser.getUsername(), getPrimaryLoginIdentifierClaim(), null))) {
-                        userName = prependDomain(primaryLoginIdentifier);
-                    } else {
-                        userName = prependDomain(userName);
-                    }
+                for (org.wso2.carbon.user.core.common.User coreUser : batch) {
+                    group.setMember(buildGroupMember(coreUser, primaryLoginIdentifiers.get(coreUser.getUserID())));
                 }
-                String locationURI = SCIMCommonUtils.getSCIMUserURL(userId);
-                User user = new User();
-                user.setUserName(userName);
-                user.setId(userId);
-                user.setLocation(locationURI);
-                group.setMember(user);
             }
         }
     }
 
+    private User buildGroupMember(org.wso2.carbon.user.core.common.User coreUser, String primaryLoginIdentifier)
+            throws CharonException, BadRequestException {
+
+        String userId = coreUser.getUserID();
+        String userName;
+        if (StringUtils.isNotBlank(primaryLoginIdentifier)) {
+            userName = getDomainQualifiedUsername(primaryLoginIdentifier, coreUser);
+        } else {
+            userName = coreUser.getDomainQualifiedUsername();
+        }
+        if (mandateDomainForUsernamesAndGroupNamesInResponse()) {
+            if (StringUtils.isNotBlank(primaryLoginIdentifier)) {
+                userName = prependDomain(primaryLoginIdentifier);
+            } else {
+                userName = prependDomain(userName);
+            }
+        }
+        String locationURI = SCIMCommonUtils.getSCIMUserURL(userId);
+        User user = new User();
+        user.setUserName(userName);
+        user.setId(userId);
+        user.setLocation(locationURI);
+        return user;
+    }
+
     /**
      * Set roles for the given group.
      *
@@ -4667,8 +5474,8 @@ public class SCIMUserManager implements UserManager {
         String groupName = group.getDisplayName();
         Map<String, Group> groupMetaAttributesCache = new HashMap<>();
         if (CarbonConstants.ENABLE_LEGACY_AUTHZ_RUNTIME) {
-            List<String> rolesOfGroup = carbonUM.getHybridRoleListOfGroup(UserCoreUtil.removeDomainFromName(groupName),
-                    UserCoreUtil.extractDomainFromName(groupName));
+            List<String> rolesOfGroup = userStore().getHybridRoleListOfGroup(
+                    UserCoreUtil.removeDomainFromName(groupName), UserCoreUtil.extractDomainFromName(groupName));
             // Add roles of group.
             for (String roleName : rolesOfGroup) {
                 if (CarbonConstants.REGISTRY_ANONNYMOUS_ROLE_NAME.equalsIgnoreCase(roleName)) {
@@ -4697,6 +5504,7 @@ public class SCIMUserManager implements UserManager {
             try {
                 List<String> groups = new ArrayList<>();
                 groups.add(group.getId());
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
                 List<RoleBasicInfo> roles = SCIMCommonComponentHolder.getRoleManagementServiceV2()
                         .getRoleListOfGroups(groups, tenantDomain);
                 for (RoleBasicInfo roleBasicInfo : roles) {
@@ -4915,7 +5723,7 @@ public class SCIMUserManager implements UserManager {
         Set<org.wso2.carbon.user.core.common.User> users = new HashSet<>();
         if (roleNames != null) {
             for (String roleName : roleNames) {
-                users.addAll(new HashSet<>(carbonUM.getUserListOfRoleWithID(roleName)));
+                users.addAll(new HashSet<>(userStore().getUserListOfRoleWithID(roleName)));
             }
         }
         return users;
@@ -4927,7 +5735,7 @@ public class SCIMUserManager implements UserManager {
         Set<org.wso2.carbon.user.core.common.User> users = new HashSet<>();
         if (groupNames != null) {
             for (String groupName : groupNames) {
-                users.addAll(new HashSet<>(carbonUM.getUserListOfGroupWithID(groupName)));
+                users.addAll(new HashSet<>(userStore().getUserListOfGroupWithID(groupName)));
             }
         }
         return users;
@@ -5101,9 +5909,10 @@ public class SCIMUserManager implements UserManager {
             return filterHybridRoles(domain, searchAttribute);
         } else if (StringUtils.isEmpty(domain)) {
             // When domain is empty filter through all the domains.
-            return Arrays.asList(carbonUM.getRoleNames(searchAttribute, MAX_ITEM_LIMIT_UNLIMITED, false, true, true));
+            return Arrays.asList(userStore().getRoleNames(searchAttribute, MAX_ITEM_LIMIT_UNLIMITED, false, true,
+                    true));
         } else {
-            return Arrays.asList(carbonUM.getRoleNames(searchAttribute, MAX_ITEM_LIMIT_UNLIMITED, true, true, true));
+            return Arrays.asList(userStore().getRoleNames(searchAttribute, MAX_ITEM_LIMIT_UNLIMITED, true, true, true));
         }
     }
 
@@ -5144,7 +5953,7 @@ public class SCIMUserManager implements UserManager {
             log.debug(String.format("Filtering userNames from search attribute: %s", searchAttribute));
         }
 
-        return new HashSet<>(carbonUM.getUserListWithID(attributeNameInLocalDialect, searchAttribute,
+        return new HashSet<>(userStore().getUserListWithID(attributeNameInLocalDialect, searchAttribute,
                 UserCoreConstants.DEFAULT_PROFILE));
     }
 
@@ -5194,7 +6003,7 @@ public class SCIMUserManager implements UserManager {
             // Get the roles of the users.
             Set<String> fullRoleList = new HashSet<>();
             for (org.wso2.carbon.user.core.common.User user : userList) {
-                fullRoleList.addAll(carbonUM.getRoleListOfUserWithID(user.getUserID()));
+                fullRoleList.addAll(userStore().getRoleListOfUserWithID(user.getUserID()));
             }
 
             List<String> roles = new ArrayList<>(fullRoleList);
@@ -5205,7 +6014,7 @@ public class SCIMUserManager implements UserManager {
             return roles;
         } else {
             List<org.wso2.carbon.user.core.common.Group> groupList =
-                    carbonUM.listGroups(buildExpressionCondition(attributeName, filterOperation, attributeValue),
+                    userStore().listGroups(buildExpressionCondition(attributeName, filterOperation, attributeValue),
                             domainName, UserCoreConstants.MAX_USER_ROLE_LIST, 0, null, null);
             if (CollectionUtils.isEmpty(groupList)) {
                 return new ArrayList<>();
@@ -5316,25 +6125,43 @@ public class SCIMUserManager implements UserManager {
     /**
      * Check whether claim is an immutable claim.
      *
-     * @param claim claim URI.
+     * @param claim           claim URI.
+     * @param immutableClaims Local claims mapped to the immutable SCIM attributes of the tenant.
      * @return
      */
-    private boolean isImmutableClaim(String claim) throws UserStoreException {
+    private boolean isImmutableClaim(String claim, Set<String> immutableClaims) {
 
-        Map<String, String> claimMappings = SCIMCommonUtils.getSCIMtoLocalMappings();
-
-        return claim.equals(claimMappings.get(SCIMConstants.CommonSchemaConstants.ID_URI)) ||
-                claim.equals(claimMappings.get(SCIMConstants.UserSchemaConstants.USER_NAME_URI)) ||
-                claim.equals(claimMappings.get(SCIMConstants.UserSchemaConstants.ROLES_URI + "."
-                        + SCIMConstants.DEFAULT)) ||
-                claim.equals(claimMappings.get(SCIMConstants.CommonSchemaConstants.CREATED_URI)) ||
-                claim.equals(claimMappings.get(SCIMConstants.CommonSchemaConstants.LAST_MODIFIED_URI)) ||
-                claim.equals(claimMappings.get(SCIMConstants.CommonSchemaConstants.LOCATION_URI)) ||
-                claim.equals(claimMappings.get(SCIMConstants.UserSchemaConstants.FAMILY_NAME_URI)) ||
-                claim.equals(claimMappings.get(SCIMConstants.UserSchemaConstants.GROUP_URI)) ||
+        return immutableClaims.contains(claim) ||
                 claim.contains(UserCoreConstants.ClaimTypeURIs.IDENTITY_CLAIM_URI_PREFIX);
     }
 
+    /**
+     * Remove the given claims of the user with a single user store call. Immutable claims are not removed.
+     *
+     * @param user                  {@link User} object.
+     * @param userClaimsToBeDeleted Claims to be removed.
+     * @return True if any claim was removed.
+     * @throws UserStoreException Error while accessing the user store.
+     */
+    private boolean deleteUserClaims(User user, Map<String, String> userClaimsToBeDeleted) throws UserStoreException {
+
+        if (MapUtils.isEmpty(userClaimsToBeDeleted)) {
+            return false;
+        }
+        Set<String> immutableClaims = SCIMCommonUtils.getImmutableLocalClaims();
+        List<String> claimsToBeDeleted = new ArrayList<>();
+        for (String claim : userClaimsToBeDeleted.keySet()) {
+            if (!isImmutableClaim(claim, immutableClaims)) {
+                claimsToBeDeleted.add(claim);
+            }
+        }
+        if (claimsToBeDeleted.isEmpty()) {
+            return false;
+        }
+        userStore().deleteUserClaimValuesWithID(user.getId(), claimsToBeDeleted.toArray(new String[0]), null);
+        return true;
+    }
+
     /**
      * Get the local claims mapped to the required scim claims.
      */
@@ -5388,15 +6215,14 @@ public class SCIMUserManager implements UserManager {
         }
 
         // Remove user claims.
-        for (Map.Entry<String, String> entry : userClaimsToBeDeleted.entrySet()) {
-            if (!isImmutableClaim(entry.getKey())) {
-                carbonUM.deleteUserClaimValueWithID(user.getId(), entry.getKey(), null);
-            }
-        }
+        boolean isClaimsDeleted = deleteUserClaims(user, userClaimsToBeDeleted);
 
         // Update user claims.
         userClaimsToBeModified.putAll(userClaimsToBeAdded);
-        carbonUM.setUserClaimValuesWithID(user.getId(), userClaimsToBeModified, null);
+        // The user is still updated if only claims were removed, so that the last modified time of the user is set.
+        if (isClaimsDeleted || MapUtils.isNotEmpty(userClaimsToBeModified)) {
+            userStore().setUserClaimValuesWithID(user.getId(), userClaimsToBeModified, null);
+        }
     }
 
     /**
@@ -5472,20 +6298,19 @@ public class SCIMUserManager implements UserManager {
         }
 
         // Remove user claims.
-        for (Map.Entry<String, String> entry : userClaimsToBeDeleted.entrySet()) {
-            if (!isImmutableClaim(entry.getKey())) {
-                carbonUM.deleteUserClaimValueWithID(user.getId(), entry.getKey(), null);
-            }
-        }
+        boolean isClaimsDeleted = deleteUserClaims(user, userClaimsToBeDeleted);
 
         // Update user claims.
         userClaimsToBeModified.putAll(userClaimsToBeAdded);
         if (MapUtils.isEmpty(simpleMultiValuedClaimsToBeAdded) &&
                 MapUtils.isEmpty(simpleMultiValuedClaimsToBeRemoved)) {
-            // If no multi-valued attribute is modified.
-            carbonUM.setUserClaimValuesWithID(user.getId(), userClaimsToBeModified, null);
+            // If no multi-valued attribute is modified. The user is still updated if only claims were removed, so that
+            // the last modified time of the user is set.
+            if (isClaimsDeleted || MapUtils.isNotEmpty(userClaimsToBeModified)) {
+                userStore().setUserClaimValuesWithID(user.getId(), userClaimsToBeModified, null);
+            }
         } else {
-            carbonUM.setUserClaimValuesWithID(user.getId(), convertClaimValuesToList(oldClaimList),
+            userStore().setUserClaimValuesWithID(user.getId(), convertClaimValuesToList(oldClaimList),
                     simpleMultiValuedClaimsToBeAdded, simpleMultiValuedClaimsToBeRemoved,
                     convertClaimValuesToList(userClaimsToBeModified), null);
         }
@@ -5523,9 +6348,9 @@ public class SCIMUserManager implements UserManager {
             throws org.wso2.carbon.user.core.UserStoreException, CharonException {
 
         if (StringUtils.isNotEmpty(user.getId())) {
-            return carbonUM.isExistingUserWithID(user.getId());
+            return userStore().isExistingUserWithID(user.getId());
         } else {
-            return carbonUM.isExistingUser(user.getUserName());
+            return userStore().isExistingUser(user.getUserName());
         }
     }
 
@@ -5542,7 +6367,7 @@ public class SCIMUserManager implements UserManager {
 
         List<String> roleList = new ArrayList<>();
         // Get filtered hybrid roles by passing noInternalRoles=false.
-        String[] hybridRoles = ((AbstractUserStoreManager) carbonUM)
+        String[] hybridRoles = userStore()
                 .getRoleNames(searchAttribute, MAX_ITEM_LIMIT_UNLIMITED, false, true, true);
         // Iterate through received hybrid roles and filter out specific hybrid role
         // domain(Application or Internal) values.
@@ -5669,6 +6494,12 @@ public class SCIMUserManager implements UserManager {
     @Override
     public List<Attribute> getCoreSchema() throws CharonException {
 
+        List<Attribute> cachedCoreSchemaAttributes =
+                getSchemaAttributesFromCache(SCIMCommonConstants.SCIM_CORE_CLAIM_DIALECT);
+        if (cachedCoreSchemaAttributes != null) {
+            return cachedCoreSchemaAttributes;
+        }
+
         Map<ExternalClaim, LocalClaim> scimClaimToLocalClaimMap =
                 getMappedLocalClaimsForDialect(SCIMCommonConstants.SCIM_CORE_CLAIM_DIALECT, tenantDomain);
         Map<String, Attribute> filteredFlatAttributeMap = getFilteredSchemaAttributes(scimClaimToLocalClaimMap);
@@ -5679,13 +6510,18 @@ public class SCIMUserManager implements UserManager {
         if (log.isDebugEnabled()) {
             logSchemaAttributes(coreSchemaAttributesList);
         }
-
-        return coreSchemaAttributesList;
+        return addSchemaAttributesToCache(SCIMCommonConstants.SCIM_CORE_CLAIM_DIALECT, coreSchemaAttributesList);
     }
 
     @Override
     public List<Attribute> getUserSchema() throws CharonException {
 
+        List<Attribute> cachedUserSchemaAttributes =
+                getSchemaAttributesFromCache(SCIMCommonConstants.SCIM_USER_CLAIM_DIALECT);
+        if (cachedUserSchemaAttributes != null) {
+            return cachedUserSchemaAttributes;
+        }
+
         Map<ExternalClaim, LocalClaim> scimClaimToLocalClaimMap =
                 getMappedLocalClaimsForDialect(SCIMCommonConstants.SCIM_USER_CLAIM_DIALECT, tenantDomain);
 
@@ -5697,8 +6533,7 @@ public class SCIMUserManager implements UserManager {
         if (log.isDebugEnabled()) {
             logSchemaAttributes(userSchemaAttributesList);
         }
-
-        return userSchemaAttributesList;
+        return addSchemaAttributesToCache(SCIMCommonConstants.SCIM_USER_CLAIM_DIALECT, userSchemaAttributesList);
     }
 
     /**
@@ -5713,6 +6548,12 @@ public class SCIMUserManager implements UserManager {
         List<Attribute> enterpriseUserSchemaAttributesList = null;
 
         if (SCIMCommonUtils.isEnterpriseUserExtensionEnabled()) {
+            List<Attribute> cachedEnterpriseUserSchemaAttributes =
+                    getSchemaAttributesFromCache(SCIMCommonConstants.SCIM_ENTERPRISE_USER_CLAIM_DIALECT);
+            if (cachedEnterpriseUserSchemaAttributes != null) {
+                return cachedEnterpriseUserSchemaAttributes;
+            }
+
             Map<ExternalClaim, LocalClaim> scimClaimToLocalClaimMap =
                     getMappedLocalClaimsForDialect(SCIMCommonConstants.SCIM_ENTERPRISE_USER_CLAIM_DIALECT,
                             tenantDomain);
@@ -5727,6 +6568,8 @@ public class SCIMUserManager implements UserManager {
             if (log.isDebugEnabled()) {
                 logSchemaAttributes(enterpriseUserSchemaAttributesList);
             }
+            enterpriseUserSchemaAttributesList = addSchemaAttributesToCache(
+                    SCIMCommonConstants.SCIM_ENTERPRISE_USER_CLAIM_DIALECT, enterpriseUserSchemaAttributesList);
         } else {
             if (log.isDebugEnabled()) {
                 log.debug("Enterprise user schema support disabled.");
@@ -5755,8 +6598,11 @@ public class SCIMUserManager implements UserManager {
 
             if (externalClaimList != null && localClaimList != null) {
 
+                Map<String, LocalClaim> localClaimsByURI = new HashMap<>();
+                localClaimList.forEach(localClaim -> localClaimsByURI.putIfAbsent(localClaim.getClaimURI(),
+                        localClaim));
                 externalClaimList.forEach(externalClaim ->
-                        getMappedLocalClaim(externalClaim, localClaimList)
+                        getMappedLocalClaim(externalClaim, localClaimsByURI)
                                 .ifPresent(mappedLocalClaim -> externalClaimLocalClaimMap.put(externalClaim,
                                         mappedLocalClaim)));
             }
@@ -5771,18 +6617,42 @@ public class SCIMUserManager implements UserManager {
      * Get mapped local claim for specified external claim.
      *
      * @param externalClaim
-     * @param localClaimList
+     * @param localClaimsByURI Local claims keyed by the claim URI.
      * @return
      */
-    private Optional<LocalClaim> getMappedLocalClaim(ExternalClaim externalClaim, List<LocalClaim> localClaimList) {
+    private Optional<LocalClaim> getMappedLocalClaim(ExternalClaim externalClaim,
+                                                     Map<String, LocalClaim> localClaimsByURI) {
 
-        if (localClaimList == null) {
+        if (localClaimsByURI == null || externalClaim.getMappedLocalClaim() == null) {
             return Optional.empty();
         }
 
-        return localClaimList.stream()
-                .filter(localClaim -> localClaim.getClaimURI().equals(externalClaim.getMappedLocalClaim()))
-                .findAny();
+        return Optional.ofNullable(localClaimsByURI.get(externalClaim.getMappedLocalClaim()));
+    }
+
+    /**
+     * Get the schema attributes of the given claim dialect from the schema cache of the tenant.
+     *
+     * @param claimDialect Claim dialect of the schema.
+     * @return Unmodifiable list of the schema attributes or null if the schema is not cached.
+     */
+    private List<Attribute> getSchemaAttributesFromCache(String claimDialect) {
+
+        return SCIMUserSchemaCache.getInstance().getSchemaAttributes(IdentityTenantUtil.getTenantId(tenantDomain),
+                claimDialect);
+    }
+
+    /**
+     * Add the built schema attributes of the given claim dialect to the schema cache of the tenant.
+     *
+     * @param claimDialect     Claim dialect of the schema.
+     * @param schemaAttributes Schema attributes.
+     * @return Unmodifiable list of the cached schema attributes, which is what later cache hits return as well.
+     */
+    private List<Attribute> addSchemaAttributesToCache(String claimDialect, List<Attribute> schemaAttributes) {
+
+        return SCIMUserSchemaCache.getInstance().addSchemaAttributes(IdentityTenantUtil.getTenantId(tenantDomain),
+                claimDialect, schemaAttributes);
     }
 
     /**
@@ -6289,7 +7159,7 @@ public class SCIMUserManager implements UserManager {
 
         String primaryLoginIdentifier;
         if (isLoginIdentifiersEnabled() && StringUtils.isNotBlank(getPrimaryLoginIdentifierClaim()) &&
-                StringUtils.isNotBlank(primaryLoginIdentifier = carbonUM.getUserClaimValue(coreUser.getUsername(),
+                StringUtils.isNotBlank(primaryLoginIdentifier = userStore().getUserClaimValue(coreUser.getUsername(),
                         getPrimaryLoginIdentifierClaim(), null))) {
             if (primaryLoginIdentifier.indexOf(UserCoreConstants.DOMAIN_SEPARATOR) > 0) {
                 return user.equalsIgnoreCase(primaryLoginIdentifier.split(UserCoreConstants.DOMAIN_SEPARATOR)[1]);
@@ -6316,6 +7186,10 @@ public class SCIMUserManager implements UserManager {
 
     private String getMultivaluedAttributeSeparator(String userStoreDomainName) {
 
+        UserStoreDomainTopology.Domain domain = getUserStoreDomain(userStoreDomainName);
+        if (domain != null) {
+            return domain.getMultiAttributeSeparator();
+        }
         String multiValuedAttributeSeparator = ",";
         String claimSeparator = carbonUM.getSecondaryUserStoreManager(userStoreDomainName)
                 .getRealmConfiguration().getUserStoreProperty(MULTI_ATTRIBUTE_SEPARATOR);
@@ -6338,13 +7212,13 @@ public class SCIMUserManager implements UserManager {
         return addDomainToNames(userStoreDomainName, groupsList);
     }
 
-    private List<String> getRoles(List<UniqueIDUserClaimSearchEntry> searchEntries,
+    private List<String> getRoles(Map<String, UniqueIDUserClaimSearchEntry> searchEntriesByUserId,
                                   org.wso2.carbon.user.core.common.User user) throws CharonException {
 
-        // Because user ID is a UUID there is only one match in the search entries, thus safe to use
-        // the `findAny` method with the advantage of a faster search time.
-        UniqueIDUserClaimSearchEntry searchEntry = searchEntries.stream().filter(
-                entry -> entry.getUser().getUserID().equals(user.getUserID())).findAny().get();
+        UniqueIDUserClaimSearchEntry searchEntry = searchEntriesByUserId.get(user.getUserID());
+        if (searchEntry == null || searchEntry.getClaims() == null) {
+            return new ArrayList<>();
+        }
         String roles = searchEntry.getClaims().get(INTERNAL_ROLES_CLAIM);
         List<String> rolesList = new ArrayList<>();
         if (StringUtils.isNotBlank(roles)) {
@@ -6370,7 +7244,10 @@ public class SCIMUserManager implements UserManager {
             }
             return null;
         }
-        List<Attribute> customUserSchemaAttributesList = null;
+        List<Attribute> customUserSchemaAttributesList = getSchemaAttributesFromCache(getCustomSchemaURI());
+        if (customUserSchemaAttributesList != null) {
+            return customUserSchemaAttributesList;
+        }
 
         Map<ExternalClaim, LocalClaim> scimClaimToLocalClaimMap =
                 getMappedLocalClaimsForDialect(getCustomSchemaURI(), tenantDomain);
@@ -6385,7 +7262,7 @@ public class SCIMUserManager implements UserManager {
         if (log.isDebugEnabled()) {
             logSchemaAttributes(customUserSchemaAttributesList);
         }
-        return customUserSchemaAttributesList;
+        return addSchemaAttributesToCache(getCustomSchemaURI(), customUserSchemaAttributesList);
     }
 
     /**
@@ -6570,6 +7447,10 @@ public class SCIMUserManager implements UserManager {
 
         // Filter users when the domain is not set in the request. Then filter through multiple domains.
         String[] userStoreDomainNames = getDomainNames();
+        if (limit > 0 && isParallelDomainSearchApplicable(userStoreDomainNames)) {
+            return filterUsersFromMultipleDomainsInParallel(node, offset, limit, sortBy, sortOrder,
+                    conditionForListingUsers, userStoreDomainNames);
+        }
         int filteredUsersCount = 0;
 
         Condition condition;
@@ -6623,7 +7504,7 @@ public class SCIMUserManager implements UserManager {
                     domainName, limit, offset));
         }
         try {
-            return carbonUM.getUsersCount(condition, domainName, UserCoreConstants.DEFAULT_PROFILE, limit, offset,
+            return userStore().getUsersCount(condition, domainName, UserCoreConstants.DEFAULT_PROFILE, limit, offset,
                     removeDuplicateUsersInUsersResponseEnabled);
         } catch (UserStoreException e) {
             // Sometimes client exceptions are wrapped in the super class.
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.role.v2.mgt.core.RoleManagementService;
+import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementException;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
+import org.wso2.carbon.user.core.UserStoreException;
+import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
+import org.wso2.carbon.user.core.common.User;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the roles of all the users of a listing page at once. Neither the role management service nor the user
+ * store manager exposes the roles of a set of users, hence the roles are read per distinct user of the page, and the
+ * page is split into chunks which are resolved in parallel, with the context of the caller, when it is large enough
+ * and an executor is available.
+ */
+final class UserRolesResolver {
+
+    private static final Log log = LogFactory.getLog(UserRolesResolver.class);
+
+    private final ChunkedPageProcessor chunkedPageProcessor;
+
+    /**
+     * Role lookup performed for a single user.
+     *
+     * @param <T> Type of the roles of a user.
+     */
+    private interface RoleLookup<T> {
+
+        T lookup(User user) throws UserStoreException;
+    }
+
+    /**
+     * @param chunkedPageProcessor Processor used to resolve the roles of the chunks of the page.
+     */
+    UserRolesResolver(ChunkedPageProcessor chunkedPageProcessor) {
+
+        this.chunkedPageProcessor = chunkedPageProcessor;
+    }
+
+    /**
+     * Resolve the roles of the given users from the role management service. Users whose roles could not be
+     * retrieved are not present in the returned map.
+     *
+     * @param users                 Users of the page.
+     * @param roleManagementService Role management service.
+     * @param tenantDomain          Tenant domain of the users.
+     * @return Roles keyed by the user ID.
+     * @throws UserStoreException If the resolution of the roles was interrupted.
+     */
+    Map<String, List<RoleBasicInfo>> getRolesOfUsers(List<User> users, RoleManagementService roleManagementService,
+                                                     String tenantDomain) throws UserStoreException {
+
+        Map<String, List<RoleBasicInfo>> rolesOfUsers = resolve(users, user -> {
+            try {
+                SCIMMetrics.increment(SCIMMetrics.ROLE_SERVICE_CALLS);
+                return roleManagementService.getRoleListOfUser(user.getUserID(), tenantDomain);
+            } catch (IdentityRoleManagementException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Failed to retrieve roles for user : " + user.getUserID(), e);
+                }
+                return null;
+            }
+        });
+        rolesOfUsers.values().removeIf(roles -> roles == null);
+        return rolesOfUsers;
+    }
+
+    /**
+     * Resolve the hybrid roles of the given users from the user store manager.
+     *
+     * @param users            Users of the page.
+     * @param userStoreManager User store manager.
+     * @return Hybrid roles keyed by the user ID.
+     * @throws UserStoreException If an error occurred while reading the roles of a user.
+     */
+    Map<String, List<String>> getHybridRolesOfUsers(List<User> users, AbstractUserStoreManager userStoreManager)
+            throws UserStoreException {
+
+        return resolve(users, user -> {
+            return SCIMMetrics.countUserStoreCall(userStoreManager).getHybridRoleListOfUser(user.getUsername(),
+                    user.getUserStoreDomain());
+        });
+    }
+
+    private <T> Map<String, T> resolve(List<User> users, RoleLookup<T> roleLookup) throws UserStoreException {
+
+        Map<String, User> distinctUsers = new LinkedHashMap<>();
+        for (User user : users) {
+            distinctUsers.putIfAbsent(user.getUserID(), user);
+        }
+        List<User> usersToResolve = new ArrayList<>(distinctUsers.values());
+        Map<String, T> rolesOfUsers = new HashMap<>();
+        for (Map<String, T> rolesOfChunk : chunkedPageProcessor.process(usersToResolve.size(),
+                (from, to) -> resolve(usersToResolve, roleLookup, from, to), UserStoreException.class,
+                UserStoreException::new)) {
+            rolesOfUsers.putAll(rolesOfChunk);
+        }
+        return rolesOfUsers;
+    }
+
+    private <T> Map<String, T> resolve(List<User> users, RoleLookup<T> roleLookup, int from, int to)
+            throws UserStoreException {
+
+        Map<String, T> rolesOfUsers = new HashMap<>();
+        for (int i = from; i < to; i++) {
+            User user = users.get(i);
+            rolesOfUsers.put(user.getUserID(), roleLookup.lookup(user));
+        }
+        return rolesOfUsers;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.scim2.common.utils.CallerContext;
+import org.wso2.charon3.core.exceptions.BadRequestException;
+import org.wso2.charon3.core.exceptions.CharonException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a search against a set of user store domains concurrently and gathers the results in the order of the given
+ * domains. The first domain is searched in the caller thread while the rest are searched in the given executor. The
+ * executor is expected to hand a search over to a thread directly, or to run it in the caller thread when there is no
+ * free thread, so that the domain search timeout is not spent waiting in a queue. A domain that does not complete
+ * within the timeout fails the whole search, since leaving it out would return an incomplete result as if it were
+ * complete. The search of such a domain is not interrupted, as interrupting a user store call may leave its
+ * connection in an unusable state.
+ */
+final class UserStoreDomainScatterGather {
+
+    private static final Log log = LogFactory.getLog(UserStoreDomainScatterGather.class);
+
+    private final ExecutorService executorService;
+    private final long domainSearchTimeout;
+
+    /**
+     * Search performed against a single user store domain.
+     *
+     * @param <T> Type of the search result.
+     */
+    interface DomainSearch<T> {
+
+        T search(String domainName) throws CharonException, BadRequestException;
+    }
+
+    /**
+     * @param executorService     Executor used to search the domains other than the first one. If null, the domains
+     *                            are searched one after the other in the caller thread.
+     * @param domainSearchTimeout Timeout of a domain search in milliseconds.
+     */
+    UserStoreDomainScatterGather(ExecutorService executorService, long domainSearchTimeout) {
+
+        this.executorService = executorService;
+        this.domainSearchTimeout = domainSearchTimeout;
+    }
+
+    /**
+     * Search the given domains.
+     *
+     * @param domainNames       User store domain names in the order the results should be gathered.
+     * @param domainSearch      Search to be performed against each domain.
+     * @param skipFailedDomains Whether a domain that failed with a CharonException should be logged and left out of
+     *                          the results instead of failing the whole search.
+     * @param <T>               Type of the search result.
+     * @return Search results keyed by the domain name, in the order of the given domains.
+     * @throws CharonException     If a domain search timed out, or failed while failed domains are not skipped.
+     * @throws BadRequestException If a domain search failed due to the request.
+     */
+    <T> Map<String, T> search(String[] domainNames, DomainSearch<T> domainSearch, boolean skipFailedDomains)
+            throws CharonException, BadRequestException {
+
+        Map<String, T> results = new LinkedHashMap<>();
+        if (executorService == null) {
+            for (String domainName : domainNames) {
+                searchInCallerThread(domainName, domainSearch, skipFailedDomains, results);
+            }
+            return results;
+        }
+
+        CallerContext callerContext = CallerContext.capture();
+        Map<String, Future<T>> futures = new LinkedHashMap<>();
+        for (int i = 1; i < domainNames.length; i++) {
+            String domainName = domainNames[i];
+            futures.put(domainName, executorService.submit(callerContext.wrap(() -> domainSearch.search(domainName))));
+        }
+        // With a direct hand-off executor, all the submitted searches have started by now either in a thread of the
+        // executor or in this thread, hence the timeout does not include the time the searches waited for a thread.
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(domainSearchTimeout);
+        try {
+            if (domainNames.length > 0) {
+                searchInCallerThread(domainNames[0], domainSearch, skipFailedDomains, results);
+            }
+            for (Map.Entry<String, Future<T>> future : futures.entrySet()) {
+                String domainName = future.getKey();
+                try {
+                    results.put(domainName, future.getValue().get(Math.max(0, deadline - System.nanoTime()),
+                            TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    throw new CharonException("Timed out after " + domainSearchTimeout + " ms while searching the " +
+                            "user store domain: " + domainName, e);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof BadRequestException) {
+                        throw (BadRequestException) cause;
+                    }
+                    if (cause instanceof CharonException) {
+                        handleFailedDomain(domainName, (CharonException) cause, skipFailedDomains);
+                    } else {
+                        throw new CharonException("Error while searching the domain: " + domainName, cause);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CharonException("Interrupted while searching the user store domains.", e);
+        } finally {
+            for (Future<T> future : futures.values()) {
+                future.cancel(false);
+            }
+        }
+        return results;
+    }
+
+    private <T> void searchInCallerThread(String domainName, DomainSearch<T> domainSearch, boolean skipFailedDomains,
+                                          Map<String, T> results) throws CharonException, BadRequestException {
+
+        try {
+            results.put(domainName, domainSearch.search(domainName));
+        } catch (CharonException e) {
+            handleFailedDomain(domainName, e, skipFailedDomains);
+        }
+    }
+
+    private void handleFailedDomain(String domainName, CharonException e, boolean skipFailedDomains)
+            throws CharonException {
+
+        if (!skipFailedDomains) {
+            throw e;
+        }
+        log.error("Error occurred while getting the users list for domain: " + domainName, e);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.impl;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.user.api.RealmConfiguration;
+import org.wso2.carbon.user.api.UserStoreException;
+import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
+import org.wso2.carbon.user.core.jdbc.JDBCUserStoreManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.MULTI_ATTRIBUTE_SEPARATOR;
+
+/**
+ * Immutable view of the user store domains of a tenant, holding the properties of each domain that the user listing
+ * and filtering paths read per domain or per user. A view is built once per SCIM user manager, i.e. per request, so
+ * that it always reflects the current user store configuration of the tenant, and it holds no reference to the user
+ * store managers it was built from.
+ */
+final class UserStoreDomainTopology {
+
+    private static final Log log = LogFactory.getLog(UserStoreDomainTopology.class);
+    private static final String DEFAULT_MULTI_ATTRIBUTE_SEPARATOR = ",";
+
+    private final String[] domainNames;
+    private final Map<String, Domain> domains;
+    private final boolean allJDBC;
+
+    private UserStoreDomainTopology(String[] domainNames, Map<String, Domain> domains) {
+
+        this.domainNames = domainNames;
+        this.domains = domains;
+        boolean allJDBC = true;
+        for (String domainName : domainNames) {
+            Domain domain = domains.get(domainName.toUpperCase(Locale.ENGLISH));
+            if (domain == null || !domain.isJDBC()) {
+                allJDBC = false;
+                break;
+            }
+        }
+        this.allJDBC = allJDBC;
+    }
+
+    /**
+     * Build the view of the user store domains of the given user store manager chain.
+     *
+     * @param userStoreManager Primary user store manager of the tenant.
+     * @return View of the user store domains.
+     */
+    static UserStoreDomainTopology build(UserStoreManager userStoreManager) {
+
+        Map<String, Domain> domains = new HashMap<>();
+        List<String> secondaryDomainNames = new ArrayList<>();
+        String primaryDomainName = null;
+        for (UserStoreManager manager = userStoreManager; manager != null;
+             manager = manager.getSecondaryUserStoreManager()) {
+            RealmConfiguration realmConfiguration = manager.getRealmConfiguration();
+            String domainName = realmConfiguration.getUserStoreProperty(
+                    UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME);
+            if (manager == userStoreManager) {
+                primaryDomainName = StringUtils.isEmpty(domainName) ?
+                        UserCoreConstants.PRIMARY_DEFAULT_DOMAIN_NAME : domainName;
+                domainName = primaryDomainName;
+            } else {
+                domainName = domainName.toUpperCase(Locale.ENGLISH);
+                secondaryDomainNames.add(domainName);
+            }
+            domains.put(domainName.toUpperCase(Locale.ENGLISH), new Domain(manager, domainName, realmConfiguration));
+        }
+        // Sorting the secondary user stores to maintain an order of domains so that pagination is consistent.
+        Collections.sort(secondaryDomainNames);
+        List<String> domainNames = new ArrayList<>();
+        if (primaryDomainName != null) {
+            domainNames.add(primaryDomainName);
+        }
+        domainNames.addAll(secondaryDomainNames);
+        return new UserStoreDomainTopology(domainNames.toArray(new String[0]), Collections.unmodifiableMap(domains));
+    }
+
+    /**
+     * Get the domain names with the primary domain first followed by the secondary domains in sorted order.
+     *
+     * @return Domain names.
+     */
+    String[] getDomainNames() {
+
+        return domainNames.clone();
+    }
+
+    /**
+     * Get a domain by its name.
+     *
+     * @param domainName Domain name, case-insensitive.
+     * @return Domain, or null if the domain is not a user store domain of the tenant.
+     */
+    Domain getDomain(String domainName) {
+
+        if (StringUtils.isEmpty(domainName)) {
+            return null;
+        }
+        return domains.get(domainName.toUpperCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Checks whether all the user store domains of the tenant are JDBC user stores.
+     *
+     * @return True if all the domains are JDBC user stores.
+     */
+    boolean isAllJDBC() {
+
+        return allJDBC;
+    }
+
+    /**
+     * Properties of a user store domain.
+     */
+    static final class Domain {
+
+        private final String domainName;
+        private final boolean scimEnabled;
+        private final boolean jdbc;
+        private final boolean uniqueGroupIdEnabled;
+        private final int maxUserList;
+        private final String multiAttributeSeparator;
+
+        private Domain(UserStoreManager userStoreManager, String domainName, RealmConfiguration realmConfiguration) {
+
+            this.domainName = domainName;
+            this.scimEnabled = isSCIMEnabled(userStoreManager, domainName);
+            this.jdbc = userStoreManager instanceof JDBCUserStoreManager;
+            this.uniqueGroupIdEnabled = userStoreManager instanceof AbstractUserStoreManager &&
+                    ((AbstractUserStoreManager) userStoreManager).isUniqueGroupIdEnabled();
+            this.maxUserList = getMaxUserList(realmConfiguration.getUserStoreProperty(
+                    UserCoreConstants.RealmConfig.PROPERTY_MAX_USER_LIST), domainName);
+            String multiAttributeSeparator = realmConfiguration.getUserStoreProperty(MULTI_ATTRIBUTE_SEPARATOR);
+            this.multiAttributeSeparator = StringUtils.isNotBlank(multiAttributeSeparator) ?
+                    multiAttributeSeparator : DEFAULT_MULTI_ATTRIBUTE_SEPARATOR;
+        }
+
+        String getDomainName() {
+
+            return domainName;
+        }
+
+        boolean isSCIMEnabled() {
+
+            return scimEnabled;
+        }
+
+        boolean isJDBC() {
+
+            return jdbc;
+        }
+
+        boolean isUniqueGroupIdEnabled() {
+
+            return uniqueGroupIdEnabled;
+        }
+
+        int getMaxUserList() {
+
+            return maxUserList;
+        }
+
+        String getMultiAttributeSeparator() {
+
+            return multiAttributeSeparator;
+        }
+
+        private static int getMaxUserList(String maxUserList, String domainName) {
+
+            if (maxUserList == null) {
+                return UserCoreConstants.MAX_USER_ROLE_LIST;
+            }
+            try {
+                return Integer.parseInt(maxUserList);
+            } catch (NumberFormatException e) {
+                log.warn("Invalid " + UserCoreConstants.RealmConfig.PROPERTY_MAX_USER_LIST + " value: " + maxUserList
+                        + " in user store: " + domainName + ". Using the default value.");
+                return UserCoreConstants.MAX_USER_ROLE_LIST;
+            }
+        }
+
+        private static boolean isSCIMEnabled(UserStoreManager userStoreManager, String domainName) {
+
+            try {
+                return userStoreManager.isSCIMEnabled();
+            } catch (UserStoreException e) {
+                log.error("Error while evaluating isSCIMEnalbed for user store " + domainName, e);
+            }
+            return false;
+        }
+    }
+}
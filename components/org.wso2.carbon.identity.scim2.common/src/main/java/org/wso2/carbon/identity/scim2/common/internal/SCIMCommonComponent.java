@@ -36,9 +36,11 @@ import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.identity.role.mgt.core.RoleManagementService;
+import org.wso2.carbon.identity.scim2.common.extenstion.SCIMMetricsRegistry;
 import org.wso2.carbon.identity.scim2.common.extenstion.SCIMUserStoreErrorResolver;
 import org.wso2.carbon.identity.scim2.common.handlers.SCIMClaimOperationEventHandler;
 import org.wso2.carbon.identity.scim2.common.impl.DefaultSCIMUserStoreErrorResolver;
+import org.wso2.carbon.identity.scim2.common.impl.InMemorySCIMMetricsRegistry;
 import org.wso2.carbon.identity.scim2.common.listener.SCIMGroupResolver;
 import org.wso2.carbon.identity.scim2.common.listener.SCIMTenantMgtListener;
 import org.wso2.carbon.identity.scim2.common.listener.SCIMUserOperationListener;
@@ -61,8 +63,12 @@ import org.wso2.charon3.core.exceptions.InternalErrorException;
 import org.wso2.carbon.idp.mgt.IdpManager;
 
 import java.io.File;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Component(
         name = "identity.scim2.common",
@@ -124,6 +130,33 @@ public class SCIMCommonComponent {
             ctx.getBundleContext().registerService(GroupResolver.class.getName(),
                     new SCIMGroupResolver(), null);
 
+            // Register the in-memory metrics registry if no metrics backend is plugged in.
+            if (SCIMCommonUtils.isInMemoryMetricsRegistryEnabled()) {
+                ctx.getBundleContext().registerService(SCIMMetricsRegistry.class.getName(),
+                        new InMemorySCIMMetricsRegistry(), null);
+            }
+
+            int userBuildThreadPoolSize = SCIMCommonUtils.getSCIMUserBuildThreadPoolSize();
+            if (userBuildThreadPoolSize > 0) {
+                SCIMCommonComponentHolder.setUserBuildExecutorService(newBoundedThreadPool(userBuildThreadPoolSize,
+                        SCIMCommonUtils.getSCIMUserBuildQueueSize()));
+            }
+            int bulkThreadPoolSize = SCIMCommonUtils.getSCIMBulkThreadPoolSize();
+            if (bulkThreadPoolSize > 0) {
+                SCIMCommonComponentHolder.setBulkExecutorService(Executors.newFixedThreadPool(bulkThreadPoolSize));
+            }
+            int domainSearchThreadPoolSize = SCIMCommonUtils.getUserStoreDomainSearchThreadPoolSize();
+            if (SCIMCommonUtils.isParallelUserStoreDomainSearchEnabled() && domainSearchThreadPoolSize > 0) {
+                SCIMCommonComponentHolder.setDomainSearchExecutorService(
+                        newDirectHandOffThreadPool(domainSearchThreadPoolSize));
+            }
+            int totalUserCountRefreshThreadPoolSize = SCIMCommonUtils.getTotalUserCountRefreshThreadPoolSize();
+            if (SCIMCommonUtils.getTotalUserCountCacheTTL() > 0 && totalUserCountRefreshThreadPoolSize > 0) {
+                SCIMCommonComponentHolder.setTotalUserCountRefreshExecutorService(newRejectingThreadPool(
+                        totalUserCountRefreshThreadPoolSize,
+                        SCIMCommonConstants.SCIM_TOTAL_USER_COUNT_REFRESH_QUEUE_SIZE));
+            }
+
             //Update super tenant user/group attributes.
             AdminAttributeUtil.updateAdminUser(MultitenantConstants.SUPER_TENANT_ID, true);
             AdminAttributeUtil.updateAdminGroup(MultitenantConstants.SUPER_TENANT_ID);
@@ -348,6 +381,29 @@ public class SCIMCommonComponent {
         SCIMCommonComponentHolder.removeScimUserStoreErrorResolver(scimUserStoreErrorResolver);
     }
 
+    /**
+     * Set the SCIMMetricsRegistry implementation.
+     *
+     * @param metricsRegistry SCIMMetricsRegistry
+     */
+    @Reference(
+            name = "scim.metrics.registry",
+            service = org.wso2.carbon.identity.scim2.common.extenstion.SCIMMetricsRegistry.class,
+            cardinality = ReferenceCardinality.OPTIONAL,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unsetMetricsRegistry")
+    protected void setMetricsRegistry(SCIMMetricsRegistry metricsRegistry) {
+
+        SCIMCommonComponentHolder.setMetricsRegistry(metricsRegistry);
+    }
+
+    protected void unsetMetricsRegistry(SCIMMetricsRegistry metricsRegistry) {
+
+        if (SCIMCommonComponentHolder.getMetricsRegistry() == metricsRegistry) {
+            SCIMCommonComponentHolder.setMetricsRegistry(null);
+        }
+    }
+
     @Reference(name = "identity.organization.management.component",
             service = OrganizationManager.class,
             cardinality = ReferenceCardinality.MANDATORY,
@@ -427,5 +483,71 @@ public class SCIMCommonComponent {
         if (userOperationEventListenerServiceReg != null) {
             userOperationEventListenerServiceReg.unregister();
         }
+
+        ExecutorService userBuildExecutorService = SCIMCommonComponentHolder.getUserBuildExecutorService();
+        if (userBuildExecutorService != null) {
+            userBuildExecutorService.shutdown();
+            SCIMCommonComponentHolder.setUserBuildExecutorService(null);
+        }
+
+        ExecutorService bulkExecutorService = SCIMCommonComponentHolder.getBulkExecutorService();
+        if (bulkExecutorService != null) {
+            bulkExecutorService.shutdown();
+            SCIMCommonComponentHolder.setBulkExecutorService(null);
+        }
+
+        ExecutorService domainSearchExecutorService = SCIMCommonComponentHolder.getDomainSearchExecutorService();
+        if (domainSearchExecutorService != null) {
+            domainSearchExecutorService.shutdown();
+            SCIMCommonComponentHolder.setDomainSearchExecutorService(null);
+        }
+
+        ExecutorService totalUserCountRefreshExecutorService =
+                SCIMCommonComponentHolder.getTotalUserCountRefreshExecutorService();
+        if (totalUserCountRefreshExecutorService != null) {
+            totalUserCountRefreshExecutorService.shutdown();
+            SCIMCommonComponentHolder.setTotalUserCountRefreshExecutorService(null);
+        }
+    }
+
+    /**
+     * Create a fixed size thread pool with a bounded queue. Tasks submitted while the queue is full are run in the
+     * submitting thread, which slows down the requests submitting them instead of piling up tasks.
+     *
+     * @param poolSize  Number of threads.
+     * @param queueSize Maximum number of tasks waiting for a thread.
+     * @return Executor service.
+     */
+    private static ExecutorService newBoundedThreadPool(int poolSize, int queueSize) {
+
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Create a fixed size thread pool with a bounded queue. Tasks submitted while the queue is full are rejected, for
+     * tasks which are better skipped than run in the submitting thread.
+     *
+     * @param poolSize  Number of threads.
+     * @param queueSize Maximum number of tasks waiting for a thread.
+     * @return Executor service.
+     */
+    private static ExecutorService newRejectingThreadPool(int poolSize, int queueSize) {
+
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Create a fixed size thread pool without a queue. A task is handed over to a free thread, or is run in the
+     * submitting thread if all the threads are busy, hence a task never waits for a thread.
+     *
+     * @param poolSize Number of threads.
+     * @return Executor service.
+     */
+    private static ExecutorService newDirectHandOffThreadPool(int poolSize) {
+
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
     }
 }
@@ -22,6 +22,7 @@ import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementServic
 import org.wso2.carbon.identity.configuration.mgt.core.ConfigurationManager;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
+import org.wso2.carbon.identity.scim2.common.extenstion.SCIMMetricsRegistry;
 import org.wso2.carbon.identity.scim2.common.extenstion.SCIMUserStoreErrorResolver;
 import org.wso2.carbon.idp.mgt.IdpManager;
 import org.wso2.carbon.user.core.service.RealmService;
@@ -31,6 +32,7 @@ import org.wso2.carbon.identity.role.mgt.core.RoleManagementService;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * SCIM service holder class.
@@ -47,6 +49,11 @@ public class SCIMCommonComponentHolder {
     private static IdpManager idpManager;
     private static IdentityEventService identityEventService;
     private static ConfigurationManager configurationManager;
+    private static ExecutorService userBuildExecutorService;
+    private static ExecutorService bulkExecutorService;
+    private static ExecutorService domainSearchExecutorService;
+    private static ExecutorService totalUserCountRefreshExecutorService;
+    private static volatile SCIMMetricsRegistry metricsRegistry;
     private static final List<SCIMUserStoreErrorResolver> scimUserStoreErrorResolvers = new ArrayList<>();
 
     /**
@@ -247,4 +254,105 @@ public class SCIMCommonComponentHolder {
 
         SCIMCommonComponentHolder.configurationManager = configurationManager;
     }
+
+    /**
+     * Get the executor service used to build SCIM user objects of a user listing in parallel.
+     *
+     * @return Executor service. Null if the parallel build is disabled.
+     */
+    public static ExecutorService getUserBuildExecutorService() {
+
+        return userBuildExecutorService;
+    }
+
+    /**
+     * Set the executor service used to build SCIM user objects of a user listing in parallel.
+     *
+     * @param userBuildExecutorService Executor service.
+     */
+    public static void setUserBuildExecutorService(ExecutorService userBuildExecutorService) {
+
+        SCIMCommonComponentHolder.userBuildExecutorService = userBuildExecutorService;
+    }
+
+    /**
+     * Get the executor service used to process the independent operations of a bulk request in parallel.
+     *
+     * @return Executor service. Null if the parallel bulk processing is disabled.
+     */
+    public static ExecutorService getBulkExecutorService() {
+
+        return bulkExecutorService;
+    }
+
+    /**
+     * Set the executor service used to process the independent operations of a bulk request in parallel.
+     *
+     * @param bulkExecutorService Executor service.
+     */
+    public static void setBulkExecutorService(ExecutorService bulkExecutorService) {
+
+        SCIMCommonComponentHolder.bulkExecutorService = bulkExecutorService;
+    }
+
+    /**
+     * Get the executor service used to search the user store domains concurrently.
+     *
+     * @return Executor service. Null if the parallel domain search is disabled.
+     */
+    public static ExecutorService getDomainSearchExecutorService() {
+
+        return domainSearchExecutorService;
+    }
+
+    /**
+     * Set the executor service used to search the user store domains concurrently.
+     *
+     * @param domainSearchExecutorService Executor service.
+     */
+    public static void setDomainSearchExecutorService(ExecutorService domainSearchExecutorService) {
+
+        SCIMCommonComponentHolder.domainSearchExecutorService = domainSearchExecutorService;
+    }
+
+    /**
+     * Get the executor service used to refresh the cached total user counts ahead of their expiry.
+     *
+     * @return Executor service. Null if the counts are not cached or not refreshed ahead of their expiry.
+     */
+    public static ExecutorService getTotalUserCountRefreshExecutorService() {
+
+        return totalUserCountRefreshExecutorService;
+    }
+
+    /**
+     * Set the executor service used to refresh the cached total user counts ahead of their expiry.
+     *
+     * @param totalUserCountRefreshExecutorService Executor service.
+     */
+    public static void setTotalUserCountRefreshExecutorService(
+            ExecutorService totalUserCountRefreshExecutorService) {
+
+        SCIMCommonComponentHolder.totalUserCountRefreshExecutorService = totalUserCountRefreshExecutorService;
+    }
+
+    /**
+     * Get the registry the SCIM metrics are recorded into.
+     *
+     * @return Metrics registry. Null if no registry is registered.
+     */
+    public static SCIMMetricsRegistry getMetricsRegistry() {
+
+        return metricsRegistry;
+    }
+
+    /**
+     * Set the registry the SCIM metrics are recorded into.
+     *
+     * @param metricsRegistry Metrics registry.
+     */
+    public static void setMetricsRegistry(SCIMMetricsRegistry metricsRegistry) {
+
+        SCIMCommonComponentHolder.metricsRegistry = metricsRegistry;
+    }
 }
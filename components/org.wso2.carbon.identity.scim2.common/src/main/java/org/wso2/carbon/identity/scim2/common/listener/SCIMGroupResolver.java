@@ -20,7 +20,6 @@ package org.wso2.carbon.identity.scim2.common.listener;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
-import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -30,6 +29,7 @@ import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.scim2.common.DAO.GroupDAO;
 import org.wso2.carbon.identity.scim2.common.exceptions.IdentitySCIMException;
+import org.wso2.carbon.identity.scim2.common.group.SCIMGroupHandler;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
 import org.wso2.carbon.user.core.UserCoreConstants;
@@ -119,6 +119,7 @@ public class SCIMGroupResolver extends AbstractIdentityGroupResolver {
         GroupDAO groupDAO = new GroupDAO();
         try {
             groupDAO.addSCIMGroupAttributes(tenantId, groupWithDomain, attributes);
+            new SCIMGroupHandler(tenantId).clearGroupMetadataCache(groupWithDomain, null);
         } catch (IdentitySCIMException e) {
             throw new UserStoreException(
                     String.format("Error occurred while adding the group: %s in tenant: %s", groupWithDomain, tenantId),
@@ -184,7 +185,10 @@ public class SCIMGroupResolver extends AbstractIdentityGroupResolver {
                         tenantId));
                 return;
             }
+            String groupId = SCIMCommonUtils.isGroupMetadataCacheEnabled() ?
+                    groupDAO.getGroupIdByName(tenantId, groupWithDomain) : null;
             groupDAO.removeSCIMGroup(tenantId, groupWithDomain);
+            new SCIMGroupHandler(tenantId).clearGroupMetadataCache(groupWithDomain, groupId);
         } catch (IdentitySCIMException e) {
             throw new UserStoreException(
                     String.format("Error occurred while removing the group: %s in tenant: %s", groupWithDomain,
@@ -202,10 +206,9 @@ public class SCIMGroupResolver extends AbstractIdentityGroupResolver {
         if (log.isDebugEnabled()) {
             log.debug(String.format("Retrieving group with id:%s from tenant: %s", groupId, tenantId));
         }
-        GroupDAO groupDAO = new GroupDAO();
         String groupName;
         try {
-            groupName = groupDAO.getGroupNameById(tenantId, groupId);
+            groupName = new SCIMGroupHandler(tenantId).getGroupName(groupId);
         } catch (IdentitySCIMException exception) {
             throw new UserStoreException(String.format(
                     "Error occurred while resolving the domain name for " + "group with id: %s in tenant: %s", groupId,
@@ -254,11 +257,11 @@ public class SCIMGroupResolver extends AbstractIdentityGroupResolver {
             }
             return true;
         }
-        GroupDAO groupDAO = new GroupDAO();
+        SCIMGroupHandler scimGroupHandler = new SCIMGroupHandler(tenantId);
         for (Group group : groupList) {
             // We need to only provide the group name and group id.
             try {
-                group.setGroupID(groupDAO.getGroupIdByName(tenantId,
+                group.setGroupID(scimGroupHandler.getGroupIdByName(
                         UserCoreUtil.addDomainToName(group.getGroupName(), group.getUserStoreDomain())));
             } catch (IdentitySCIMException e) {
                 throw new UserStoreException(
@@ -298,9 +301,8 @@ public class SCIMGroupResolver extends AbstractIdentityGroupResolver {
             log.debug(String.format("Retrieving group with name: %s from tenant: %s", groupName, tenantId));
         }
         String groupId;
-        GroupDAO groupDAO = new GroupDAO();
         try {
-            groupId = groupDAO.getGroupIdByName(tenantId,
+            groupId = new SCIMGroupHandler(tenantId).getGroupIdByName(
                     UserCoreUtil.addDomainToName(group.getGroupName(), group.getUserStoreDomain()));
         } catch (IdentitySCIMException e) {
             throw new UserStoreException(
@@ -338,9 +340,8 @@ public class SCIMGroupResolver extends AbstractIdentityGroupResolver {
             return true;
         }
         String groupName;
-        GroupDAO groupDAO = new GroupDAO();
         try {
-            groupName = groupDAO.getGroupNameById(tenantId, groupID);
+            groupName = new SCIMGroupHandler(tenantId).getGroupName(groupID);
             if (StringUtils.isBlank(groupName)) {
                 if (log.isDebugEnabled()) {
                     log.debug(String.format("No group found with id: %s in tenant: %s", groupID, tenantId));
@@ -387,16 +388,16 @@ public class SCIMGroupResolver extends AbstractIdentityGroupResolver {
         }
         String groupName;
         Map<String, String> attributes;
-        GroupDAO groupDAO = new GroupDAO();
+        SCIMGroupHandler scimGroupHandler = new SCIMGroupHandler(tenantId);
         try {
-            groupName = groupDAO.getGroupNameById(tenantId, groupID);
+            groupName = scimGroupHandler.getGroupName(groupID);
             if (StringUtils.isBlank(groupName)) {
                 if (log.isDebugEnabled()) {
                     log.debug(String.format("No group found with id: %s in tenant: %s", groupID, tenantId));
                 }
                 return true;
             }
-            attributes = groupDAO.getSCIMGroupAttributes(tenantId, groupName);
+            attributes = scimGroupHandler.getGroupAttributes(groupName);
         } catch (IdentitySCIMException e) {
             throw new UserStoreException(
                     String.format("Error occurred while getting the group attributes of " + "group: %s in tenant: %s",
@@ -453,7 +454,6 @@ public class SCIMGroupResolver extends AbstractIdentityGroupResolver {
             log.debug(String.format("Retrieving group with name: %s from tenant: %s", groupName, tenantId));
         }
         Map<String, String> attributes;
-        GroupDAO groupDAO = new GroupDAO();
         try {
             // If the group name as the domain separator ( / ), that means, domain is in the name.
             if (!groupName.contains(CarbonConstants.DOMAIN_SEPARATOR)) {
@@ -461,7 +461,7 @@ public class SCIMGroupResolver extends AbstractIdentityGroupResolver {
                         .getUserStoreProperty(UserStoreConfigConstants.DOMAIN_NAME);
                 groupName = UserCoreUtil.addDomainToName(groupName, domainName);
             }
-            attributes = groupDAO.getSCIMGroupAttributes(tenantId, groupName);
+            attributes = new SCIMGroupHandler(tenantId).getGroupAttributes(groupName);
         } catch (IdentitySCIMException e) {
             throw new UserStoreException(
                     String.format("Error occurred while getting the group attributes of " + "group: %s in tenant: %s",
@@ -532,17 +532,19 @@ public class SCIMGroupResolver extends AbstractIdentityGroupResolver {
                 expressionCondition.getAttributeValue(), SQL_FILTERING_DELIMITER);
         GroupDAO groupDAO = new GroupDAO();
         try {
-            String[] groupNames = groupDAO.getGroupNameList(attributeName, attributeValue, tenantId, domain);
-            if (ArrayUtils.isEmpty(groupNames)) {
+            // Get details of all the matching groups at once.
+            Map<String, Map<String, String>> groupAttributesList =
+                    groupDAO.getSCIMGroupAttributesList(attributeName, attributeValue, tenantId, domain);
+            if (MapUtils.isEmpty(groupAttributesList)) {
                 if (log.isDebugEnabled()) {
                     log.debug(String.format("No groups found for the filter in userstore: %s in tenant: %s", domain,
                             tenantId));
                 }
                 return true;
             }
-            // Get details of the groups.
-            for (String groupName : groupNames) {
-                Map<String, String> attributes = groupDAO.getSCIMGroupAttributes(tenantId, groupName);
+            for (Map.Entry<String, Map<String, String>> groupAttributes : groupAttributesList.entrySet()) {
+                String groupName = groupAttributes.getKey();
+                Map<String, String> attributes = groupAttributes.getValue();
                 String groupId = attributes.get(SCIMConstants.CommonSchemaConstants.ID_URI);
                 String domainName = UserCoreUtil.extractDomainFromName(groupName);
                 Group group = new Group(groupId, resolveGroupName(groupName, domainName));
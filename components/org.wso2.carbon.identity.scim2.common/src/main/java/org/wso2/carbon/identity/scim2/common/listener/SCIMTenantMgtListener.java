@@ -28,6 +28,7 @@ import org.wso2.carbon.identity.organization.management.service.util.Utils;
 import org.wso2.carbon.identity.scim2.common.internal.SCIMCommonComponentHolder;
 import org.wso2.carbon.identity.scim2.common.utils.AdminAttributeUtil;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
+import org.wso2.carbon.identity.scim2.common.utils.TotalUserCountCache;
 import org.wso2.carbon.stratos.common.exception.StratosException;
 import org.wso2.carbon.user.api.Tenant;
 import org.wso2.carbon.user.api.UserStoreException;
@@ -78,4 +79,16 @@ public class SCIMTenantMgtListener extends AbstractIdentityTenantMgtListener {
             log.error(e);
         }
     }
+
+    @Override
+    public void onTenantDeactivation(int tenantId) throws StratosException {
+
+        TotalUserCountCache.clear(tenantId);
+    }
+
+    @Override
+    public void onPreDelete(int tenantId) throws StratosException {
+
+        TotalUserCountCache.clear(tenantId);
+    }
 }
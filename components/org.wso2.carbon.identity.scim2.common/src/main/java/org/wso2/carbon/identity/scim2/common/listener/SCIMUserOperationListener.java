@@ -28,17 +28,17 @@ import org.wso2.carbon.identity.application.authentication.framework.store.UserS
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
-import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
-import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
 import org.wso2.carbon.identity.core.AbstractIdentityUserOperationEventListener;
 import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.scim2.common.exceptions.IdentitySCIMException;
 import org.wso2.carbon.identity.scim2.common.group.SCIMGroupHandler;
-import org.wso2.carbon.identity.scim2.common.internal.SCIMCommonComponentHolder;
+import org.wso2.carbon.identity.scim2.common.utils.ClaimValidationIndex;
+import org.wso2.carbon.identity.scim2.common.utils.ClaimValidationIndex.ClaimValidationRule;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
+import org.wso2.carbon.identity.scim2.common.utils.TotalUserCountCache;
 import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.core.UserStoreClientException;
 import org.wso2.carbon.user.core.UserStoreException;
@@ -52,7 +52,6 @@ import org.wso2.charon3.core.utils.AttributeUtil;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -65,15 +64,9 @@ import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.MO
 import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.MOBILE_REGEX;
 import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.MOBILE_REGEX_VALIDATION_DEFAULT_ERROR;
 import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.DEFAULT_REGEX;
-import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.PROP_REG_EX;
-import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.PROP_REG_EX_VALIDATION_ERROR;
 import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.COMMON_REGEX_VALIDATION_ERROR;
 import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.GROUPS_LOCAL_CLAIM;
-import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.PROP_DISPLAYNAME;
 import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.NOT_EXISTING_GROUPS_ERROR;
-import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.MAX_LENGTH;
-import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.MIN_LENGTH;
-import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.REQUIRED;
 import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.ErrorMessages.ERROR_CODE_LENGTH_VIOLATION;
 import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.ErrorMessages.ERROR_CODE_REGEX_VIOLATION;
 
@@ -121,7 +114,12 @@ public class SCIMUserOperationListener extends AbstractIdentityUserOperationEven
                                        String profile, UserStoreManager userStoreManager) throws UserStoreException {
 
         try {
-            if (!isEnable() || userStoreManager == null || !userStoreManager.isSCIMEnabled()) {
+            if (!isEnable() || userStoreManager == null) {
+                return true;
+            }
+            TotalUserCountCache.onUserAdded(userStoreManager.getTenantId(),
+                    UserCoreUtil.getDomainName(userStoreManager.getRealmConfiguration()));
+            if (!userStoreManager.isSCIMEnabled()) {
                 return true;
             }
 
@@ -141,6 +139,22 @@ public class SCIMUserOperationListener extends AbstractIdentityUserOperationEven
         }
     }
 
+    @Override
+    public boolean doPostDeleteUserWithID(String userID, UserStoreManager userStoreManager)
+            throws UserStoreException {
+
+        if (!isEnable() || userStoreManager == null) {
+            return true;
+        }
+        try {
+            TotalUserCountCache.onUserDeleted(userStoreManager.getTenantId(),
+                    UserCoreUtil.getDomainName(userStoreManager.getRealmConfiguration()));
+            return true;
+        } catch (org.wso2.carbon.user.api.UserStoreException e) {
+            throw new UserStoreException("Error while reading the tenant of the user store manager", e);
+        }
+    }
+
     @Override
     public boolean doPostUpdateCredentialWithID(String userId, Object credential, UserStoreManager userStoreManager)
             throws UserStoreException {
@@ -216,19 +230,19 @@ public class SCIMUserOperationListener extends AbstractIdentityUserOperationEven
     private void validateClaimValue(String claimURI, String claimValue, UserStoreManager userStoreManager)
             throws UserStoreException {
 
-        String tenantDomain = IdentityTenantUtil.getTenantDomain(userStoreManager.getTenantId());
+        ClaimValidationIndex claimValidationIndex = getClaimValidationIndex(userStoreManager);
         switch (claimURI) {
             case DATE_OF_BIRTH_LOCAL_CLAIM:
-                validateClaimValueForRegex(claimURI, claimValue, tenantDomain, DATE_OF_BIRTH_REGEX,
+                validateClaimValueForRegex(claimURI, claimValue, claimValidationIndex, DATE_OF_BIRTH_REGEX,
                         DOB_REG_EX_VALIDATION_DEFAULT_ERROR);
                 break;
             case MOBILE_LOCAL_CLAIM:
-                validateClaimValueForRegex(claimURI, claimValue, tenantDomain, MOBILE_REGEX,
+                validateClaimValueForRegex(claimURI, claimValue, claimValidationIndex, MOBILE_REGEX,
                         MOBILE_REGEX_VALIDATION_DEFAULT_ERROR);
                 break;
             default:
-                validateClaimValueForRegex(claimURI, claimValue, tenantDomain, DEFAULT_REGEX, null);
-                validateLength(claimURI, claimValue, tenantDomain);
+                validateClaimValueForRegex(claimURI, claimValue, claimValidationIndex, DEFAULT_REGEX, null);
+                validateLength(claimURI, claimValue, claimValidationIndex);
                 break;
         }
     }
@@ -238,13 +252,14 @@ public class SCIMUserOperationListener extends AbstractIdentityUserOperationEven
      *
      * @param claimURI                    Claim URI.
      * @param claimValue                  Claim value.
-     * @param tenantDomain                Tenant domain.
+     * @param claimValidationIndex        Claim validation index of the tenant.
      * @param defaultRegex                Default regex of the claim.
      * @param defaultRegexValidationError Default error of claim for regex validation failure.
      * @throws UserStoreClientException When regex validation is failed.
      */
-    private void validateClaimValueForRegex(String claimURI, String claimValue, String tenantDomain,
-                                            String defaultRegex, String defaultRegexValidationError)
+    private void validateClaimValueForRegex(String claimURI, String claimValue,
+                                            ClaimValidationIndex claimValidationIndex, String defaultRegex,
+                                            String defaultRegexValidationError)
             throws UserStoreClientException {
 
         if (StringUtils.isBlank(claimURI)) {
@@ -253,36 +268,28 @@ public class SCIMUserOperationListener extends AbstractIdentityUserOperationEven
             }
             return;
         }
-        Map<String, String> claimProperties = getClaimProperties(tenantDomain, claimURI);
-        if (MapUtils.isNotEmpty(claimProperties)) {
-            String claimRegex = claimProperties.get(PROP_REG_EX);
-            if (StringUtils.isEmpty(claimRegex)) {
-                // If there is no configured claimRegex and default regex is blank nothing to validate.
-                if (StringUtils.isBlank(defaultRegex)) {
-                    return;
-                }
-                claimRegex = defaultRegex;
-            }
-            if (StringUtils.isNotBlank(claimValue) && !claimValue.matches(claimRegex)) {
-                String regexError = claimProperties.get(PROP_REG_EX_VALIDATION_ERROR);
-                if (StringUtils.isEmpty(regexError)) {
-                    regexError = StringUtils.isNotBlank(defaultRegexValidationError) ? defaultRegexValidationError :
-                            String.format(COMMON_REGEX_VALIDATION_ERROR, claimProperties.get(PROP_DISPLAYNAME));
-                }
-                throw new UserStoreClientException(regexError, ERROR_CODE_REGEX_VIOLATION.getCode());
+        ClaimValidationRule validationRule = getClaimValidationRule(claimValidationIndex, claimURI);
+        if (validationRule != null && StringUtils.isNotBlank(claimValue) &&
+                !validationRule.matchesRegex(claimValue, defaultRegex)) {
+            String regexError = validationRule.getRegexValidationError();
+            if (StringUtils.isEmpty(regexError)) {
+                regexError = StringUtils.isNotBlank(defaultRegexValidationError) ? defaultRegexValidationError :
+                        String.format(COMMON_REGEX_VALIDATION_ERROR, validationRule.getDisplayName());
             }
+            throw new UserStoreClientException(regexError, ERROR_CODE_REGEX_VIOLATION.getCode());
         }
     }
 
     /**
      * Validate attribute values against length limits.
      *
-     * @param claimURI      Claim URI.
-     * @param value         Claim value.
-     * @param tenantDomain  Tenant domain name..
+     * @param claimURI             Claim URI.
+     * @param value                Claim value.
+     * @param claimValidationIndex Claim validation index of the tenant.
      * @throws UserStoreClientException If an error occurred in validating claim.
      */
-    private void validateLength(String claimURI, String value, String tenantDomain) throws UserStoreClientException {
+    private void validateLength(String claimURI, String value, ClaimValidationIndex claimValidationIndex)
+            throws UserStoreClientException {
 
         if (StringUtils.isBlank(claimURI)) {
             if (log.isDebugEnabled()) {
@@ -290,55 +297,51 @@ public class SCIMUserOperationListener extends AbstractIdentityUserOperationEven
             }
             return;
         }
-        Map<String, String> claimProperties = getClaimProperties(tenantDomain, claimURI);
-        if (MapUtils.isEmpty(claimProperties)) {
+        ClaimValidationRule validationRule = getClaimValidationRule(claimValidationIndex, claimURI);
+        if (validationRule == null) {
             return;
         }
-        String minLength = claimProperties.get(MIN_LENGTH);
-        String maxLength = claimProperties.get(MAX_LENGTH);
-        boolean required = false;
-        if (StringUtils.isNotBlank(claimProperties.get(REQUIRED))) {
-            required = Boolean.parseBoolean(claimProperties.get(REQUIRED));
-        }
-
-        if (!required && StringUtils.isBlank(value)) {
+        if (!validationRule.isRequired() && StringUtils.isBlank(value)) {
             return;
         }
-        if ((StringUtils.isNotBlank(minLength) && Integer.parseInt(minLength) > value.length()) ||
-                (StringUtils.isNotBlank(maxLength) && Integer.parseInt(maxLength) < value.length())) {
+        Integer minLength = validationRule.getMinLengthValue();
+        Integer maxLength = validationRule.getMaxLengthValue();
+        if ((minLength != null && minLength > value.length()) || (maxLength != null && maxLength < value.length())) {
             throw new UserStoreClientException(String.format(ERROR_CODE_LENGTH_VIOLATION.getDescription(),
-                    claimProperties.get(PROP_DISPLAYNAME), StringUtils.isNotEmpty(minLength) ? minLength : 0,
-                    StringUtils.isNotEmpty(maxLength) ? maxLength : 1024), ERROR_CODE_LENGTH_VIOLATION.getCode());
+                    validationRule.getDisplayName(),
+                    StringUtils.isNotEmpty(validationRule.getMinLength()) ? validationRule.getMinLength() : 0,
+                    StringUtils.isNotEmpty(validationRule.getMaxLength()) ? validationRule.getMaxLength() : 1024),
+                    ERROR_CODE_LENGTH_VIOLATION.getCode());
         }
     }
 
     /**
-     * Get claim properties of a claim in a given tenant.
+     * Get the validation rule of a claim from the claim validation index of the tenant.
      *
-     * @param tenantDomain The tenant domain.
-     * @param claimURI     Claim URI.
-     * @return Properties of the claim.
+     * @param claimValidationIndex Claim validation index of the tenant.
+     * @param claimURI             Claim URI.
+     * @return Validation rule of the claim, or null if there is nothing to validate.
      */
-    private Map<String, String> getClaimProperties(String tenantDomain, String claimURI) {
+    private ClaimValidationRule getClaimValidationRule(ClaimValidationIndex claimValidationIndex, String claimURI) {
 
-        try {
-            List<LocalClaim> localClaims =
-                    SCIMCommonComponentHolder.getClaimManagementService().getLocalClaims(tenantDomain);
-            if (localClaims == null) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Returned claim list from ClaimManagementService is null");
-                }
-                return null;
-            }
-            for (LocalClaim localClaim : localClaims) {
-                if (StringUtils.equalsIgnoreCase(claimURI, localClaim.getClaimURI())) {
-                    return localClaim.getClaimProperties();
-                }
-            }
-        } catch (ClaimMetadataException e) {
-            log.error("Error while retrieving local claim meta data.", e);
+        if (claimValidationIndex == null) {
+            return null;
         }
-        return null;
+        return claimValidationIndex.getValidationRule(claimURI);
+    }
+
+    /**
+     * Get the claim validation index of the tenant of the given user store manager.
+     *
+     * @param userStoreManager Userstore manager.
+     * @return Claim validation index of the tenant.
+     * @throws UserStoreException If an error occurred while resolving the tenant.
+     */
+    private ClaimValidationIndex getClaimValidationIndex(UserStoreManager userStoreManager)
+            throws UserStoreException {
+
+        int tenantId = userStoreManager.getTenantId();
+        return ClaimValidationIndex.getInstance(tenantId, IdentityTenantUtil.getTenantDomain(tenantId));
     }
 
     @Override
@@ -537,7 +540,7 @@ public class SCIMUserOperationListener extends AbstractIdentityUserOperationEven
             }
             return;
         }
-        String tenantDomain = IdentityTenantUtil.getTenantDomain(userStoreManager.getTenantId());
+        ClaimValidationIndex claimValidationIndex = getClaimValidationIndex(userStoreManager);
         for (Map.Entry<String, String> claim : claims.entrySet()) {
             if (StringUtils.isBlank(claim.getKey())) {
                 return;
@@ -545,15 +548,16 @@ public class SCIMUserOperationListener extends AbstractIdentityUserOperationEven
             switch (claim.getKey()) {
                 case DATE_OF_BIRTH_LOCAL_CLAIM:
                     validateClaimValueForRegex(DATE_OF_BIRTH_LOCAL_CLAIM, claims.get(DATE_OF_BIRTH_LOCAL_CLAIM),
-                            tenantDomain, DATE_OF_BIRTH_REGEX, DOB_REG_EX_VALIDATION_DEFAULT_ERROR);
+                            claimValidationIndex, DATE_OF_BIRTH_REGEX, DOB_REG_EX_VALIDATION_DEFAULT_ERROR);
                     break;
                 case MOBILE_LOCAL_CLAIM:
-                    validateClaimValueForRegex(MOBILE_LOCAL_CLAIM, claims.get(MOBILE_LOCAL_CLAIM), tenantDomain,
-                            MOBILE_REGEX, MOBILE_REGEX_VALIDATION_DEFAULT_ERROR);
+                    validateClaimValueForRegex(MOBILE_LOCAL_CLAIM, claims.get(MOBILE_LOCAL_CLAIM),
+                            claimValidationIndex, MOBILE_REGEX, MOBILE_REGEX_VALIDATION_DEFAULT_ERROR);
                     break;
                 default:
-                    validateClaimValueForRegex(claim.getKey(), claim.getValue(), tenantDomain, DEFAULT_REGEX, null);
-                    validateLength(claim.getKey(), claim.getValue(), tenantDomain);
+                    validateClaimValueForRegex(claim.getKey(), claim.getValue(), claimValidationIndex,
+                            DEFAULT_REGEX, null);
+                    validateLength(claim.getKey(), claim.getValue(), claimValidationIndex);
             }
         }
     }
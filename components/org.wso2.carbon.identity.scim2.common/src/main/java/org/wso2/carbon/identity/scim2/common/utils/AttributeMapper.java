@@ -22,14 +22,18 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMAttributeSchemaIndexCache;
 import org.wso2.charon3.core.attributes.AbstractAttribute;
 import org.wso2.charon3.core.attributes.Attribute;
 import org.wso2.charon3.core.attributes.ComplexAttribute;
 import org.wso2.charon3.core.attributes.DefaultAttributeFactory;
 import org.wso2.charon3.core.attributes.MultiValuedAttribute;
 import org.wso2.charon3.core.attributes.SimpleAttribute;
+import org.wso2.charon3.core.config.SCIMUserSchemaExtensionBuilder;
+import org.wso2.charon3.core.exceptions.AbstractCharonException;
 import org.wso2.charon3.core.exceptions.BadRequestException;
 import org.wso2.charon3.core.exceptions.CharonException;
 import org.wso2.charon3.core.exceptions.NotFoundException;
@@ -62,6 +66,8 @@ public class AttributeMapper {
 
     public static final String ADVANCED_ATTRIBUTE_IDENTIFIER = "#";
     private static final Log log = LogFactory.getLog(AttributeMapper.class);
+    private static volatile AttributeSchemaIndex defaultUserSchemaIndex;
+    private static volatile AttributeSchemaIndex groupSchemaIndex;
 
     /**
      * Return claims as a map of <ClaimUri (which is mapped to SCIM attribute uri),ClaimValue>.
@@ -268,6 +274,7 @@ public class AttributeMapper {
             default:
                 break;
         }
+        AttributeSchemaIndex attributeSchemaIndex = getAttributeSchemaIndex(userManager, scimObjectType);
         for (Map.Entry<String, String> attributeEntry : attributes.entrySet()) {
             if (log.isDebugEnabled()) {
                 log.debug("AttributeKey: " + attributeEntry.getKey() + " AttributeValue:" +
@@ -297,18 +304,15 @@ public class AttributeMapper {
             try {
                 if (attributeNames.length == 1) {
 
-                    constructSCIMObjectFromAttributesOfLevelOne(userManager, attributeEntry, scimObject, attributeNames,
-                            scimObjectType);
+                    constructAttributeOfLevelOne(attributeSchemaIndex, attributeEntry, scimObject, attributeNames);
 
                 } else if (attributeNames.length == 2) {
 
-                    constructSCIMObjectFromAttributesOfLevelTwo(userManager, attributeEntry, scimObject, attributeNames,
-                            scimObjectType);
+                    constructAttributeOfLevelTwo(attributeSchemaIndex, attributeEntry, scimObject, attributeNames);
 
                 } else if (attributeNames.length == 3) {
 
-                    constructSCIMObjectFromAttributesOfLevelThree(userManager, attributeEntry, scimObject,
-                            attributeNames, scimObjectType);
+                    constructAttributeOfLevelThree(attributeSchemaIndex, attributeEntry, scimObject, attributeNames);
                 }
             } catch (CharonException e) {
                 log.error(e);
@@ -330,11 +334,20 @@ public class AttributeMapper {
     public static void constructSCIMObjectFromAttributesOfLevelOne(UserManager userManager,
                                                                    Map.Entry<String, String> attributeEntry,
                                                                    SCIMObject scimObject, String[] attributeNames,
-                                                                   int scimObjectType) throws BadRequestException,
-            CharonException, NotFoundException {
+                                                                   int scimObjectType)
+            throws BadRequestException, CharonException, NotFoundException {
+
+        constructAttributeOfLevelOne(getAttributeSchemaIndex(userManager, scimObjectType), attributeEntry,
+                scimObject, attributeNames);
+    }
+
+    private static void constructAttributeOfLevelOne(AttributeSchemaIndex attributeSchemaIndex,
+                                                     Map.Entry<String, String> attributeEntry,
+                                                     SCIMObject scimObject, String[] attributeNames)
+            throws BadRequestException, CharonException, NotFoundException {
 
         //get attribute schema
-        AttributeSchema attributeSchema = getAttributeSchema(userManager, attributeEntry.getKey(), scimObjectType);
+        AttributeSchema attributeSchema = attributeSchemaIndex.get(attributeEntry.getKey());
         if (attributeSchema != null) {
             //either simple valued or multi-valued with simple attributes
             if (attributeSchema.getMultiValued()) {
@@ -415,11 +428,21 @@ public class AttributeMapper {
      * @throws CharonException
      * @throws NotFoundException
      */
-    public static void constructSCIMObjectFromAttributesOfLevelTwo(UserManager userManager, Map.Entry<String, String> attributeEntry,
+    public static void constructSCIMObjectFromAttributesOfLevelTwo(UserManager userManager,
+                                                                   Map.Entry<String, String> attributeEntry,
                                                                    SCIMObject scimObject, String[] attributeNames,
                                                                    int scimObjectType)
             throws BadRequestException, CharonException, NotFoundException {
 
+        constructAttributeOfLevelTwo(getAttributeSchemaIndex(userManager, scimObjectType), attributeEntry,
+                scimObject, attributeNames);
+    }
+
+    private static void constructAttributeOfLevelTwo(AttributeSchemaIndex attributeSchemaIndex,
+                                                     Map.Entry<String, String> attributeEntry,
+                                                     SCIMObject scimObject, String[] attributeNames)
+            throws BadRequestException, CharonException, NotFoundException {
+
         boolean isComplexMultivaluedSupportEnabled = Boolean.parseBoolean(IdentityUtil.getProperty
                 (SCIM_COMPLEX_MULTIVALUED_ATTRIBUTE_SUPPORT_ENABLED));
 
@@ -432,7 +455,7 @@ public class AttributeMapper {
                 (ADVANCED_ATTRIBUTE_IDENTIFIER)) {
             String[] parentAttributeNames = parentAttributeURI.split(ADVANCED_ATTRIBUTE_IDENTIFIER);
             parentAttributeName = parentAttributeNames[0];
-            AttributeSchema parentAttributeSchema = getAttributeSchema(userManager, parentAttributeName, scimObjectType);
+            AttributeSchema parentAttributeSchema = attributeSchemaIndex.get(parentAttributeName);
 
             if (parentAttributeSchema == null) {
                 if (log.isDebugEnabled()) {
@@ -448,7 +471,7 @@ public class AttributeMapper {
                     parentType);
 
             String typeAttributeURI = parentAttributeName + "." + SCIMConstants.CommonSchemaConstants.TYPE;
-            AttributeSchema typeAttributeSchema = getAttributeSchema(userManager, typeAttributeURI, scimObjectType);
+            AttributeSchema typeAttributeSchema = attributeSchemaIndex.get(typeAttributeURI);
             if (typeAttributeSchema == null) {
                 if (log.isDebugEnabled()) {
                     log.debug("No Type attribute schema found :" + typeAttributeURI);
@@ -458,7 +481,7 @@ public class AttributeMapper {
             DefaultAttributeFactory.createAttribute(typeAttributeSchema, typeSimpleAttribute);
 
             String valueAttributeURI = parentAttributeName + "." + attributeName;
-            AttributeSchema valueSubAttributeSchema = getAttributeSchema(userManager, valueAttributeURI, scimObjectType);
+            AttributeSchema valueSubAttributeSchema = attributeSchemaIndex.get(valueAttributeURI);
 
             if (valueSubAttributeSchema == null) {
                 if (log.isDebugEnabled()) {
@@ -505,7 +528,7 @@ public class AttributeMapper {
             if (parentAttributeURI.equals(attributeEntry.getKey())) {
                 parentAttributeURI = attributeEntry.getKey().replace(":" + attributeNames[1], "");
             }
-            AttributeSchema parentAttributeSchema = getAttributeSchema(userManager, parentAttributeURI, scimObjectType);
+            AttributeSchema parentAttributeSchema = attributeSchemaIndex.get(parentAttributeURI);
 
             if (parentAttributeSchema == null) {
                 if (log.isDebugEnabled()) {
@@ -521,10 +544,10 @@ public class AttributeMapper {
                 AttributeSchema valueSubAttributeSchema = null;
                 if (valueAttributeURI.equals(SCIMConstants.UserSchemaConstants.ADDRESSES_URI)) {
                     valueAttributeURI = valueAttributeURI + ".formatted";
-                    valueSubAttributeSchema = getAttributeSchema(userManager, valueAttributeURI, scimObjectType);
+                    valueSubAttributeSchema = attributeSchemaIndex.get(valueAttributeURI);
                 } else {
                     valueAttributeURI = valueAttributeURI + ".value";
-                    valueSubAttributeSchema = getAttributeSchema(userManager, valueAttributeURI, scimObjectType);
+                    valueSubAttributeSchema = attributeSchemaIndex.get(valueAttributeURI);
                 }
                 //create map with complex value
                 SimpleAttribute typeSimpleAttribute = new SimpleAttribute(SCIMConstants.CommonSchemaConstants.TYPE,
@@ -532,7 +555,7 @@ public class AttributeMapper {
 
                 String typeAttributeURI = attributeEntry.getKey().replace("." + attributeNames[1], "");
                 typeAttributeURI = typeAttributeURI + ".type";
-                AttributeSchema typeAttributeSchema = getAttributeSchema(userManager, typeAttributeURI, scimObjectType);
+                AttributeSchema typeAttributeSchema = attributeSchemaIndex.get(typeAttributeURI);
                 DefaultAttributeFactory.createAttribute(typeAttributeSchema, typeSimpleAttribute);
                 SimpleAttribute valueSimpleAttribute = new SimpleAttribute(valueSubAttributeSchema.getName(),
                         AttributeUtil.getAttributeValueFromString(attributeEntry.getValue(),
@@ -579,7 +602,7 @@ public class AttributeMapper {
                 }
             } else {
                 // Sub attribute of a complex attribute.
-                AttributeSchema subAttributeSchema = getAttributeSchema(userManager, attributeEntry.getKey(), scimObjectType);
+                AttributeSchema subAttributeSchema = attributeSchemaIndex.get(attributeEntry.getKey());
                 AbstractAttribute attribute;
 
                 if (subAttributeSchema.getMultiValued()) {
@@ -678,33 +701,41 @@ public class AttributeMapper {
      * @throws BadRequestException
      * @throws CharonException
      */
-    public static void constructSCIMObjectFromAttributesOfLevelThree(UserManager userManager, Map.Entry<String, String> attributeEntry,
+    public static void constructSCIMObjectFromAttributesOfLevelThree(UserManager userManager,
+                                                                     Map.Entry<String, String> attributeEntry,
                                                                      SCIMObject scimObject, String[] attributeNames,
                                                                      int scimObjectType)
             throws BadRequestException, CharonException {
+
+        constructAttributeOfLevelThree(getAttributeSchemaIndex(userManager, scimObjectType), attributeEntry,
+                scimObject, attributeNames);
+    }
+
+    private static void constructAttributeOfLevelThree(AttributeSchemaIndex attributeSchemaIndex,
+                                                       Map.Entry<String, String> attributeEntry,
+                                                       SCIMObject scimObject, String[] attributeNames)
+            throws BadRequestException, CharonException {
         String parentAttribute = attributeNames[0];
         //get immediate parent attribute name
         String immediateParentAttributeName = attributeNames[1];
 
         String subAttributeURI = attributeEntry.getKey().replace("." + attributeNames[2], "");
-        AttributeSchema subAttributeSchema = getAttributeSchema(userManager, subAttributeURI, scimObjectType);
+        AttributeSchema subAttributeSchema = attributeSchemaIndex.get(subAttributeURI);
 
         String parentAttributeURI = subAttributeURI.replace(":" + attributeNames[1], "");
-        AttributeSchema attributeSchema = getAttributeSchema(userManager, parentAttributeURI, scimObjectType);
+        AttributeSchema attributeSchema = attributeSchemaIndex.get(parentAttributeURI);
 
         // Differentiate between sub attribute of Complex attribute and a Multivalued attribute with complex value.
         if (subAttributeSchema.getMultiValued()) {
 
             SimpleAttribute typeSimpleAttribute = new SimpleAttribute(SCIMConstants.CommonSchemaConstants.TYPE,
                     attributeNames[2]);
-            AttributeSchema typeAttributeSchema = getAttributeSchema(userManager, subAttributeSchema.getURI()
-                    + ".type", scimObjectType);
+            AttributeSchema typeAttributeSchema = attributeSchemaIndex.get(subAttributeSchema.getURI() + ".type");
             if (typeAttributeSchema != null) {
                 DefaultAttributeFactory.createAttribute(typeAttributeSchema, typeSimpleAttribute);
             }
 
-            AttributeSchema valueAttributeSchema = getAttributeSchema(userManager, subAttributeSchema.getURI()
-                    + ".value", scimObjectType);
+            AttributeSchema valueAttributeSchema = attributeSchemaIndex.get(subAttributeSchema.getURI() + ".value");
             SimpleAttribute valueSimpleAttribute = null;
             if (valueAttributeSchema != null) {
                 valueSimpleAttribute = new SimpleAttribute(SCIMConstants.CommonSchemaConstants.VALUE,
@@ -759,7 +790,7 @@ public class AttributeMapper {
             }
         } else {
 
-            AttributeSchema subSubAttributeSchema = getAttributeSchema(userManager, attributeEntry.getKey(), scimObjectType);
+            AttributeSchema subSubAttributeSchema = attributeSchemaIndex.get(attributeEntry.getKey());
             AbstractAttribute attribute;
 
             if (subSubAttributeSchema.getMultiValued()) {
@@ -839,52 +870,90 @@ public class AttributeMapper {
     }
 
     /**
-     * Return the attribute schema for the asked attribute URI.
+     * Return the attribute schema index of the asked SCIM object type. The index of the user schema of a tenant is
+     * built once and reused until the custom schema extension of the tenant changes.
      *
-     * @param attributeURI   URI of the SCIM attribute.
+     * @param userManager    User manager of the tenant.
      * @param scimObjectType Type of the SCIM object.
-     * @return Schema of the SCIM attribute belonging to the specified attributeURI and scimObjectType.
+     * @return Attribute schema index of the specified scimObjectType.
      */
-    private static AttributeSchema getAttributeSchema(UserManager userManager, String attributeURI, int scimObjectType)
+    private static AttributeSchemaIndex getAttributeSchemaIndex(UserManager userManager, int scimObjectType)
             throws BadRequestException, CharonException {
 
-        ResourceTypeSchema resourceSchema = getResourceSchema(userManager, scimObjectType);
-        if (resourceSchema != null) {
-            List<AttributeSchema> attributeSchemas = resourceSchema.getAttributesList();
-            for (AttributeSchema attributeSchema : attributeSchemas) {
-                if (attributeURI.equals(attributeSchema.getURI())) {
-                    return attributeSchema;
+        switch (scimObjectType) {
+            case SCIMCommonConstants.USER:
+                if (userManager == null) {
+                    return getDefaultUserSchemaIndex();
                 }
-                if (attributeSchema.getType().equals(SCIMDefinitions.DataType.COMPLEX)) {
-                    if (attributeSchema.getMultiValued()) {
-                        List<AttributeSchema> subAttributeSchemaList = attributeSchema.getSubAttributeSchemas();
-                        for (AttributeSchema subAttributeSchema : subAttributeSchemaList) {
-                            if (attributeURI.equals(subAttributeSchema.getURI())) {
-                                return subAttributeSchema;
-                            }
-                        }
-                    } else {
-                        List<AttributeSchema> subAttributeSchemaList = attributeSchema.getSubAttributeSchemas();
-                        for (AttributeSchema subAttributeSchema : subAttributeSchemaList) {
-                            if (attributeURI.equals(subAttributeSchema.getURI())) {
-                                return subAttributeSchema;
-                            }
-                            if (subAttributeSchema.getType().equals(SCIMDefinitions.DataType.COMPLEX)) {
-                                // This is only valid for extension schema.
-                                List<AttributeSchema> subSubAttributeSchemaList = subAttributeSchema
-                                        .getSubAttributeSchemas();
-                                for (AttributeSchema subSubAttributeSchema : subSubAttributeSchemaList) {
-                                    if (attributeURI.equals(subSubAttributeSchema.getURI())) {
-                                        return subSubAttributeSchema;
-                                    }
-                                }
-                            }
-                        }
+                int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+                AttributeSchema schemaExtension = SCIMUserSchemaExtensionBuilder.getInstance().getExtensionSchema();
+                AttributeSchema customSchemaExtension = getCustomUserSchemaExtension(userManager);
+                SCIMAttributeSchemaIndexCache attributeSchemaIndexCache = SCIMAttributeSchemaIndexCache.getInstance();
+                AttributeSchemaIndex userSchemaIndex =
+                        attributeSchemaIndexCache.getAttributeSchemaIndexByTenant(tenantId);
+                if (userSchemaIndex == null || !userSchemaIndex.isBuiltWith(schemaExtension, customSchemaExtension)) {
+                    long generation = attributeSchemaIndexCache.getGeneration();
+                    userSchemaIndex = AttributeSchemaIndex.build(getResourceSchema(userManager, scimObjectType),
+                            schemaExtension, customSchemaExtension);
+                    attributeSchemaIndexCache.addAttributeSchemaIndex(tenantId, userSchemaIndex, generation);
+                    if (log.isDebugEnabled()) {
+                        log.debug("Built the user attribute schema index with " + userSchemaIndex.size() +
+                                " attributes for the tenant: " + tenantId);
                     }
                 }
+                return userSchemaIndex;
+            case SCIMCommonConstants.GROUP:
+                if (groupSchemaIndex == null) {
+                    groupSchemaIndex = AttributeSchemaIndex.build(getResourceSchema(null, scimObjectType), null,
+                            null);
+                }
+                return groupSchemaIndex;
+            default:
+                return AttributeSchemaIndex.EMPTY;
+        }
+    }
+
+    private static AttributeSchema getCustomUserSchemaExtension(UserManager userManager)
+            throws BadRequestException, CharonException {
+
+        try {
+            return userManager.getCustomUserSchemaExtension();
+        } catch (AbstractCharonException e) {
+            if (e instanceof CharonException) {
+                throw (CharonException) e;
             }
+            if (e instanceof BadRequestException) {
+                throw (BadRequestException) e;
+            }
+            throw new CharonException("Error while getting user resource. GetUserResourceSchema is not " +
+                    "implemented.");
+        }
+    }
+
+    private static AttributeSchemaIndex getDefaultUserSchemaIndex() throws BadRequestException, CharonException {
+
+        AttributeSchema schemaExtension = SCIMUserSchemaExtensionBuilder.getInstance().getExtensionSchema();
+        AttributeSchemaIndex userSchemaIndex = defaultUserSchemaIndex;
+        if (userSchemaIndex == null || !userSchemaIndex.isBuiltWith(schemaExtension, null)) {
+            userSchemaIndex = AttributeSchemaIndex.build(getResourceSchema(null, SCIMCommonConstants.USER),
+                    schemaExtension, null);
+            defaultUserSchemaIndex = userSchemaIndex;
+        }
+        return userSchemaIndex;
+    }
+
+    /**
+     * Clear the attribute schema index of the user schema of the given tenant. The index will be rebuilt with the next
+     * SCIM object built for the tenant.
+     *
+     * @param tenantId Tenant id.
+     */
+    public static void clearAttributeSchemaIndex(int tenantId) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Clearing the user attribute schema index of the tenant: " + tenantId);
         }
-        return null;
+        SCIMAttributeSchemaIndexCache.getInstance().clearAttributeSchemaIndexByTenant(tenantId);
     }
 
     /**
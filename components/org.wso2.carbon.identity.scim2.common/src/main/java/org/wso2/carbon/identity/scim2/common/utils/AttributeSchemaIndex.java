@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.utils;
+
+import org.wso2.charon3.core.schema.AttributeSchema;
+import org.wso2.charon3.core.schema.ResourceTypeSchema;
+import org.wso2.charon3.core.schema.SCIMDefinitions;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index of the attribute schemas of a resource type schema, keyed by the attribute URI. The index holds the
+ * same attributes that are reachable by walking the resource type schema, i.e. the attributes, their sub attributes
+ * and the sub attributes of single valued complex sub attributes of extension schemas. When the same URI is reachable
+ * from more than one path, the first one in the walk order is kept.
+ */
+public final class AttributeSchemaIndex implements Serializable {
+
+    private static final long serialVersionUID = -1869360218451672305L;
+
+    static final AttributeSchemaIndex EMPTY = new AttributeSchemaIndex(Collections.emptyMap(), null, null);
+
+    private final Map<String, AttributeSchema> attributeSchemas;
+    private final AttributeSchema schemaExtension;
+    private final AttributeSchema customSchemaExtension;
+
+    private AttributeSchemaIndex(Map<String, AttributeSchema> attributeSchemas, AttributeSchema schemaExtension,
+                                 AttributeSchema customSchemaExtension) {
+
+        this.attributeSchemas = attributeSchemas;
+        this.schemaExtension = schemaExtension;
+        this.customSchemaExtension = customSchemaExtension;
+    }
+
+    /**
+     * Build the index for the given resource type schema.
+     *
+     * @param resourceSchema        Resource type schema.
+     * @param schemaExtension       Enterprise user schema extension the resource type schema was built with, if any.
+     * @param customSchemaExtension Custom schema extension the resource type schema was built with, if any.
+     * @return Attribute schema index.
+     */
+    static AttributeSchemaIndex build(ResourceTypeSchema resourceSchema, AttributeSchema schemaExtension,
+                                      AttributeSchema customSchemaExtension) {
+
+        if (resourceSchema == null || resourceSchema.getAttributesList() == null) {
+            return new AttributeSchemaIndex(Collections.emptyMap(), schemaExtension, customSchemaExtension);
+        }
+        Map<String, AttributeSchema> attributeSchemas = new HashMap<>();
+        for (AttributeSchema attributeSchema : resourceSchema.getAttributesList()) {
+            attributeSchemas.putIfAbsent(attributeSchema.getURI(), attributeSchema);
+            if (!SCIMDefinitions.DataType.COMPLEX.equals(attributeSchema.getType())) {
+                continue;
+            }
+            for (AttributeSchema subAttributeSchema : getSubAttributeSchemas(attributeSchema)) {
+                attributeSchemas.putIfAbsent(subAttributeSchema.getURI(), subAttributeSchema);
+                if (!attributeSchema.getMultiValued() &&
+                        SCIMDefinitions.DataType.COMPLEX.equals(subAttributeSchema.getType())) {
+                    // This is only valid for extension schema.
+                    for (AttributeSchema subSubAttributeSchema : getSubAttributeSchemas(subAttributeSchema)) {
+                        attributeSchemas.putIfAbsent(subSubAttributeSchema.getURI(), subSubAttributeSchema);
+                    }
+                }
+            }
+        }
+        return new AttributeSchemaIndex(Collections.unmodifiableMap(attributeSchemas), schemaExtension,
+                customSchemaExtension);
+    }
+
+    /**
+     * Return the attribute schema of the given attribute URI.
+     *
+     * @param attributeURI URI of the SCIM attribute.
+     * @return Attribute schema or null if the attribute is not defined in the schema.
+     */
+    AttributeSchema get(String attributeURI) {
+
+        return attributeURI == null ? null : attributeSchemas.get(attributeURI);
+    }
+
+    /**
+     * Check whether this index was built with the given schema extensions. The schema extensions are compared by
+     * reference, since a changed schema is always rebuilt into a new instance.
+     *
+     * @param schemaExtension       Current enterprise user schema extension.
+     * @param customSchemaExtension Current custom schema extension of the tenant.
+     * @return True if the index is built from the given schema extensions.
+     */
+    boolean isBuiltWith(AttributeSchema schemaExtension, AttributeSchema customSchemaExtension) {
+
+        return this.schemaExtension == schemaExtension && this.customSchemaExtension == customSchemaExtension;
+    }
+
+    int size() {
+
+        return attributeSchemas.size();
+    }
+
+    private static List<AttributeSchema> getSubAttributeSchemas(AttributeSchema attributeSchema) {
+
+        List<AttributeSchema> subAttributeSchemas = attributeSchema.getSubAttributeSchemas();
+        return subAttributeSchemas == null ? Collections.emptyList() : subAttributeSchemas;
+    }
+}
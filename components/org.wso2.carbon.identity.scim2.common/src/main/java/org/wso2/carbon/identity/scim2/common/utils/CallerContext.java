@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.utils;
+
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Thread local context of the thread serving a request, i.e. the tenant, user and organization of the carbon context
+ * together with the identity thread local properties such as the service provider of the request. The context is
+ * captured in the request thread and applied to the tasks the request runs in other threads, so that they see the
+ * same context as if they were run in the request thread.
+ */
+public final class CallerContext {
+
+    private final String tenantDomain;
+    private final String username;
+    private final String organizationId;
+    private final Map<String, Object> threadLocalProperties;
+
+    private CallerContext(String tenantDomain, String username, String organizationId,
+                          Map<String, Object> threadLocalProperties) {
+
+        this.tenantDomain = tenantDomain;
+        this.username = username;
+        this.organizationId = organizationId;
+        this.threadLocalProperties = threadLocalProperties;
+    }
+
+    /**
+     * Capture the context of the current thread.
+     *
+     * @return Context of the current thread.
+     */
+    public static CallerContext capture() {
+
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        return new CallerContext(carbonContext.getTenantDomain(), carbonContext.getUsername(),
+                carbonContext.getOrganizationId(), new HashMap<>(IdentityUtil.threadLocalProperties.get()));
+    }
+
+    /**
+     * Wrap the given task so that it runs with the captured context. The task runs in a tenant flow of the captured
+     * tenant with a copy of the captured thread local properties, and the thread local properties the thread had
+     * before are restored once the task completes, hence the task can also be run in the request thread.
+     *
+     * @param task Task to be run with the captured context.
+     * @param <T>  Type of the task result.
+     * @return Task which runs with the captured context.
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+
+        return () -> {
+            Map<String, Object> threadLocalPropertiesOfThread = IdentityUtil.threadLocalProperties.get();
+            IdentityUtil.threadLocalProperties.set(new HashMap<>(threadLocalProperties));
+            PrivilegedCarbonContext.startTenantFlow();
+            try {
+                PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+                carbonContext.setTenantDomain(tenantDomain, true);
+                carbonContext.setUsername(username);
+                carbonContext.setOrganizationId(organizationId);
+                return task.call();
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
+                IdentityUtil.threadLocalProperties.set(threadLocalPropertiesOfThread);
+            }
+        };
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.utils;
+
+import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMClaimValidationIndexCache;
+import org.wso2.carbon.identity.scim2.common.internal.SCIMCommonComponentHolder;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.MAX_LENGTH;
+import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.MIN_LENGTH;
+import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.PROP_DISPLAYNAME;
+import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.PROP_REG_EX;
+import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.PROP_REG_EX_VALIDATION_ERROR;
+import static org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants.REQUIRED;
+
+/**
+ * Immutable index of the validation rules of the local claims of a tenant, keyed by the claim URI ignoring the case.
+ * The regex of each claim is compiled once when the index is built. The index of a tenant is built on first use, kept
+ * in the {@link SCIMClaimValidationIndexCache} and has to be cleared when the local claims of the tenant change.
+ */
+public final class ClaimValidationIndex implements Serializable {
+
+    private static final long serialVersionUID = 4630519727384502916L;
+    private static final Log log = LogFactory.getLog(ClaimValidationIndex.class);
+    private static final Map<String, Pattern> DEFAULT_PATTERNS = new ConcurrentHashMap<>();
+
+    private final Map<String, ClaimValidationRule> validationRules;
+
+    private ClaimValidationIndex(Map<String, ClaimValidationRule> validationRules) {
+
+        this.validationRules = validationRules;
+    }
+
+    /**
+     * Get the claim validation index of the given tenant.
+     *
+     * @param tenantId     Tenant ID.
+     * @param tenantDomain Tenant domain of the tenant ID.
+     * @return Claim validation index, or null if the local claims of the tenant could not be retrieved.
+     */
+    public static ClaimValidationIndex getInstance(int tenantId, String tenantDomain) {
+
+        SCIMClaimValidationIndexCache claimValidationIndexCache = SCIMClaimValidationIndexCache.getInstance();
+        ClaimValidationIndex claimValidationIndex = claimValidationIndexCache.getClaimValidationIndexByTenant(tenantId);
+        if (claimValidationIndex != null) {
+            return claimValidationIndex;
+        }
+        long generation = claimValidationIndexCache.getGeneration();
+        try {
+            List<LocalClaim> localClaims =
+                    SCIMCommonComponentHolder.getClaimManagementService().getLocalClaims(tenantDomain);
+            if (localClaims == null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Returned claim list from ClaimManagementService is null");
+                }
+                return null;
+            }
+            claimValidationIndex = build(localClaims);
+        } catch (ClaimMetadataException e) {
+            log.error("Error while retrieving local claim meta data.", e);
+            return null;
+        }
+        claimValidationIndexCache.addClaimValidationIndex(tenantId, claimValidationIndex, generation);
+        if (log.isDebugEnabled()) {
+            log.debug("Built the claim validation index of " + claimValidationIndex.validationRules.size() +
+                    " claims for the tenant: " + tenantDomain);
+        }
+        return claimValidationIndex;
+    }
+
+    /**
+     * Clear the claim validation index of the given tenant.
+     *
+     * @param tenantId Tenant ID.
+     */
+    public static void clear(int tenantId) {
+
+        SCIMClaimValidationIndexCache.getInstance().clearClaimValidationIndexByTenant(tenantId);
+    }
+
+    /**
+     * Build the index from the given local claims. When more than one claim has the same URI ignoring the case, the
+     * first one is kept. Claims without properties are not indexed since there is nothing to validate.
+     *
+     * @param localClaims Local claims of a tenant.
+     * @return Claim validation index.
+     */
+    static ClaimValidationIndex build(List<LocalClaim> localClaims) {
+
+        Map<String, ClaimValidationRule> validationRules = new HashMap<>();
+        for (LocalClaim localClaim : localClaims) {
+            if (localClaim.getClaimURI() == null || MapUtils.isEmpty(localClaim.getClaimProperties())) {
+                continue;
+            }
+            validationRules.putIfAbsent(getKey(localClaim.getClaimURI()),
+                    new ClaimValidationRule(localClaim.getClaimURI(), localClaim.getClaimProperties()));
+        }
+        return new ClaimValidationIndex(Collections.unmodifiableMap(validationRules));
+    }
+
+    /**
+     * Get the validation rule of the given claim.
+     *
+     * @param claimURI Claim URI.
+     * @return Validation rule, or null if the claim is not found or has no properties.
+     */
+    public ClaimValidationRule getValidationRule(String claimURI) {
+
+        return claimURI == null ? null : validationRules.get(getKey(claimURI));
+    }
+
+    private static String getKey(String claimURI) {
+
+        return claimURI.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static Pattern getDefaultPattern(String regex) {
+
+        return DEFAULT_PATTERNS.computeIfAbsent(regex, Pattern::compile);
+    }
+
+    /**
+     * Validation rules of a local claim.
+     */
+    public static final class ClaimValidationRule implements Serializable {
+
+        private static final long serialVersionUID = -6129457081385916093L;
+        private final String displayName;
+        private final String regex;
+        private final Pattern regexPattern;
+        private final String regexValidationError;
+        private final String minLength;
+        private final String maxLength;
+        private final Integer minLengthValue;
+        private final Integer maxLengthValue;
+        private final boolean required;
+
+        private ClaimValidationRule(String claimURI, Map<String, String> claimProperties) {
+
+            this.displayName = claimProperties.get(PROP_DISPLAYNAME);
+            this.regex = claimProperties.get(PROP_REG_EX);
+            this.regexPattern = compile(claimURI, regex);
+            this.regexValidationError = claimProperties.get(PROP_REG_EX_VALIDATION_ERROR);
+            this.minLength = claimProperties.get(MIN_LENGTH);
+            this.maxLength = claimProperties.get(MAX_LENGTH);
+            this.minLengthValue = parseValidLength(minLength);
+            this.maxLengthValue = parseValidLength(maxLength);
+            this.required = StringUtils.isNotBlank(claimProperties.get(REQUIRED)) &&
+                    Boolean.parseBoolean(claimProperties.get(REQUIRED));
+        }
+
+        /**
+         * Check whether the given value matches the regex of the claim. The given default regex is used if the claim
+         * does not have a regex.
+         *
+         * @param value        Claim value.
+         * @param defaultRegex Default regex of the claim.
+         * @return False only if there is a regex to validate against and the value does not match it.
+         */
+        public boolean matchesRegex(String value, String defaultRegex) {
+
+            if (StringUtils.isEmpty(regex)) {
+                // If there is no configured claim regex and default regex is blank nothing to validate.
+                return StringUtils.isBlank(defaultRegex) || getDefaultPattern(defaultRegex).matcher(value).matches();
+            }
+            if (regexPattern == null) {
+                // The regex could not be compiled. Keep the behaviour of matching the value against the regex as is.
+                return value.matches(regex);
+            }
+            return regexPattern.matcher(value).matches();
+        }
+
+        public String getDisplayName() {
+
+            return displayName;
+        }
+
+        public String getRegexValidationError() {
+
+            return regexValidationError;
+        }
+
+        public String getMinLength() {
+
+            return minLength;
+        }
+
+        public String getMaxLength() {
+
+            return maxLength;
+        }
+
+        /**
+         * Get the min length of the claim.
+         *
+         * @return Min length, or null if the claim does not have a min length.
+         * @throws NumberFormatException If the configured min length is not a valid number.
+         */
+        public Integer getMinLengthValue() {
+
+            return minLengthValue != null ? minLengthValue : parseLength(minLength);
+        }
+
+        /**
+         * Get the max length of the claim.
+         *
+         * @return Max length, or null if the claim does not have a max length.
+         * @throws NumberFormatException If the configured max length is not a valid number.
+         */
+        public Integer getMaxLengthValue() {
+
+            return maxLengthValue != null ? maxLengthValue : parseLength(maxLength);
+        }
+
+        public boolean isRequired() {
+
+            return required;
+        }
+
+        private static Pattern compile(String claimURI, String regex) {
+
+            if (StringUtils.isEmpty(regex)) {
+                return null;
+            }
+            try {
+                return Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                log.warn("Invalid regex configured for the claim: " + claimURI);
+                return null;
+            }
+        }
+
+        private static Integer parseLength(String value) {
+
+            if (StringUtils.isBlank(value)) {
+                return null;
+            }
+            return Integer.parseInt(value);
+        }
+
+        /**
+         * Parse a length when the index is built. An invalid length is parsed again when it is read, so that the
+         * validation of a value of the claim fails instead of the build of the index of all the claims.
+         */
+        private static Integer parseValidLength(String value) {
+
+            try {
+                return parseLength(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.utils;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.charon3.core.schema.SCIMConstants;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable view of the SCIM to local claim mappings of a tenant together with the inverse local to SCIM mappings.
+ * A local claim can be mapped to more than one SCIM claim, hence the inverse mapping holds a list of SCIM claims.
+ */
+public final class SCIMClaimMappingSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 4829274410613085331L;
+    private static final AtomicLong VERSION_SEQUENCE = new AtomicLong();
+    // SCIM attributes whose local claims are not removed from a user when they are missing in a user update.
+    private static final List<String> IMMUTABLE_SCIM_CLAIMS = Arrays.asList(
+            SCIMConstants.CommonSchemaConstants.ID_URI,
+            SCIMConstants.UserSchemaConstants.USER_NAME_URI,
+            SCIMConstants.UserSchemaConstants.ROLES_URI + "." + SCIMConstants.DEFAULT,
+            SCIMConstants.CommonSchemaConstants.CREATED_URI,
+            SCIMConstants.CommonSchemaConstants.LAST_MODIFIED_URI,
+            SCIMConstants.CommonSchemaConstants.LOCATION_URI,
+            SCIMConstants.UserSchemaConstants.FAMILY_NAME_URI,
+            SCIMConstants.UserSchemaConstants.GROUP_URI);
+
+    private final Map<String, String> scimToLocalMappings;
+    private final Map<String, List<String>> localToSCIMMappings;
+    private final Set<String> immutableLocalClaims;
+    private final long version;
+
+    private SCIMClaimMappingSnapshot(Map<String, String> scimToLocalMappings,
+                                     Map<String, List<String>> localToSCIMMappings) {
+
+        this.scimToLocalMappings = scimToLocalMappings;
+        this.localToSCIMMappings = localToSCIMMappings;
+        Set<String> immutableClaims = new HashSet<>();
+        for (String scimClaim : IMMUTABLE_SCIM_CLAIMS) {
+            if (scimToLocalMappings.get(scimClaim) != null) {
+                immutableClaims.add(scimToLocalMappings.get(scimClaim));
+            }
+        }
+        this.immutableLocalClaims = Collections.unmodifiableSet(immutableClaims);
+        this.version = VERSION_SEQUENCE.incrementAndGet();
+    }
+
+    /**
+     * Build a snapshot from the given SCIM to local claim mappings. The given map is copied.
+     *
+     * @param scimToLocalMappings Map of SCIM claims and corresponding local claims.
+     * @return Snapshot of the mappings.
+     */
+    public static SCIMClaimMappingSnapshot build(Map<String, String> scimToLocalMappings) {
+
+        Map<String, String> scimToLocal = new HashMap<>();
+        Map<String, List<String>> localToSCIM = new HashMap<>();
+        if (scimToLocalMappings != null) {
+            for (Map.Entry<String, String> mapping : scimToLocalMappings.entrySet()) {
+                scimToLocal.put(mapping.getKey(), mapping.getValue());
+                if (StringUtils.isNotEmpty(mapping.getValue())) {
+                    localToSCIM.computeIfAbsent(mapping.getValue(), k -> new ArrayList<>()).add(mapping.getKey());
+                }
+            }
+        }
+        for (Map.Entry<String, List<String>> mapping : localToSCIM.entrySet()) {
+            mapping.setValue(Collections.unmodifiableList(mapping.getValue()));
+        }
+        return new SCIMClaimMappingSnapshot(Collections.unmodifiableMap(scimToLocal),
+                Collections.unmodifiableMap(localToSCIM));
+    }
+
+    /**
+     * Get the SCIM to local claim mappings.
+     *
+     * @return Unmodifiable map of SCIM claims and corresponding local claims.
+     */
+    public Map<String, String> getSCIMToLocalMappings() {
+
+        return scimToLocalMappings;
+    }
+
+    /**
+     * Get the local to SCIM claim mappings.
+     *
+     * @return Unmodifiable map of local claims and the SCIM claims mapped to each of them.
+     */
+    public Map<String, List<String>> getLocalToSCIMMappings() {
+
+        return localToSCIMMappings;
+    }
+
+    /**
+     * Get the local claims mapped to the SCIM attributes that are not removed from a user when they are missing in
+     * a user update, such as the id, userName and meta attributes.
+     *
+     * @return Unmodifiable set of local claims.
+     */
+    public Set<String> getImmutableLocalClaims() {
+
+        return immutableLocalClaims;
+    }
+
+    /**
+     * Get the version of the snapshot. A rebuilt snapshot always has a higher version than the one it replaces
+     * within the same node.
+     *
+     * @return Version of the snapshot.
+     */
+    public long getVersion() {
+
+        return version;
+    }
+}
@@ -117,6 +117,39 @@ public class SCIMCommonConstants {
             "SCIM2MultiAttributeFiltering.UsePagination";
     public static final String CONSIDER_SERVER_WIDE_MAX_LIMIT_ENABLED=
             "SCIM2.ConsiderServerWideUserEndpointMaxLimit";
+    public static final String SCIM_ENABLE_GROUP_LISTING_PAGINATION = "SCIM2.EnableGroupListingPagination";
+    public static final String SCIM_GROUP_MEMBER_CLAIM_BATCH_SIZE = "SCIM2.GroupMembers.ClaimBatchSize";
+    public static final String SCIM_ENABLE_GROUP_METADATA_CACHE = "SCIM2.EnableGroupMetadataCache";
+    public static final String SCIM_ENABLE_USER_STORE_DOMAIN_TOPOLOGY_CACHE =
+            "SCIM2.EnableUserStoreDomainTopologyCache";
+    public static final int DEFAULT_SCIM_GROUP_MEMBER_CLAIM_BATCH_SIZE = 500;
+    public static final String USER_LISTING_CURSOR_THREAD_LOCAL_PROPERTY = "SCIMUserListingCursor";
+    public static final String USER_LISTING_NEXT_CURSOR_THREAD_LOCAL_PROPERTY = "SCIMUserListingNextCursor";
+    public static final String SCIM_USER_BUILD_THREAD_POOL_SIZE = "SCIM2.UserListing.BuildThreadPoolSize";
+    public static final int DEFAULT_SCIM_USER_BUILD_THREAD_POOL_SIZE = 0;
+    public static final String SCIM_USER_BUILD_QUEUE_SIZE = "SCIM2.UserListing.BuildQueueSize";
+    public static final int DEFAULT_SCIM_USER_BUILD_QUEUE_SIZE = 100;
+    public static final String SCIM_USER_BUILD_PARALLEL_THRESHOLD = "SCIM2.UserListing.ParallelBuildThreshold";
+    public static final int DEFAULT_SCIM_USER_BUILD_PARALLEL_THRESHOLD = 100;
+    public static final String SCIM_BULK_THREAD_POOL_SIZE = "SCIM2.Bulk.ThreadPoolSize";
+    public static final String SCIM_USER_STORE_DOMAIN_PARALLEL_SEARCH_ENABLED =
+            "SCIM2.UserListing.ParallelDomainSearch";
+    public static final String SCIM_USER_STORE_DOMAIN_SEARCH_TIMEOUT = "SCIM2.UserListing.DomainSearchTimeout";
+    public static final int DEFAULT_SCIM_USER_STORE_DOMAIN_SEARCH_TIMEOUT = 10000;
+    public static final String SCIM_USER_STORE_DOMAIN_SEARCH_THREAD_POOL_SIZE =
+            "SCIM2.UserListing.DomainSearchThreadPoolSize";
+    public static final int DEFAULT_SCIM_USER_STORE_DOMAIN_SEARCH_THREAD_POOL_SIZE = 10;
+    public static final String SCIM_SINGLE_PASS_MULTI_ATTRIBUTE_FILTERING_ENABLED =
+            "SCIM2.UserListing.SinglePassMultiAttributeFiltering";
+    public static final String SCIM_FILTERED_USER_COUNT_CACHE_TTL = "SCIM2.UserListing.FilteredUserCountCacheTTL";
+    public static final String SCIM_TOTAL_USER_COUNT_CACHE_TTL = "SCIM2.UserListing.TotalUserCountCacheTTL";
+    public static final String SCIM_TOTAL_USER_COUNT_REFRESH_THREAD_POOL_SIZE =
+            "SCIM2.UserListing.TotalUserCountRefreshThreadPoolSize";
+    public static final int DEFAULT_SCIM_TOTAL_USER_COUNT_REFRESH_THREAD_POOL_SIZE = 1;
+    public static final int SCIM_TOTAL_USER_COUNT_REFRESH_QUEUE_SIZE = 100;
+    public static final String SCIM_USER_UPDATE_USERNAME_ONLY_READ_ENABLED =
+            "SCIM2.UserUpdate.ReadOnlyUsernameOfExistingUser";
+    public static final String SCIM_IN_MEMORY_METRICS_REGISTRY_ENABLED = "SCIM2.Metrics.EnableInMemoryRegistry";
 
     public static final String URL_SEPERATOR = "/";
     public static final String TENANT_URL_SEPERATOR = "/t/";
@@ -38,6 +38,7 @@ import org.wso2.carbon.identity.organization.management.service.exception.Organi
 import org.wso2.carbon.identity.organization.management.service.util.OrganizationManagementUtil;
 import org.wso2.carbon.identity.role.mgt.core.IdentityRoleManagementException;
 import org.wso2.carbon.identity.role.mgt.core.util.UserIDResolver;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMClaimMappingCache;
 import org.wso2.carbon.identity.scim2.common.cache.SCIMCustomAttributeSchemaCache;
 import org.wso2.carbon.identity.scim2.common.exceptions.IdentitySCIMException;
 import org.wso2.carbon.identity.scim2.common.group.SCIMGroupHandler;
@@ -61,6 +62,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.wso2.charon3.core.schema.SCIMConstants.CUSTOM_USER_SCHEMA_URI;
 
@@ -407,19 +409,27 @@ public class SCIMCommonUtils {
     public static Map<String, String> convertLocalToSCIMDialect(Map<String, String> claimsMap, Map<String, String>
             scimToLocalClaimMappings) throws UserStoreException {
 
+        Map<String, String> claimsInSCIMDialect = new HashMap<>();
         if (MapUtils.isEmpty(scimToLocalClaimMappings)) {
-            // Retrieve Local to SCIM Claim Mappings from db.
-            scimToLocalClaimMappings = getSCIMtoLocalMappings();
+            // Resolve the claims through the cached Local to SCIM Claim Mappings of the tenant.
+            Map<String, List<String>> localToSCIMClaimMappings =
+                    getSCIMClaimMappingSnapshot().getLocalToSCIMMappings();
+            for (Map.Entry<String, String> entry : claimsMap.entrySet()) {
+                List<String> scimClaimUris = localToSCIMClaimMappings.get(entry.getKey());
+                if (scimClaimUris != null && StringUtils.isNotEmpty(entry.getValue())) {
+                    for (String scimClaimUri : scimClaimUris) {
+                        claimsInSCIMDialect.put(scimClaimUri, entry.getValue());
+                    }
+                }
+            }
+            return claimsInSCIMDialect;
         }
 
-        Map<String, String> claimsInSCIMDialect = new HashMap<>();
-        if (MapUtils.isNotEmpty(scimToLocalClaimMappings)) {
-            for (Map.Entry entry : scimToLocalClaimMappings.entrySet()) {
-                String claimValue = claimsMap.get(entry.getValue());
-                if (StringUtils.isNotEmpty(claimValue)) {
-                    String scimClaimUri = (String) entry.getKey();
-                    claimsInSCIMDialect.put(scimClaimUri, claimValue);
-                }
+        for (Map.Entry entry : scimToLocalClaimMappings.entrySet()) {
+            String claimValue = claimsMap.get(entry.getValue());
+            if (StringUtils.isNotEmpty(claimValue)) {
+                String scimClaimUri = (String) entry.getKey();
+                claimsInSCIMDialect.put(scimClaimUri, claimValue);
             }
         }
         return claimsInSCIMDialect;
@@ -433,7 +443,53 @@ public class SCIMCommonUtils {
      */
     public static Map<String, String> getSCIMtoLocalMappings() throws UserStoreException {
 
+        // Callers are allowed to modify the returned map, hence a copy of the cached mappings is returned.
+        return new HashMap<>(getSCIMClaimMappingSnapshot().getSCIMToLocalMappings());
+    }
+
+    /**
+     * Retrieves the SCIM to Local Claim Mapping snapshot of the tenant. The snapshot is built once per tenant and
+     * cached until a claim dialect or claim mapping change is notified through the SCIMClaimOperationEventHandler.
+     *
+     * @return SCIM to Local Claim Mapping snapshot of the tenant.
+     * @throws UserStoreException
+     */
+    public static SCIMClaimMappingSnapshot getSCIMClaimMappingSnapshot() throws UserStoreException {
+
         String tenantDomain = getTenantDomain();
+        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        SCIMClaimMappingSnapshot claimMappingSnapshot =
+                SCIMClaimMappingCache.getInstance().getClaimMappingSnapshotByTenant(tenantId);
+        if (claimMappingSnapshot == null) {
+            claimMappingSnapshot = SCIMClaimMappingSnapshot.build(buildSCIMtoLocalMappings(tenantDomain));
+            SCIMClaimMappingCache.getInstance().addClaimMappingSnapshot(tenantId, claimMappingSnapshot);
+        }
+        return claimMappingSnapshot;
+    }
+
+    /**
+     * Retrieves the local claims of the tenant that are not removed from a user when the SCIM attributes mapped to
+     * them are missing in a user update.
+     *
+     * @return Unmodifiable set of local claims.
+     * @throws UserStoreException
+     */
+    public static Set<String> getImmutableLocalClaims() throws UserStoreException {
+
+        return getSCIMClaimMappingSnapshot().getImmutableLocalClaims();
+    }
+
+    /**
+     * Clear the cached SCIM to Local Claim Mappings of the tenant.
+     *
+     * @param tenantId Tenant id.
+     */
+    public static void clearSCIMtoLocalMappings(int tenantId) {
+
+        SCIMClaimMappingCache.getInstance().clearClaimMappingSnapshotByTenant(tenantId);
+    }
+
+    private static Map<String, String> buildSCIMtoLocalMappings(String tenantDomain) throws UserStoreException {
 
         Map<String, String> scimToLocalClaimMap = new HashMap<>();
         try {
@@ -457,10 +513,9 @@ public class SCIMCommonUtils {
                 scimToLocalClaimMap.putAll(extensionClaims);
             }
 
-            String userTenantDomain = getTenantDomain();
             Map<String, String> customExtensionClaims =
                     ClaimMetadataHandler.getInstance().getMappingsMapFromOtherDialectToCarbon(getCustomSchemaURI(),
-                            null, userTenantDomain, false);
+                            null, tenantDomain, false);
             scimToLocalClaimMap.putAll(customExtensionClaims);
 
             return scimToLocalClaimMap;
@@ -1020,4 +1075,210 @@ public class SCIMCommonUtils {
         }
         return Boolean.parseBoolean(considerServerWideUserEndpointMaxLimitProperty);
     }
+
+    /**
+     * Checks whether the identity.xml config is available to paginate the groups listed without a filter.
+     *
+     * @return Whether 'SCIM_ENABLE_GROUP_LISTING_PAGINATION' property is enabled in identity.xml.
+     */
+    public static boolean isGroupListingPaginationEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(SCIMCommonConstants.SCIM_ENABLE_GROUP_LISTING_PAGINATION));
+    }
+
+    /**
+     * Checks whether the identity.xml config is available to cache the SCIM meta attributes of the groups across
+     * requests.
+     *
+     * @return Whether 'SCIM_ENABLE_GROUP_METADATA_CACHE' property is enabled in identity.xml.
+     */
+    public static boolean isGroupMetadataCacheEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(SCIMCommonConstants.SCIM_ENABLE_GROUP_METADATA_CACHE));
+    }
+
+    /**
+     * Checks whether the identity.xml config is available to resolve only the username of the existing user when a
+     * user is updated, instead of reading the complete user with its groups and roles.
+     *
+     * @return Whether 'SCIM_USER_UPDATE_USERNAME_ONLY_READ_ENABLED' property is enabled in identity.xml.
+     */
+    public static boolean isUsernameOnlyReadOnUserUpdateEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(
+                SCIMCommonConstants.SCIM_USER_UPDATE_USERNAME_ONLY_READ_ENABLED));
+    }
+
+    /**
+     * Checks whether the identity.xml config is available to register the in-memory SCIM metrics registry.
+     *
+     * @return Whether 'SCIM_IN_MEMORY_METRICS_REGISTRY_ENABLED' property is enabled in identity.xml.
+     */
+    public static boolean isInMemoryMetricsRegistryEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(
+                SCIMCommonConstants.SCIM_IN_MEMORY_METRICS_REGISTRY_ENABLED));
+    }
+
+    /**
+     * Checks whether the identity.xml config is available to resolve the properties of the user store domains of a
+     * tenant once per request instead of on every read.
+     *
+     * @return Whether 'SCIM_ENABLE_USER_STORE_DOMAIN_TOPOLOGY_CACHE' property is enabled in identity.xml.
+     */
+    public static boolean isUserStoreDomainTopologyCacheEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(
+                SCIMCommonConstants.SCIM_ENABLE_USER_STORE_DOMAIN_TOPOLOGY_CACHE));
+    }
+
+    /**
+     * Read the number of threads used to build SCIM user objects of a user listing in parallel.
+     *
+     * @return Thread pool size. A value less than or equal to 0, which is the default, disables the parallel build.
+     */
+    public static int getSCIMUserBuildThreadPoolSize() {
+
+        return getIntegerProperty(SCIMCommonConstants.SCIM_USER_BUILD_THREAD_POOL_SIZE,
+                SCIMCommonConstants.DEFAULT_SCIM_USER_BUILD_THREAD_POOL_SIZE);
+    }
+
+    /**
+     * Read the number of threads used to process the independent operations of a bulk request in parallel.
+     *
+     * @return Thread pool size. A value less than or equal to 0 disables the parallel processing.
+     */
+    public static int getSCIMBulkThreadPoolSize() {
+
+        return getIntegerProperty(SCIMCommonConstants.SCIM_BULK_THREAD_POOL_SIZE, 0);
+    }
+
+    /**
+     * Read the maximum number of tasks waiting for a thread of the executor used to build SCIM user objects of a user
+     * listing in parallel. Tasks submitted while the queue is full are run in the submitting thread.
+     *
+     * @return Queue size.
+     */
+    public static int getSCIMUserBuildQueueSize() {
+
+        return getIntegerProperty(SCIMCommonConstants.SCIM_USER_BUILD_QUEUE_SIZE,
+                SCIMCommonConstants.DEFAULT_SCIM_USER_BUILD_QUEUE_SIZE);
+    }
+
+    /**
+     * Read the minimum number of users in a listing page for which the SCIM user objects are built in parallel.
+     *
+     * @return Parallel build threshold.
+     */
+    public static int getSCIMUserBuildParallelThreshold() {
+
+        return getIntegerProperty(SCIMCommonConstants.SCIM_USER_BUILD_PARALLEL_THRESHOLD,
+                SCIMCommonConstants.DEFAULT_SCIM_USER_BUILD_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Checks whether the identity.xml config is available to search the user store domains concurrently when
+     * listing or filtering users across all the domains.
+     *
+     * @return Whether 'SCIM_USER_STORE_DOMAIN_PARALLEL_SEARCH_ENABLED' property is enabled in identity.xml.
+     */
+    public static boolean isParallelUserStoreDomainSearchEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(
+                SCIMCommonConstants.SCIM_USER_STORE_DOMAIN_PARALLEL_SEARCH_ENABLED));
+    }
+
+    /**
+     * Read the time a user store domain search is waited for when the domains are searched concurrently.
+     *
+     * @return Domain search timeout in milliseconds.
+     */
+    public static int getUserStoreDomainSearchTimeout() {
+
+        return getIntegerProperty(SCIMCommonConstants.SCIM_USER_STORE_DOMAIN_SEARCH_TIMEOUT,
+                SCIMCommonConstants.DEFAULT_SCIM_USER_STORE_DOMAIN_SEARCH_TIMEOUT);
+    }
+
+    /**
+     * Read the number of threads used to search the user store domains concurrently. The threads are not shared with
+     * the other parallel tasks of the user listing.
+     *
+     * @return Thread pool size. A value less than or equal to 0 disables the parallel domain search.
+     */
+    public static int getUserStoreDomainSearchThreadPoolSize() {
+
+        return getIntegerProperty(SCIMCommonConstants.SCIM_USER_STORE_DOMAIN_SEARCH_THREAD_POOL_SIZE,
+                SCIMCommonConstants.DEFAULT_SCIM_USER_STORE_DOMAIN_SEARCH_THREAD_POOL_SIZE);
+    }
+
+    /**
+     * Read the number of group members whose primary login identifiers are read with a single user store call.
+     *
+     * @return Group member claim batch size.
+     */
+    public static int getGroupMemberClaimBatchSize() {
+
+        return getIntegerProperty(SCIMCommonConstants.SCIM_GROUP_MEMBER_CLAIM_BATCH_SIZE,
+                SCIMCommonConstants.DEFAULT_SCIM_GROUP_MEMBER_CLAIM_BATCH_SIZE);
+    }
+
+    /**
+     * Checks whether the identity.xml config is available to count the users matching a multi attribute filter once
+     * per domain and use the counts to retrieve the requested page, instead of counting the users after the page is
+     * retrieved.
+     *
+     * @return Whether 'SCIM_SINGLE_PASS_MULTI_ATTRIBUTE_FILTERING_ENABLED' property is enabled in identity.xml.
+     */
+    public static boolean isSinglePassMultiAttributeFilteringEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(
+                SCIMCommonConstants.SCIM_SINGLE_PASS_MULTI_ATTRIBUTE_FILTERING_ENABLED));
+    }
+
+    /**
+     * Read the time the number of users matching a multi attribute filter is cached for.
+     *
+     * @return Time to live of a filtered user count in milliseconds. Counts are not cached if not positive.
+     */
+    public static int getFilteredUserCountCacheTTL() {
+
+        return getIntegerProperty(SCIMCommonConstants.SCIM_FILTERED_USER_COUNT_CACHE_TTL, 0);
+    }
+
+    /**
+     * Read the time the total number of users of a user store domain is cached for, to be used as the total results
+     * of unfiltered user listings.
+     *
+     * @return Time to live of a total user count in milliseconds. Counts are not cached if not positive.
+     */
+    public static int getTotalUserCountCacheTTL() {
+
+        return getIntegerProperty(SCIMCommonConstants.SCIM_TOTAL_USER_COUNT_CACHE_TTL, 0);
+    }
+
+    /**
+     * Read the number of threads used to refresh the cached total user counts ahead of their expiry.
+     *
+     * @return Thread pool size. A value less than or equal to 0 disables the refresh ahead of the expiry.
+     */
+    public static int getTotalUserCountRefreshThreadPoolSize() {
+
+        return getIntegerProperty(SCIMCommonConstants.SCIM_TOTAL_USER_COUNT_REFRESH_THREAD_POOL_SIZE,
+                SCIMCommonConstants.DEFAULT_SCIM_TOTAL_USER_COUNT_REFRESH_THREAD_POOL_SIZE);
+    }
+
+    private static int getIntegerProperty(String propertyName, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value: " + value + " configured for: " + propertyName + ". Hence using the default " +
+                    "value: " + defaultValue);
+            return defaultValue;
+        }
+    }
 }
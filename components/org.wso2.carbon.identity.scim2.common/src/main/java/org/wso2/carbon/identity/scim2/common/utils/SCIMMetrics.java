@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.utils;
+
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.scim2.common.extenstion.SCIMMetricsRegistry;
+import org.wso2.carbon.identity.scim2.common.internal.SCIMCommonComponentHolder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records the metrics of the SCIM operations into the registered SCIMMetricsRegistry. Counters are recorded per
+ * tenant, and the counts of the current request are also kept per thread so that the number of user store calls, DB
+ * queries, etc. of each request is recorded per endpoint when the request ends. Work done by the other threads of a
+ * request, such as the parallel user build and bulk threads, is counted in the tenant counters only. Nothing is
+ * recorded when no registry is registered.
+ */
+public final class SCIMMetrics {
+
+    public static final String USER_STORE_CALLS = "scim.userstore.calls";
+    public static final String CLAIMS_FETCHED = "scim.userstore.claims.fetched";
+    public static final String DB_QUERIES = "scim.db.queries";
+    public static final String ROLE_SERVICE_CALLS = "scim.role.service.calls";
+    public static final String CACHE_HITS = "scim.cache.hits";
+    public static final String CACHE_MISSES = "scim.cache.misses";
+    public static final String REQUESTS = "scim.requests";
+    public static final String REQUEST_DURATION = "scim.request.duration";
+
+    private static final String METRIC_NAME_SEPARATOR = ".";
+    // Counters that are also recorded per request. The index of a counter is its index in the per request counts.
+    private static final List<String> REQUEST_COUNTERS = Collections.unmodifiableList(Arrays.asList(USER_STORE_CALLS,
+            CLAIMS_FETCHED, DB_QUERIES, ROLE_SERVICE_CALLS, CACHE_HITS, CACHE_MISSES));
+    private static final ThreadLocal<long[]> requestCounts = new ThreadLocal<>();
+
+    private SCIMMetrics() {
+
+    }
+
+    /**
+     * Start counting the metrics of a request in the current thread. The counts of a previous request of the thread
+     * that was not ended are discarded.
+     */
+    public static void startRequest() {
+
+        if (SCIMCommonComponentHolder.getMetricsRegistry() == null) {
+            requestCounts.remove();
+            return;
+        }
+        requestCounts.set(new long[REQUEST_COUNTERS.size()]);
+    }
+
+    /**
+     * End the request of the current thread and record its latency and counts against the given endpoint.
+     *
+     * @param endpoint      Endpoint of the request, e.g. "GET Users".
+     * @param durationNanos Duration of the request in nanoseconds.
+     */
+    public static void endRequest(String endpoint, long durationNanos) {
+
+        long[] counts = requestCounts.get();
+        requestCounts.remove();
+        SCIMMetricsRegistry metricsRegistry = SCIMCommonComponentHolder.getMetricsRegistry();
+        if (metricsRegistry == null) {
+            return;
+        }
+        String tenantDomain = getTenantDomain();
+        metricsRegistry.incrementCounter(getEndpointMetricName(REQUESTS, endpoint), tenantDomain, 1);
+        metricsRegistry.recordDuration(getEndpointMetricName(REQUEST_DURATION, endpoint), tenantDomain,
+                durationNanos);
+        if (counts == null) {
+            return;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            metricsRegistry.recordValue(getEndpointMetricName(REQUEST_COUNTERS.get(i), endpoint), tenantDomain,
+                    counts[i]);
+        }
+    }
+
+    /**
+     * Increment a counter by one.
+     *
+     * @param name Name of the counter.
+     */
+    public static void increment(String name) {
+
+        increment(name, 1);
+    }
+
+    /**
+     * Increment a counter.
+     *
+     * @param name  Name of the counter.
+     * @param count Amount to increment the counter by.
+     */
+    public static void increment(String name, long count) {
+
+        SCIMMetricsRegistry metricsRegistry = SCIMCommonComponentHolder.getMetricsRegistry();
+        if (metricsRegistry == null) {
+            return;
+        }
+        metricsRegistry.incrementCounter(name, getTenantDomain(), count);
+        countInRequest(name, count);
+    }
+
+    /**
+     * Count a call to a user store. The given user store manager is returned, so that the call is counted by wrapping
+     * the receiver of the call, e.g. {@code SCIMMetrics.countUserStoreCall(userStoreManager).getUserListWithID(...)},
+     * and a call that is skipped by a condition is not counted.
+     *
+     * @param userStoreManager User store manager the call is made on.
+     * @param <T>              Type of the user store manager.
+     * @return The given user store manager.
+     */
+    public static <T> T countUserStoreCall(T userStoreManager) {
+
+        increment(USER_STORE_CALLS);
+        return userStoreManager;
+    }
+
+    /**
+     * Record a lookup of a cache.
+     *
+     * @param cacheName Name of the cache.
+     * @param hit       Whether the entry was found in the cache.
+     */
+    public static void recordCacheAccess(String cacheName, boolean hit) {
+
+        SCIMMetricsRegistry metricsRegistry = SCIMCommonComponentHolder.getMetricsRegistry();
+        if (metricsRegistry == null) {
+            return;
+        }
+        String name = hit ? CACHE_HITS : CACHE_MISSES;
+        metricsRegistry.incrementCounter(getEndpointMetricName(name, cacheName), getTenantDomain(), 1);
+        countInRequest(name, 1);
+    }
+
+    /**
+     * Get the name a metric is recorded under for an endpoint or a cache.
+     *
+     * @param name     Name of the metric.
+     * @param endpoint Endpoint or cache name.
+     * @return Name of the metric of the endpoint.
+     */
+    public static String getEndpointMetricName(String name, String endpoint) {
+
+        return name + METRIC_NAME_SEPARATOR + endpoint;
+    }
+
+    private static void countInRequest(String name, long count) {
+
+        long[] counts = requestCounts.get();
+        if (counts == null) {
+            return;
+        }
+        int index = REQUEST_COUNTERS.indexOf(name);
+        if (index >= 0) {
+            counts[index] += count;
+        }
+    }
+
+    private static String getTenantDomain() {
+
+        return PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.utils;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMTotalUserCountCache;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMTotalUserCountCacheEntry;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMTotalUserCountCacheKey;
+import org.wso2.charon3.core.exceptions.CharonException;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Cache of the total number of users of a user store domain, used as the approximate total results of unfiltered
+ * user listings. A count is refreshed in the background once it has lived for most of its time to live, so that
+ * listings are not blocked on counting the users of large domains, and is adjusted when users are added or deleted.
+ * The counts are kept in the {@link SCIMTotalUserCountCache}, while the refreshes running on this node are tracked
+ * here so that a count is not refreshed twice at a time.
+ */
+public final class TotalUserCountCache {
+
+    private static final Log log = LogFactory.getLog(TotalUserCountCache.class);
+
+    private static final String CACHE_NAME = "SCIMTotalUserCountCache";
+    // Fraction of the time to live after which a count is refreshed in the background.
+    private static final double REFRESH_AHEAD_FACTOR = 0.8;
+    private static final Set<SCIMTotalUserCountCacheKey> REFRESHING_COUNTS = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Count of the users of a single domain.
+     */
+    public interface UserCount {
+
+        long count() throws CharonException;
+    }
+
+    private TotalUserCountCache() {
+
+    }
+
+    /**
+     * Get the number of users of the domain. The count is computed with the given function in the caller thread if
+     * it is not cached or has expired, and in the given executor, with the context of the caller, if it is about to
+     * expire.
+     *
+     * @param tenantId        Tenant id.
+     * @param domainName      User store domain name.
+     * @param timeToLive      Time to live of a count in milliseconds. If not positive, the count is not cached.
+     * @param executorService Executor used to refresh the count ahead of its expiry. If null, the count is refreshed
+     *                        only after it has expired.
+     * @param userCount       Function computing the count.
+     * @return Number of users of the domain.
+     * @throws CharonException If an error occurred while counting the users.
+     */
+    public static long getCount(int tenantId, String domainName, long timeToLive, ExecutorService executorService,
+                                UserCount userCount) throws CharonException {
+
+        if (timeToLive <= 0) {
+            return userCount.count();
+        }
+        String domain = domainName.toUpperCase(Locale.ENGLISH);
+        long now = System.currentTimeMillis();
+        SCIMTotalUserCountCacheEntry countEntry = SCIMTotalUserCountCache.getInstance()
+                .getTotalUserCount(tenantId, domain);
+        if (countEntry == null || now - countEntry.getLoadedAt() >= timeToLive) {
+            SCIMMetrics.recordCacheAccess(CACHE_NAME, false);
+            long count = userCount.count();
+            SCIMTotalUserCountCache.getInstance().addTotalUserCount(tenantId, domain, count, now);
+            return count;
+        }
+        if (executorService != null && now - countEntry.getLoadedAt() >= (long) (timeToLive * REFRESH_AHEAD_FACTOR)) {
+            refresh(tenantId, domain, executorService, userCount);
+        }
+        SCIMMetrics.recordCacheAccess(CACHE_NAME, true);
+        return countEntry.getCount();
+    }
+
+    /**
+     * Adjust the cached count of a domain after a user is added to it.
+     *
+     * @param tenantId   Tenant id.
+     * @param domainName User store domain name.
+     */
+    public static void onUserAdded(int tenantId, String domainName) {
+
+        adjust(tenantId, domainName, 1);
+    }
+
+    /**
+     * Adjust the cached count of a domain after a user is deleted from it.
+     *
+     * @param tenantId   Tenant id.
+     * @param domainName User store domain name.
+     */
+    public static void onUserDeleted(int tenantId, String domainName) {
+
+        adjust(tenantId, domainName, -1);
+    }
+
+    /**
+     * Clear the counts of all the domains of a tenant.
+     *
+     * @param tenantId Tenant id.
+     */
+    public static void clear(int tenantId) {
+
+        SCIMTotalUserCountCache.getInstance().clearTotalUserCounts(tenantId);
+    }
+
+    private static void adjust(int tenantId, String domainName, long delta) {
+
+        if (StringUtils.isBlank(domainName)) {
+            return;
+        }
+        String domain = domainName.toUpperCase(Locale.ENGLISH);
+        SCIMTotalUserCountCache cache = SCIMTotalUserCountCache.getInstance();
+        SCIMTotalUserCountCacheEntry countEntry = cache.getTotalUserCount(tenantId, domain);
+        if (countEntry != null) {
+            cache.addTotalUserCount(tenantId, domain, Math.max(countEntry.getCount() + delta, 0),
+                    countEntry.getLoadedAt());
+        }
+    }
+
+    private static void refresh(int tenantId, String domainName, ExecutorService executorService,
+                                UserCount userCount) {
+
+        SCIMTotalUserCountCacheKey key = new SCIMTotalUserCountCacheKey(tenantId, domainName);
+        if (!REFRESHING_COUNTS.add(key)) {
+            return;
+        }
+        try {
+            executorService.submit(CallerContext.capture().wrap(() -> {
+                try {
+                    long startedAt = System.currentTimeMillis();
+                    long count = userCount.count();
+                    SCIMTotalUserCountCache.getInstance().addTotalUserCount(tenantId, domainName, count, startedAt);
+                } catch (CharonException e) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Error while refreshing the total user count of the domain: " + domainName +
+                                " of the tenant: " + tenantId, e);
+                    }
+                } finally {
+                    REFRESHING_COUNTS.remove(key);
+                }
+                return null;
+            }));
+        } catch (RejectedExecutionException e) {
+            REFRESHING_COUNTS.remove(key);
+            if (log.isDebugEnabled()) {
+                log.debug("Refreshing the total user count of the domain: " + domainName + " of the tenant: " +
+                        tenantId + " was rejected by the executor.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.utils;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.user.core.model.UniqueIDUserClaimSearchEntry;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility to join the users of a listing with the claim search entries returned by the user store.
+ */
+public class UserClaimSearchEntryIndex {
+
+    private UserClaimSearchEntryIndex() {
+
+    }
+
+    /**
+     * Index the given claim search entries by the unique ID of the user. If the same user is present in more than one
+     * entry, the last entry wins.
+     *
+     * @param searchEntries Claim search entries returned from the user store.
+     * @return Claim search entries keyed by the user ID.
+     */
+    public static Map<String, UniqueIDUserClaimSearchEntry> indexByUserId(
+            List<UniqueIDUserClaimSearchEntry> searchEntries) {
+
+        Map<String, UniqueIDUserClaimSearchEntry> searchEntriesByUserId = new LinkedHashMap<>();
+        if (searchEntries == null) {
+            return searchEntriesByUserId;
+        }
+        for (UniqueIDUserClaimSearchEntry entry : searchEntries) {
+            if (entry != null && entry.getUser() != null && StringUtils.isNotBlank(entry.getUser().getUserID())) {
+                searchEntriesByUserId.put(entry.getUser().getUserID(), entry);
+            }
+        }
+        return searchEntriesByUserId;
+    }
+}
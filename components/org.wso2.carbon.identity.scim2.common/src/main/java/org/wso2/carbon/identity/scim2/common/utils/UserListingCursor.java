@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.utils;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.charon3.core.exceptions.BadRequestException;
+import org.wso2.charon3.core.protocol.ResponseCodeConstants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a cursor based user listing. The position is the user store domain to continue the listing from, the
+ * index of the next user in that domain, starting from 1, and the total number of users counted when the first page
+ * was listed. The position is handed to the client as an opaque string.
+ * <p>
+ * The user stores only support offset based paging, hence the position is an index rather than the key of the last
+ * user. A page is still read from the user store with that index as the offset, so the cost of reading a page grows
+ * with its position in the domain. The cursor only saves the pages of the previous domains and the user count from
+ * being read again for each page.
+ */
+public final class UserListingCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final String domainName;
+    private final int offset;
+    private final long totalResults;
+
+    public UserListingCursor(String domainName, int offset, long totalResults) {
+
+        this.domainName = domainName;
+        this.offset = offset;
+        this.totalResults = totalResults;
+    }
+
+    /**
+     * Decode a cursor given by the client.
+     *
+     * @param cursor Encoded cursor.
+     * @return Position of the cursor.
+     * @throws BadRequestException If the cursor is not a valid user listing cursor.
+     */
+    public static UserListingCursor decode(String cursor) throws BadRequestException {
+
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, 3);
+            if (position.length == 3) {
+                int offset = Integer.parseInt(position[0]);
+                long totalResults = Long.parseLong(position[1]);
+                String domainName = position[2];
+                if (offset > 0 && totalResults >= 0 && StringUtils.isNotBlank(domainName)) {
+                    return new UserListingCursor(domainName, offset, totalResults);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException as well. Handled below as an invalid cursor.
+        }
+        throw new BadRequestException("Invalid cursor: " + cursor, ResponseCodeConstants.INVALID_VALUE);
+    }
+
+    /**
+     * Encode the cursor to be handed to the client.
+     *
+     * @return Encoded cursor.
+     */
+    public String encode() {
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((offset + SEPARATOR + totalResults + SEPARATOR +
+                domainName).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getDomainName() {
+
+        return domainName;
+    }
+
+    public int getOffset() {
+
+        return offset;
+    }
+
+    public long getTotalResults() {
+
+        return totalResults;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.DAO;
+
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.scim2.common.exceptions.IdentitySCIMException;
+import org.wso2.carbon.identity.scim2.common.impl.InMemorySCIMMetricsRegistry;
+import org.wso2.carbon.identity.scim2.common.internal.SCIMCommonComponentHolder;
+import org.wso2.carbon.identity.scim2.common.test.utils.CommonTestUtils;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
+import org.wso2.charon3.core.schema.SCIMConstants;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+public class GroupDAOTest {
+
+    private static final int TENANT_ID = 1;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement selectStatement;
+
+    @Mock
+    private PreparedStatement writeStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private MockedStatic<SCIMCommonUtils> scimCommonUtils;
+    private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        initMocks(this);
+        scimCommonUtils = mockStatic(SCIMCommonUtils.class);
+        identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class);
+        scimCommonUtils.when(() -> SCIMCommonUtils.getGroupNameWithDomain(anyString()))
+                .thenAnswer(invocation -> "PRIMARY/" + invocation.getArgument(0));
+        identityDatabaseUtil.when(IdentityDatabaseUtil::getDBConnection).thenReturn(connection);
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(false)).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation ->
+                ((String) invocation.getArgument(0)).startsWith("SELECT") ? selectStatement : writeStatement);
+        when(selectStatement.executeQuery()).thenReturn(resultSet);
+        when(writeStatement.executeBatch()).thenReturn(new int[0]);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        scimCommonUtils.close();
+        identityDatabaseUtil.close();
+    }
+
+    @Test
+    public void testAddSCIMGroupAttributesToSCIMDisabledHybridRolesUsesSingleConnection() throws Exception {
+
+        when(resultSet.next()).thenReturn(false);
+        Map<String, Map<String, String>> attributesList = new LinkedHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            Map<String, String> attributes = new HashMap<>();
+            attributes.put(SCIMConstants.CommonSchemaConstants.ID_URI, "id-" + i);
+            attributes.put(SCIMConstants.CommonSchemaConstants.CREATED_URI, "created-" + i);
+            attributesList.put("Internal/role" + i, attributes);
+        }
+
+        new GroupDAO().addSCIMGroupAttributesToSCIMDisabledHybridRoles(TENANT_ID, attributesList);
+
+        identityDatabaseUtil.verify(IdentityDatabaseUtil::getDBConnection, times(1));
+        verify(selectStatement, times(1)).executeQuery();
+        verify(writeStatement, times(6)).addBatch();
+        verify(writeStatement, times(1)).executeBatch();
+        verify(connection, times(1)).commit();
+    }
+
+    @Test
+    public void testAddSCIMGroupAttributesOfExistingGroup() throws Exception {
+
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn("primary/group1");
+        when(resultSet.getString(2)).thenReturn(SCIMConstants.CommonSchemaConstants.ID_URI);
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put(SCIMConstants.CommonSchemaConstants.ID_URI, "id");
+
+        try {
+            new GroupDAO().addSCIMGroupAttributes(TENANT_ID, "group1", attributes);
+            fail("Adding the attributes of an existing group should fail.");
+        } catch (IdentitySCIMException e) {
+            // Expected.
+        }
+        verify(writeStatement, never()).executeBatch();
+        verify(connection, never()).commit();
+        identityDatabaseUtil.verify(() -> IdentityDatabaseUtil.rollbackTransaction(connection), times(1));
+    }
+
+    @Test
+    public void testOnlyExecutedQueriesAreCounted() throws Exception {
+
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn("PRIMARY/group1");
+        when(resultSet.getString(2)).thenReturn(SCIMConstants.CommonSchemaConstants.CREATED_URI);
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put(SCIMConstants.CommonSchemaConstants.CREATED_URI, "created");
+
+        CommonTestUtils.initPrivilegedCarbonContext();
+        String tenantDomain = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        InMemorySCIMMetricsRegistry metricsRegistry = new InMemorySCIMMetricsRegistry();
+        SCIMCommonComponentHolder.setMetricsRegistry(metricsRegistry);
+        try {
+            new GroupDAO().addSCIMGroupAttributes(TENANT_ID, "group1", attributes);
+            fail("Adding the attributes of an existing group should fail.");
+        } catch (IdentitySCIMException e) {
+            // The attributes of the group are read, but the statement to write them is never executed.
+            verify(writeStatement, never()).executeBatch();
+            assertEquals(metricsRegistry.getCounter(SCIMMetrics.DB_QUERIES, tenantDomain), 1);
+        } finally {
+            SCIMCommonComponentHolder.setMetricsRegistry(null);
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    @Test
+    public void testUpdateSCIMGroupAttributesWithUnknownAttribute() throws Exception {
+
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn("PRIMARY/group1");
+        when(resultSet.getString(2)).thenReturn(SCIMConstants.CommonSchemaConstants.ID_URI);
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put(SCIMConstants.CommonSchemaConstants.LAST_MODIFIED_URI, "modified");
+
+        try {
+            new GroupDAO().updateSCIMGroupAttributes(TENANT_ID, "group1", attributes);
+            fail("Updating an attribute that is not stored should fail.");
+        } catch (IdentitySCIMException e) {
+            // Expected.
+        }
+        verify(writeStatement, never()).executeBatch();
+        identityDatabaseUtil.verify(IdentityDatabaseUtil::getDBConnection, times(1));
+    }
+
+    @Test
+    public void testGetSCIMGroupAttributesListReadsAttributesOfFilteredGroupsInOneQuery() throws Exception {
+
+        when(resultSet.next()).thenReturn(true, true, true, true, false);
+        when(resultSet.getString(1)).thenReturn("PRIMARY/group1", "PRIMARY/group1", "SECONDARY/group2",
+                "SECONDARY/group2");
+        when(resultSet.getString(2)).thenReturn(SCIMConstants.CommonSchemaConstants.ID_URI,
+                SCIMConstants.CommonSchemaConstants.CREATED_URI, SCIMConstants.CommonSchemaConstants.ID_URI,
+                SCIMConstants.CommonSchemaConstants.CREATED_URI);
+        when(resultSet.getString(3)).thenReturn("id1", "created1", "id2", "created2");
+
+        Map<String, Map<String, String>> groupAttributes = new GroupDAO().getSCIMGroupAttributesList(
+                SCIMConstants.CommonSchemaConstants.CREATED_URI, "2026%", TENANT_ID, null);
+
+        verify(connection, times(1)).prepareStatement(SQLQueries.LIST_SCIM_GROUP_ATTRIBUTES_SQL_BY_ATT_AND_ATT_VALUE);
+        verify(selectStatement, times(1)).executeQuery();
+        verify(selectStatement).setInt(1, TENANT_ID);
+        verify(selectStatement).setInt(2, TENANT_ID);
+        verify(selectStatement).setString(3, SCIMConstants.CommonSchemaConstants.CREATED_URI);
+        verify(selectStatement).setString(4, "2026%");
+        verify(selectStatement, never()).setString(eq(5), anyString());
+        assertEquals(groupAttributes.keySet().toArray(), new String[]{"group1", "SECONDARY/group2"});
+        assertEquals(groupAttributes.get("group1").get(SCIMConstants.CommonSchemaConstants.ID_URI), "id1");
+        assertEquals(groupAttributes.get("SECONDARY/group2").get(SCIMConstants.CommonSchemaConstants.CREATED_URI),
+                "created2");
+    }
+
+    @Test
+    public void testGetSCIMGroupAttributesListOfDomain() throws Exception {
+
+        when(resultSet.next()).thenReturn(false);
+
+        Map<String, Map<String, String>> groupAttributes = new GroupDAO().getSCIMGroupAttributesList(
+                SCIMConstants.CommonSchemaConstants.ID_URI, "id%", TENANT_ID, "secondary");
+
+        verify(connection, times(1)).prepareStatement(
+                SQLQueries.LIST_SCIM_GROUP_ATTRIBUTES_SQL_BY_ATT_AND_ATT_VALUE_AND_ROLE_NAME);
+        verify(selectStatement, times(1)).executeQuery();
+        verify(selectStatement).setString(5, "SECONDARY%");
+        assertEquals(groupAttributes.size(), 0);
+    }
+}
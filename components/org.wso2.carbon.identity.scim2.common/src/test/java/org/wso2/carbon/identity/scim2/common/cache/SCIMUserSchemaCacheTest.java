@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.cache;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.charon3.core.attributes.Attribute;
+import org.wso2.charon3.core.attributes.SimpleAttribute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+
+public class SCIMUserSchemaCacheTest {
+
+    private static final int TENANT_ID = -1234;
+    private static final String CORE_DIALECT = "urn:ietf:params:scim:schemas:core:2.0";
+    private static final String USER_DIALECT = "urn:ietf:params:scim:schemas:core:2.0:User";
+
+    private SCIMUserSchemaCache scimUserSchemaCache;
+
+    @BeforeMethod
+    public void setUp() {
+
+        // Back the cache with a map, since the underlying cache manager is not available in the unit tests.
+        Map<SCIMUserSchemaCacheKey, SCIMUserSchemaCacheEntry> cacheEntries = new HashMap<>();
+        scimUserSchemaCache = mock(SCIMUserSchemaCache.class, CALLS_REAL_METHODS);
+        doAnswer(invocation -> cacheEntries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(scimUserSchemaCache).addToCache(any(SCIMUserSchemaCacheKey.class),
+                        any(SCIMUserSchemaCacheEntry.class));
+        doAnswer(invocation -> cacheEntries.get(invocation.getArgument(0)))
+                .when(scimUserSchemaCache).getValueFromCache(any(SCIMUserSchemaCacheKey.class));
+        doAnswer(invocation -> cacheEntries.remove(invocation.getArgument(0)))
+                .when(scimUserSchemaCache).clearCacheEntry(any(SCIMUserSchemaCacheKey.class));
+    }
+
+    @Test
+    public void testGetSchemaAttributesOnCacheMiss() {
+
+        assertNull(scimUserSchemaCache.getSchemaAttributes(TENANT_ID, USER_DIALECT));
+
+        scimUserSchemaCache.addSchemaAttributes(TENANT_ID, CORE_DIALECT, schemaAttributes("id"));
+
+        assertNull(scimUserSchemaCache.getSchemaAttributes(TENANT_ID, USER_DIALECT));
+        assertNull(scimUserSchemaCache.getSchemaAttributes(1, CORE_DIALECT));
+    }
+
+    @Test
+    public void testGetSchemaAttributesOnCacheHit() {
+
+        scimUserSchemaCache.addSchemaAttributes(TENANT_ID, USER_DIALECT, schemaAttributes("userName", "emails"));
+
+        List<Attribute> cachedAttributes = scimUserSchemaCache.getSchemaAttributes(TENANT_ID, USER_DIALECT);
+
+        assertNotNull(cachedAttributes);
+        assertEquals(cachedAttributes.size(), 2);
+        assertEquals(cachedAttributes.get(0).getName(), "userName");
+        assertEquals(cachedAttributes.get(1).getName(), "emails");
+    }
+
+    @Test
+    public void testClearSchemaAttributesByTenant() {
+
+        scimUserSchemaCache.addSchemaAttributes(TENANT_ID, CORE_DIALECT, schemaAttributes("id"));
+        scimUserSchemaCache.addSchemaAttributes(TENANT_ID, USER_DIALECT, schemaAttributes("userName"));
+
+        scimUserSchemaCache.clearSchemaAttributesByTenant(TENANT_ID, Collections.singletonList(USER_DIALECT));
+
+        assertNull(scimUserSchemaCache.getSchemaAttributes(TENANT_ID, USER_DIALECT));
+        assertNotNull(scimUserSchemaCache.getSchemaAttributes(TENANT_ID, CORE_DIALECT));
+    }
+
+    @Test
+    public void testCachedSchemaAttributesAreSharedAndUnmodifiable() {
+
+        List<Attribute> schemaAttributes = schemaAttributes("userName");
+        List<Attribute> addedAttributes =
+                scimUserSchemaCache.addSchemaAttributes(TENANT_ID, USER_DIALECT, schemaAttributes);
+
+        // Changing the list the schema was built into does not change the cached schema.
+        schemaAttributes.add(new SimpleAttribute("addedAfterCaching", "value"));
+
+        List<Attribute> cachedAttributes = scimUserSchemaCache.getSchemaAttributes(TENANT_ID, USER_DIALECT);
+        assertEquals(addedAttributes.size(), 1);
+        assertEquals(cachedAttributes.size(), 1);
+        // Cache hits serve the cached attributes themselves instead of copies of them.
+        assertSame(cachedAttributes.get(0), schemaAttributes.get(0));
+        assertSame(scimUserSchemaCache.getSchemaAttributes(TENANT_ID, USER_DIALECT).get(0), cachedAttributes.get(0));
+        assertThrows(UnsupportedOperationException.class, cachedAttributes::clear);
+        assertThrows(UnsupportedOperationException.class,
+                () -> addedAttributes.add(new SimpleAttribute("addedToCachedSchema", "value")));
+    }
+
+    private static List<Attribute> schemaAttributes(String... names) {
+
+        List<Attribute> schemaAttributes = new ArrayList<>();
+        for (String name : names) {
+            SimpleAttribute attribute = new SimpleAttribute(name, "value");
+            attribute.setRequired(false);
+            schemaAttributes.add(attribute);
+        }
+        return schemaAttributes;
+    }
+}
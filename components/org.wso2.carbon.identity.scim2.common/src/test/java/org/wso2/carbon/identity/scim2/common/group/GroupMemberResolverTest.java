@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.group;
+
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
+import org.wso2.carbon.user.core.common.User;
+import org.wso2.carbon.user.core.constants.UserCoreClaimConstants;
+import org.wso2.carbon.user.core.model.UniqueIDUserClaimSearchEntry;
+import org.wso2.charon3.core.schema.SCIMConstants;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+public class GroupMemberResolverTest {
+
+    private static final String USER_ID_1 = "6c8b1a1e-5d4e-4f3b-9a6f-3b2f1c9e7d01";
+    private static final String USER_ID_2 = "6c8b1a1e-5d4e-4f3b-9a6f-3b2f1c9e7d02";
+    private static final String UNKNOWN_USER_ID = "6c8b1a1e-5d4e-4f3b-9a6f-3b2f1c9e7d03";
+    private static final String EMAIL_CLAIM_URI = "http://wso2.org/claims/emailaddress";
+
+    @Mock
+    private AbstractUserStoreManager mockedUserStoreManager;
+
+    @BeforeMethod
+    public void setUp() {
+
+        initMocks(this);
+    }
+
+    @Test
+    public void testResolveUsersById() throws Exception {
+
+        when(mockedUserStoreManager.getUsersClaimValuesWithID(anyList(), anyList(), isNull()))
+                .thenReturn(Arrays.asList(buildSearchEntry(USER_ID_1, "alice"), buildSearchEntry(USER_ID_2, "bob")));
+
+        Map<String, User> usersById = new GroupMemberResolver(mockedUserStoreManager)
+                .resolveUsersById(Arrays.asList(USER_ID_1, USER_ID_2, UNKNOWN_USER_ID, USER_ID_1, null));
+
+        assertEquals(usersById.size(), 2);
+        assertEquals(usersById.get(USER_ID_1).getUsername(), "alice");
+        assertEquals(usersById.get(USER_ID_2).getUsername(), "bob");
+        verify(mockedUserStoreManager, times(1)).getUsersClaimValuesWithID(anyList(), anyList(), isNull());
+        // Only the ID missing in the claim search is looked up individually.
+        verify(mockedUserStoreManager, times(1)).getUserListWithID(anyString(), anyString(), isNull());
+        verify(mockedUserStoreManager).getUserListWithID(SCIMConstants.CommonSchemaConstants.ID_URI,
+                UNKNOWN_USER_ID, null);
+    }
+
+    @Test
+    public void testResolveUserIdsByUsername() throws Exception {
+
+        User knownUser = buildSearchEntry(USER_ID_1, "alice").getUser();
+        when(mockedUserStoreManager.getSecondaryUserStoreManager(anyString())).thenReturn(mockedUserStoreManager);
+        when(mockedUserStoreManager.getUserIDFromProperties(UserCoreClaimConstants.USERNAME_CLAIM_URI, "bob",
+                UserCoreConstants.DEFAULT_PROFILE)).thenReturn(USER_ID_2);
+
+        Map<String, String> userIdsByUsername = new GroupMemberResolver(mockedUserStoreManager)
+                .resolveUserIdsByUsername(Arrays.asList("alice", "PRIMARY/bob", "carol"),
+                        UserCoreClaimConstants.USERNAME_CLAIM_URI, Collections.singletonList(knownUser));
+
+        assertEquals(userIdsByUsername.get("alice"), USER_ID_1);
+        assertEquals(userIdsByUsername.get("PRIMARY/bob"), USER_ID_2);
+        assertFalse(userIdsByUsername.containsKey("carol"));
+        verify(mockedUserStoreManager, never()).getUserIDFromProperties(anyString(), eq("alice"), anyString());
+        verify(mockedUserStoreManager, times(1)).getSecondaryUserStoreManager(anyString());
+    }
+
+    @Test
+    public void testResolveClaimValuesOfUsers() throws Exception {
+
+        UniqueIDUserClaimSearchEntry aliceEntry = buildSearchEntry(USER_ID_1, "alice");
+        aliceEntry.getClaims().put(EMAIL_CLAIM_URI, "alice@wso2.com");
+        UniqueIDUserClaimSearchEntry bobEntry = buildSearchEntry(USER_ID_2, "bob");
+        when(mockedUserStoreManager.getUsersClaimValuesWithID(anyList(), anyList(), isNull()))
+                .thenReturn(Arrays.asList(aliceEntry, bobEntry));
+
+        Map<String, String> claimValues = new GroupMemberResolver(mockedUserStoreManager)
+                .resolveClaimValuesOfUsers(Arrays.asList(aliceEntry.getUser(), bobEntry.getUser()), EMAIL_CLAIM_URI);
+
+        assertEquals(claimValues.size(), 1);
+        assertEquals(claimValues.get(USER_ID_1), "alice@wso2.com");
+        verify(mockedUserStoreManager, times(1)).getUsersClaimValuesWithID(Arrays.asList(USER_ID_1, USER_ID_2),
+                Collections.singletonList(EMAIL_CLAIM_URI), null);
+    }
+
+    private UniqueIDUserClaimSearchEntry buildSearchEntry(String userId, String username) {
+
+        User user = new User();
+        user.setUserID(userId);
+        user.setUsername(username);
+        user.setUserStoreDomain(UserCoreConstants.PRIMARY_DEFAULT_DOMAIN_NAME);
+        Map<String, String> claims = new HashMap<>();
+        claims.put(UserCoreClaimConstants.USERNAME_CLAIM_URI, username);
+        UniqueIDUserClaimSearchEntry searchEntry = new UniqueIDUserClaimSearchEntry();
+        searchEntry.setUser(user);
+        searchEntry.setClaims(claims);
+        return searchEntry;
+    }
+}
@@ -29,6 +29,7 @@ import org.testng.annotations.Test;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.scim2.common.DAO.GroupDAO;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMGroupMetadataCache;
 import org.wso2.carbon.identity.scim2.common.exceptions.IdentitySCIMException;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
 import org.wso2.charon3.core.objects.Group;
@@ -307,6 +308,49 @@ public class SCIMGroupHandlerTest {
         }
     }
 
+    @Test
+    public void testGetGroupAttributesFromGroupMetadataCache() throws Exception {
+
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("urn:ietf:params:scim:schemas:core:2.0:id", "100");
+        SCIMGroupMetadataCache groupMetadataCache = mock(SCIMGroupMetadataCache.class);
+        when(groupMetadataCache.getGroupAttributesByName(1, "PRIMARY/managers")).thenReturn(attributes);
+        when(SCIMCommonUtils.isGroupMetadataCacheEnabled()).thenReturn(true);
+        when(SCIMCommonUtils.isHybridRole(anyString())).thenCallRealMethod();
+
+        try (MockedStatic<SCIMGroupMetadataCache> mockedCache = mockStatic(SCIMGroupMetadataCache.class);
+             MockedConstruction<GroupDAO> mockedConstruction = Mockito.mockConstruction(GroupDAO.class)) {
+            mockedCache.when(SCIMGroupMetadataCache::getInstance).thenReturn(groupMetadataCache);
+
+            SCIMGroupHandler scimGroupHandler = new SCIMGroupHandler(1);
+            assertEquals(scimGroupHandler.getGroupAttributes("PRIMARY/managers"), attributes);
+            assertEquals(scimGroupHandler.getGroupIdByName("PRIMARY/managers"), "100");
+            assertTrue(mockedConstruction.constructed().isEmpty());
+        }
+    }
+
+    @Test
+    public void testDeleteGroupAttributesClearsGroupMetadataCache() throws Exception {
+
+        SCIMGroupMetadataCache groupMetadataCache = mock(SCIMGroupMetadataCache.class);
+        when(SCIMCommonUtils.isGroupMetadataCacheEnabled()).thenReturn(true);
+        when(SCIMCommonUtils.isHybridRole(anyString())).thenCallRealMethod();
+
+        try (MockedStatic<SCIMGroupMetadataCache> mockedCache = mockStatic(SCIMGroupMetadataCache.class);
+             MockedConstruction<GroupDAO> mockedConstruction = Mockito.mockConstruction(
+                     GroupDAO.class,
+                     (mock, context) -> {
+                         when(mock.isExistingGroup("PRIMARY/managers", 1)).thenReturn(true);
+                         when(mock.getGroupIdByName(1, "PRIMARY/managers")).thenReturn("100");
+                     })) {
+            mockedCache.when(SCIMGroupMetadataCache::getInstance).thenReturn(groupMetadataCache);
+
+            new SCIMGroupHandler(1).deleteGroupAttributes("PRIMARY/managers");
+            verify(mockedConstruction.constructed().get(0)).removeSCIMGroup(1, "PRIMARY/managers");
+            verify(groupMetadataCache).clearGroupMetadata(1, "PRIMARY/managers", "100");
+        }
+    }
+
     @Test(expectedExceptions = IdentitySCIMException.class)
     public void testUpdateRoleNameNonExistent() throws Exception {
 
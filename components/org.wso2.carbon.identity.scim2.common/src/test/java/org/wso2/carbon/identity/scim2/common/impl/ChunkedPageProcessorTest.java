@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.impl;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.scim2.common.test.utils.CommonTestUtils;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+import org.wso2.charon3.core.exceptions.CharonException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+public class ChunkedPageProcessorTest {
+
+    private static final String SERVICE_PROVIDER = "serviceProvider";
+
+    private ExecutorService executorService;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        CommonTestUtils.initPrivilegedCarbonContext(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME, "admin");
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setOrganizationId("org-1");
+        IdentityUtil.threadLocalProperties.get().put(SERVICE_PROVIDER, "sp-1");
+        executorService = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        executorService.shutdownNow();
+        IdentityUtil.threadLocalProperties.remove();
+        PrivilegedCarbonContext.endTenantFlow();
+    }
+
+    @Test
+    public void testChunksAreProcessedInOrderWithCallerContext() throws Exception {
+
+        ChunkedPageProcessor chunkedPageProcessor = new ChunkedPageProcessor(executorService, 3, 2);
+        List<List<String>> results = chunkedPageProcessor.process(10, (from, to) -> {
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            List<String> chunk = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                chunk.add(i + ":" + carbonContext.getUsername() + ":" + carbonContext.getOrganizationId() + ":" +
+                        IdentityUtil.threadLocalProperties.get().get(SERVICE_PROVIDER));
+            }
+            return chunk;
+        }, CharonException.class, CharonException::new);
+
+        assertEquals(results.size(), 4);
+        List<String> items = new ArrayList<>();
+        results.forEach(items::addAll);
+        assertEquals(items.size(), 10);
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(items.get(i), i + ":admin:org-1:sp-1");
+        }
+    }
+
+    @Test
+    public void testSmallPageIsProcessedInCallerThread() throws Exception {
+
+        Thread callerThread = Thread.currentThread();
+        ChunkedPageProcessor chunkedPageProcessor = new ChunkedPageProcessor(executorService, 3, 20);
+        List<Thread> threads = chunkedPageProcessor.process(10, (from, to) -> Thread.currentThread(),
+                CharonException.class, CharonException::new);
+
+        assertEquals(threads.size(), 1);
+        assertSame(threads.get(0), callerThread);
+    }
+
+    @Test
+    public void testErrorOfChunkIsRethrown() {
+
+        CharonException error = new CharonException("Error of the last chunk.");
+        ChunkedPageProcessor chunkedPageProcessor = new ChunkedPageProcessor(executorService, 3, 2);
+        try {
+            chunkedPageProcessor.process(10, (from, to) -> {
+                if (to == 10) {
+                    throw error;
+                }
+                return Arrays.asList(from, to);
+            }, CharonException.class, CharonException::new);
+            fail("The error of the chunk was not rethrown.");
+        } catch (CharonException e) {
+            assertSame(e, error);
+        }
+    }
+}
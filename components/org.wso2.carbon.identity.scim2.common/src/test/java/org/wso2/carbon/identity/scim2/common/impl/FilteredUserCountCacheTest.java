@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.impl;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMFilteredUserCountCache;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMFilteredUserCountCacheEntry;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMFilteredUserCountCacheKey;
+import org.wso2.charon3.core.utils.codeutils.ExpressionNode;
+import org.wso2.charon3.core.utils.codeutils.Node;
+import org.wso2.charon3.core.utils.codeutils.OperationNode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+public class FilteredUserCountCacheTest {
+
+    private MockedStatic<SCIMFilteredUserCountCache> scimFilteredUserCountCache;
+
+    @BeforeMethod
+    public void setUp() {
+
+        // Back the cache with a map, since the underlying cache manager is not available in the unit tests.
+        Map<SCIMFilteredUserCountCacheKey, SCIMFilteredUserCountCacheEntry> cacheEntries = new HashMap<>();
+        SCIMFilteredUserCountCache cache = mock(SCIMFilteredUserCountCache.class, CALLS_REAL_METHODS);
+        doAnswer(invocation -> cacheEntries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(cache).addToCache(any(SCIMFilteredUserCountCacheKey.class),
+                        any(SCIMFilteredUserCountCacheEntry.class));
+        doAnswer(invocation -> cacheEntries.get(invocation.getArgument(0)))
+                .when(cache).getValueFromCache(any(SCIMFilteredUserCountCacheKey.class));
+        doAnswer(invocation -> cacheEntries.remove(invocation.getArgument(0)))
+                .when(cache).clearCacheEntry(any(SCIMFilteredUserCountCacheKey.class));
+        scimFilteredUserCountCache = mockStatic(SCIMFilteredUserCountCache.class);
+        scimFilteredUserCountCache.when(SCIMFilteredUserCountCache::getInstance).thenReturn(cache);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        scimFilteredUserCountCache.close();
+    }
+
+    @Test
+    public void testNormalizeIgnoresAttributeCaseAndOperandOrder() {
+
+        Node filter = and(expression("userName", "sw", "john"), expression("name.givenName", "eq", "John"));
+        Node reorderedFilter = and(expression("name.givenname", "EQ", "John"), expression("USERNAME", "SW", "john"));
+
+        assertEquals(FilteredUserCountCache.normalize(reorderedFilter), FilteredUserCountCache.normalize(filter));
+        assertNotEquals(FilteredUserCountCache.normalize(expression("userName", "eq", "John")),
+                FilteredUserCountCache.normalize(expression("userName", "eq", "john")));
+    }
+
+    @Test
+    public void testNormalizeUnaryOperation() {
+
+        Node filter = not(expression("userName", "sw", "john"));
+
+        assertEquals(FilteredUserCountCache.normalize(filter), "(not username sw john)");
+        assertEquals(FilteredUserCountCache.normalize(not(expression("USERNAME", "SW", "john"))),
+                FilteredUserCountCache.normalize(filter));
+        assertNotEquals(FilteredUserCountCache.normalize(not(expression("userName", "sw", "jane"))),
+                FilteredUserCountCache.normalize(filter));
+        assertEquals(FilteredUserCountCache.normalize(and(filter, expression("emails", "co", "wso2.com"))),
+                "((not username sw john) and emails co wso2.com)");
+    }
+
+    @Test
+    public void testCountIsReusedWithinTimeToLive() throws Exception {
+
+        Node filter = and(expression("userName", "sw", "cached"), expression("emails", "co", "wso2.com"));
+        AtomicInteger countQueries = new AtomicInteger();
+
+        assertEquals(FilteredUserCountCache.getCount(-1234, "PRIMARY", filter, 60000, () -> {
+            countQueries.incrementAndGet();
+            return 5;
+        }), 5);
+        assertEquals(FilteredUserCountCache.getCount(-1234, "primary", filter, 60000, () -> {
+            countQueries.incrementAndGet();
+            return 6;
+        }), 5);
+        assertEquals(countQueries.get(), 1);
+
+        assertEquals(FilteredUserCountCache.getCount(1, "PRIMARY", filter, 60000, () -> {
+            countQueries.incrementAndGet();
+            return 7;
+        }), 7);
+        assertEquals(countQueries.get(), 2);
+    }
+
+    @Test
+    public void testCountIsRecomputedAfterTimeToLive() throws Exception {
+
+        Node filter = expression("userName", "sw", "expired");
+        AtomicInteger countQueries = new AtomicInteger();
+
+        FilteredUserCountCache.getCount(-1234, "PRIMARY", filter, 1, countQueries::incrementAndGet);
+        Thread.sleep(10);
+
+        assertEquals(FilteredUserCountCache.getCount(-1234, "PRIMARY", filter, 60000,
+                countQueries::incrementAndGet), 2);
+        assertEquals(countQueries.get(), 2);
+    }
+
+    @Test
+    public void testCountIsNotCachedWithoutTimeToLive() throws Exception {
+
+        Node filter = expression("userName", "sw", "uncached");
+        AtomicInteger countQueries = new AtomicInteger();
+
+        FilteredUserCountCache.getCount(-1234, "PRIMARY", filter, 0, countQueries::incrementAndGet);
+        FilteredUserCountCache.getCount(-1234, "PRIMARY", filter, 0, countQueries::incrementAndGet);
+
+        assertEquals(countQueries.get(), 2);
+    }
+
+    private static Node and(Node left, Node right) {
+
+        Node node = new OperationNode("and");
+        node.setLeftNode(left);
+        node.setRightNode(right);
+        return node;
+    }
+
+    private static Node not(Node operand) {
+
+        Node node = new OperationNode("not");
+        node.setRightNode(operand);
+        return node;
+    }
+
+    private static Node expression(String attribute, String operation, String value) {
+
+        ExpressionNode node = new ExpressionNode();
+        node.setAttributeValue(attribute);
+        node.setOperation(operation);
+        node.setValue(value);
+        return node;
+    }
+}
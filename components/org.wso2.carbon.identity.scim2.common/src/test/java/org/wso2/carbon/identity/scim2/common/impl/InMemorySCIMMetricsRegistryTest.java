@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.impl;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.scim2.common.internal.SCIMCommonComponentHolder;
+import org.wso2.carbon.identity.scim2.common.test.utils.CommonTestUtils;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class InMemorySCIMMetricsRegistryTest {
+
+    private static final String TENANT_DOMAIN = MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+    private static final String ENDPOINT = "GET UserResource";
+
+    private InMemorySCIMMetricsRegistry metricsRegistry;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+
+        CommonTestUtils.initPrivilegedCarbonContext();
+        metricsRegistry = new InMemorySCIMMetricsRegistry();
+        SCIMCommonComponentHolder.setMetricsRegistry(metricsRegistry);
+    }
+
+    @AfterMethod
+    public void clear() {
+
+        metricsRegistry.clear();
+    }
+
+    @AfterClass
+    public void tearDown() {
+
+        SCIMCommonComponentHolder.setMetricsRegistry(null);
+        PrivilegedCarbonContext.endTenantFlow();
+    }
+
+    @Test
+    public void testCounters() {
+
+        metricsRegistry.incrementCounter(SCIMMetrics.DB_QUERIES, TENANT_DOMAIN, 2);
+        metricsRegistry.incrementCounter(SCIMMetrics.DB_QUERIES, TENANT_DOMAIN, 3);
+        metricsRegistry.incrementCounter(SCIMMetrics.DB_QUERIES, "wso2.com", 1);
+
+        assertEquals(metricsRegistry.getCounter(SCIMMetrics.DB_QUERIES, TENANT_DOMAIN), 5);
+        assertEquals(metricsRegistry.getCounter(SCIMMetrics.DB_QUERIES, "wso2.com"), 1);
+        assertEquals(metricsRegistry.getCounter(SCIMMetrics.USER_STORE_CALLS, TENANT_DOMAIN), 0);
+    }
+
+    @Test
+    public void testDistribution() {
+
+        for (long value = 1; value <= 100; value++) {
+            metricsRegistry.recordValue(SCIMMetrics.USER_STORE_CALLS, TENANT_DOMAIN, value);
+        }
+
+        InMemorySCIMMetricsRegistry.Distribution distribution =
+                metricsRegistry.getDistribution(SCIMMetrics.USER_STORE_CALLS, TENANT_DOMAIN);
+        assertEquals(distribution.getCount(), 100);
+        assertEquals(distribution.getSum(), 5050);
+        assertEquals(distribution.getMax(), 100);
+        assertEquals(distribution.getMean(), 50.5);
+        long median = distribution.getPercentile(50);
+        assertTrue(median >= 50 && median < 100, "Median out of bounds: " + median);
+        assertEquals(distribution.getPercentile(100), 100);
+        assertEquals(metricsRegistry.getDistribution(SCIMMetrics.DB_QUERIES, TENANT_DOMAIN).getCount(), 0);
+    }
+
+    @Test
+    public void testRequestMetrics() {
+
+        SCIMMetrics.startRequest();
+        SCIMMetrics.increment(SCIMMetrics.USER_STORE_CALLS);
+        SCIMMetrics.increment(SCIMMetrics.USER_STORE_CALLS);
+        SCIMMetrics.increment(SCIMMetrics.CLAIMS_FETCHED, 30);
+        SCIMMetrics.recordCacheAccess("SCIMClaimMappingCache", true);
+        SCIMMetrics.recordCacheAccess("SCIMClaimMappingCache", false);
+        SCIMMetrics.endRequest(ENDPOINT, 1000);
+        // Counted outside of a request, hence only in the tenant counter.
+        SCIMMetrics.increment(SCIMMetrics.USER_STORE_CALLS);
+
+        assertEquals(metricsRegistry.getCounter(SCIMMetrics.USER_STORE_CALLS, TENANT_DOMAIN), 3);
+        assertEquals(metricsRegistry.getCounter(SCIMMetrics.CLAIMS_FETCHED, TENANT_DOMAIN), 30);
+        assertEquals(metricsRegistry.getCounter(SCIMMetrics.getEndpointMetricName(SCIMMetrics.CACHE_HITS,
+                "SCIMClaimMappingCache"), TENANT_DOMAIN), 1);
+        assertEquals(metricsRegistry.getCounter(SCIMMetrics.getEndpointMetricName(SCIMMetrics.REQUESTS, ENDPOINT),
+                TENANT_DOMAIN), 1);
+        assertEquals(metricsRegistry.getDistribution(SCIMMetrics.getEndpointMetricName(
+                SCIMMetrics.REQUEST_DURATION, ENDPOINT), TENANT_DOMAIN).getSum(), 1000);
+        assertEquals(metricsRegistry.getDistribution(SCIMMetrics.getEndpointMetricName(
+                SCIMMetrics.USER_STORE_CALLS, ENDPOINT), TENANT_DOMAIN).getSum(), 2);
+        assertEquals(metricsRegistry.getDistribution(SCIMMetrics.getEndpointMetricName(
+                SCIMMetrics.CACHE_MISSES, ENDPOINT), TENANT_DOMAIN).getSum(), 1);
+        InMemorySCIMMetricsRegistry.Distribution dbQueries = metricsRegistry.getDistribution(
+                SCIMMetrics.getEndpointMetricName(SCIMMetrics.DB_QUERIES, ENDPOINT), TENANT_DOMAIN);
+        assertEquals(dbQueries.getCount(), 1);
+        assertEquals(dbQueries.getSum(), 0);
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.impl;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.scim2.common.test.utils.CommonTestUtils;
+import org.wso2.charon3.core.exceptions.CharonException;
+import org.wso2.charon3.core.protocol.ResponseCodeConstants;
+import org.wso2.charon3.core.protocol.SCIMResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class ParallelBulkRequestProcessorTest {
+
+    private static final String SERVICE_PROVIDER = "serviceProvider";
+    private static final String LOCATION_PREFIX = "https://localhost:9443/scim2/";
+
+    private ExecutorService executorService;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+
+        CommonTestUtils.initPrivilegedCarbonContext();
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterClass
+    public void tearDown() {
+
+        executorService.shutdownNow();
+        PrivilegedCarbonContext.endTenantFlow();
+    }
+
+    @Test
+    public void testPartition() {
+
+        JSONArray operations = new JSONArray()
+                .put(operation("POST", "/Users", "user1", new JSONObject().put("userName", "user1")))
+                .put(operation("POST", "/Users", "user2", new JSONObject().put("userName", "user2")))
+                .put(operation("POST", "/Groups", "group1", new JSONObject().put("members",
+                        new JSONArray().put(new JSONObject().put("value", "bulkId:user2")))))
+                .put(operation("PATCH", "/Users/a1b2", null, new JSONObject()))
+                .put(operation("DELETE", "/Users/a1b2", null, null))
+                .put(operation("PATCH", "/Groups/c3d4", null, new JSONObject().put("Operations",
+                        new JSONArray().put(new JSONObject().put("value", "a1b2")))))
+                .put(operation("POST", "/Users", "user3", new JSONObject().put("userName", "user3")));
+
+        List<List<Integer>> groups = ParallelBulkRequestProcessor.partition(operations);
+
+        assertEquals(groups, Arrays.asList(Collections.singletonList(0), Arrays.asList(1, 2), Arrays.asList(3, 4, 5),
+                Collections.singletonList(6)));
+    }
+
+    @Test
+    public void testProcessKeepsTheOrderOfTheGroups() throws Exception {
+
+        JSONObject request = bulkRequest(0, "user1", "user2", "user3", "user4");
+        AtomicInteger processedRequests = new AtomicInteger();
+
+        SCIMResponse response = new ParallelBulkRequestProcessor(executorService, 10).process(request.toString(),
+                bulkRequest -> {
+                    processedRequests.incrementAndGet();
+                    return bulkResponse(bulkRequest, "user3");
+                });
+
+        assertEquals(processedRequests.get(), 4);
+        assertEquals(response.getResponseStatus(), ResponseCodeConstants.CODE_OK);
+        assertEquals(getBulkIds(response), Arrays.asList("user1", "user2", "user3", "user4"));
+    }
+
+    @Test
+    public void testProcessWithoutPartitioning() throws Exception {
+
+        JSONObject request = bulkRequest(0, "user1", "user2", "user3");
+        AtomicInteger processedRequests = new AtomicInteger();
+
+        new ParallelBulkRequestProcessor(null, 10).process(request.toString(), bulkRequest -> {
+            processedRequests.incrementAndGet();
+            return bulkResponse(bulkRequest, null);
+        });
+        new ParallelBulkRequestProcessor(executorService, 2).process(request.toString(), bulkRequest -> {
+            processedRequests.incrementAndGet();
+            return bulkResponse(bulkRequest, null);
+        });
+
+        assertEquals(processedRequests.get(), 2);
+    }
+
+    @Test
+    public void testProcessKeepsTheOrderOfInterleavedGroups() throws Exception {
+
+        // The first and the last operations form a group, which is processed apart from the second operation.
+        JSONArray operations = new JSONArray()
+                .put(operation("POST", "/Users", "u1", new JSONObject().put("userName", "user1")))
+                .put(operation("POST", "/Users", null, new JSONObject().put("userName", "user2")))
+                .put(operation("PATCH", "/Groups/g1", null, new JSONObject().put("Operations",
+                        new JSONArray().put(new JSONObject().put("op", "add").put("value",
+                                new JSONObject().put("members", new JSONArray().put(
+                                        new JSONObject().put("value", "bulkId:u1"))))))));
+        JSONObject request = new JSONObject().put("schemas",
+                new JSONArray().put("urn:ietf:params:scim:api:messages:2.0:BulkRequest")).put("Operations", operations);
+        List<Integer> groupSizes = Collections.synchronizedList(new ArrayList<>());
+
+        SCIMResponse response = new ParallelBulkRequestProcessor(executorService, 10).process(request.toString(),
+                bulkRequest -> {
+                    groupSizes.add(new JSONObject(bulkRequest).getJSONArray("Operations").length());
+                    return processedBulkResponse(bulkRequest);
+                });
+
+        groupSizes.sort(null);
+        assertEquals(groupSizes, Arrays.asList(1, 2));
+        assertEquals(getLocations(response), Arrays.asList(LOCATION_PREFIX + "Users/user1",
+                LOCATION_PREFIX + "Users/user2", LOCATION_PREFIX + "Groups/g1"));
+    }
+
+    @Test
+    public void testProcessMatchesTheResultsOfGroupBeforeUser() throws Exception {
+
+        // The group references a user created after it, while the bulk request processor creates the users first.
+        JSONArray operations = new JSONArray()
+                .put(operation("POST", "/Groups", "g1", new JSONObject().put("displayName", "group1")
+                        .put("members", new JSONArray().put(new JSONObject().put("value", "bulkId:u1")))))
+                .put(operation("POST", "/Users", "u1", new JSONObject().put("userName", "user1")))
+                .put(operation("DELETE", "/Groups/g2", null, null))
+                .put(operation("PATCH", "/Users/u3", null, new JSONObject()))
+                .put(operation("DELETE", "/Users/u4", null, null));
+        JSONObject request = new JSONObject().put("schemas",
+                new JSONArray().put("urn:ietf:params:scim:api:messages:2.0:BulkRequest")).put("Operations", operations);
+
+        SCIMResponse response = new ParallelBulkRequestProcessor(executorService, 10).process(request.toString(),
+                ParallelBulkRequestProcessorTest::processedBulkResponse);
+
+        assertEquals(getLocations(response), Arrays.asList(LOCATION_PREFIX + "Groups/group1",
+                LOCATION_PREFIX + "Users/user1", LOCATION_PREFIX + "Groups/g2", LOCATION_PREFIX + "Users/u3",
+                LOCATION_PREFIX + "Users/u4"));
+    }
+
+    @Test
+    public void testMatchOperationResultsWithoutLocation() throws Exception {
+
+        // Failed operations have no location, hence are matched in the order the bulk request processor runs them.
+        JSONArray operations = new JSONArray()
+                .put(operation("DELETE", "/Groups/g1", null, null))
+                .put(operation("DELETE", "/Users/u1", null, null))
+                .put(operation("POST", "/Users", "u2", new JSONObject().put("userName", "user2")));
+        JSONArray results = new JSONArray()
+                .put(new JSONObject().put("method", "DELETE").put("status", new JSONObject().put("code", 404)))
+                .put(new JSONObject().put("method", "POST").put("bulkId", "u2")
+                        .put("status", new JSONObject().put("code", 409)))
+                .put(new JSONObject().put("method", "DELETE").put("status", new JSONObject().put("code", 404)));
+
+        int[] operationIndexes = ParallelBulkRequestProcessor.matchOperationResults(operations,
+                Arrays.asList(0, 1, 2), results);
+
+        assertEquals(operationIndexes, new int[]{1, 2, 0});
+    }
+
+    @Test(expectedExceptions = CharonException.class)
+    public void testProcessFailsWhenAResultIsMissing() throws Exception {
+
+        JSONObject request = bulkRequest(0, "user1", "user2");
+
+        new ParallelBulkRequestProcessor(executorService, 10).process(request.toString(), bulkRequest -> {
+            JSONObject response = new JSONObject(bulkResponse(bulkRequest, null).getResponseMessage());
+            response.put("Operations", new JSONArray());
+            return new SCIMResponse(ResponseCodeConstants.CODE_OK, response.toString(), new HashMap<>());
+        });
+    }
+
+    @Test
+    public void testProcessWithFailOnErrorsIsNotPartitioned() throws Exception {
+
+        JSONObject request = bulkRequest(1, "user1", "user2", "user3", "user4");
+        List<String> processedRequests = new ArrayList<>();
+
+        SCIMResponse response = new ParallelBulkRequestProcessor(executorService, 10).process(request.toString(),
+                bulkRequest -> {
+                    processedRequests.add(bulkRequest);
+                    return bulkResponse(bulkRequest, "user2");
+                });
+
+        // The error limit is left to the bulk request processor, which processes the operations one by one.
+        assertEquals(processedRequests, Collections.singletonList(request.toString()));
+        assertEquals(getBulkIds(response), Arrays.asList("user1", "user2", "user3", "user4"));
+    }
+
+    @Test
+    public void testProcessPropagatesTheCallerContext() throws Exception {
+
+        JSONObject request = bulkRequest(0, "user1", "user2", "user3");
+        ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+        List<Object> serviceProviders = Collections.synchronizedList(new ArrayList<>());
+
+        IdentityUtil.threadLocalProperties.get().put(SERVICE_PROVIDER, "app1");
+        try {
+            new ParallelBulkRequestProcessor(singleThreadExecutor, 10).process(request.toString(), bulkRequest -> {
+                serviceProviders.add(IdentityUtil.threadLocalProperties.get().get(SERVICE_PROVIDER));
+                return bulkResponse(bulkRequest, null);
+            });
+
+            assertEquals(serviceProviders, Arrays.asList("app1", "app1", "app1"));
+            // The worker does not keep the properties of the request once the operations are processed.
+            assertNull(singleThreadExecutor.submit(() ->
+                    IdentityUtil.threadLocalProperties.get().get(SERVICE_PROVIDER)).get());
+        } finally {
+            IdentityUtil.threadLocalProperties.get().remove(SERVICE_PROVIDER);
+            singleThreadExecutor.shutdownNow();
+        }
+    }
+
+    private static JSONObject operation(String method, String path, String bulkId, JSONObject data) {
+
+        JSONObject operation = new JSONObject().put("method", method).put("path", path);
+        if (bulkId != null) {
+            operation.put("bulkId", bulkId);
+        }
+        if (data != null) {
+            operation.put("data", data);
+        }
+        return operation;
+    }
+
+    private static JSONObject bulkRequest(int failOnErrors, String... usernames) {
+
+        JSONArray operations = new JSONArray();
+        for (String username : usernames) {
+            operations.put(operation("POST", "/Users", username, new JSONObject().put("userName", username)));
+        }
+        JSONObject request = new JSONObject().put("schemas",
+                new JSONArray().put("urn:ietf:params:scim:api:messages:2.0:BulkRequest")).put("Operations", operations);
+        if (failOnErrors > 0) {
+            request.put("failOnErrors", failOnErrors);
+        }
+        return request;
+    }
+
+    private static SCIMResponse bulkResponse(String bulkRequest, String failingBulkId) {
+
+        JSONArray operations = new JSONObject(bulkRequest).getJSONArray("Operations");
+        JSONArray results = new JSONArray();
+        for (int i = 0; i < operations.length(); i++) {
+            String bulkId = operations.getJSONObject(i).getString("bulkId");
+            results.put(new JSONObject().put("method", "POST").put("bulkId", bulkId)
+                    .put("status", new JSONObject().put("code", bulkId.equals(failingBulkId) ? 409 : 201)));
+        }
+        JSONObject response = new JSONObject().put("schemas",
+                new JSONArray().put("urn:ietf:params:scim:api:messages:2.0:BulkResponse")).put("Operations", results);
+        return new SCIMResponse(ResponseCodeConstants.CODE_OK, response.toString(), new HashMap<>());
+    }
+
+    /**
+     * Build the bulk response of the bulk request processor, which processes the user operations before the group
+     * operations, and sets the bulkId of the operation and the location of the resource in each result.
+     */
+    private static SCIMResponse processedBulkResponse(String bulkRequest) {
+
+        JSONArray operations = new JSONObject(bulkRequest).getJSONArray("Operations");
+        JSONArray results = new JSONArray();
+        for (String resourceType : Arrays.asList("Users", "Groups")) {
+            for (int i = 0; i < operations.length(); i++) {
+                JSONObject operation = operations.getJSONObject(i);
+                String path = operation.getString("path");
+                if (!path.startsWith("/" + resourceType)) {
+                    continue;
+                }
+                String resourceId = path.length() > resourceType.length() + 1 ?
+                        path.substring(resourceType.length() + 2) :
+                        operation.getJSONObject("data").optString("userName",
+                                operation.getJSONObject("data").optString("displayName"));
+                JSONObject result = new JSONObject().put("method", operation.getString("method"))
+                        .put("location", LOCATION_PREFIX + resourceType + "/" + resourceId)
+                        .put("status", new JSONObject().put("code", 200));
+                if (operation.has("bulkId")) {
+                    result.put("bulkId", operation.getString("bulkId"));
+                }
+                results.put(result);
+            }
+        }
+        JSONObject response = new JSONObject().put("schemas",
+                new JSONArray().put("urn:ietf:params:scim:api:messages:2.0:BulkResponse")).put("Operations", results);
+        return new SCIMResponse(ResponseCodeConstants.CODE_OK, response.toString(), new HashMap<>());
+    }
+
+    private static List<String> getLocations(SCIMResponse response) {
+
+        JSONArray results = new JSONObject(response.getResponseMessage()).getJSONArray("Operations");
+        List<String> locations = new ArrayList<>();
+        for (int i = 0; i < results.length(); i++) {
+            locations.add(results.getJSONObject(i).getString("location"));
+        }
+        return locations;
+    }
+
+    private static List<String> getBulkIds(SCIMResponse response) {
+
+        JSONArray results = new JSONObject(response.getResponseMessage()).getJSONArray("Operations");
+        List<String> bulkIds = new ArrayList<>();
+        for (int i = 0; i < results.length(); i++) {
+            bulkIds.add(results.getJSONObject(i).getString("bulkId"));
+        }
+        return bulkIds;
+    }
+}
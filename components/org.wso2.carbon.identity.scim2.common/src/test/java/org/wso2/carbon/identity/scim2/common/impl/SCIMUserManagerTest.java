@@ -19,6 +19,7 @@
 package org.wso2.carbon.identity.scim2.common.impl;
 
 import org.apache.commons.lang.StringUtils;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
@@ -31,6 +32,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.wso2.carbon.CarbonConstants;
 import org.wso2.carbon.base.MultitenantConstants;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.application.common.model.InboundProvisioningConfig;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
 import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
@@ -56,6 +58,8 @@ import org.wso2.carbon.identity.scim2.common.test.utils.CommonTestUtils;
 import org.wso2.carbon.identity.scim2.common.utils.AttributeMapper;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
+import org.wso2.carbon.identity.scim2.common.utils.UserListingCursor;
 import org.wso2.carbon.identity.testutil.Whitebox;
 import org.wso2.carbon.user.api.Claim;
 import org.wso2.carbon.user.api.ClaimMapping;
@@ -95,6 +99,7 @@ import org.wso2.charon3.core.utils.codeutils.SearchRequest;
 import org.wso2.carbon.identity.configuration.mgt.core.model.Resource;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -102,10 +107,14 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anySet;
@@ -118,11 +127,15 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /*
@@ -553,6 +566,224 @@ public class SCIMUserManagerTest {
         };
     }
 
+    @DataProvider(name = "rolesOfListedUsers")
+    public Object[][] rolesOfListedUsers() {
+
+        return new Object[][]{
+                {SCIMConstants.UserSchemaConstants.ROLES_URI + "." + SCIMConstants.DEFAULT, 2},
+                {SCIMConstants.UserSchemaConstants.EMAILS_URI, 0}
+        };
+    }
+
+    @Test(dataProvider = "rolesOfListedUsers")
+    public void testListUsersResolvesRolesOnlyWhenRequested(String requiredAttribute, int expectedRoleLookups)
+            throws Exception {
+
+        Map<String, String> scimToLocalClaimMap = new HashMap<>();
+        scimToLocalClaimMap.put(SCIMConstants.UserSchemaConstants.USER_NAME_URI, "http://wso2.org/claims/username");
+        scimToLocalClaimMap.put(SCIMConstants.CommonSchemaConstants.ID_URI, "http://wso2.org/claims/userid");
+        scimCommonUtils.when(SCIMCommonUtils::getSCIMtoLocalMappings).thenReturn(scimToLocalClaimMap);
+        scimCommonUtils.when(() -> SCIMCommonUtils.convertLocalToSCIMDialect(anyMap(), anyMap()))
+                .thenAnswer(invocation -> {
+                    Map<String, String> attributes = new HashMap<>();
+                    attributes.put(SCIMConstants.CommonSchemaConstants.ID_URI, UUID.randomUUID().toString());
+                    return attributes;
+                });
+
+        List<org.wso2.carbon.user.core.common.User> users = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            org.wso2.carbon.user.core.common.User user = new org.wso2.carbon.user.core.common.User();
+            user.setUserID(UUID.randomUUID().toString());
+            user.setUsername("testUser" + i);
+            user.setUserStoreDomain("PRIMARY");
+            users.add(user);
+        }
+
+        when(mockedUserStoreManager.getUserListWithID("http://wso2.org/claims/userid", "*", null)).thenReturn(users);
+        when(mockedUserStoreManager.getRealmConfiguration()).thenReturn(mockedRealmConfig);
+        when(mockedRealmConfig.getUserStoreProperty(UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME))
+                .thenReturn("PRIMARY");
+        when(mockedUserStoreManager.getSecondaryUserStoreManager("PRIMARY")).thenReturn(mockedUserStoreManager);
+        when(mockedUserStoreManager.isSCIMEnabled()).thenReturn(true);
+        when(mockedUserStoreManager.isRoleAndGroupSeparationEnabled()).thenReturn(true);
+        when(mockedUserStoreManager.getHybridRoleListOfUser(anyString(), anyString())).thenReturn(new ArrayList<>());
+        identityTenantUtil.when(IdentityTenantUtil::getRealmService).thenReturn(mockRealmService);
+        when(mockRealmService.getBootstrapRealmConfiguration()).thenReturn(mockedRealmConfig);
+        CarbonConstants.ENABLE_LEGACY_AUTHZ_RUNTIME = true;
+
+        Map<String, Boolean> requiredAttributes = new HashMap<>();
+        requiredAttributes.put(SCIMConstants.UserSchemaConstants.USER_NAME_URI, false);
+        requiredAttributes.put(requiredAttribute, false);
+        SCIMUserManager scimUserManager = new SCIMUserManager(mockedUserStoreManager, mockedClaimManager);
+        UsersGetResponse result = scimUserManager.listUsersWithGET(null, 1, 0, null, null, requiredAttributes);
+
+        assertEquals(result.getUsers().size(), users.size());
+        verify(mockedUserStoreManager, times(expectedRoleLookups)).getHybridRoleListOfUser(anyString(), anyString());
+    }
+
+    @Test
+    public void testListUsersRecordsUserStoreMetrics() throws Exception {
+
+        Map<String, String> scimToLocalClaimMap = new HashMap<>();
+        scimToLocalClaimMap.put(SCIMConstants.UserSchemaConstants.USER_NAME_URI, "http://wso2.org/claims/username");
+        scimToLocalClaimMap.put(SCIMConstants.UserSchemaConstants.EMAILS_URI, "http://wso2.org/claims/emailaddress");
+        scimToLocalClaimMap.put(SCIMConstants.CommonSchemaConstants.ID_URI, "http://wso2.org/claims/userid");
+        scimCommonUtils.when(SCIMCommonUtils::getSCIMtoLocalMappings).thenReturn(scimToLocalClaimMap);
+        scimCommonUtils.when(() -> SCIMCommonUtils.convertLocalToSCIMDialect(anyMap(), anyMap()))
+                .thenAnswer(invocation -> {
+                    Map<String, String> attributes = new HashMap<>();
+                    attributes.put(SCIMConstants.CommonSchemaConstants.ID_URI, UUID.randomUUID().toString());
+                    return attributes;
+                });
+
+        List<org.wso2.carbon.user.core.common.User> users = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            org.wso2.carbon.user.core.common.User user = new org.wso2.carbon.user.core.common.User();
+            user.setUserID(UUID.randomUUID().toString());
+            user.setUsername("testUser" + i);
+            user.setUserStoreDomain("PRIMARY");
+            users.add(user);
+        }
+
+        when(mockedUserStoreManager.getUserListWithID("http://wso2.org/claims/userid", "*", null)).thenReturn(users);
+        when(mockedUserStoreManager.getRealmConfiguration()).thenReturn(mockedRealmConfig);
+        when(mockedRealmConfig.getUserStoreProperty(UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME))
+                .thenReturn("PRIMARY");
+        when(mockedUserStoreManager.getSecondaryUserStoreManager("PRIMARY")).thenReturn(mockedUserStoreManager);
+        when(mockedUserStoreManager.isSCIMEnabled()).thenReturn(true);
+        identityTenantUtil.when(IdentityTenantUtil::getRealmService).thenReturn(mockRealmService);
+        when(mockRealmService.getBootstrapRealmConfiguration()).thenReturn(mockedRealmConfig);
+
+        Map<String, Boolean> requiredAttributes = new HashMap<>();
+        requiredAttributes.put(SCIMConstants.UserSchemaConstants.USER_NAME_URI, false);
+        requiredAttributes.put(SCIMConstants.UserSchemaConstants.EMAILS_URI, false);
+
+        CommonTestUtils.initPrivilegedCarbonContext();
+        String tenantDomain = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        InMemorySCIMMetricsRegistry metricsRegistry = new InMemorySCIMMetricsRegistry();
+        SCIMCommonComponentHolder.setMetricsRegistry(metricsRegistry);
+        try {
+            SCIMUserManager scimUserManager = new SCIMUserManager(mockedUserStoreManager, mockedClaimManager);
+            UsersGetResponse result = scimUserManager.listUsersWithGET(null, 1, 0, null, null, requiredAttributes);
+
+            assertEquals(result.getUsers().size(), users.size());
+            verify(mockedUserStoreManager, times(1)).getUserListWithID("http://wso2.org/claims/userid", "*",
+                    null);
+            ArgumentCaptor<List> claimsCaptor = ArgumentCaptor.forClass(List.class);
+            verify(mockedUserStoreManager, times(1)).getUsersClaimValuesWithID(anyList(),
+                    claimsCaptor.capture(), nullable(String.class));
+
+            // One call to list the users and one to fetch the claims of the whole page.
+            assertEquals(metricsRegistry.getCounter(SCIMMetrics.USER_STORE_CALLS, tenantDomain), 2);
+            assertEquals(metricsRegistry.getCounter(SCIMMetrics.CLAIMS_FETCHED, tenantDomain),
+                    (long) claimsCaptor.getValue().size() * users.size());
+        } finally {
+            SCIMCommonComponentHolder.setMetricsRegistry(null);
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    @Test
+    public void testListUsersWithCursor() throws Exception {
+
+        Map<String, String> scimToLocalClaimMap = new HashMap<>();
+        scimToLocalClaimMap.put(SCIMConstants.UserSchemaConstants.USER_NAME_URI, "http://wso2.org/claims/username");
+        scimToLocalClaimMap.put(SCIMConstants.CommonSchemaConstants.ID_URI, "http://wso2.org/claims/userid");
+        scimCommonUtils.when(SCIMCommonUtils::getSCIMtoLocalMappings).thenReturn(scimToLocalClaimMap);
+        scimCommonUtils.when(() -> SCIMCommonUtils.convertLocalToSCIMDialect(anyMap(), anyMap()))
+                .thenAnswer(invocation -> {
+                    Map<String, String> attributes = new HashMap<>();
+                    attributes.put(SCIMConstants.CommonSchemaConstants.ID_URI, UUID.randomUUID().toString());
+                    return attributes;
+                });
+
+        List<org.wso2.carbon.user.core.common.User> users = buildCoreUsers("PRIMARY", 5);
+        JDBCUserStoreManager primaryUserStoreManager = mock(JDBCUserStoreManager.class);
+        when(primaryUserStoreManager.isSCIMEnabled()).thenReturn(true);
+        when(primaryUserStoreManager.countUsersWithClaims(anyString(), anyString())).thenReturn(5L);
+        when(mockedUserStoreManager.getRealmConfiguration()).thenReturn(mockedRealmConfig);
+        when(mockedRealmConfig.getUserStoreProperty(UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME))
+                .thenReturn("PRIMARY");
+        when(mockedUserStoreManager.getSecondaryUserStoreManager("PRIMARY")).thenReturn(primaryUserStoreManager);
+        when(mockedUserStoreManager.getUserListWithID(any(Condition.class), eq("PRIMARY"), anyString(), anyInt(),
+                anyInt(), nullable(String.class), nullable(String.class))).thenAnswer(invocation -> {
+                    int limit = invocation.getArgument(3);
+                    int from = Math.min((int) invocation.getArgument(4) - 1, users.size());
+                    return new ArrayList<>(users.subList(from, Math.min(users.size(), from + limit)));
+                });
+        identityTenantUtil.when(IdentityTenantUtil::getRealmService).thenReturn(mockRealmService);
+        when(mockRealmService.getBootstrapRealmConfiguration()).thenReturn(mockedRealmConfig);
+
+        Map<String, Boolean> requiredAttributes = new HashMap<>();
+        requiredAttributes.put(SCIMConstants.UserSchemaConstants.USER_NAME_URI, false);
+        Map<String, Object> threadLocalProperties = IdentityUtil.threadLocalProperties.get();
+        CommonTestUtils.initPrivilegedCarbonContext();
+        try {
+            // First page.
+            threadLocalProperties.put(SCIMCommonConstants.USER_LISTING_CURSOR_THREAD_LOCAL_PROPERTY, "");
+            UsersGetResponse firstPage = new SCIMUserManager(mockedUserStoreManager, mockedClaimManager)
+                    .listUsersWithGET(null, 1, 2, null, null, "PRIMARY", requiredAttributes);
+            Object nextCursor = threadLocalProperties.remove(
+                    SCIMCommonConstants.USER_LISTING_NEXT_CURSOR_THREAD_LOCAL_PROPERTY);
+
+            assertEquals(firstPage.getUsers().size(), 2);
+            assertEquals(firstPage.getTotalUsers(), 5);
+            assertNotNull(nextCursor);
+
+            // Second page, read from the position of the cursor with the total of the first page.
+            threadLocalProperties.put(SCIMCommonConstants.USER_LISTING_CURSOR_THREAD_LOCAL_PROPERTY, nextCursor);
+            UsersGetResponse secondPage = new SCIMUserManager(mockedUserStoreManager, mockedClaimManager)
+                    .listUsersWithGET(null, 1, 2, null, null, "PRIMARY", requiredAttributes);
+            nextCursor = threadLocalProperties.remove(
+                    SCIMCommonConstants.USER_LISTING_NEXT_CURSOR_THREAD_LOCAL_PROPERTY);
+
+            assertEquals(secondPage.getUsers().size(), 2);
+            assertEquals(secondPage.getTotalUsers(), 5);
+            verify(mockedUserStoreManager).getUserListWithID(any(Condition.class), eq("PRIMARY"), anyString(),
+                    eq(2), eq(3), nullable(String.class), nullable(String.class));
+            assertNotNull(nextCursor);
+
+            // Last page, with no cursor for a next page.
+            threadLocalProperties.put(SCIMCommonConstants.USER_LISTING_CURSOR_THREAD_LOCAL_PROPERTY, nextCursor);
+            UsersGetResponse lastPage = new SCIMUserManager(mockedUserStoreManager, mockedClaimManager)
+                    .listUsersWithGET(null, 1, 2, null, null, "PRIMARY", requiredAttributes);
+
+            assertEquals(lastPage.getUsers().size(), 1);
+            assertEquals(lastPage.getTotalUsers(), 5);
+            assertNull(threadLocalProperties.get(SCIMCommonConstants.USER_LISTING_NEXT_CURSOR_THREAD_LOCAL_PROPERTY));
+            // The users are counted for the first page only.
+            verify(primaryUserStoreManager, times(1)).countUsersWithClaims(anyString(), anyString());
+        } finally {
+            threadLocalProperties.remove(SCIMCommonConstants.USER_LISTING_CURSOR_THREAD_LOCAL_PROPERTY);
+            threadLocalProperties.remove(SCIMCommonConstants.USER_LISTING_NEXT_CURSOR_THREAD_LOCAL_PROPERTY);
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    @Test(dataProvider = "invalidUserListingCursors", expectedExceptions = BadRequestException.class)
+    public void testListUsersWithInvalidCursor(String cursor) throws Exception {
+
+        IdentityUtil.threadLocalProperties.get().put(SCIMCommonConstants.USER_LISTING_CURSOR_THREAD_LOCAL_PROPERTY,
+                cursor);
+        try {
+            new SCIMUserManager(mockedUserStoreManager, mockedClaimManager)
+                    .listUsersWithGET(null, 1, 2, null, null, "PRIMARY", new HashMap<>());
+        } finally {
+            IdentityUtil.threadLocalProperties.get()
+                    .remove(SCIMCommonConstants.USER_LISTING_CURSOR_THREAD_LOCAL_PROPERTY);
+        }
+    }
+
+    @DataProvider(name = "invalidUserListingCursors")
+    public Object[][] invalidUserListingCursors() {
+
+        return new Object[][]{
+                {"not a cursor"},
+                // A valid cursor of another domain.
+                {new UserListingCursor("SECONDARY", 3, 5).encode()}
+        };
+    }
+
     @Test(dataProvider = "userInfoForFiltering")
     public void testFilteringUsersWithGET(List<org.wso2.carbon.user.core.common.User> users, String filter,
                                           int expectedResultCount, List<org.wso2.carbon.user.core.common.User>
@@ -789,6 +1020,130 @@ public class SCIMUserManagerTest {
         assertEquals(expectedTotalCount, userResponse.getTotalUsers());
     }
 
+    @DataProvider(name = "singlePassPages")
+    public Object[][] singlePassPages() {
+
+        // Offset, limit, expected number of users, expected offset in the secondary domain, expected limit in the
+        // secondary domain or 0 if the secondary domain is not expected to be queried, whether the primary domain is
+        // expected to be queried.
+        return new Object[][]{
+                {1, 2, 2, 0, 0, true},
+                {2, 3, 3, 1, 1, true},
+                {5, 2, 2, 2, 2, false},
+                {7, 5, 1, 4, 5, false},
+                {9, 5, 0, 0, 0, false}
+        };
+    }
+
+    @Test(dataProvider = "singlePassPages")
+    public void testMultiAttributeFilteringInSinglePass(int offset, int limit, int expectedUsers,
+                                                        int expectedSecondaryOffset, int expectedSecondaryLimit,
+                                                        boolean isPrimaryQueried) throws Exception {
+
+        Map<String, List<org.wso2.carbon.user.core.common.User>> usersOfDomains = new HashMap<>();
+        usersOfDomains.put("PRIMARY", buildFilteredCoreUsers("PRIMARY", 3));
+        usersOfDomains.put("SECONDARY", buildFilteredCoreUsers("SECONDARY", 4));
+
+        Map<String, String> scimToLocalClaimMap = new HashMap<>();
+        scimToLocalClaimMap.put("urn:ietf:params:scim:schemas:core:2.0:User:userName",
+                "http://wso2.org/claims/username");
+        scimToLocalClaimMap.put("urn:ietf:params:scim:schemas:core:2.0:id", "http://wso2.org/claims/userid");
+        scimCommonUtils.when(() -> SCIMCommonUtils.getSCIMtoLocalMappings()).thenReturn(scimToLocalClaimMap);
+        scimCommonUtils.when(() -> SCIMCommonUtils.convertLocalToSCIMDialect(anyMap(), anyMap()))
+                .thenAnswer(invocation -> new HashMap<String, String>() {{
+                    put(SCIMConstants.CommonSchemaConstants.ID_URI, UUID.randomUUID().toString());
+                }});
+        scimCommonUtils.when(SCIMCommonUtils::getFilteredUserCountCacheTTL).thenReturn(0);
+
+        AbstractUserStoreManager primaryUserStoreManager = mock(AbstractUserStoreManager.class);
+        AbstractUserStoreManager secondaryUserStoreManager = mockSecondaryUserStoreManager("SECONDARY");
+        RealmConfiguration primaryRealmConfig = mock(RealmConfiguration.class);
+        when(primaryRealmConfig.getUserStoreProperty(UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME))
+                .thenReturn("PRIMARY");
+        when(primaryUserStoreManager.getRealmConfiguration()).thenReturn(primaryRealmConfig);
+        when(primaryUserStoreManager.getSecondaryUserStoreManager()).thenReturn(secondaryUserStoreManager);
+        when(primaryUserStoreManager.getSecondaryUserStoreManager("PRIMARY")).thenReturn(primaryUserStoreManager);
+        when(primaryUserStoreManager.getSecondaryUserStoreManager("SECONDARY")).thenReturn(secondaryUserStoreManager);
+        when(primaryUserStoreManager.isSCIMEnabled()).thenReturn(true);
+        when(secondaryUserStoreManager.isSCIMEnabled()).thenReturn(true);
+        when(primaryUserStoreManager.getRoleListOfUserWithID(anyString())).thenReturn(new ArrayList<>());
+        when(primaryUserStoreManager.getUsersCount(any(Condition.class), anyString(), anyString(), anyInt(), anyInt(),
+                anyBoolean())).thenAnswer(invocation -> usersOfDomains.get(invocation.getArgument(1)).size());
+        when(primaryUserStoreManager.getPaginatedUserListWithID(any(Condition.class), anyString(), anyString(),
+                anyInt(), anyInt(), nullable(String.class), nullable(String.class))).thenAnswer(invocation -> {
+                    List<org.wso2.carbon.user.core.common.User> users = usersOfDomains.get(invocation.getArgument(1));
+                    int limitOfDomain = invocation.getArgument(3);
+                    int from = Math.min((int) invocation.getArgument(4) - 1, users.size());
+                    return new PaginatedUserResponse(new ArrayList<>(
+                            users.subList(from, Math.min(users.size(), from + limitOfDomain))));
+                });
+        identityTenantUtil.when(IdentityTenantUtil::getRealmService).thenReturn(mockRealmService);
+        when(mockRealmService.getBootstrapRealmConfiguration()).thenReturn(mockedRealmConfig);
+
+        AttributeMapping givenNameAttribute = new AttributeMapping("PRIMARY", "http://wso2.org/claims/givenname");
+        AttributeMapping emailAttribute = new AttributeMapping("PRIMARY", "http://wso2.org/claims/emailaddress");
+        List<LocalClaim> localClaimList = new ArrayList<LocalClaim>() {{
+            add(new LocalClaim(GIVEN_NAME_LOCAL_CLAIM, Collections.singletonList(givenNameAttribute), null));
+            add(new LocalClaim(EMAIL_ADDRESS_LOCAL_CLAIM, Collections.singletonList(emailAttribute), null));
+        }};
+        String claimDialectUri = SCIMCommonConstants.SCIM_USER_CLAIM_DIALECT;
+        List<ExternalClaim> externalClaimList = new ArrayList<ExternalClaim>() {{
+            add(new ExternalClaim(claimDialectUri, claimDialectUri + ":name.givenName", GIVEN_NAME_LOCAL_CLAIM));
+            add(new ExternalClaim(claimDialectUri, claimDialectUri + ":emails", EMAIL_ADDRESS_LOCAL_CLAIM));
+        }};
+        when(mockClaimMetadataManagementService.getLocalClaims(anyString())).thenReturn(localClaimList);
+        when(mockClaimMetadataManagementService.getExternalClaims(anyString(), anyString()))
+                .thenReturn(externalClaimList);
+
+        CommonTestUtils.initPrivilegedCarbonContext();
+        SCIMUserManager scimUserManager = new SCIMUserManager(primaryUserStoreManager,
+                mockClaimMetadataManagementService, MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        Node node = new FilterTreeManager("name.givenName eq testUser and emails co wso2.com",
+                SCIMResourceSchemaManager.getInstance().getUserResourceSchema()).buildTree();
+        Method getMultiAttributeFilteredUsersInSinglePass = SCIMUserManager.class.getDeclaredMethod(
+                "getMultiAttributeFilteredUsersInSinglePass", Node.class, Map.class, int.class, int.class,
+                String.class, String.class, String.class, int.class);
+        getMultiAttributeFilteredUsersInSinglePass.setAccessible(true);
+        Map<String, Boolean> requiredAttributes = new HashMap<>();
+        requiredAttributes.put("urn:ietf:params:scim:schemas:core:2.0:User:userName", true);
+
+        UsersGetResponse usersResponse = (UsersGetResponse) getMultiAttributeFilteredUsersInSinglePass.invoke(
+                scimUserManager, node, requiredAttributes, offset, limit, null, null, null, 100);
+
+        assertEquals(usersResponse.getTotalUsers(), 7);
+        assertEquals(usersResponse.getUsers().size(), expectedUsers);
+        // Each domain is counted once, and a domain is queried for users only if the page overlaps with its users.
+        verify(primaryUserStoreManager, times(1)).getUsersCount(any(Condition.class), eq("PRIMARY"), anyString(),
+                anyInt(), anyInt(), anyBoolean());
+        verify(primaryUserStoreManager, times(1)).getUsersCount(any(Condition.class), eq("SECONDARY"),
+                anyString(), anyInt(), anyInt(), anyBoolean());
+        verify(primaryUserStoreManager, times(isPrimaryQueried ? 1 : 0)).getPaginatedUserListWithID(
+                any(Condition.class), eq("PRIMARY"), anyString(), anyInt(), anyInt(), nullable(String.class),
+                nullable(String.class));
+        if (expectedSecondaryLimit > 0) {
+            verify(primaryUserStoreManager, times(1)).getPaginatedUserListWithID(any(Condition.class),
+                    eq("SECONDARY"), anyString(), eq(expectedSecondaryLimit), eq(expectedSecondaryOffset),
+                    nullable(String.class), nullable(String.class));
+        } else {
+            verify(primaryUserStoreManager, never()).getPaginatedUserListWithID(any(Condition.class),
+                    eq("SECONDARY"), anyString(), anyInt(), anyInt(), nullable(String.class),
+                    nullable(String.class));
+        }
+    }
+
+    private List<org.wso2.carbon.user.core.common.User> buildFilteredCoreUsers(String domainName,
+                                                                              int numberOfUsers) {
+
+        List<org.wso2.carbon.user.core.common.User> users = buildCoreUsers(domainName, numberOfUsers);
+        for (org.wso2.carbon.user.core.common.User user : users) {
+            Map<String, String> attributes = new HashMap<>();
+            attributes.put("http://wso2.org/claims/givenname", "testUser");
+            attributes.put("http://wso2.org/claims/emailaddress", user.getUsername() + "@wso2.com");
+            user.setAttributes(attributes);
+        }
+        return users;
+    }
+
     @DataProvider(name = "getDataForFilterUsersWithPagination")
     public Object[][] getDataForFilterUsersWithPagination() {
 
@@ -1049,6 +1404,168 @@ public class SCIMUserManagerTest {
         };
     }
 
+    @Test
+    public void testListGroupsWithPagination() throws Exception {
+
+        String[] roles = {"Application/MyApp", "Application/Apple", "Application/Banana"};
+        AbstractUserStoreManager abstractUserStoreManager = mock(AbstractUserStoreManager.class);
+        when(abstractUserStoreManager.getRoleNames(anyString(), anyInt(), anyBoolean(), anyBoolean(), anyBoolean()))
+                .thenReturn(roles);
+        for (String role : roles) {
+            when(abstractUserStoreManager.getGroupByGroupName(role, null)).
+                    thenReturn(buildUserCoreGroupResponse(role, UUID.randomUUID().toString(), null));
+        }
+        when(mockedGroupDAO.isExistingGroup(anyString(), anyInt())).thenReturn(true);
+        userCoreUtil = mockStatic(UserCoreUtil.class);
+        scimCommonUtils.when(SCIMCommonUtils::isGroupListingPaginationEnabled).thenReturn(true);
+        scimCommonUtils.when(() -> SCIMCommonUtils.getSCIMGroupURL()).thenReturn("https://localhost:9443/scim2/Groups");
+
+        Map<String, Boolean> requiredAttributes = new HashMap<>();
+        requiredAttributes.put("urn:ietf:params:scim:schemas:core:2.0:Group:displayName", true);
+        try (MockedConstruction<SCIMGroupHandler> mocked = mockConstruction(SCIMGroupHandler.class,
+                (mock, context) -> {
+                    when(mock.listSCIMRoles()).thenReturn(new HashSet<>(Arrays.asList(roles)));
+                })) {
+
+            CarbonConstants.ENABLE_LEGACY_AUTHZ_RUNTIME = true;
+            identityUtil.when(() -> IdentityUtil.extractDomainFromName(anyString())).thenReturn("Application");
+            SCIMUserManager scimUserManager = new SCIMUserManager(abstractUserStoreManager, mockedClaimManager);
+            GroupsGetResponse groupsResponse = scimUserManager
+                    .listGroupsWithGET(null, 2, 1, null, null, "Application", requiredAttributes);
+
+            assertEquals(groupsResponse.getTotalGroups(), 3);
+            assertEquals(groupsResponse.getGroups().size(), 1);
+            assertEquals(groupsResponse.getGroups().get(0).getDisplayName(), "Application/Banana");
+            verify(abstractUserStoreManager, never()).getGroupByGroupName("Application/Apple", null);
+            verify(abstractUserStoreManager, never()).getGroupByGroupName("Application/MyApp", null);
+        } finally {
+            userCoreUtil.close();
+        }
+    }
+
+    @DataProvider(name = "multipleDomainPages")
+    public Object[][] multipleDomainPages() {
+
+        return new Object[][]{
+                {1, 2}, {1, 10}, {2, 3}, {3, 2}, {4, 2}, {4, 4}, {5, 10}, {7, 1}, {8, 5}
+        };
+    }
+
+    @Test(dataProvider = "multipleDomainPages")
+    public void testFilterUsersFromMultipleDomainsInParallel(int offset, int limit) throws Exception {
+
+        Map<String, List<org.wso2.carbon.user.core.common.User>> usersOfDomains = new HashMap<>();
+        usersOfDomains.put("PRIMARY", buildCoreUsers("PRIMARY", 3));
+        usersOfDomains.put("SECONDARY1", buildCoreUsers("SECONDARY1", 0));
+        usersOfDomains.put("SECONDARY2", buildCoreUsers("SECONDARY2", 4));
+
+        AbstractUserStoreManager primaryUserStoreManager = mock(AbstractUserStoreManager.class);
+        AbstractUserStoreManager secondaryUserStoreManager1 = mockSecondaryUserStoreManager("SECONDARY1");
+        AbstractUserStoreManager secondaryUserStoreManager2 = mockSecondaryUserStoreManager("SECONDARY2");
+        when(primaryUserStoreManager.getSecondaryUserStoreManager()).thenReturn(secondaryUserStoreManager1);
+        when(secondaryUserStoreManager1.getSecondaryUserStoreManager()).thenReturn(secondaryUserStoreManager2);
+        RealmConfiguration primaryRealmConfig = mock(RealmConfiguration.class);
+        when(primaryRealmConfig.getUserStoreProperty(UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME))
+                .thenReturn("PRIMARY");
+        when(primaryUserStoreManager.getRealmConfiguration()).thenReturn(primaryRealmConfig);
+        when(primaryUserStoreManager.getUserListWithID(any(Condition.class), anyString(), anyString(), anyInt(),
+                anyInt(), nullable(String.class), nullable(String.class))).thenAnswer(invocation -> {
+                    List<org.wso2.carbon.user.core.common.User> users = usersOfDomains.get(invocation.getArgument(1));
+                    int limitOfDomain = invocation.getArgument(3);
+                    int from = Math.min((int) invocation.getArgument(4) - 1, users.size());
+                    return new ArrayList<>(users.subList(from, Math.min(users.size(), from + limitOfDomain)));
+                });
+
+        CommonTestUtils.initPrivilegedCarbonContext();
+        SCIMUserManager scimUserManager = new SCIMUserManager(primaryUserStoreManager, mockedClaimManager);
+        Method filterUsersFromMultipleDomains = SCIMUserManager.class.getDeclaredMethod(
+                "filterUsersFromMultipleDomains", Node.class, int.class, int.class, String.class, String.class,
+                Condition.class);
+        filterUsersFromMultipleDomains.setAccessible(true);
+        Condition condition = mock(Condition.class);
+
+        List<org.wso2.carbon.user.core.common.User> sequentialResult = new ArrayList<>(
+                (Set<org.wso2.carbon.user.core.common.User>) filterUsersFromMultipleDomains.invoke(scimUserManager,
+                        null, offset, limit, null, null, condition));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            scimCommonUtils.when(SCIMCommonUtils::isParallelUserStoreDomainSearchEnabled).thenReturn(true);
+            scimCommonUtils.when(SCIMCommonUtils::getUserStoreDomainSearchTimeout).thenReturn(10000);
+            scimCommonComponentHolder.when(SCIMCommonComponentHolder::getDomainSearchExecutorService)
+                    .thenReturn(executorService);
+            List<org.wso2.carbon.user.core.common.User> parallelResult = new ArrayList<>(
+                    (Set<org.wso2.carbon.user.core.common.User>) filterUsersFromMultipleDomains.invoke(
+                            scimUserManager, null, offset, limit, null, null, condition));
+
+            assertEquals(parallelResult, sequentialResult);
+            assertTrue(parallelResult.size() <= limit);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private AbstractUserStoreManager mockSecondaryUserStoreManager(String domainName) {
+
+        AbstractUserStoreManager secondaryUserStoreManager = mock(AbstractUserStoreManager.class);
+        RealmConfiguration realmConfiguration = mock(RealmConfiguration.class);
+        when(realmConfiguration.getUserStoreProperty(UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME))
+                .thenReturn(domainName);
+        when(secondaryUserStoreManager.getRealmConfiguration()).thenReturn(realmConfiguration);
+        return secondaryUserStoreManager;
+    }
+
+    private List<org.wso2.carbon.user.core.common.User> buildCoreUsers(String domainName, int numberOfUsers) {
+
+        List<org.wso2.carbon.user.core.common.User> users = new ArrayList<>();
+        for (int i = 0; i < numberOfUsers; i++) {
+            org.wso2.carbon.user.core.common.User user = new org.wso2.carbon.user.core.common.User();
+            user.setUserID(UUID.randomUUID().toString());
+            user.setUsername("user" + i);
+            user.setUserStoreDomain(domainName);
+            users.add(user);
+        }
+        return users;
+    }
+
+    @Test
+    public void testListGroupsWithPaginationExcludesGroupsWithoutSCIMAttributes() throws Exception {
+
+        String[] roles = {"group1", "group2", "group3"};
+        AbstractUserStoreManager abstractUserStoreManager = mock(AbstractUserStoreManager.class);
+        AbstractUserStoreManager primaryUserStoreManager = mock(AbstractUserStoreManager.class);
+        when(abstractUserStoreManager.getRoleNames()).thenReturn(roles);
+        when(abstractUserStoreManager.getSecondaryUserStoreManager("PRIMARY")).thenReturn(primaryUserStoreManager);
+        when(primaryUserStoreManager.isSCIMEnabled()).thenReturn(true);
+        when(primaryUserStoreManager.isUniqueGroupIdEnabled()).thenReturn(false);
+        for (String role : roles) {
+            when(abstractUserStoreManager.getGroupByGroupName(role, null)).
+                    thenReturn(buildUserCoreGroupResponse(role, UUID.randomUUID().toString(), null));
+        }
+        when(mockedGroupDAO.isExistingGroup(anyString(), anyInt())).thenReturn(true);
+        scimCommonUtils.when(SCIMCommonUtils::isGroupListingPaginationEnabled).thenReturn(true);
+        scimCommonUtils.when(() -> SCIMCommonUtils.getSCIMGroupURL()).thenReturn("https://localhost:9443/scim2/Groups");
+
+        Map<String, Boolean> requiredAttributes = new HashMap<>();
+        requiredAttributes.put("urn:ietf:params:scim:schemas:core:2.0:Group:displayName", true);
+        try (MockedConstruction<SCIMGroupHandler> mocked = mockConstruction(SCIMGroupHandler.class,
+                (mock, context) -> {
+                    // group2 was created in the user store without SCIM attributes, hence it has no id.
+                    when(mock.listSCIMRoles()).thenReturn(new HashSet<>(Arrays.asList("group1", "group3")));
+                })) {
+
+            identityUtil.when(() -> IdentityUtil.extractDomainFromName(anyString())).thenReturn("PRIMARY");
+            SCIMUserManager scimUserManager = new SCIMUserManager(abstractUserStoreManager, mockedClaimManager);
+            GroupsGetResponse groupsResponse = scimUserManager
+                    .listGroupsWithGET(null, 2, 1, null, null, null, requiredAttributes);
+
+            assertEquals(groupsResponse.getTotalGroups(), 2);
+            assertEquals(groupsResponse.getGroups().size(), 1);
+            assertEquals(groupsResponse.getGroups().get(0).getDisplayName(), "group3");
+            verify(abstractUserStoreManager, never()).getGroupByGroupName("group2", null);
+        }
+    }
+
     @Test(dataProvider = "applicationDomainWithFilters")
     public void testFilterApplicationRolesWithDomainParam(String filter, String[] roles, Map<String, String> attributes)
             throws Exception {
@@ -1191,6 +1708,100 @@ public class SCIMUserManagerTest {
         assertTrue(hasExpectedBehaviour, "UserName claim update is not properly handled.");
     }
 
+    @Test
+    public void testUpdateUserWithUsernameChangeWhenOnlyUsernameIsRead() throws Exception {
+
+        User newUser = new User();
+        newUser.setUserName("newUser");
+        newUser.setId("newUserId");
+
+        org.wso2.carbon.user.core.common.User oldCoreUser = mock(org.wso2.carbon.user.core.common.User.class);
+        when(oldCoreUser.getUserStoreDomain()).thenReturn("PRIMARY");
+        when(oldCoreUser.getDomainQualifiedUsername()).thenReturn("oldUser");
+
+        when(ApplicationManagementService.getInstance()).thenReturn(applicationManagementService);
+        when(applicationManagementService.getServiceProvider(anyString(), anyString())).thenReturn(null);
+        scimCommonUtils.when(SCIMCommonUtils::isUsernameOnlyReadOnUserUpdateEnabled).thenReturn(true);
+        when(mockedUserStoreManager.getUserWithID(eq("newUserId"), any(), anyString())).thenReturn(oldCoreUser);
+        when(mockedUserStoreManager.getSecondaryUserStoreManager("PRIMARY")).thenReturn(mockedUserStoreManager);
+        when(mockedUserStoreManager.isSCIMEnabled()).thenReturn(true);
+        when(IdentityUtil.isUserStoreInUsernameCaseSensitive(anyString())).thenReturn(true);
+
+        SCIMUserManager scimUserManager = spy(new SCIMUserManager(mockedUserStoreManager,
+                mockClaimMetadataManagementService, MultitenantConstants.SUPER_TENANT_DOMAIN_NAME));
+        boolean hasExpectedBehaviour = false;
+        try {
+            scimUserManager.updateUser(newUser, null);
+        } catch (BadRequestException e) {
+            if (ResponseCodeConstants.MUTABILITY.equals(e.getScimType())) {
+                hasExpectedBehaviour = true;
+            }
+        }
+
+        assertTrue(hasExpectedBehaviour, "UserName claim update is not properly handled.");
+        verify(scimUserManager, never()).getUser(anyString(), anyMap());
+    }
+
+    @Test
+    public void testUpdateUserClaimsRemovesClaimsWithSingleCall() throws Exception {
+
+        User user = new User();
+        user.setId("userId");
+        Map<String, String> oldClaims = new HashMap<>();
+        oldClaims.put("http://wso2.org/claims/username", "user");
+        oldClaims.put(GIVEN_NAME_LOCAL_CLAIM, "John");
+        oldClaims.put(EMAIL_ADDRESS_LOCAL_CLAIM, "john@wso2.com");
+        oldClaims.put("http://wso2.org/claims/mobile", "0771234567");
+        oldClaims.put("http://wso2.org/claims/identity/accountLocked", "false");
+        Map<String, String> newClaims = new HashMap<>();
+        newClaims.put(GIVEN_NAME_LOCAL_CLAIM, "John");
+        scimCommonUtils.when(SCIMCommonUtils::getImmutableLocalClaims)
+                .thenReturn(Collections.singleton("http://wso2.org/claims/username"));
+
+        SCIMUserManager scimUserManager = new SCIMUserManager(mockedUserStoreManager,
+                mockClaimMetadataManagementService, MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        Method updateUserClaims = SCIMUserManager.class.getDeclaredMethod("updateUserClaims", User.class,
+                Map.class, Map.class);
+        updateUserClaims.setAccessible(true);
+        updateUserClaims.invoke(scimUserManager, user, oldClaims, newClaims);
+
+        // Removable claims are removed together, while immutable and identity claims are kept.
+        ArgumentCaptor<String[]> deletedClaims = ArgumentCaptor.forClass(String[].class);
+        verify(mockedUserStoreManager, times(1)).deleteUserClaimValuesWithID(eq("userId"),
+                deletedClaims.capture(), nullable(String.class));
+        assertEquals(new HashSet<>(Arrays.asList(deletedClaims.getValue())),
+                new HashSet<>(Arrays.asList(EMAIL_ADDRESS_LOCAL_CLAIM, "http://wso2.org/claims/mobile")));
+        verify(mockedUserStoreManager, never()).deleteUserClaimValueWithID(anyString(), anyString(),
+                nullable(String.class));
+        // The user is updated even though no claim is added or modified, so that its last modified time is set.
+        verify(mockedUserStoreManager, times(1)).setUserClaimValuesWithID(eq("userId"),
+                eq(Collections.emptyMap()), nullable(String.class));
+    }
+
+    @Test
+    public void testUpdateUserClaimsWithoutChanges() throws Exception {
+
+        User user = new User();
+        user.setId("userId");
+        Map<String, String> claims = new HashMap<>();
+        claims.put("http://wso2.org/claims/username", "user");
+        claims.put(GIVEN_NAME_LOCAL_CLAIM, "John");
+        scimCommonUtils.when(SCIMCommonUtils::getImmutableLocalClaims)
+                .thenReturn(Collections.singleton("http://wso2.org/claims/username"));
+
+        SCIMUserManager scimUserManager = new SCIMUserManager(mockedUserStoreManager,
+                mockClaimMetadataManagementService, MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        Method updateUserClaims = SCIMUserManager.class.getDeclaredMethod("updateUserClaims", User.class,
+                Map.class, Map.class);
+        updateUserClaims.setAccessible(true);
+        updateUserClaims.invoke(scimUserManager, user, claims, new HashMap<>(claims));
+
+        verify(mockedUserStoreManager, never()).deleteUserClaimValuesWithID(anyString(), any(String[].class),
+                nullable(String.class));
+        verify(mockedUserStoreManager, never()).setUserClaimValuesWithID(anyString(), anyMap(),
+                nullable(String.class));
+    }
+
     @Test
     public void testGetUserSchema() throws Exception {
 
@@ -1491,6 +2102,37 @@ public class SCIMUserManagerTest {
         // This method is for testing of throwing CharonException, hence no assertion.
     }
 
+    @Test
+    public void testGetUserLastModifiedReadsTheMappedClaim() throws Exception {
+
+        String lastModifiedLocalClaim = "http://wso2.org/claims/lastModifiedTime";
+        String lastModified = "2026-01-01T00:00:00Z";
+        Map<String, String> scimToLocalClaimsMap = new HashMap<>();
+        scimToLocalClaimsMap.put(SCIMConstants.CommonSchemaConstants.LAST_MODIFIED_URI, lastModifiedLocalClaim);
+        when(SCIMCommonUtils.getSCIMtoLocalMappings()).thenReturn(scimToLocalClaimsMap);
+
+        org.wso2.carbon.user.core.common.User user = mock(org.wso2.carbon.user.core.common.User.class);
+        when(user.getAttributes()).thenReturn(Collections.singletonMap(lastModifiedLocalClaim, lastModified));
+        when(mockedUserStoreManager.getUserWithID(eq("12345"), any(), anyString())).thenReturn(user);
+        SCIMUserManager scimUserManager = new SCIMUserManager(mockedUserStoreManager,
+                mockClaimMetadataManagementService, MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+
+        assertEquals(scimUserManager.getUserLastModified("12345"), lastModified);
+        verify(mockedUserStoreManager).getUserWithID("12345", new String[]{lastModifiedLocalClaim},
+                UserCoreConstants.DEFAULT_PROFILE);
+    }
+
+    @Test
+    public void testGetUserLastModifiedWithoutMappedClaim() throws Exception {
+
+        when(SCIMCommonUtils.getSCIMtoLocalMappings()).thenReturn(new HashMap<>());
+        SCIMUserManager scimUserManager = new SCIMUserManager(mockedUserStoreManager,
+                mockClaimMetadataManagementService, MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+
+        assertNull(scimUserManager.getUserLastModified("12345"));
+        verify(mockedUserStoreManager, never()).getUserWithID(anyString(), any(), anyString());
+    }
+
     @Test
     public void testListUsersWithPost() throws Exception {
 
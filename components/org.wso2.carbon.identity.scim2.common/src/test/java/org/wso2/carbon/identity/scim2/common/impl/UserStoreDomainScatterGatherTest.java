@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.impl;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.scim2.common.test.utils.CommonTestUtils;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+import org.wso2.charon3.core.exceptions.CharonException;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class UserStoreDomainScatterGatherTest {
+
+    private static final String[] DOMAIN_NAMES = {"PRIMARY", "SECONDARY1", "SECONDARY2"};
+
+    private ExecutorService executorService;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        CommonTestUtils.initPrivilegedCarbonContext(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME, "admin");
+        executorService = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        executorService.shutdownNow();
+        PrivilegedCarbonContext.endTenantFlow();
+    }
+
+    @Test
+    public void testResultsAreGatheredInDomainOrder() throws Exception {
+
+        UserStoreDomainScatterGather scatterGather = new UserStoreDomainScatterGather(executorService, 10000);
+
+        Map<String, String> results = scatterGather.search(DOMAIN_NAMES, domainName ->
+                domainName + "@" + PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain(), false);
+
+        assertEquals(results.keySet().toArray(), DOMAIN_NAMES);
+        assertEquals(results.get("SECONDARY2"), "SECONDARY2@" + MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+    }
+
+    @Test
+    public void testFailedDomainIsSkipped() throws Exception {
+
+        UserStoreDomainScatterGather scatterGather = new UserStoreDomainScatterGather(executorService, 10000);
+
+        Map<String, String> results = scatterGather.search(DOMAIN_NAMES, domainName -> {
+            if ("SECONDARY1".equals(domainName)) {
+                throw new CharonException("Error while searching the domain.");
+            }
+            return domainName;
+        }, true);
+
+        assertEquals(results.keySet().toArray(), new String[]{"PRIMARY", "SECONDARY2"});
+    }
+
+    @Test
+    public void testTimedOutDomainFailsSearchWithoutInterruptingIt() throws Exception {
+
+        UserStoreDomainScatterGather scatterGather = new UserStoreDomainScatterGather(executorService, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        try {
+            scatterGather.search(DOMAIN_NAMES, domainName -> {
+                if ("SECONDARY2".equals(domainName)) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                    } finally {
+                        completed.countDown();
+                    }
+                }
+                return domainName;
+            }, true);
+            fail("A timed out domain should fail the search even when failed domains are skipped.");
+        } catch (CharonException e) {
+            // Expected.
+        } finally {
+            release.countDown();
+        }
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        assertFalse(interrupted.get());
+    }
+}
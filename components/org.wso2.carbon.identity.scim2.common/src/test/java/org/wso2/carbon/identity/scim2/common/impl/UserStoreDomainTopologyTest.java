@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.impl;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.user.api.RealmConfiguration;
+import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
+import org.wso2.carbon.user.core.jdbc.JDBCUserStoreManager;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.MULTI_ATTRIBUTE_SEPARATOR;
+
+public class UserStoreDomainTopologyTest {
+
+    @Test
+    public void testBuild() throws Exception {
+
+        UserStoreManager secondaryB = mockUserStoreManager(AbstractUserStoreManager.class, "zeta", false, null,
+                "|", null);
+        UserStoreManager secondaryA = mockUserStoreManager(JDBCUserStoreManager.class, "alpha", true, "50", null,
+                secondaryB);
+        UserStoreManager primary = mockUserStoreManager(JDBCUserStoreManager.class, null, true, null, null,
+                secondaryA);
+
+        UserStoreDomainTopology topology = UserStoreDomainTopology.build(primary);
+
+        assertEquals(topology.getDomainNames(), new String[]{UserCoreConstants.PRIMARY_DEFAULT_DOMAIN_NAME, "ALPHA",
+                "ZETA"});
+        assertFalse(topology.isAllJDBC());
+
+        UserStoreDomainTopology.Domain primaryDomain = topology.getDomain("primary");
+        assertTrue(primaryDomain.isSCIMEnabled());
+        assertTrue(primaryDomain.isJDBC());
+        assertEquals(primaryDomain.getMaxUserList(), UserCoreConstants.MAX_USER_ROLE_LIST);
+        assertEquals(primaryDomain.getMultiAttributeSeparator(), ",");
+
+        UserStoreDomainTopology.Domain alphaDomain = topology.getDomain("Alpha");
+        assertEquals(alphaDomain.getMaxUserList(), 50);
+
+        UserStoreDomainTopology.Domain zetaDomain = topology.getDomain("ZETA");
+        assertFalse(zetaDomain.isSCIMEnabled());
+        assertFalse(zetaDomain.isJDBC());
+        assertEquals(zetaDomain.getMultiAttributeSeparator(), "|");
+
+        assertNull(topology.getDomain("INTERNAL"));
+        assertNull(topology.getDomain(null));
+    }
+
+    private UserStoreManager mockUserStoreManager(Class<? extends UserStoreManager> type, String domainName,
+                                                  boolean scimEnabled, String maxUserList,
+                                                  String multiAttributeSeparator, UserStoreManager secondary)
+            throws Exception {
+
+        RealmConfiguration realmConfiguration = mock(RealmConfiguration.class);
+        when(realmConfiguration.getUserStoreProperty(UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME))
+                .thenReturn(domainName);
+        when(realmConfiguration.getUserStoreProperty(UserCoreConstants.RealmConfig.PROPERTY_MAX_USER_LIST))
+                .thenReturn(maxUserList);
+        when(realmConfiguration.getUserStoreProperty(MULTI_ATTRIBUTE_SEPARATOR)).thenReturn(multiAttributeSeparator);
+
+        UserStoreManager userStoreManager = mock(type);
+        when(userStoreManager.getRealmConfiguration()).thenReturn(realmConfiguration);
+        when(userStoreManager.isSCIMEnabled()).thenReturn(scimEnabled);
+        when(userStoreManager.getSecondaryUserStoreManager()).thenReturn(secondary);
+        return userStoreManager;
+    }
+}
@@ -32,6 +32,7 @@ import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.scim2.common.DAO.GroupDAO;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMClaimValidationIndexCache;
 import org.wso2.carbon.identity.scim2.common.exceptions.IdentitySCIMException;
 import org.wso2.carbon.identity.scim2.common.internal.SCIMCommonComponentHolder;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
@@ -53,6 +54,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
@@ -95,6 +97,7 @@ public class SCIMUserOperationListenerTest {
     private MockedStatic<SCIMCommonUtils> scimCommonUtils;
     private MockedStatic<IdentityTenantUtil> identityTenantUtil;
     private MockedStatic<IdentityUtil> identityUtil;
+    private MockedStatic<SCIMClaimValidationIndexCache> scimClaimValidationIndexCache;
 
     @BeforeMethod
     public void setUp() throws Exception {
@@ -104,6 +107,9 @@ public class SCIMUserOperationListenerTest {
         scimCommonUtils = mockStatic(SCIMCommonUtils.class);
         identityTenantUtil = mockStatic(IdentityTenantUtil.class);
         identityUtil = mockStatic(IdentityUtil.class);
+        scimClaimValidationIndexCache = mockStatic(SCIMClaimValidationIndexCache.class);
+        scimClaimValidationIndexCache.when(SCIMClaimValidationIndexCache::getInstance)
+                .thenReturn(mock(SCIMClaimValidationIndexCache.class));
         SCIMCommonComponentHolder.setClaimManagementService(claimMetadataManagementService);
         when(userStoreManager.getTenantId()).thenReturn(-1234);
         identityTenantUtil.when(() -> IdentityTenantUtil.getTenantDomain(anyInt())).thenReturn(CARBON_SUPER);
@@ -115,6 +121,7 @@ public class SCIMUserOperationListenerTest {
         scimCommonUtils.close();
         identityTenantUtil.close();
         identityUtil.close();
+        scimClaimValidationIndexCache.close();
     }
 
     @DataProvider(name = "testGetExecutionOrderIdData")
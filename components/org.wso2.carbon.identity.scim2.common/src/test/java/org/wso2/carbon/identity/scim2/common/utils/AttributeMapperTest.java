@@ -18,20 +18,40 @@
 
 package org.wso2.carbon.identity.scim2.common.utils;
 
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMAttributeSchemaIndexCache;
+import org.wso2.carbon.identity.scim2.common.test.utils.CommonTestUtils;
 import org.wso2.charon3.core.encoder.JSONDecoder;
+import org.wso2.charon3.core.exceptions.CharonException;
+import org.wso2.charon3.core.extensions.UserManager;
 import org.wso2.charon3.core.objects.User;
+import org.wso2.charon3.core.schema.AttributeSchema;
+import org.wso2.charon3.core.schema.SCIMDefinitions;
 import org.wso2.charon3.core.schema.SCIMResourceSchemaManager;
 import org.wso2.charon3.core.schema.SCIMResourceTypeSchema;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 
 public class AttributeMapperTest {
 
@@ -119,4 +139,78 @@ public class AttributeMapperTest {
 
     }
 
+    @Test
+    public void testAttributeSchemaIndexContainsAllSchemaAttributes() throws Exception {
+
+        SCIMResourceTypeSchema schema = SCIMResourceSchemaManager.getInstance().getUserResourceSchema();
+        AttributeSchemaIndex index = AttributeSchemaIndex.build(schema, null, null);
+
+        for (AttributeSchema attributeSchema : schema.getAttributesList()) {
+            assertSame(index.get(attributeSchema.getURI()), attributeSchema);
+            if (SCIMDefinitions.DataType.COMPLEX.equals(attributeSchema.getType())) {
+                for (AttributeSchema subAttributeSchema : attributeSchema.getSubAttributeSchemas()) {
+                    assertNotNull(index.get(subAttributeSchema.getURI()));
+                }
+            }
+        }
+        assertNull(index.get("urn:ietf:params:scim:schemas:core:2.0:User:notAnAttribute"));
+        assertNull(index.get(null));
+    }
+
+    @Test
+    public void testConstructSCIMObjectFromAttributesWithUserManager() throws Exception {
+
+        CommonTestUtils.initPrivilegedCarbonContext();
+        SCIMAttributeSchemaIndexCache attributeSchemaIndexCache = mock(SCIMAttributeSchemaIndexCache.class);
+        try (MockedStatic<SCIMAttributeSchemaIndexCache> cache = mockStatic(SCIMAttributeSchemaIndexCache.class)) {
+            cache.when(SCIMAttributeSchemaIndexCache::getInstance).thenReturn(attributeSchemaIndexCache);
+            when(attributeSchemaIndexCache.getGeneration()).thenReturn(7L);
+            int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+            UserManager userManager = mock(UserManager.class);
+            Map<String, String> attributes = new HashMap<>();
+            attributes.put("urn:ietf:params:scim:schemas:core:2.0:id", "4f6b38a0-0fd6-4852-8f87-5e9db6991357");
+            attributes.put("urn:ietf:params:scim:schemas:core:2.0:User:userName", "Paul");
+            attributes.put("urn:ietf:params:scim:schemas:core:2.0:User:name.givenName", "Paul");
+            attributes.put("urn:ietf:params:scim:schemas:core:2.0:User:emails.work", "paulSmith@abc.com");
+
+            User user = (User) AttributeMapper.constructSCIMObjectFromAttributes(userManager, attributes, 1);
+            assertEquals(user.getUserName(), "Paul");
+
+            // The index is added with the generation read before it was built.
+            ArgumentCaptor<AttributeSchemaIndex> index = ArgumentCaptor.forClass(AttributeSchemaIndex.class);
+            verify(attributeSchemaIndexCache).addAttributeSchemaIndex(eq(tenantId), index.capture(), eq(7L));
+
+            // The cached index is reused for the next user.
+            when(attributeSchemaIndexCache.getAttributeSchemaIndexByTenant(tenantId)).thenReturn(index.getValue());
+            User secondUser = (User) AttributeMapper.constructSCIMObjectFromAttributes(userManager, attributes, 1);
+            assertEquals(secondUser.getUserName(), "Paul");
+            verify(attributeSchemaIndexCache, times(1)).addAttributeSchemaIndex(anyInt(), any(), anyLong());
+
+            AttributeMapper.clearAttributeSchemaIndex(tenantId);
+            verify(attributeSchemaIndexCache).clearAttributeSchemaIndexByTenant(tenantId);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    @Test(expectedExceptions = CharonException.class)
+    public void testConstructSCIMObjectFromAttributesWhenSchemaCannotBeResolved() throws Exception {
+
+        CommonTestUtils.initPrivilegedCarbonContext();
+        SCIMAttributeSchemaIndexCache attributeSchemaIndexCache = mock(SCIMAttributeSchemaIndexCache.class);
+        try (MockedStatic<SCIMAttributeSchemaIndexCache> cache = mockStatic(SCIMAttributeSchemaIndexCache.class)) {
+            cache.when(SCIMAttributeSchemaIndexCache::getInstance).thenReturn(attributeSchemaIndexCache);
+            UserManager userManager = mock(UserManager.class);
+            when(userManager.getCustomUserSchemaExtension()).thenAnswer(invocation -> {
+                throw new CharonException("Error while reading the custom schema.");
+            });
+            Map<String, String> attributes = new HashMap<>();
+            attributes.put("urn:ietf:params:scim:schemas:core:2.0:User:userName", "Paul");
+
+            // The users should not be returned without their attributes when the schema cannot be resolved.
+            AttributeMapper.constructSCIMObjectFromAttributes(userManager, attributes, 1);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
 }
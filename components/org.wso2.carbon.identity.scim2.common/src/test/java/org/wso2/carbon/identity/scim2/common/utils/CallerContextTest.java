@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.common.utils;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.scim2.common.test.utils.CommonTestUtils;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class CallerContextTest {
+
+    private static final String SERVICE_PROVIDER = "serviceProvider";
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        CommonTestUtils.initPrivilegedCarbonContext(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME, "admin");
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setOrganizationId("org-1");
+        IdentityUtil.threadLocalProperties.get().put(SERVICE_PROVIDER, "sp-1");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        IdentityUtil.threadLocalProperties.remove();
+        PrivilegedCarbonContext.endTenantFlow();
+    }
+
+    @Test
+    public void testWrappedTaskRunsWithCallerContext() throws Exception {
+
+        CallerContext callerContext = CallerContext.capture();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Object[] context = executorService.submit(callerContext.wrap(() -> {
+                PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+                return new Object[]{carbonContext.getTenantDomain(), carbonContext.getTenantId(),
+                        carbonContext.getUsername(), carbonContext.getOrganizationId(),
+                        IdentityUtil.threadLocalProperties.get().get(SERVICE_PROVIDER)};
+            })).get();
+
+            assertEquals(context[0], MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+            assertEquals(context[1], MultitenantConstants.SUPER_TENANT_ID);
+            assertEquals(context[2], "admin");
+            assertEquals(context[3], "org-1");
+            assertEquals(context[4], "sp-1");
+
+            // The worker thread does not keep the context of the caller once the task completes.
+            Object[] contextAfterTask = executorService.submit(() -> new Object[]{
+                    PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername(),
+                    IdentityUtil.threadLocalProperties.get().get(SERVICE_PROVIDER)}).get();
+            assertNull(contextAfterTask[0]);
+            assertNull(contextAfterTask[1]);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWrappedTaskRunInCallerThreadRestoresCallerProperties() throws Exception {
+
+        Map<String, Object> threadLocalProperties = IdentityUtil.threadLocalProperties.get();
+        Callable<Boolean> task = CallerContext.capture().wrap(() -> {
+            IdentityUtil.threadLocalProperties.get().put("propertyOfTask", true);
+            return IdentityUtil.threadLocalProperties.get().get(SERVICE_PROVIDER) != null;
+        });
+
+        assertTrue(task.call());
+        assertSame(IdentityUtil.threadLocalProperties.get(), threadLocalProperties);
+        assertNull(threadLocalProperties.get("propertyOfTask"));
+        assertEquals(PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername(), "admin");
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.utils;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementService;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMClaimValidationIndexCache;
+import org.wso2.carbon.identity.scim2.common.internal.SCIMCommonComponentHolder;
+import org.wso2.carbon.identity.scim2.common.utils.ClaimValidationIndex.ClaimValidationRule;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class ClaimValidationIndexTest {
+
+    private static final String EMAIL_CLAIM = "http://wso2.org/claims/emailaddress";
+    private static final String COUNTRY_CLAIM = "http://wso2.org/claims/country";
+    private static final String NICKNAME_CLAIM = "http://wso2.org/claims/nickname";
+
+    @Test
+    public void testBuild() {
+
+        Map<String, String> emailProperties = new HashMap<>();
+        emailProperties.put(SCIMCommonConstants.PROP_DISPLAYNAME, "Email");
+        emailProperties.put(SCIMCommonConstants.PROP_REG_EX, "^[a-z]+@[a-z]+\\.com$");
+        emailProperties.put(SCIMCommonConstants.MIN_LENGTH, "5");
+        emailProperties.put(SCIMCommonConstants.MAX_LENGTH, "invalid");
+        emailProperties.put(SCIMCommonConstants.REQUIRED, "true");
+        Map<String, String> countryProperties = new HashMap<>();
+        countryProperties.put(SCIMCommonConstants.PROP_DISPLAYNAME, "Country");
+
+        ClaimValidationIndex claimValidationIndex = ClaimValidationIndex.build(Arrays.asList(
+                new LocalClaim(EMAIL_CLAIM, null, emailProperties),
+                new LocalClaim(COUNTRY_CLAIM, null, countryProperties),
+                new LocalClaim(NICKNAME_CLAIM, null, new HashMap<>())));
+
+        ClaimValidationRule emailRule = claimValidationIndex.getValidationRule(EMAIL_CLAIM.toUpperCase());
+        assertEquals(emailRule.getDisplayName(), "Email");
+        assertTrue(emailRule.matchesRegex("user@wso2.com", null));
+        assertFalse(emailRule.matchesRegex("user", "^.*$"));
+        assertEquals(emailRule.getMinLengthValue(), Integer.valueOf(5));
+        try {
+            emailRule.getMaxLengthValue();
+            fail("Reading an invalid max length should fail.");
+        } catch (NumberFormatException e) {
+            // Expected.
+        }
+        assertTrue(emailRule.isRequired());
+
+        ClaimValidationRule countryRule = claimValidationIndex.getValidationRule(COUNTRY_CLAIM);
+        assertTrue(countryRule.matchesRegex("Sri Lanka", null));
+        assertFalse(countryRule.matchesRegex("Sri Lanka", "^[A-Z]+$"));
+        assertFalse(countryRule.isRequired());
+
+        assertNull(claimValidationIndex.getValidationRule(NICKNAME_CLAIM));
+    }
+
+    @Test
+    public void testGetInstanceUsesClaimValidationIndexCache() throws Exception {
+
+        int tenantId = 1;
+        Map<String, String> countryProperties = new HashMap<>();
+        countryProperties.put(SCIMCommonConstants.PROP_DISPLAYNAME, "Country");
+        ClaimMetadataManagementService claimMetadataManagementService = mock(ClaimMetadataManagementService.class);
+        when(claimMetadataManagementService.getLocalClaims(anyString())).thenReturn(
+                Collections.singletonList(new LocalClaim(COUNTRY_CLAIM, null, countryProperties)));
+        SCIMCommonComponentHolder.setClaimManagementService(claimMetadataManagementService);
+        SCIMClaimValidationIndexCache claimValidationIndexCache = mock(SCIMClaimValidationIndexCache.class);
+        when(claimValidationIndexCache.getGeneration()).thenReturn(3L);
+
+        try (MockedStatic<SCIMClaimValidationIndexCache> cache = mockStatic(SCIMClaimValidationIndexCache.class)) {
+            cache.when(SCIMClaimValidationIndexCache::getInstance).thenReturn(claimValidationIndexCache);
+
+            ClaimValidationIndex claimValidationIndex = ClaimValidationIndex.getInstance(tenantId, "wso2.com");
+            ArgumentCaptor<ClaimValidationIndex> indexCaptor = ArgumentCaptor.forClass(ClaimValidationIndex.class);
+            // The generation read before the local claims are read is passed, so that a clear in between wins.
+            verify(claimValidationIndexCache).addClaimValidationIndex(eq(tenantId), indexCaptor.capture(), eq(3L));
+            assertSame(indexCaptor.getValue(), claimValidationIndex);
+            assertEquals(claimValidationIndex.getValidationRule(COUNTRY_CLAIM).getDisplayName(), "Country");
+
+            when(claimValidationIndexCache.getClaimValidationIndexByTenant(tenantId)).thenReturn(claimValidationIndex);
+            assertSame(ClaimValidationIndex.getInstance(tenantId, "wso2.com"), claimValidationIndex);
+            verify(claimMetadataManagementService).getLocalClaims("wso2.com");
+
+            ClaimValidationIndex.clear(tenantId);
+            verify(claimValidationIndexCache).clearClaimValidationIndexByTenant(tenantId);
+        } finally {
+            SCIMCommonComponentHolder.setClaimManagementService(null);
+        }
+    }
+}
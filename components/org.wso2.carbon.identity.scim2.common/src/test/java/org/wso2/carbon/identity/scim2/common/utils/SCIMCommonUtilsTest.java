@@ -24,6 +24,12 @@ import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.wso2.carbon.CarbonConstants;
 import org.wso2.carbon.base.CarbonBaseConstants;
 import org.wso2.carbon.identity.core.ServiceURL;
@@ -33,10 +39,13 @@ import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.scim2.common.test.utils.CommonTestUtils;
 import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.common.User;
+import org.wso2.carbon.user.core.model.UniqueIDUserClaimSearchEntry;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -291,4 +300,76 @@ public class SCIMCommonUtilsTest {
         }
 
     }
+
+    @Test
+    public void testIndexClaimSearchEntriesByUserId() {
+
+        List<UniqueIDUserClaimSearchEntry> searchEntries = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            searchEntries.add(mockClaimSearchEntry("user-" + i, "value-" + i));
+        }
+        // The last entry of a user should win.
+        searchEntries.add(mockClaimSearchEntry("user-1", "value-latest"));
+        searchEntries.add(mockClaimSearchEntry(null, "value-without-id"));
+
+        Map<String, UniqueIDUserClaimSearchEntry> index =
+                UserClaimSearchEntryIndex.indexByUserId(searchEntries);
+
+        assertEquals(index.size(), 3);
+        assertEquals(index.get("user-0").getClaims().get("claim"), "value-0");
+        assertEquals(index.get("user-1").getClaims().get("claim"), "value-latest");
+        assertEquals(index.get("user-2").getClaims().get("claim"), "value-2");
+        assertTrue(UserClaimSearchEntryIndex.indexByUserId(null).isEmpty());
+    }
+
+    @Test
+    public void testGetSCIMUserBuildThreadPoolSize() {
+
+        identityUtil.when(() -> IdentityUtil.getProperty(SCIMCommonConstants.SCIM_USER_BUILD_THREAD_POOL_SIZE))
+                .thenReturn(null);
+        assertEquals(SCIMCommonUtils.getSCIMUserBuildThreadPoolSize(),
+                SCIMCommonConstants.DEFAULT_SCIM_USER_BUILD_THREAD_POOL_SIZE);
+
+        identityUtil.when(() -> IdentityUtil.getProperty(SCIMCommonConstants.SCIM_USER_BUILD_THREAD_POOL_SIZE))
+                .thenReturn("8");
+        assertEquals(SCIMCommonUtils.getSCIMUserBuildThreadPoolSize(), 8);
+
+        identityUtil.when(() -> IdentityUtil.getProperty(SCIMCommonConstants.SCIM_USER_BUILD_THREAD_POOL_SIZE))
+                .thenReturn("invalid");
+        assertEquals(SCIMCommonUtils.getSCIMUserBuildThreadPoolSize(),
+                SCIMCommonConstants.DEFAULT_SCIM_USER_BUILD_THREAD_POOL_SIZE);
+    }
+
+    @Test
+    public void testBuildSCIMClaimMappingSnapshot() {
+
+        Map<String, String> scimToLocalMappings = new HashMap<>();
+        scimToLocalMappings.put("urn:ietf:params:scim:schemas:core:2.0:User:userName",
+                "http://wso2.org/claims/username");
+        scimToLocalMappings.put("urn:ietf:params:scim:schemas:core:2.0:User:emails",
+                "http://wso2.org/claims/emailaddress");
+        scimToLocalMappings.put("urn:ietf:params:scim:schemas:core:2.0:User:emails.work",
+                "http://wso2.org/claims/emailaddress");
+
+        SCIMClaimMappingSnapshot snapshot = SCIMClaimMappingSnapshot.build(scimToLocalMappings);
+        scimToLocalMappings.clear();
+
+        assertEquals(snapshot.getSCIMToLocalMappings().size(), 3);
+        assertEquals(snapshot.getLocalToSCIMMappings().get("http://wso2.org/claims/username"),
+                Collections.singletonList("urn:ietf:params:scim:schemas:core:2.0:User:userName"));
+        assertEquals(snapshot.getLocalToSCIMMappings().get("http://wso2.org/claims/emailaddress").size(), 2);
+        assertEquals(snapshot.getImmutableLocalClaims(), Collections.singleton("http://wso2.org/claims/username"));
+        assertTrue(SCIMClaimMappingSnapshot.build(null).getVersion() > snapshot.getVersion());
+    }
+
+    private UniqueIDUserClaimSearchEntry mockClaimSearchEntry(String userId, String claimValue) {
+
+        User user = mock(User.class);
+        when(user.getUserID()).thenReturn(userId);
+        Map<String, String> claims = new HashMap<>(Collections.singletonMap("claim", claimValue));
+        UniqueIDUserClaimSearchEntry searchEntry = mock(UniqueIDUserClaimSearchEntry.class);
+        when(searchEntry.getUser()).thenReturn(user);
+        when(searchEntry.getClaims()).thenReturn(claims);
+        return searchEntry;
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.utils;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMTotalUserCountCache;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMTotalUserCountCacheEntry;
+import org.wso2.carbon.identity.scim2.common.cache.SCIMTotalUserCountCacheKey;
+import org.wso2.carbon.identity.scim2.common.test.utils.CommonTestUtils;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TotalUserCountCacheTest {
+
+    private static final long TIME_TO_LIVE = 60000;
+
+    private MockedStatic<SCIMTotalUserCountCache> scimTotalUserCountCache;
+    private Map<SCIMTotalUserCountCacheKey, SCIMTotalUserCountCacheEntry> cacheEntries;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        CommonTestUtils.initPrivilegedCarbonContext();
+        // Back the cache with a map, since the underlying cache manager is not available in the unit tests.
+        cacheEntries = new HashMap<>();
+        SCIMTotalUserCountCache cache = mock(SCIMTotalUserCountCache.class, CALLS_REAL_METHODS);
+        doAnswer(invocation -> cacheEntries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(cache).addToCache(any(SCIMTotalUserCountCacheKey.class),
+                        any(SCIMTotalUserCountCacheEntry.class));
+        doAnswer(invocation -> cacheEntries.get(invocation.getArgument(0)))
+                .when(cache).getValueFromCache(any(SCIMTotalUserCountCacheKey.class));
+        doAnswer(invocation -> cacheEntries.keySet().removeIf(key ->
+                key.getTenantId() == (int) invocation.getArgument(0))).when(cache).clear(anyInt());
+        scimTotalUserCountCache = mockStatic(SCIMTotalUserCountCache.class);
+        scimTotalUserCountCache.when(SCIMTotalUserCountCache::getInstance).thenReturn(cache);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        scimTotalUserCountCache.close();
+        PrivilegedCarbonContext.endTenantFlow();
+    }
+
+    @Test
+    public void testCountIsReusedAndAdjustedWithinTimeToLive() throws Exception {
+
+        AtomicInteger countQueries = new AtomicInteger();
+        TotalUserCountCache.UserCount userCount = () -> {
+            countQueries.incrementAndGet();
+            return 100;
+        };
+
+        assertEquals(TotalUserCountCache.getCount(1, "PRIMARY", TIME_TO_LIVE, null, userCount), 100);
+        TotalUserCountCache.onUserAdded(1, "primary");
+        TotalUserCountCache.onUserAdded(1, "PRIMARY");
+        TotalUserCountCache.onUserDeleted(1, "PRIMARY");
+        TotalUserCountCache.onUserAdded(1, "SECONDARY");
+
+        assertEquals(TotalUserCountCache.getCount(1, "PRIMARY", TIME_TO_LIVE, null, userCount), 101);
+        assertEquals(countQueries.get(), 1);
+        assertEquals(TotalUserCountCache.getCount(2, "PRIMARY", TIME_TO_LIVE, null, userCount), 100);
+        assertEquals(countQueries.get(), 2);
+    }
+
+    @Test
+    public void testCountIsNotCachedWithoutTimeToLive() throws Exception {
+
+        AtomicInteger countQueries = new AtomicInteger();
+        TotalUserCountCache.UserCount userCount = countQueries::incrementAndGet;
+
+        TotalUserCountCache.getCount(3, "PRIMARY", 0, null, userCount);
+        TotalUserCountCache.getCount(3, "PRIMARY", 0, null, userCount);
+
+        assertEquals(countQueries.get(), 2);
+        assertTrue(cacheEntries.isEmpty());
+    }
+
+    @Test
+    public void testCountIsRefreshedAheadOfExpiryWithCallerContext() throws Exception {
+
+        cacheEntries.put(new SCIMTotalUserCountCacheKey(4, "PRIMARY"),
+                new SCIMTotalUserCountCacheEntry(100, System.currentTimeMillis() - (long) (TIME_TO_LIVE * 0.9)));
+        AtomicReference<String> tenantDomainOfRefresh = new AtomicReference<>();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            // The count about to expire is returned while it is refreshed in the executor.
+            assertEquals(TotalUserCountCache.getCount(4, "PRIMARY", TIME_TO_LIVE, executorService, () -> {
+                tenantDomainOfRefresh.set(PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain());
+                return 120;
+            }), 100);
+        } finally {
+            executorService.shutdown();
+            executorService.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(tenantDomainOfRefresh.get(), MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        assertEquals(TotalUserCountCache.getCount(4, "PRIMARY", TIME_TO_LIVE, null, () -> 0), 120);
+    }
+
+    @Test
+    public void testRejectedRefreshReturnsCachedCount() throws Exception {
+
+        cacheEntries.put(new SCIMTotalUserCountCacheKey(5, "PRIMARY"),
+                new SCIMTotalUserCountCacheEntry(100, System.currentTimeMillis() - (long) (TIME_TO_LIVE * 0.9)));
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.shutdown();
+        AtomicInteger countQueries = new AtomicInteger();
+
+        assertEquals(TotalUserCountCache.getCount(5, "PRIMARY", TIME_TO_LIVE, executorService,
+                countQueries::incrementAndGet), 100);
+        assertEquals(TotalUserCountCache.getCount(5, "PRIMARY", TIME_TO_LIVE, executorService,
+                countQueries::incrementAndGet), 100);
+        assertEquals(countQueries.get(), 0);
+    }
+
+    @Test
+    public void testCountsOfTenantAreCleared() throws Exception {
+
+        TotalUserCountCache.getCount(6, "PRIMARY", TIME_TO_LIVE, null, () -> 10);
+        TotalUserCountCache.getCount(6, "SECONDARY", TIME_TO_LIVE, null, () -> 20);
+        TotalUserCountCache.getCount(7, "PRIMARY", TIME_TO_LIVE, null, () -> 30);
+
+        TotalUserCountCache.clear(6);
+
+        assertEquals(TotalUserCountCache.getCount(6, "PRIMARY", TIME_TO_LIVE, null, () -> 11), 11);
+        assertEquals(TotalUserCountCache.getCount(7, "PRIMARY", TIME_TO_LIVE, null, () -> 31), 30);
+    }
+}
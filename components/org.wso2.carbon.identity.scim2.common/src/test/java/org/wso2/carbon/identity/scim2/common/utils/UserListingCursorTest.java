@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.common.utils;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.charon3.core.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.testng.Assert.assertEquals;
+
+public class UserListingCursorTest {
+
+    @Test
+    public void testEncodeAndDecode() throws Exception {
+
+        UserListingCursor cursor = new UserListingCursor("SECONDARY:LDAP", 101, 250);
+        UserListingCursor decodedCursor = UserListingCursor.decode(cursor.encode());
+
+        assertEquals(decodedCursor.getDomainName(), "SECONDARY:LDAP");
+        assertEquals(decodedCursor.getOffset(), 101);
+        assertEquals(decodedCursor.getTotalResults(), 250);
+    }
+
+    @DataProvider(name = "invalidCursors")
+    public Object[][] invalidCursors() {
+
+        return new Object[][]{
+                {"not a cursor"},
+                {encode("PRIMARY")},
+                {encode("10:PRIMARY")},
+                {encode("0:100:PRIMARY")},
+                {encode("10:-1:PRIMARY")},
+                {encode("ten:100:PRIMARY")},
+                {encode("10:")},
+                {encode("10:100:")}
+        };
+    }
+
+    @Test(dataProvider = "invalidCursors", expectedExceptions = BadRequestException.class)
+    public void testDecodeInvalidCursor(String cursor) throws Exception {
+
+        UserListingCursor.decode(cursor);
+    }
+
+    private static String encode(String position) {
+
+        return Base64.getUrlEncoder().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.scim2.provider.impl;
+
+import org.wso2.carbon.identity.scim2.common.utils.SCIMMetrics;
+
+import java.lang.reflect.Method;
+
+import javax.ws.rs.Path;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+
+/**
+ * Records the latency and the counts of the user store calls, DB queries, etc. of each SCIM request against the
+ * resource method it was dispatched to, e.g. "GET UserResource/{id}".
+ */
+public class SCIMMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String REQUEST_START_TIME = "scim.metrics.request.start.time";
+    private static final String ENDPOINT = "scim.metrics.endpoint";
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+
+        requestContext.setProperty(ENDPOINT, getEndpoint(requestContext.getMethod()));
+        requestContext.setProperty(REQUEST_START_TIME, System.nanoTime());
+        SCIMMetrics.startRequest();
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+
+        Object startTime = requestContext.getProperty(REQUEST_START_TIME);
+        if (startTime instanceof Long) {
+            SCIMMetrics.endRequest((String) requestContext.getProperty(ENDPOINT),
+                    System.nanoTime() - (Long) startTime);
+        }
+    }
+
+    private String getEndpoint(String httpMethod) {
+
+        Class<?> resourceClass = resourceInfo == null ? null : resourceInfo.getResourceClass();
+        Method resourceMethod = resourceInfo == null ? null : resourceInfo.getResourceMethod();
+        if (resourceClass == null || resourceMethod == null) {
+            return httpMethod;
+        }
+        StringBuilder endpoint = new StringBuilder(httpMethod).append(' ').append(resourceClass.getSimpleName());
+        Path path = resourceMethod.getAnnotation(Path.class);
+        if (path != null) {
+            endpoint.append('/').append(path.value().startsWith("/") ? path.value().substring(1) : path.value());
+        }
+        return endpoint.toString();
+    }
+}
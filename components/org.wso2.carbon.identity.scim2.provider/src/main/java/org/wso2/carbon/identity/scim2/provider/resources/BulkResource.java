@@ -19,6 +19,9 @@
 package org.wso2.carbon.identity.scim2.provider.resources;
 
 import org.wso2.carbon.identity.scim2.common.impl.IdentitySCIMManager;
+import org.wso2.carbon.identity.scim2.common.impl.ParallelBulkRequestProcessor;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMConfigProcessor;
 import org.wso2.carbon.identity.scim2.provider.util.SCIMProviderConstants;
 import org.wso2.carbon.identity.scim2.provider.util.SupportUtils;
 import org.wso2.charon3.core.exceptions.CharonException;
@@ -59,18 +62,23 @@ public class BulkResource extends AbstractResource {
                 throw  new FormatNotSupportedException(error);
             }
 
-            // Obtain the user store manager.
-            UserManager userManager = IdentitySCIMManager.getInstance().getUserManager();
-            // Obtain the role manager.
-            RoleManager roleManager = IdentitySCIMManager.getInstance().getRoleManager();
-            // Obtain the role v2 manager.
-            RoleV2Manager roleV2Manager = IdentitySCIMManager.getInstance().getRoleV2Manager();
+            // Independent operations are processed concurrently if a bulk executor is configured. Each group of
+            // dependent operations is handed over to the charon-SCIM bulk endpoint with its own managers.
+            ParallelBulkRequestProcessor bulkRequestProcessor = new ParallelBulkRequestProcessor(Integer.parseInt(
+                    SCIMConfigProcessor.getInstance().getProperty(SCIMCommonConstants.BULK_MAX_OPERATIONS)));
+            SCIMResponse scimResponse = bulkRequestProcessor.process(resourceString, bulkRequest -> {
+                // Obtain the user store manager.
+                UserManager userManager = IdentitySCIMManager.getInstance().getUserManager();
+                // Obtain the role manager.
+                RoleManager roleManager = IdentitySCIMManager.getInstance().getRoleManager();
+                // Obtain the role v2 manager.
+                RoleV2Manager roleV2Manager = IdentitySCIMManager.getInstance().getRoleV2Manager();
 
-            // create charon-SCIM bulk endpoint and hand-over the request.
-            BulkResourceManager bulkResourceManager = new BulkResourceManager();
-            // Call for process bulk data.
-            SCIMResponse scimResponse =
-                    bulkResourceManager.processBulkData(resourceString, userManager, roleManager, roleV2Manager);
+                // create charon-SCIM bulk endpoint and hand-over the request.
+                BulkResourceManager bulkResourceManager = new BulkResourceManager();
+                // Call for process bulk data.
+                return bulkResourceManager.processBulkData(bulkRequest, userManager, roleManager, roleV2Manager);
+            });
             // needs to check the code of the response and return 200 0k or other error codes
             // appropriately.
             return SupportUtils.buildResponse(scimResponse);
@@ -68,6 +68,7 @@ public class GroupResource extends AbstractResource {
 
     private static final Log logger = LogFactory.getLog(GroupResource.class);
     private static final String PERMISSIONS = "Permissions";
+    private static final String GROUP_ROLES_URI = SCIMConstants.GROUP_CORE_SCHEMA_URI + ":roles";
 
     @GET
     @Path("{id}")
@@ -75,7 +76,8 @@ public class GroupResource extends AbstractResource {
     public Response getGroup(@PathParam(SCIMConstants.CommonSchemaConstants.ID) String id,
                              @HeaderParam(SCIMProviderConstants.ACCEPT_HEADER) String outputFormat,
                              @QueryParam(SCIMProviderConstants.ATTRIBUTES) String attribute,
-                             @QueryParam(SCIMProviderConstants.EXCLUDE_ATTRIBUTES) String excludedAttributes) {
+                             @QueryParam(SCIMProviderConstants.EXCLUDE_ATTRIBUTES) String excludedAttributes,
+                             @HeaderParam(SCIMProviderConstants.IF_NONE_MATCH_HEADER) String ifNoneMatch) {
 
         try {
             if (!isValidOutputFormat(outputFormat)) {
@@ -93,6 +95,7 @@ public class GroupResource extends AbstractResource {
         requestAttributes.put(SCIMProviderConstants.HTTP_VERB, GET.class.getSimpleName());
         requestAttributes.put(SCIMProviderConstants.ATTRIBUTES, attribute);
         requestAttributes.put(SCIMProviderConstants.EXCLUDE_ATTRIBUTES, excludedAttributes);
+        requestAttributes.put(SCIMProviderConstants.IF_NONE_MATCH_HEADER, ifNoneMatch);
         requestAttributes.put(SCIMProviderConstants.SEARCH, "0");
         return processRequest(requestAttributes);
     }
@@ -443,7 +446,22 @@ public class GroupResource extends AbstractResource {
                             excludedAttributes));
                 }
             } else if (GET.class.getSimpleName().equals(httpVerb)) {
-                scimResponse = groupResourceManager.get(id, userManager, attributes, excludedAttributes);
+                // Answer conditional requests from the last modified time of the group before adding its members. The
+                // last modified time does not change with the members and roles of the group, hence no ETag is used
+                // when they are returned. Members and roles are returned by default, so only requests that leave them
+                // out, e.g. with excludedAttributes=members,roles, get an ETag and a 304 Not Modified response.
+                String eTag = null;
+                if (SupportUtils.isETagSupported() && !SupportUtils.isAnyAttributeReturned(attributes,
+                        excludedAttributes, SCIMConstants.GroupSchemaConstants.MEMBERS_URI, GROUP_ROLES_URI)) {
+                    eTag = SupportUtils.buildETag(id, userManager.getGroupLastModified(id), attributes,
+                            excludedAttributes);
+                    if (SupportUtils.isNotModified(requestAttributes.get(SCIMProviderConstants.IF_NONE_MATCH_HEADER),
+                            eTag)) {
+                        return SupportUtils.buildNotModifiedResponse(eTag);
+                    }
+                }
+                return SupportUtils.buildResponse(groupResourceManager.get(id, userManager, attributes,
+                        excludedAttributes), eTag);
             } else if (POST.class.getSimpleName().equals(httpVerb) && search.equals("1")) {
                 scimResponse = groupResourceManager.listWithPOST(resourceString, userManager);
             } else if (POST.class.getSimpleName().equals(httpVerb)) {
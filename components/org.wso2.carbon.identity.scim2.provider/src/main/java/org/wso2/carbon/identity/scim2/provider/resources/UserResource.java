@@ -24,7 +24,9 @@ import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.jaxrs.designator.PATCH;
 import org.wso2.carbon.identity.recovery.IdentityRecoveryConstants;
 import org.wso2.carbon.identity.scim2.common.impl.IdentitySCIMManager;
+import org.wso2.carbon.identity.scim2.common.impl.SCIMUserManager;
 import org.wso2.carbon.identity.scim2.common.utils.AdminAttributeUtil;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
 import org.wso2.carbon.identity.scim2.provider.util.SCIMProviderConstants;
 import org.wso2.carbon.identity.scim2.provider.util.SupportUtils;
@@ -54,7 +56,8 @@ public class UserResource extends AbstractResource {
     public Response getUser(@PathParam(SCIMConstants.CommonSchemaConstants.ID) String id,
                             @HeaderParam(SCIMProviderConstants.ACCEPT_HEADER) String outputFormat,
                             @QueryParam(SCIMProviderConstants.ATTRIBUTES) String attribute,
-                            @QueryParam(SCIMProviderConstants.EXCLUDE_ATTRIBUTES) String  excludedAttributes) {
+                            @QueryParam(SCIMProviderConstants.EXCLUDE_ATTRIBUTES) String  excludedAttributes,
+                            @HeaderParam(SCIMProviderConstants.IF_NONE_MATCH_HEADER) String ifNoneMatch) {
 
         try {
             if(!isValidOutputFormat(outputFormat)){
@@ -65,6 +68,21 @@ public class UserResource extends AbstractResource {
             // obtain the user store manager
             UserManager userManager = IdentitySCIMManager.getInstance().getUserManager();
 
+            // Answer conditional requests from the last modified time of the user before building the user. The
+            // last modified time does not change with the groups and roles of the user, hence no ETag is used when
+            // they are returned. Groups and roles are returned by default, so only requests that leave them out,
+            // e.g. with excludedAttributes=groups,roles, get an ETag and a 304 Not Modified response.
+            String eTag = null;
+            if (SupportUtils.isETagSupported() && userManager instanceof SCIMUserManager &&
+                    !SupportUtils.isAnyAttributeReturned(attribute, excludedAttributes,
+                            SCIMConstants.UserSchemaConstants.GROUP_URI, SCIMConstants.UserSchemaConstants.ROLES_URI)) {
+                eTag = SupportUtils.buildETag(id, ((SCIMUserManager) userManager).getUserLastModified(id), attribute,
+                        excludedAttributes);
+                if (SupportUtils.isNotModified(ifNoneMatch, eTag)) {
+                    return SupportUtils.buildNotModifiedResponse(eTag);
+                }
+            }
+
             // create charon-SCIM user endpoint and hand-over the request.
             UserResourceManager userResourceManager = new UserResourceManager();
 
@@ -74,7 +92,7 @@ public class UserResource extends AbstractResource {
             SCIMResponse scimResponse = userResourceManager.get(id, userManager,attribute, excludedAttributes);
             // needs to check the code of the response and return 200 0k or other error codes
             // appropriately.
-            return SupportUtils.buildResponse(scimResponse);
+            return SupportUtils.buildResponse(scimResponse, eTag);
 
         } catch (CharonException e) {
             return handleCharonException(e);
@@ -187,7 +205,8 @@ public class UserResource extends AbstractResource {
                             @QueryParam (SCIMProviderConstants.COUNT) Integer count,
                             @QueryParam (SCIMProviderConstants.SORT_BY) String sortBy,
                             @QueryParam (SCIMProviderConstants.SORT_ORDER) String sortOrder,
-                            @QueryParam (SCIMProviderConstants.DOMAIN) String domainName) {
+                            @QueryParam (SCIMProviderConstants.DOMAIN) String domainName,
+                            @QueryParam (SCIMProviderConstants.CURSOR) String cursor) {
 
         try {
             // defaults to application/scim+json.
@@ -215,13 +234,19 @@ public class UserResource extends AbstractResource {
 
             SCIMResponse scimResponse;
 
+            if (cursor != null) {
+                initializeUserListingCursorThreadLocal(cursor);
+            }
             scimResponse = userResourceManager.listWithGET(userManager, filter, startIndex, count,
                     sortBy, sortOrder, domainName, attribute, excludedAttributes);
+            setNextCursorHeader(scimResponse);
             return SupportUtils.buildResponse(scimResponse);
         } catch (CharonException e) {
             return handleCharonException(e);
         } catch (FormatNotSupportedException e) {
             return handleFormatNotSupportedException(e);
+        } finally {
+            removeUserListingCursorThreadLocal();
         }
     }
 
@@ -401,6 +426,41 @@ public class UserResource extends AbstractResource {
                 .remove(IdentityRecoveryConstants.AP_CONFIRMATION_CODE_THREAD_LOCAL_PROPERTY);
     }
 
+    /**
+     * To initialize the user listing cursor thread local when cursor based pagination is requested.
+     *
+     * @param cursor Cursor of the request. An empty cursor requests the first page.
+     */
+    private void initializeUserListingCursorThreadLocal(String cursor) {
+
+        IdentityUtil.threadLocalProperties.get()
+                .put(SCIMCommonConstants.USER_LISTING_CURSOR_THREAD_LOCAL_PROPERTY, cursor);
+    }
+
+    /**
+     * Set the cursor of the next page as a response header, if the listing returned one.
+     *
+     * @param scimResponse SCIM response.
+     */
+    private void setNextCursorHeader(SCIMResponse scimResponse) {
+
+        Object nextCursor = IdentityUtil.threadLocalProperties.get()
+                .get(SCIMCommonConstants.USER_LISTING_NEXT_CURSOR_THREAD_LOCAL_PROPERTY);
+        if (nextCursor != null && scimResponse.getHeaderParamMap() != null) {
+            scimResponse.getHeaderParamMap().put(SCIMProviderConstants.NEXT_CURSOR_HEADER, nextCursor.toString());
+        }
+    }
+
+    /**
+     * Remove the user listing cursor thread locals.
+     */
+    private void removeUserListingCursorThreadLocal() {
+
+        IdentityUtil.threadLocalProperties.get().remove(SCIMCommonConstants.USER_LISTING_CURSOR_THREAD_LOCAL_PROPERTY);
+        IdentityUtil.threadLocalProperties.get()
+                .remove(SCIMCommonConstants.USER_LISTING_NEXT_CURSOR_THREAD_LOCAL_PROPERTY);
+    }
+
     /**
      * Validate the count query parameter.
      *
@@ -38,6 +38,10 @@ public class SCIMProviderConstants {
     public static final String ACCEPT_HEADER = "Accept";
     public static final String ID = "id";
     public static final String DOMAIN = "domain";
+    public static final String CURSOR = "cursor";
+    public static final String NEXT_CURSOR_HEADER = "Next-Cursor";
+    public static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    public static final String ETAG_HEADER = "ETag";
 
     public static final String RESOURCE_STRING = "RESOURCE_STRING";
     public static final String HTTP_VERB = "HTTP_VERB";
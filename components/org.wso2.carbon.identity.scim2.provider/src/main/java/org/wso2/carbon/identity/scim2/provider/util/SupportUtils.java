@@ -33,6 +33,7 @@ import org.wso2.carbon.identity.scim2.common.cache.SCIMCustomAttributeSchemaCach
 import org.wso2.carbon.identity.scim2.common.exceptions.IdentitySCIMException;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonConstants;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCommonUtils;
+import org.wso2.carbon.identity.scim2.common.utils.SCIMConfigProcessor;
 import org.wso2.carbon.identity.scim2.common.utils.SCIMCustomSchemaProcessor;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 import org.wso2.charon3.core.attributes.SCIMCustomAttribute;
@@ -48,7 +49,10 @@ import org.wso2.charon3.core.schema.AttributeSchema;
 
 import javax.ws.rs.core.Response;
 
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Map;
 
@@ -89,6 +93,148 @@ public class SupportUtils {
         return responseBuilder.build();
     }
 
+    /**
+     * Checks whether ETags are supported through the 'etag-supported' property of the SCIM configuration.
+     * <p>
+     * ETags of users and groups are built from their last modified time, which does not change with their
+     * memberships. Hence GET requests of a user get an ETag only when the groups and roles of the user are not
+     * returned, and GET requests of a group only when the members and roles of the group are not returned, e.g. with
+     * excludedAttributes=groups,roles and excludedAttributes=members,roles. As these attributes are returned by
+     * default, a plain GET request neither gets an ETag nor a 304 Not Modified response.
+     *
+     * @return Whether ETags are supported.
+     */
+    public static boolean isETagSupported() {
+
+        return Boolean.parseBoolean(SCIMConfigProcessor.getInstance().getProperty(SCIMCommonConstants.ETAG_SUPPORTED));
+    }
+
+    /**
+     * Build a weak ETag of a user or a group from its last modified time. The requested and excluded attributes
+     * change the representation of the resource, hence they are part of the ETag as well.
+     *
+     * @param id                 ID of the resource.
+     * @param lastModified       Last modified time of the resource as stored.
+     * @param attributes         Requested attributes.
+     * @param excludedAttributes Excluded attributes.
+     * @return ETag of the resource, or null if the last modified time of the resource is not available.
+     */
+    public static String buildETag(String id, String lastModified, String attributes, String excludedAttributes) {
+
+        if (StringUtils.isBlank(lastModified)) {
+            return null;
+        }
+        String version = id + '\n' + lastModified + '\n' + StringUtils.defaultString(attributes) + '\n' +
+                StringUtils.defaultString(excludedAttributes);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(version.getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + new BigInteger(1, digest).toString(16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            log.error("Unable to build the ETag of the resource: " + id, e);
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether any of the given attributes is returned for the requested and excluded attributes of a request.
+     * The ETag of a resource is built from its last modified time, which does not change with the memberships of the
+     * resource, hence an ETag is not used when the membership attributes of the resource are returned.
+     *
+     * @param attributes         Requested attributes.
+     * @param excludedAttributes Excluded attributes.
+     * @param attributeURIs      URIs of the attributes to check.
+     * @return True if any of the attributes is returned.
+     */
+    public static boolean isAnyAttributeReturned(String attributes, String excludedAttributes,
+                                                 String... attributeURIs) {
+
+        for (String attributeURI : attributeURIs) {
+            if (StringUtils.isNotBlank(attributes)) {
+                if (containsAttribute(attributes, attributeURI, true)) {
+                    return true;
+                }
+            } else if (!containsAttribute(excludedAttributes, attributeURI, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a comma separated list of attributes contains an attribute, given either by its URI, its name or
+     * the URI of its schema.
+     */
+    private static boolean containsAttribute(String attributes, String attributeURI, boolean matchSubAttributes) {
+
+        if (StringUtils.isBlank(attributes)) {
+            return false;
+        }
+        String attributeName = attributeURI.substring(attributeURI.lastIndexOf(':') + 1);
+        for (String attribute : attributes.split(",")) {
+            attribute = attribute.trim();
+            if (attribute.equalsIgnoreCase(attributeURI) || attribute.equalsIgnoreCase(attributeName) ||
+                    StringUtils.startsWithIgnoreCase(attributeURI, attribute + ":")) {
+                return true;
+            }
+            if (matchSubAttributes && (StringUtils.startsWithIgnoreCase(attribute, attributeURI + ".") ||
+                    StringUtils.startsWithIgnoreCase(attribute, attributeName + "."))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the resource is not modified with respect to the If-None-Match header of a GET request. ETags
+     * are compared with the weak comparison of RFC 7232.
+     *
+     * @param ifNoneMatch Value of the If-None-Match header.
+     * @param eTag        Current ETag of the resource.
+     * @return True if one of the ETags of the header matches the current ETag of the resource.
+     */
+    public static boolean isNotModified(String ifNoneMatch, String eTag) {
+
+        if (StringUtils.isBlank(ifNoneMatch) || eTag == null) {
+            return false;
+        }
+        String opaqueTag = StringUtils.removeStart(eTag, "W/");
+        for (String requestedTag : ifNoneMatch.split(",")) {
+            requestedTag = requestedTag.trim();
+            if ("*".equals(requestedTag) || opaqueTag.equals(StringUtils.removeStart(requestedTag, "W/"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Build the 304 Not Modified response of a conditional GET request.
+     *
+     * @param eTag Current ETag of the resource.
+     * @return JAX-RS response.
+     */
+    public static Response buildNotModifiedResponse(String eTag) {
+
+        return Response.notModified().header(SCIMProviderConstants.ETAG_HEADER, eTag).build();
+    }
+
+    /**
+     * Build the jaxrs response of a user or group GET request, with the ETag of the resource when the resource is
+     * returned.
+     *
+     * @param scimResponse SCIM response of the request.
+     * @param eTag         ETag of the resource, or null if not available.
+     * @return JAX-RS response.
+     */
+    public static Response buildResponse(SCIMResponse scimResponse, String eTag) {
+
+        Response response = buildResponse(scimResponse);
+        if (eTag == null || scimResponse.getResponseStatus() != ResponseCodeConstants.CODE_OK) {
+            return response;
+        }
+        return Response.fromResponse(response).header(SCIMProviderConstants.ETAG_HEADER, eTag).build();
+    }
+
     /**
      * decode the base64 encoded string
      * @param encodedString
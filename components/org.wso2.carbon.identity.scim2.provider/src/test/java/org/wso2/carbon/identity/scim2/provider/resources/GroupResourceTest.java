@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.provider.resources;
+
+import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.scim2.common.impl.IdentitySCIMManager;
+import org.wso2.carbon.identity.scim2.common.impl.SCIMUserManager;
+import org.wso2.carbon.identity.scim2.provider.util.SCIMProviderConstants;
+import org.wso2.carbon.identity.scim2.provider.util.SupportUtils;
+import org.wso2.charon3.core.extensions.UserManager;
+import org.wso2.charon3.core.protocol.ResponseCodeConstants;
+import org.wso2.charon3.core.protocol.SCIMResponse;
+import org.wso2.charon3.core.protocol.endpoints.GroupResourceManager;
+
+import java.util.HashMap;
+
+import javax.ws.rs.core.Response;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class GroupResourceTest {
+
+    private static final String GROUP_ID = "2f6b1c8e-4a7d-4f0e-9c3b-6d5e8a1b2c3d";
+    private static final String LAST_MODIFIED = "2026-10-16T10:15:30.123Z";
+    private static final String ATTRIBUTES = "displayName";
+
+    private MockedStatic<IdentitySCIMManager> identitySCIMManager;
+    private MockedStatic<SupportUtils> supportUtils;
+    private MockedConstruction<GroupResourceManager> groupResourceManager;
+    private SCIMUserManager scimUserManager;
+    private GroupResource groupResource;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        scimUserManager = mock(SCIMUserManager.class);
+        when(scimUserManager.getGroupLastModified(GROUP_ID)).thenReturn(LAST_MODIFIED);
+        IdentitySCIMManager scimManager = mock(IdentitySCIMManager.class);
+        when(scimManager.getUserManager()).thenReturn(scimUserManager);
+        identitySCIMManager = mockStatic(IdentitySCIMManager.class);
+        identitySCIMManager.when(IdentitySCIMManager::getInstance).thenReturn(scimManager);
+
+        supportUtils = mockStatic(SupportUtils.class, CALLS_REAL_METHODS);
+        supportUtils.when(SupportUtils::isETagSupported).thenReturn(true);
+
+        groupResourceManager = mockConstruction(GroupResourceManager.class, (mock, context) ->
+                when(mock.get(anyString(), any(UserManager.class), nullable(String.class), nullable(String.class)))
+                        .thenReturn(new SCIMResponse(ResponseCodeConstants.CODE_OK, "{\"id\":\"" + GROUP_ID + "\"}",
+                                new HashMap<>())));
+        groupResource = new GroupResource();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        groupResourceManager.close();
+        supportUtils.close();
+        identitySCIMManager.close();
+    }
+
+    @Test
+    public void testGetGroupNotModified() {
+
+        String eTag = SupportUtils.buildETag(GROUP_ID, LAST_MODIFIED, ATTRIBUTES, null);
+
+        Response response = groupResource.getGroup(GROUP_ID, null, ATTRIBUTES, null, "W/\"outdated\", " + eTag);
+
+        assertEquals(response.getStatus(), Response.Status.NOT_MODIFIED.getStatusCode());
+        assertEquals(response.getHeaderString(SCIMProviderConstants.ETAG_HEADER), eTag);
+        // The group is not built for a request answered with 304 Not Modified.
+        verify(groupResourceManager.constructed().get(0), never()).get(anyString(), any(UserManager.class),
+                nullable(String.class), nullable(String.class));
+    }
+
+    @Test
+    public void testGetGroupModified() {
+
+        String eTag = SupportUtils.buildETag(GROUP_ID, LAST_MODIFIED, ATTRIBUTES, null);
+
+        Response response = groupResource.getGroup(GROUP_ID, null, ATTRIBUTES, null, "W/\"outdated\"");
+
+        assertEquals(response.getStatus(), ResponseCodeConstants.CODE_OK);
+        assertEquals(response.getHeaderString(SCIMProviderConstants.ETAG_HEADER), eTag);
+        verify(groupResourceManager.constructed().get(0)).get(eq(GROUP_ID), any(UserManager.class), eq(ATTRIBUTES),
+                nullable(String.class));
+    }
+
+    @Test
+    public void testGetGroupWithoutETagWhenMembersAreReturned() {
+
+        Response response = groupResource.getGroup(GROUP_ID, null, "displayName,members", null, "*");
+
+        // The members of the group are not reflected in the ETag.
+        assertEquals(response.getStatus(), ResponseCodeConstants.CODE_OK);
+        assertNull(response.getHeaderString(SCIMProviderConstants.ETAG_HEADER));
+        verify(scimUserManager, never()).getGroupLastModified(anyString());
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.provider.resources;
+
+import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.scim2.common.impl.IdentitySCIMManager;
+import org.wso2.carbon.identity.scim2.common.impl.SCIMUserManager;
+import org.wso2.carbon.identity.scim2.provider.util.SCIMProviderConstants;
+import org.wso2.carbon.identity.scim2.provider.util.SupportUtils;
+import org.wso2.charon3.core.extensions.UserManager;
+import org.wso2.charon3.core.protocol.ResponseCodeConstants;
+import org.wso2.charon3.core.protocol.SCIMResponse;
+import org.wso2.charon3.core.protocol.endpoints.UserResourceManager;
+
+import java.util.HashMap;
+
+import javax.ws.rs.core.Response;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class UserResourceTest {
+
+    private static final String USER_ID = "8d9ea3c3-8f5e-4b53-a3f8-8a3b7e5c2f11";
+    private static final String LAST_MODIFIED = "2026-10-16T10:15:30.123Z";
+    private static final String ATTRIBUTES = "userName,emails";
+
+    private MockedStatic<IdentitySCIMManager> identitySCIMManager;
+    private MockedStatic<SupportUtils> supportUtils;
+    private MockedConstruction<UserResourceManager> userResourceManager;
+    private SCIMUserManager scimUserManager;
+    private UserResource userResource;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        scimUserManager = mock(SCIMUserManager.class);
+        when(scimUserManager.getUserLastModified(USER_ID)).thenReturn(LAST_MODIFIED);
+        IdentitySCIMManager scimManager = mock(IdentitySCIMManager.class);
+        when(scimManager.getUserManager()).thenReturn(scimUserManager);
+        identitySCIMManager = mockStatic(IdentitySCIMManager.class);
+        identitySCIMManager.when(IdentitySCIMManager::getInstance).thenReturn(scimManager);
+
+        supportUtils = mockStatic(SupportUtils.class, CALLS_REAL_METHODS);
+        supportUtils.when(SupportUtils::isETagSupported).thenReturn(true);
+        supportUtils.when(SupportUtils::getTenantId).thenReturn(-1234);
+        supportUtils.when(() -> SupportUtils.buildCustomSchema(any(UserManager.class), anyInt()))
+                .thenAnswer(invocation -> null);
+
+        userResourceManager = mockConstruction(UserResourceManager.class, (mock, context) ->
+                when(mock.get(anyString(), any(UserManager.class), nullable(String.class), nullable(String.class)))
+                        .thenReturn(new SCIMResponse(ResponseCodeConstants.CODE_OK, "{\"id\":\"" + USER_ID + "\"}",
+                                new HashMap<>())));
+        userResource = new UserResource();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        userResourceManager.close();
+        supportUtils.close();
+        identitySCIMManager.close();
+    }
+
+    @Test
+    public void testGetUserNotModified() {
+
+        String eTag = SupportUtils.buildETag(USER_ID, LAST_MODIFIED, ATTRIBUTES, null);
+
+        Response response = userResource.getUser(USER_ID, null, ATTRIBUTES, null, eTag);
+
+        assertEquals(response.getStatus(), Response.Status.NOT_MODIFIED.getStatusCode());
+        assertEquals(response.getHeaderString(SCIMProviderConstants.ETAG_HEADER), eTag);
+        // The user is not built for a request answered with 304 Not Modified.
+        assertTrue(userResourceManager.constructed().isEmpty());
+    }
+
+    @Test
+    public void testGetUserModified() {
+
+        String eTag = SupportUtils.buildETag(USER_ID, LAST_MODIFIED, ATTRIBUTES, null);
+
+        Response response = userResource.getUser(USER_ID, null, ATTRIBUTES, null, "W/\"outdated\"");
+
+        assertEquals(response.getStatus(), ResponseCodeConstants.CODE_OK);
+        assertEquals(response.getHeaderString(SCIMProviderConstants.ETAG_HEADER), eTag);
+        verify(userResourceManager.constructed().get(0)).get(eq(USER_ID), any(UserManager.class), eq(ATTRIBUTES),
+                nullable(String.class));
+    }
+
+    @Test
+    public void testGetUserWithoutETagWhenGroupsAreReturned() {
+
+        Response response = userResource.getUser(USER_ID, null, null, null, "*");
+
+        // The groups and the roles of the user are returned by default, which the ETag does not reflect.
+        assertEquals(response.getStatus(), ResponseCodeConstants.CODE_OK);
+        assertNull(response.getHeaderString(SCIMProviderConstants.ETAG_HEADER));
+        verify(scimUserManager, never()).getUserLastModified(anyString());
+    }
+
+    @Test
+    public void testGetUserWithETagWhenGroupsAndRolesAreExcluded() {
+
+        String eTag = SupportUtils.buildETag(USER_ID, LAST_MODIFIED, null, "groups,roles");
+
+        Response response = userResource.getUser(USER_ID, null, null, "groups,roles", eTag);
+
+        assertEquals(response.getStatus(), Response.Status.NOT_MODIFIED.getStatusCode());
+        assertTrue(userResourceManager.constructed().isEmpty());
+    }
+}
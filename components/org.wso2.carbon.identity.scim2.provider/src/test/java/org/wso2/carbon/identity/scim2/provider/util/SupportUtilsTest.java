@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.scim2.provider.util;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.charon3.core.schema.SCIMConstants;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class SupportUtilsTest {
+
+    private static final String USER_ID = "8d9ea3c3-8f5e-4b53-a3f8-8a3b7e5c2f11";
+    private static final String LAST_MODIFIED = "2026-10-16T10:15:30.123Z";
+
+    @Test
+    public void testBuildETag() {
+
+        String eTag = SupportUtils.buildETag(USER_ID, LAST_MODIFIED, "userName", null);
+
+        assertTrue(eTag.startsWith("W/\"") && eTag.endsWith("\""), "ETag is not a weak ETag: " + eTag);
+        assertEquals(SupportUtils.buildETag(USER_ID, LAST_MODIFIED, "userName", null), eTag);
+        assertNotEquals(SupportUtils.buildETag(USER_ID, "2026-10-16T10:15:31.123Z", "userName", null), eTag);
+        assertNotEquals(SupportUtils.buildETag("other", LAST_MODIFIED, "userName", null), eTag);
+        assertNotEquals(SupportUtils.buildETag(USER_ID, LAST_MODIFIED, "emails", null), eTag);
+        assertNotEquals(SupportUtils.buildETag(USER_ID, LAST_MODIFIED, null, "userName"), eTag);
+    }
+
+    @Test
+    public void testBuildETagWithoutLastModified() {
+
+        assertNull(SupportUtils.buildETag(USER_ID, null, "userName", null));
+        assertNull(SupportUtils.buildETag(USER_ID, " ", "userName", null));
+    }
+
+    @DataProvider(name = "ifNoneMatchHeaders")
+    public Object[][] ifNoneMatchHeaders() {
+
+        return new Object[][]{
+                {null, "W/\"abc\"", false},
+                {"", "W/\"abc\"", false},
+                {"W/\"abc\"", null, false},
+                {"W/\"abc\"", "W/\"abc\"", true},
+                // Weak comparison ignores the weakness indicator of either tag.
+                {"\"abc\"", "W/\"abc\"", true},
+                {"W/\"abc\"", "\"abc\"", true},
+                {"W/\"abd\"", "W/\"abc\"", false},
+                {"W/\"xyz\", W/\"abc\"", "W/\"abc\"", true},
+                {"W/\"xyz\",\"uvw\"", "W/\"abc\"", false},
+                {"*", "W/\"abc\"", true},
+                {"W/\"xyz\", *", "W/\"abc\"", true}
+        };
+    }
+
+    @Test(dataProvider = "ifNoneMatchHeaders")
+    public void testIsNotModified(String ifNoneMatch, String eTag, boolean expected) {
+
+        assertEquals(SupportUtils.isNotModified(ifNoneMatch, eTag), expected);
+    }
+
+    @DataProvider(name = "membershipAttributes")
+    public Object[][] membershipAttributes() {
+
+        return new Object[][]{
+                // Groups and roles are returned by default.
+                {null, null, true},
+                {null, "groups", true},
+                {null, "groups,roles", false},
+                {null, "groups.display,roles", true},
+                {null, SCIMConstants.UserSchemaConstants.GROUP_URI + ", " +
+                        SCIMConstants.UserSchemaConstants.ROLES_URI, false},
+                {"userName,emails", null, false},
+                {"userName,groups", null, true},
+                {"userName,Roles.value", null, true},
+                {SCIMConstants.UserSchemaConstants.GROUP_URI + ".display", null, true},
+                {SCIMConstants.USER_CORE_SCHEMA_URI, null, true},
+                {"userName", "groups,roles", false}
+        };
+    }
+
+    @Test(dataProvider = "membershipAttributes")
+    public void testIsAnyAttributeReturned(String attributes, String excludedAttributes, boolean expected) {
+
+        assertEquals(SupportUtils.isAnyAttributeReturned(attributes, excludedAttributes,
+                SCIMConstants.UserSchemaConstants.GROUP_URI, SCIMConstants.UserSchemaConstants.ROLES_URI), expected);
+    }
+}